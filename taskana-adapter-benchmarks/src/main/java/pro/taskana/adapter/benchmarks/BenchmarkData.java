@@ -0,0 +1,127 @@
+package pro.taskana.adapter.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+
+/**
+ * Creates the test data of the benchmarks. The process variables alternate between string values
+ * and serialized objects, like the variables of a typical process with a business object.
+ */
+public final class BenchmarkData {
+
+  public static final String ENGINE = "default";
+  public static final String CREATED = "2024-01-15T10:15:30.123+0100";
+  public static final String DUE = "2024-01-22T10:15:30.123+0100";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private BenchmarkData() {}
+
+  public static String getVariableName(int index) {
+    return "variable" + index;
+  }
+
+  public static String createObjectVariableValue(int index) {
+    return String.format(
+        "{\"customerId\":\"C-%05d\",\"street\":\"Main Street %d\",\"zip\":\"12345\","
+            + "\"amounts\":[100,250,75],\"approved\":false}",
+        index, index);
+  }
+
+  /**
+   * Creates the process variables of a task in the format the TaskanaTaskListener writes into the
+   * payload of an outbox event.
+   *
+   * @param numberOfVariables the number of process variables
+   * @return the process variables as JSON
+   */
+  public static String createVariablesJson(int numberOfVariables) {
+    Map<String, Object> variables = new LinkedHashMap<>();
+    for (int i = 0; i < numberOfVariables; i++) {
+      Map<String, Object> variable = new LinkedHashMap<>();
+      if (i % 2 == 0) {
+        variable.put("type", "string");
+        variable.put("value", "value of variable " + i);
+        variable.put("valueInfo", Map.of());
+      } else {
+        variable.put("type", "object");
+        variable.put("value", createObjectVariableValue(i));
+        variable.put(
+            "valueInfo",
+            Map.of(
+                "objectTypeName",
+                "com.example.Customer",
+                "serializationDataFormat",
+                "application/json"));
+      }
+      variables.put(getVariableName(i), variable);
+    }
+    return writeValueAsString(variables);
+  }
+
+  public static ReferencedTask createReferencedTask(String id, int numberOfVariables) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setCreated(CREATED);
+    referencedTask.setPriority("50");
+    referencedTask.setName("Check the customer data");
+    referencedTask.setAssignee("teamlead-1");
+    referencedTask.setDue(DUE);
+    referencedTask.setDescription("Check the customer data of the application");
+    referencedTask.setOwner("teamlead-1");
+    referencedTask.setTaskDefinitionKey("Task_CheckCustomerData");
+    referencedTask.setBusinessProcessId("process-instance-" + id);
+    referencedTask.setClassificationKey("L11010");
+    referencedTask.setDomain("DOMAIN_A");
+    referencedTask.setWorkbasketKey("GPK_KSC");
+    referencedTask.setManualPriority("-1");
+    referencedTask.setCustomInt1("1");
+    referencedTask.setCustomInt2("2");
+    referencedTask.setVariables(createVariablesJson(numberOfVariables));
+    referencedTask.setSystemUrl("http://localhost:8080/engine-rest");
+    return referencedTask;
+  }
+
+  public static String createReferencedTaskJson(String id, int numberOfVariables) {
+    return writeValueAsString(createReferencedTask(id, numberOfVariables));
+  }
+
+  /**
+   * Creates the response of the outbox REST API for the given number of create events.
+   *
+   * @param numberOfEvents the number of events
+   * @param numberOfVariables the number of process variables of each task
+   * @return the CamundaTaskEventListResource as JSON
+   */
+  public static String createCamundaTaskEventListJson(int numberOfEvents, int numberOfVariables) {
+    List<Map<String, Object>> camundaTaskEvents = new ArrayList<>();
+    for (int i = 1; i <= numberOfEvents; i++) {
+      String camundaTaskId = "camunda-task-" + i;
+      Map<String, Object> camundaTaskEvent = new LinkedHashMap<>();
+      camundaTaskEvent.put("id", i);
+      camundaTaskEvent.put("type", "create");
+      camundaTaskEvent.put("created", CREATED);
+      camundaTaskEvent.put("payload", createReferencedTaskJson(camundaTaskId, numberOfVariables));
+      camundaTaskEvent.put("remainingRetries", 5);
+      camundaTaskEvent.put("blockedUntil", CREATED);
+      camundaTaskEvent.put("error", null);
+      camundaTaskEvent.put("camundaTaskId", camundaTaskId);
+      camundaTaskEvent.put("systemEngineIdentifier", ENGINE);
+      camundaTaskEvents.add(camundaTaskEvent);
+    }
+    return writeValueAsString(Map.of("camundaTaskEvents", camundaTaskEvents));
+  }
+
+  private static String writeValueAsString(Object value) {
+    try {
+      return OBJECT_MAPPER.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not create the test data of the benchmarks", e);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package pro.taskana.adapter.camunda.outbox.rest.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.taskana.adapter.benchmarks.BenchmarkData;
+import pro.taskana.adapter.camunda.OutboxRestConfiguration;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import pro.taskana.adapter.camunda.schemacreator.TaskanaOutboxSchemaCreator;
+
+/**
+ * Measures the mapping of the rows of the outbox table to CamundaTaskEvents. The events are read
+ * from an in-memory H2 database with the schema of the outbox, each invocation executes the query
+ * and maps all of its rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CamundaTaskEventsServiceBenchmark {
+
+  private static final String SQL_INSERT_EVENT =
+      "INSERT INTO %s.event_store (TYPE,CREATED,PAYLOAD,REMAINING_RETRIES,"
+          + "BLOCKED_UNTIL,CAMUNDA_TASK_ID, SYSTEM_ENGINE_IDENTIFIER, SHARD_KEY) "
+          + "VALUES (?,?,?,?,?,?,?,?)";
+  private static final String SQL_GET_ALL_EVENTS = "select * from %s.event_store order by id";
+
+  @Param({"500"})
+  public int numberOfEvents;
+
+  @Param({"10"})
+  public int numberOfVariables;
+
+  private final CamundaTaskEventsService camundaTaskEventsService = new CamundaTaskEventsService();
+
+  private Connection connection;
+  private PreparedStatement getAllEventsStatement;
+
+  @Setup
+  public void setup() throws SQLException {
+    String outboxSchema = OutboxRestConfiguration.getOutboxSchema();
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:outbox-benchmark;NON_KEYWORDS=KEY,VALUE;DB_CLOSE_DELAY=-1");
+    new TaskanaOutboxSchemaCreator(dataSource, outboxSchema).createSchema();
+
+    connection = dataSource.getConnection();
+    Timestamp now = Timestamp.from(Instant.now());
+    try (PreparedStatement preparedStatement =
+        connection.prepareStatement(String.format(SQL_INSERT_EVENT, outboxSchema))) {
+      for (int i = 1; i <= numberOfEvents; i++) {
+        String camundaTaskId = "camunda-task-" + i;
+        preparedStatement.setString(1, "create");
+        preparedStatement.setTimestamp(2, now);
+        preparedStatement.setString(
+            3, BenchmarkData.createReferencedTaskJson(camundaTaskId, numberOfVariables));
+        preparedStatement.setInt(4, 5);
+        preparedStatement.setTimestamp(5, now);
+        preparedStatement.setString(6, camundaTaskId);
+        preparedStatement.setString(7, BenchmarkData.ENGINE);
+        preparedStatement.setInt(8, camundaTaskId.hashCode() & Integer.MAX_VALUE);
+        preparedStatement.addBatch();
+      }
+      preparedStatement.executeBatch();
+    }
+
+    getAllEventsStatement =
+        connection.prepareStatement(String.format(SQL_GET_ALL_EVENTS, outboxSchema));
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    getAllEventsStatement.close();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public List<CamundaTaskEvent> getCamundaTaskEvents() throws SQLException {
+    try (ResultSet resultSet = getAllEventsStatement.executeQuery()) {
+      return camundaTaskEventsService.getCamundaTaskEvents(resultSet);
+    }
+  }
+}
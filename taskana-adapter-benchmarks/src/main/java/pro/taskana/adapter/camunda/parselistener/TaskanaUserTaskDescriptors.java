@@ -0,0 +1,12 @@
+package pro.taskana.adapter.camunda.parselistener;
+
+/** Creates TaskanaUserTaskDescriptors for the benchmarks, which don't parse a process model. */
+public final class TaskanaUserTaskDescriptors {
+
+  private TaskanaUserTaskDescriptors() {}
+
+  public static TaskanaUserTaskDescriptor create(
+      String classificationKey, String domain, String taskanaAttributes) {
+    return new TaskanaUserTaskDescriptor(classificationKey, domain, taskanaAttributes);
+  }
+}
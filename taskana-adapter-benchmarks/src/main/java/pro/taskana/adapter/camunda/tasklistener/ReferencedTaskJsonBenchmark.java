@@ -0,0 +1,130 @@
+package pro.taskana.adapter.camunda.tasklistener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pro.taskana.adapter.benchmarks.BenchmarkData;
+import pro.taskana.adapter.camunda.parselistener.TaskanaUserTaskDescriptor;
+import pro.taskana.adapter.camunda.parselistener.TaskanaUserTaskDescriptors;
+
+/**
+ * Measures the serialization of a created user task into the payload of its outbox event, which
+ * runs in the transaction of the Camunda engine. The task is a stub instead of a mock, so that the
+ * overhead of a mocking framework doesn't distort the result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferencedTaskJsonBenchmark {
+
+  @Param({"0", "10", "50"})
+  public int numberOfVariables;
+
+  private TaskanaTaskListener taskanaTaskListener;
+  private DelegateTask delegateTask;
+
+  @Setup
+  public void setup() {
+    taskanaTaskListener = new TaskanaTaskListener();
+
+    List<String> variableNames = new ArrayList<>();
+    Map<String, TypedValue> variables = new HashMap<>();
+    variables.put("taskana.workbasket-key", Variables.stringValue("GPK_KSC"));
+    variables.put("taskana.manual-priority", Variables.stringValue("-1"));
+    variables.put("taskana.custom-int-1", Variables.stringValue("1"));
+    variables.put("taskana.custom-int-2", Variables.stringValue("2"));
+    for (int i = 0; i < numberOfVariables; i++) {
+      String variableName = BenchmarkData.getVariableName(i);
+      variableNames.add(variableName);
+      if (i % 2 == 0) {
+        variables.put(variableName, Variables.stringValue("value of variable " + i));
+      } else {
+        variables.put(variableName, Variables.objectValue(createCustomer(i)).create());
+      }
+    }
+
+    TaskanaUserTaskDescriptor userTaskDescriptor =
+        TaskanaUserTaskDescriptors.create(
+            "L11010", "DOMAIN_A", variableNames.isEmpty() ? null : String.join(",", variableNames));
+    ActivityImpl activity = new ActivityImpl("Task_CheckCustomerData", null);
+    activity.setProperty(TaskanaUserTaskDescriptor.PROPERTY_NAME, userTaskDescriptor);
+    ExecutionEntity execution = new ExecutionEntity();
+    execution.setActivity(activity);
+
+    Instant created = Instant.parse("2024-01-15T09:15:30.123Z");
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("getId", "camunda-task-1");
+    properties.put("getCreateTime", Date.from(created));
+    properties.put("getPriority", 50);
+    properties.put("getName", "Check the customer data");
+    properties.put("getAssignee", "teamlead-1");
+    properties.put("getDueDate", Date.from(created.plus(7, ChronoUnit.DAYS)));
+    properties.put("getDescription", "Check the customer data of the application");
+    properties.put("getOwner", "teamlead-1");
+    properties.put("getTaskDefinitionKey", "Task_CheckCustomerData");
+    properties.put("getProcessInstanceId", "process-instance-1");
+    properties.put("getProcessDefinitionId", "CheckCustomerData:1:1");
+    properties.put("getExecution", execution);
+
+    delegateTask = createDelegateTask(properties, variables);
+  }
+
+  @Benchmark
+  public String getReferencedTaskJson() throws JsonProcessingException {
+    return taskanaTaskListener.getReferencedTaskJson(delegateTask);
+  }
+
+  private static Map<String, Object> createCustomer(int index) {
+    Map<String, Object> customer = new LinkedHashMap<>();
+    customer.put("customerId", String.format("C-%05d", index));
+    customer.put("street", "Main Street " + index);
+    customer.put("zip", "12345");
+    customer.put("amounts", List.of(100, 250, 75));
+    customer.put("approved", false);
+    return customer;
+  }
+
+  private static DelegateTask createDelegateTask(
+      Map<String, Object> properties, Map<String, TypedValue> variables) {
+    return (DelegateTask)
+        Proxy.newProxyInstance(
+            DelegateTask.class.getClassLoader(),
+            new Class<?>[] {DelegateTask.class},
+            (proxy, method, args) -> {
+              if ("getVariable".equals(method.getName())) {
+                TypedValue variable = variables.get(args[0]);
+                return variable == null ? null : variable.getValue();
+              } else if ("getVariableTyped".equals(method.getName())) {
+                return variables.get(args[0]);
+              }
+              return properties.get(method.getName());
+            });
+  }
+}
@@ -0,0 +1,85 @@
+package pro.taskana.adapter.systemconnector.camunda.api.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.benchmarks.BenchmarkData;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.camunda.config.OkHttpProperties;
+
+/**
+ * Measures the retrieval of the create events from the outbox, i.e. the deserialization of the
+ * CamundaTaskEventListResource and of the payloads of its events. The RestTemplate answers every
+ * request with the same response from memory, so that the result doesn't depend on the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CamundaTaskRetrieverBenchmark {
+
+  private static final String OUTBOX_URL = "http://localhost:8080/outbox-rest";
+
+  @Param({"500"})
+  public int numberOfEvents;
+
+  @Param({"10"})
+  public int numberOfVariables;
+
+  private CamundaTaskRetriever camundaTaskRetriever;
+
+  @Setup
+  public void setup() {
+    byte[] camundaTaskEventList =
+        BenchmarkData.createCamundaTaskEventListJson(numberOfEvents, numberOfVariables)
+            .getBytes(StandardCharsets.UTF_8);
+
+    RestTemplate restTemplate = new RestTemplate();
+    restTemplate.setRequestFactory(
+        (uri, httpMethod) -> {
+          MockClientHttpResponse response =
+              new MockClientHttpResponse(camundaTaskEventList, HttpStatus.OK);
+          response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+          MockClientHttpRequest request = new MockClientHttpRequest(httpMethod, uri);
+          request.setResponse(response);
+          return request;
+        });
+
+    camundaTaskRetriever = new CamundaTaskRetriever();
+    ReflectionTestUtils.setField(
+        camundaTaskRetriever, "httpHeaderProvider", new HttpHeaderProvider());
+    ReflectionTestUtils.setField(
+        camundaTaskRetriever, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+    ReflectionTestUtils.setField(camundaTaskRetriever, "restTemplate", restTemplate);
+    ReflectionTestUtils.setField(camundaTaskRetriever, "okHttpProperties", new OkHttpProperties());
+
+    if (retrieveNewStartedCamundaTasks().size() != numberOfEvents) {
+      throw new IllegalStateException("The events of the outbox could not be deserialized");
+    }
+  }
+
+  @Benchmark
+  public List<ReferencedTask> retrieveNewStartedCamundaTasks() {
+    return camundaTaskRetriever.retrieveNewStartedCamundaTasks(OUTBOX_URL, BenchmarkData.ENGINE);
+  }
+}
@@ -0,0 +1,95 @@
+package pro.taskana.adapter.taskanaconnector.api.impl;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import pro.taskana.adapter.benchmarks.BenchmarkData;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.task.api.TaskService;
+import pro.taskana.task.api.models.Task;
+import pro.taskana.task.internal.models.ObjectReferenceImpl;
+import pro.taskana.task.internal.models.TaskImpl;
+import pro.taskana.workbasket.internal.models.WorkbasketSummaryImpl;
+
+/**
+ * Measures the mapping between ReferencedTasks and TASKANA tasks. The TaskService is a stub which
+ * only creates the new task and object reference, so that the result contains neither the database
+ * of TASKANA nor the overhead of a mocking framework.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskInformationMapperBenchmark {
+
+  @Param({"0", "10", "50"})
+  public int numberOfVariables;
+
+  private TaskInformationMapper taskInformationMapper;
+  private ReferencedTask referencedTask;
+  private Task taskanaTask;
+
+  @Setup
+  public void setup() {
+    taskInformationMapper = new TaskInformationMapper();
+    ReflectionTestUtils.setField(taskInformationMapper, "taskService", createTaskService());
+    ReflectionTestUtils.setField(taskInformationMapper, "defaultCompany", "DEFAULT_COMPANY");
+    ReflectionTestUtils.setField(taskInformationMapper, "defaultSystem", "DEFAULT_SYSTEM");
+    ReflectionTestUtils.setField(
+        taskInformationMapper, "defaultSystemInstance", "DEFAULT_SYSTEM_INSTANCE");
+    ReflectionTestUtils.setField(taskInformationMapper, "defaultType", "DEFAULT_TYPE");
+    ReflectionTestUtils.setField(taskInformationMapper, "defaultValue", "DEFAULT_VALUE");
+
+    referencedTask = BenchmarkData.createReferencedTask("camunda-task-1", numberOfVariables);
+    taskanaTask = taskInformationMapper.convertToTaskanaTask(referencedTask);
+  }
+
+  @Benchmark
+  public Task convertToTaskanaTask() {
+    return taskInformationMapper.convertToTaskanaTask(referencedTask);
+  }
+
+  @Benchmark
+  public ReferencedTask convertToReferencedTask() {
+    return taskInformationMapper.convertToReferencedTask(taskanaTask);
+  }
+
+  private static TaskService createTaskService() {
+    return (TaskService)
+        Proxy.newProxyInstance(
+            TaskService.class.getClassLoader(),
+            new Class<?>[] {TaskService.class},
+            (proxy, method, args) -> {
+              if ("newTask".equals(method.getName()) && args != null && args.length == 2) {
+                WorkbasketSummaryImpl workbasketSummary = new WorkbasketSummaryImpl();
+                workbasketSummary.setKey((String) args[0]);
+                workbasketSummary.setDomain((String) args[1]);
+                TaskImpl task = new TaskImpl();
+                task.setWorkbasketSummary(workbasketSummary);
+                task.setDomain((String) args[1]);
+                return task;
+              } else if ("newObjectReference".equals(method.getName())) {
+                return new ObjectReferenceImpl(
+                    (String) args[0],
+                    (String) args[1],
+                    (String) args[2],
+                    (String) args[3],
+                    (String) args[4]);
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+  }
+}
@@ -11,6 +11,8 @@ public class CamundaListenerConfiguration {
 
   private static final String TASKANA_ADAPTER_CREATE_OUTBOX_SCHEMA =
       "taskana.adapter.create_outbox_schema";
+  private static final String TASKANA_ADAPTER_MIGRATE_OUTBOX_SCHEMA =
+      "taskana.adapter.migrate_outbox_schema";
   private static final String TASKANA_OUTBOX_PROPERTIES = "taskana-outbox.properties";
   private static final String TASKANA_ADAPTER_OUTBOX_SCHEMA = "taskana.adapter.outbox.schema";
   private static final String TASKANA_ADAPTER_OUTBOX_DATASOURCE_JNDI =
@@ -30,6 +32,7 @@ public class CamundaListenerConfiguration {
   private static final String EXCEPTION_FOR_FAULTY_PROCESS_VARIABLES =
       "taskana.listener.process.variables.exception";
   private static final boolean CREATE_OUTBOX_SCHEMA_DEFAULT = true;
+  private static final boolean MIGRATE_OUTBOX_SCHEMA_DEFAULT = true;
   private static final int INITIAL_NUMBER_OF_TASK_CREATION_RETRIES_DEFAULT = 5;
   private static final Logger LOGGER = LoggerFactory.getLogger(CamundaListenerConfiguration.class);
   private final Properties outboxProperties = new Properties();
@@ -81,6 +84,20 @@ public class CamundaListenerConfiguration {
     }
   }
 
+  public static boolean getMigrateOutboxSchema() {
+
+    String migrateOutboxSchemaProperty =
+        getInstance().outboxProperties.getProperty(TASKANA_ADAPTER_MIGRATE_OUTBOX_SCHEMA);
+
+    if ((migrateOutboxSchemaProperty == null) || migrateOutboxSchemaProperty.isEmpty()) {
+      LOGGER.info(
+          "Couldn't retrieve boolean property to migrate schema or not, setting to default ");
+      return MIGRATE_OUTBOX_SCHEMA_DEFAULT;
+    } else {
+      return !"false".equalsIgnoreCase(migrateOutboxSchemaProperty);
+    }
+  }
+
   public static String getOutboxSchema() {
 
     String outboxSchema = getInstance().outboxProperties.getProperty(TASKANA_ADAPTER_OUTBOX_SCHEMA);
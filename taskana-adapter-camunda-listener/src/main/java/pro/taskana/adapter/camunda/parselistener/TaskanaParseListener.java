@@ -1,8 +1,13 @@
 package pro.taskana.adapter.camunda.parselistener;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.camunda.bpm.engine.delegate.TaskListener;
 import org.camunda.bpm.engine.impl.bpmn.behavior.UserTaskActivityBehavior;
 import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
@@ -12,7 +17,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.taskana.adapter.camunda.tasklistener.TaskanaTaskListener;
 
-/** This class is responsible for adding the TaskanaTaskListener to all user tasks. */
+/**
+ * This class is responsible for adding the TaskanaTaskListener to all user tasks. It also attaches
+ * a {@link TaskanaUserTaskDescriptor} with the TASKANA related extension properties to each user
+ * task.
+ */
 public class TaskanaParseListener extends AbstractBpmnParseListener {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TaskanaParseListener.class);
@@ -35,6 +44,96 @@ public class TaskanaParseListener extends AbstractBpmnParseListener {
       userTask.addTaskListener(TaskListener.EVENTNAME_CREATE, TaskanaTaskListener.getInstance());
       userTask.addTaskListener(TaskListener.EVENTNAME_COMPLETE, TaskanaTaskListener.getInstance());
       userTask.addTaskListener(TaskListener.EVENTNAME_DELETE, TaskanaTaskListener.getInstance());
+
+      Map<String, String> userTaskProperties = getUserTaskExtensionProperties(userTaskElement);
+
+      activity.setProperty(
+          TaskanaUserTaskDescriptor.PROPERTY_NAME,
+          new TaskanaUserTaskDescriptor(
+              userTaskProperties.get(TaskanaUserTaskDescriptor.CLASSIFICATION_KEY),
+              userTaskProperties.get(TaskanaUserTaskDescriptor.DOMAIN),
+              userTaskProperties.get(TaskanaUserTaskDescriptor.TASKANA_ATTRIBUTES)));
+    }
+  }
+
+  @Override
+  public void parseRootElement(
+      Element rootElement, List<ProcessDefinitionEntity> processDefinitions) {
+
+    // the properties of the whole model are only known after all user tasks have been parsed
+    Map<String, String> processModelProperties = new LinkedHashMap<>();
+    collectProcessModelExtensionProperties(rootElement, processModelProperties);
+
+    for (ProcessDefinitionEntity processDefinition : processDefinitions) {
+      addProcessModelProperties(
+          processDefinition,
+          processModelProperties.get(TaskanaUserTaskDescriptor.DOMAIN),
+          processModelProperties.get(TaskanaUserTaskDescriptor.TASKANA_ATTRIBUTES));
+    }
+  }
+
+  private void addProcessModelProperties(
+      ScopeImpl scope, String processModelDomain, String processModelTaskanaAttributes) {
+
+    for (ActivityImpl activity : scope.getActivities()) {
+
+      Object descriptor = activity.getProperty(TaskanaUserTaskDescriptor.PROPERTY_NAME);
+
+      if (descriptor instanceof TaskanaUserTaskDescriptor) {
+        activity.setProperty(
+            TaskanaUserTaskDescriptor.PROPERTY_NAME,
+            ((TaskanaUserTaskDescriptor) descriptor)
+                .withProcessModelProperties(processModelDomain, processModelTaskanaAttributes));
+      }
+
+      addProcessModelProperties(activity, processModelDomain, processModelTaskanaAttributes);
+    }
+  }
+
+  private Map<String, String> getUserTaskExtensionProperties(Element userTaskElement) {
+
+    Map<String, String> userTaskProperties = new LinkedHashMap<>();
+
+    Element extensionElements = userTaskElement.element("extensionElements");
+    if (extensionElements == null) {
+      return userTaskProperties;
+    }
+
+    for (Element camundaProperties : extensionElements.elements()) {
+      if (isCamundaElement(camundaProperties, "properties")) {
+        camundaProperties.elements().stream()
+            .filter(camundaProperty -> isCamundaElement(camundaProperty, "property"))
+            .forEach(camundaProperty -> addExtensionProperty(camundaProperty, userTaskProperties));
+        break;
+      }
     }
+
+    return userTaskProperties;
+  }
+
+  private void collectProcessModelExtensionProperties(
+      Element element, Map<String, String> processModelProperties) {
+
+    for (Element child : element.elements()) {
+      if (isCamundaElement(child, "property")) {
+        addExtensionProperty(child, processModelProperties);
+      }
+      collectProcessModelExtensionProperties(child, processModelProperties);
+    }
+  }
+
+  private void addExtensionProperty(Element camundaProperty, Map<String, String> properties) {
+
+    String name = camundaProperty.attribute("name");
+
+    // like in the BPMN model, the first property with a name wins
+    if (name != null && !properties.containsKey(name)) {
+      properties.put(name, camundaProperty.attribute("value"));
+    }
+  }
+
+  private boolean isCamundaElement(Element element, String tagName) {
+    return tagName.equals(element.getTagName())
+        && BpmnParse.CAMUNDA_BPMN_EXTENSIONS_NS.hasNamespaceUri(element.getUri());
   }
 }
@@ -25,7 +25,7 @@ import pro.taskana.adapter.camunda.schemacreator.TaskanaOutboxSchemaCreator;
  */
 public class TaskanaParseListenerProcessEnginePlugin extends AbstractProcessEnginePlugin {
 
-  private static final String OUTBOX_SCHEMA_VERSION = "1.11.0";
+  private static final String OUTBOX_SCHEMA_VERSION = "1.14.0";
   private static final Logger LOGGER =
       LoggerFactory.getLogger(TaskanaParseListenerProcessEnginePlugin.class);
 
@@ -100,6 +100,16 @@ public class TaskanaParseListenerProcessEnginePlugin extends AbstractProcessEngi
       }
     }
 
+    if (isSchemaPreexisting && CamundaListenerConfiguration.getMigrateOutboxSchema()) {
+      LOGGER.debug("Running scripts to migrate the TaskanaOutbox schema");
+      if (!schemaCreator.migrateSchema(OUTBOX_SCHEMA_VERSION)) {
+        LOGGER.error(
+            "An error occured while trying to automatically migrate the "
+                + "TaskanaOutbox schema to version {}.",
+            OUTBOX_SCHEMA_VERSION);
+      }
+    }
+
     if (!schemaCreator.isValidSchemaVersion(OUTBOX_SCHEMA_VERSION)) {
 
       LOGGER.warn(
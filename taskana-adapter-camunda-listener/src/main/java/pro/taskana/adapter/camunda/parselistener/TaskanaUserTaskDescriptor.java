@@ -0,0 +1,134 @@
+package pro.taskana.adapter.camunda.parselistener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.BaseElement;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
+
+/**
+ * This class holds the TASKANA related extension properties of a user task. It is created once per
+ * user task when the process definition is parsed and attached to the activity, so that the
+ * TaskanaTaskListener doesn't need to search the BPMN model whenever a task is created.
+ */
+public final class TaskanaUserTaskDescriptor {
+
+  public static final String PROPERTY_NAME = "taskanaUserTaskDescriptor";
+  static final String CLASSIFICATION_KEY = "taskana.classification-key";
+  static final String DOMAIN = "taskana.domain";
+  static final String TASKANA_ATTRIBUTES = "taskana-attributes";
+
+  private final String classificationKey;
+  private final String domain;
+  private final String taskanaAttributes;
+  private final List<String> variableNames;
+
+  TaskanaUserTaskDescriptor(String classificationKey, String domain, String taskanaAttributes) {
+    this.classificationKey = classificationKey;
+    this.domain = domain;
+    this.taskanaAttributes = taskanaAttributes;
+    this.variableNames =
+        taskanaAttributes == null
+            ? Collections.emptyList()
+            : Collections.unmodifiableList(
+                Arrays.asList(taskanaAttributes.trim().split("\\s*,\\s*")));
+  }
+
+  /**
+   * Reads the properties of a user task from the BPMN model. This is the fallback for user tasks
+   * that weren't parsed by the TaskanaParseListener. Like the TaskanaParseListener, it takes the
+   * properties of the user task first and the ones defined anywhere in the process model second.
+   *
+   * @param userTask the user task, or null if it isn't known
+   * @param modelInstance the BPMN model of the process, or null if it isn't known
+   * @return the descriptor of the user task, with null values for the missing properties
+   */
+  public static TaskanaUserTaskDescriptor fromBpmnModel(
+      BaseElement userTask, BpmnModelInstance modelInstance) {
+
+    TaskanaUserTaskDescriptor descriptor =
+        new TaskanaUserTaskDescriptor(
+            getUserTaskProperty(userTask, CLASSIFICATION_KEY),
+            getUserTaskProperty(userTask, DOMAIN),
+            getUserTaskProperty(userTask, TASKANA_ATTRIBUTES));
+
+    return descriptor.withProcessModelProperties(
+        getProcessModelProperty(modelInstance, DOMAIN),
+        getProcessModelProperty(modelInstance, TASKANA_ATTRIBUTES));
+  }
+
+  public String getClassificationKey() {
+    return classificationKey;
+  }
+
+  public String getDomain() {
+    return domain;
+  }
+
+  public List<String> getVariableNames() {
+    return variableNames;
+  }
+
+  /**
+   * Completes the properties which aren't defined at the user task with the ones defined anywhere
+   * in the process model.
+   *
+   * @param processModelDomain the domain defined in the process model
+   * @param processModelTaskanaAttributes the taskana-attributes defined in the process model
+   * @return a new descriptor with the missing properties taken from the process model
+   */
+  TaskanaUserTaskDescriptor withProcessModelProperties(
+      String processModelDomain, String processModelTaskanaAttributes) {
+    return new TaskanaUserTaskDescriptor(
+        classificationKey,
+        domain != null ? domain : processModelDomain,
+        taskanaAttributes != null ? taskanaAttributes : processModelTaskanaAttributes);
+  }
+
+  private static String getUserTaskProperty(BaseElement userTask, String name) {
+
+    ExtensionElements extensionElements = userTask == null ? null : userTask.getExtensionElements();
+    if (extensionElements == null) {
+      return null;
+    }
+
+    List<CamundaProperties> camundaProperties =
+        extensionElements.getElementsQuery().filterByType(CamundaProperties.class).list();
+    if (camundaProperties.isEmpty()) {
+      return null;
+    }
+
+    return camundaProperties.get(0).getCamundaProperties().stream()
+        .filter(camundaProperty -> name.equals(camundaProperty.getCamundaName()))
+        .findFirst()
+        .map(CamundaProperty::getCamundaValue)
+        .orElse(null);
+  }
+
+  private static String getProcessModelProperty(BpmnModelInstance modelInstance, String name) {
+
+    if (modelInstance == null) {
+      return null;
+    }
+
+    return modelInstance.getModelElementsByType(CamundaProperty.class).stream()
+        .filter(camundaProperty -> name.equals(camundaProperty.getCamundaName()))
+        .findFirst()
+        .map(CamundaProperty::getCamundaValue)
+        .orElse(null);
+  }
+
+  @Override
+  public String toString() {
+    return "TaskanaUserTaskDescriptor [classificationKey="
+        + classificationKey
+        + ", domain="
+        + domain
+        + ", variableNames="
+        + variableNames
+        + "]";
+  }
+}
@@ -2,12 +2,14 @@ package pro.taskana.adapter.camunda.schemacreator;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import javax.sql.DataSource;
 import org.apache.ibatis.jdbc.RuntimeSqlException;
@@ -28,6 +30,17 @@ public class TaskanaOutboxSchemaCreator {
   private static final String DB_SCHEMA_POSTGRES =
       SQL + "/postgres/taskana-outbox-schema-postgres.sql";
   private static final String DB_SCHEMA_ORACLE = SQL + "/oracle/taskana-outbox-schema-oracle.sql";
+  private static final String DB_SCHEMA_UPDATE =
+      SQL + "/%s/taskana_outbox_schema_update_%s_to_%s_%s.sql";
+  private static final Map<String, String> SCHEMA_MIGRATIONS = new LinkedHashMap<>();
+
+  static {
+    SCHEMA_MIGRATIONS.put("0.0.1", "1.0.0");
+    SCHEMA_MIGRATIONS.put("1.0.0", "1.11.0");
+    SCHEMA_MIGRATIONS.put("1.11.0", "1.12.0");
+    SCHEMA_MIGRATIONS.put("1.12.0", "1.13.0");
+    SCHEMA_MIGRATIONS.put("1.13.0", "1.14.0");
+  }
 
   private DataSource dataSource;
   private String schemaName;
@@ -78,6 +91,102 @@ public class TaskanaOutboxSchemaCreator {
     return true;
   }
 
+  /**
+   * Run the db update scripts that migrate the existing schema to the expected version. Each
+   * update script migrates the schema by one version, so the scripts are applied one after the
+   * other until the expected version is reached.
+   *
+   * @param expectedOutboxSchemaVersion the version the schema shall be migrated to
+   * @return true if the schema has the expected version afterwards
+   */
+  public boolean migrateSchema(String expectedOutboxSchemaVersion) {
+
+    String currentVersion;
+
+    try {
+      Map<String, Object> queryResult = querySchema();
+      currentVersion = queryResult == null ? null : (String) queryResult.get("VERSION");
+    } catch (RuntimeSqlException | SQLException e) {
+      LOGGER.error("Caught exception while trying to retrieve the TaskanaOutbox schema version", e);
+      return false;
+    }
+
+    if (currentVersion == null) {
+      LOGGER.error("Couldn't retrieve the TaskanaOutbox schema version. Skipping migration");
+      return false;
+    }
+
+    if (currentVersion.equals(expectedOutboxSchemaVersion)) {
+      LOGGER.debug("TaskanaOutbox schema is up to date. No migration needed.");
+      return true;
+    }
+
+    try (Connection connection = dataSource.getConnection()) {
+
+      final String originalSchema = connection.getSchema();
+
+      try {
+        ScriptRunner runner = new ScriptRunner(connection);
+        runner.setStopOnError(true);
+        runner.setLogWriter(logWriter);
+        runner.setErrorLogWriter(errorLogWriter);
+        final String databaseProductName = connection.getMetaData().getDatabaseProductName();
+        final String dbScriptDirectory = selectDbScriptDirectory(databaseProductName);
+
+        while (!currentVersion.equals(expectedOutboxSchemaVersion)) {
+
+          String nextVersion = SCHEMA_MIGRATIONS.get(currentVersion);
+
+          if (nextVersion == null || dbScriptDirectory == null) {
+            LOGGER.error(
+                "No migration of the TaskanaOutbox schema from version {} available for {}",
+                currentVersion,
+                databaseProductName);
+            return false;
+          }
+
+          String updateScript =
+              String.format(
+                  DB_SCHEMA_UPDATE,
+                  dbScriptDirectory,
+                  currentVersion,
+                  nextVersion,
+                  dbScriptDirectory);
+
+          InputStream updateScriptStream = this.getClass().getResourceAsStream(updateScript);
+
+          if (updateScriptStream == null) {
+            LOGGER.error("Couldn't find the TaskanaOutbox schema update script {}", updateScript);
+            return false;
+          }
+
+          LOGGER.info(
+              "Migrating TaskanaOutbox schema from version {} to {}", currentVersion, nextVersion);
+
+          BufferedReader reader = new BufferedReader(new InputStreamReader(updateScriptStream));
+          runner.runScript(getSqlSchemaNameParsed(reader, databaseProductName));
+
+          currentVersion = nextVersion;
+        }
+      } finally {
+        connection.setSchema(originalSchema);
+      }
+
+    } catch (Exception ex) {
+      LOGGER.error("Caught exception while trying to migrate the TaskanaOutbox schema", ex);
+      return false;
+    } finally {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(outWriter.toString());
+      }
+      if (!errorWriter.toString().trim().isEmpty() && LOGGER.isErrorEnabled()) {
+        LOGGER.error(errorWriter.toString());
+      }
+    }
+    LOGGER.info("TaskanaOutbox schema migrated successfully to version {}", currentVersion);
+    return true;
+  }
+
   public boolean isSchemaPreexisting() {
 
     try {
@@ -168,6 +277,18 @@ public class TaskanaOutboxSchemaCreator {
     }
   }
 
+  private static String selectDbScriptDirectory(String dbProductName) {
+    if (POSTGRESQL.equals(dbProductName)) {
+      return "postgres";
+    } else if (H2.equals(dbProductName)) {
+      return "h2";
+    } else if (dbProductName != null && dbProductName.toLowerCase().startsWith("oracle")) {
+      return "oracle";
+    } else {
+      return null;
+    }
+  }
+
   private StringReader getSqlSchemaNameParsed(BufferedReader reader, String dbProductName) {
     boolean isPostGres = POSTGRESQL.equals(dbProductName);
     StringBuilder content = new StringBuilder();
@@ -0,0 +1,43 @@
+package pro.taskana.adapter.camunda.tasklistener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-JVM signal that is raised after events written by the {@link TaskanaTaskListener} have been
+ * committed to the outbox. Components running in the same JVM, e.g. the outbox REST service, can
+ * subscribe to it to react to new events without polling the outbox table.
+ */
+public final class OutboxEventSignal {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OutboxEventSignal.class);
+  private static final List<Consumer<String>> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+
+  private OutboxEventSignal() {}
+
+  public static void subscribe(Consumer<String> subscriber) {
+    SUBSCRIBERS.add(subscriber);
+  }
+
+  public static void unsubscribe(Consumer<String> subscriber) {
+    SUBSCRIBERS.remove(subscriber);
+  }
+
+  /**
+   * Notifies all subscribers that an event of the given type has been added to the outbox.
+   *
+   * @param eventType the type of the event, i.e. create, complete or delete
+   */
+  public static void signal(String eventType) {
+    for (Consumer<String> subscriber : SUBSCRIBERS) {
+      try {
+        subscriber.accept(eventType);
+      } catch (RuntimeException e) {
+        LOGGER.warn("Caught exception while notifying a subscriber about new outbox events", e);
+      }
+    }
+  }
+}
@@ -5,25 +5,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.DelegateTask;
 import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.variable.value.TypedValue;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
-import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pro.taskana.adapter.camunda.CamundaListenerConfiguration;
@@ -31,6 +34,7 @@ import pro.taskana.adapter.camunda.dto.ReferencedTask;
 import pro.taskana.adapter.camunda.dto.VariableValueDto;
 import pro.taskana.adapter.camunda.exceptions.SystemException;
 import pro.taskana.adapter.camunda.mapper.JacksonConfigurator;
+import pro.taskana.adapter.camunda.parselistener.TaskanaUserTaskDescriptor;
 
 /**
  * This class is responsible for dealing with events within the lifecycle of a camunda user task.
@@ -43,13 +47,16 @@ public class TaskanaTaskListener implements TaskListener {
   private static final String TASK_STATE_TERMINATED = "TERMINATED";
   private static final String DEFAULT_SCHEMA = "taskana_tables";
   private static final String SQL_INSERT_EVENT =
-      "INSERT INTO event_store (TYPE,CREATED,PAYLOAD,REMAINING_RETRIES,"
-          + "BLOCKED_UNTIL,CAMUNDA_TASK_ID, SYSTEM_ENGINE_IDENTIFIER) VALUES (?,?,?,?,?,?,?)";
+      "INSERT INTO %s.event_store (TYPE,CREATED,PAYLOAD,REMAINING_RETRIES,"
+          + "BLOCKED_UNTIL,CAMUNDA_TASK_ID, SYSTEM_ENGINE_IDENTIFIER, SHARD_KEY) "
+          + "VALUES (?,?,?,?,?,?,?,?)";
   private static TaskanaTaskListener instance = null;
 
   private final ObjectMapper objectMapper = JacksonConfigurator.createAndConfigureObjectMapper();
+  private final Map<DataSource, String> insertEventSqlByDataSource = new ConcurrentHashMap<>();
+  private final Map<CommandContext, List<OutboxEvent>> pendingEventsByCommandContext =
+      new ConcurrentHashMap<>();
   private boolean gotActivated = false;
-  private String outboxSchemaName = null;
 
   public static TaskanaTaskListener getInstance() {
     if (instance == null) {
@@ -61,18 +68,7 @@ public class TaskanaTaskListener implements TaskListener {
   @Override
   public void notify(DelegateTask delegateTask) {
 
-    try (Connection connection =
-        Context.getProcessEngineConfiguration().getDataSource().getConnection()) {
-
-      if (!gotActivated) {
-        gotActivated = true;
-        if (LOGGER.isInfoEnabled()) {
-          LOGGER.info(
-              String.format(
-                  "TaskanaTaskListener activated successfully, connected to %s",
-                  connection.getMetaData().getURL()));
-        }
-      }
+    try {
 
       String engineName = delegateTask.getProcessEngine().getName();
       if (engineName.length() > 128) {
@@ -85,11 +81,11 @@ public class TaskanaTaskListener implements TaskListener {
 
       switch (delegateTask.getEventName()) {
         case "create":
-          insertCreateEventIntoOutbox(delegateTask, connection);
+          addCreateEventToOutbox(delegateTask);
           break;
         case "complete":
         case "delete":
-          insertCompleteOrDeleteEventIntoOutbox(delegateTask, connection);
+          addCompleteOrDeleteEventToOutbox(delegateTask);
           break;
         default:
           break;
@@ -101,61 +97,33 @@ public class TaskanaTaskListener implements TaskListener {
     }
   }
 
-  private void insertCreateEventIntoOutbox(DelegateTask delegateTask, Connection connection)
-      throws Exception {
-
-    String camundaSchema = null;
-
-    try {
-
-      camundaSchema = connection.getSchema();
-      LOGGER.debug("camundaSchema in taskListener is {}", camundaSchema);
+  private void addCreateEventToOutbox(DelegateTask delegateTask) throws Exception {
 
-      String referencedTaskJson = getReferencedTaskJson(delegateTask);
+    String referencedTaskJson = getReferencedTaskJson(delegateTask);
 
-      setOutboxSchema(connection);
-
-      prepareAndExecuteStatement(connection, delegateTask, referencedTaskJson);
-
-    } finally {
-      if (camundaSchema != null) {
-        connection.setSchema(camundaSchema);
-      }
-    }
+    addEventToOutbox(new OutboxEvent(delegateTask, referencedTaskJson));
   }
 
-  private void insertCompleteOrDeleteEventIntoOutbox(
-      DelegateTask delegateTask, Connection connection) throws Exception {
+  private void addCompleteOrDeleteEventToOutbox(DelegateTask delegateTask) throws Exception {
 
     if (delegateTask.getEventName().equals("complete")
         && taskWasCompletedByTaskanaAdapter(delegateTask)) {
       return;
     }
 
-    String camundaSchema = null;
-
-    try {
-      String taskState = TASK_STATE_COMPLETED;
-      if (delegateTask.getEventName().equals("delete")) {
-        if (delegateTask.getExecution().isCanceled()) {
-          taskState = TASK_STATE_CANCELLED;
-        } else {
-          taskState = TASK_STATE_TERMINATED;
-        }
+    String taskState = TASK_STATE_COMPLETED;
+    if (delegateTask.getEventName().equals("delete")) {
+      if (delegateTask.getExecution().isCanceled()) {
+        taskState = TASK_STATE_CANCELLED;
+      } else {
+        taskState = TASK_STATE_TERMINATED;
       }
+    }
 
-      String payload =
-          String.format("{\"id\":\"%s\",\"taskState\":\"%s\"}", delegateTask.getId(), taskState);
+    String payload =
+        String.format("{\"id\":\"%s\",\"taskState\":\"%s\"}", delegateTask.getId(), taskState);
 
-      camundaSchema = connection.getSchema();
-      setOutboxSchema(connection);
-      prepareAndExecuteStatement(connection, delegateTask, payload);
-      connection.setSchema(camundaSchema);
-    } finally {
-      if (camundaSchema != null) {
-        connection.setSchema(camundaSchema);
-      }
-    }
+    addEventToOutbox(new OutboxEvent(delegateTask, payload));
   }
 
   private boolean taskWasCompletedByTaskanaAdapter(DelegateTask delegateTask) {
@@ -163,48 +131,140 @@ public class TaskanaTaskListener implements TaskListener {
     return delegateTask.getVariableNamesLocal().contains("completedByTaskanaAdapter");
   }
 
-  private void setOutboxSchema(Connection connection) throws SQLException {
+  /**
+   * Buffers the event in the current command context. All events of a command context are inserted
+   * with one batch right before its transaction commits, so that e.g. a multi instance user task
+   * costs one round trip to the database instead of one per task.
+   */
+  private void addEventToOutbox(OutboxEvent event) throws SQLException {
+
+    DataSource dataSource = Context.getProcessEngineConfiguration().getDataSource();
+    CommandContext commandContext = Context.getCommandContext();
 
-    if (outboxSchemaName == null) {
-      outboxSchemaName = CamundaListenerConfiguration.getOutboxSchema();
+    if (commandContext == null) {
+      List<OutboxEvent> events = Collections.singletonList(event);
+      insertEventsIntoOutbox(dataSource, events);
+      signalOutboxEvents(events);
+    } else {
+      pendingEventsByCommandContext
+          .computeIfAbsent(
+              commandContext, context -> registerTransactionListeners(context, dataSource))
+          .add(event);
     }
+  }
 
-    outboxSchemaName =
-        (outboxSchemaName == null || outboxSchemaName.isEmpty())
-            ? DEFAULT_SCHEMA
-            : outboxSchemaName;
+  private List<OutboxEvent> registerTransactionListeners(
+      CommandContext commandContext, DataSource dataSource) {
 
-    String dbProductName = connection.getMetaData().getDatabaseProductName();
-    if ("PostgreSQL".equals(dbProductName)) {
-      connection.setSchema(outboxSchemaName.toLowerCase());
-    } else {
-      connection.setSchema(outboxSchemaName.toUpperCase());
+    List<OutboxEvent> events = new ArrayList<>();
+    TransactionContext transactionContext = commandContext.getTransactionContext();
+
+    transactionContext.addTransactionListener(
+        TransactionState.COMMITTING, context -> flushEvents(commandContext, dataSource));
+    transactionContext.addTransactionListener(
+        TransactionState.COMMITTED, context -> signalOutboxEvents(events));
+    transactionContext.addTransactionListener(
+        TransactionState.ROLLED_BACK,
+        context -> pendingEventsByCommandContext.remove(commandContext));
+
+    return events;
+  }
+
+  private void flushEvents(CommandContext commandContext, DataSource dataSource) {
+
+    List<OutboxEvent> events = pendingEventsByCommandContext.remove(commandContext);
+
+    if (events == null || events.isEmpty()) {
+      return;
+    }
+
+    try {
+      insertEventsIntoOutbox(dataSource, events);
+    } catch (Exception e) {
+      LOGGER.error("Unexpected Exception while trying to insert events into the outbox", e);
+      throw new SystemException(
+          "Unexpected Exception while trying to insert events into the outbox", e);
+    }
+  }
+
+  private void insertEventsIntoOutbox(DataSource dataSource, List<OutboxEvent> events)
+      throws SQLException {
+
+    try (Connection connection = dataSource.getConnection()) {
+
+      if (!gotActivated) {
+        gotActivated = true;
+        if (LOGGER.isInfoEnabled()) {
+          LOGGER.info(
+              String.format(
+                  "TaskanaTaskListener activated successfully, connected to %s",
+                  connection.getMetaData().getURL()));
+        }
+      }
+
+      try (PreparedStatement preparedStatement =
+          connection.prepareStatement(getInsertEventSql(dataSource, connection))) {
+
+        int initialRetries = CamundaListenerConfiguration.getInitialNumberOfTaskCreationRetries();
+
+        for (OutboxEvent event : events) {
+          preparedStatement.setString(1, event.type);
+          preparedStatement.setTimestamp(2, event.created);
+          preparedStatement.setString(3, event.payload);
+          preparedStatement.setInt(4, initialRetries);
+          preparedStatement.setTimestamp(5, event.created);
+          preparedStatement.setString(6, event.camundaTaskId);
+          preparedStatement.setString(7, event.systemEngineIdentifier);
+          preparedStatement.setInt(8, event.shardKey);
+          preparedStatement.addBatch();
+        }
+
+        preparedStatement.executeBatch();
+        LOGGER.debug("TaskanaTaskListener inserted {} events into the outbox", events.size());
+      }
     }
   }
 
-  private void prepareAndExecuteStatement(
-      Connection connection, DelegateTask delegateTask, String payloadJson) throws Exception {
+  /**
+   * Returns the insert statement qualified with the outbox schema. The database product of a data
+   * source doesn't change, so the statement is only resolved for the first event.
+   */
+  private String getInsertEventSql(DataSource dataSource, Connection connection)
+      throws SQLException {
 
-    try (PreparedStatement preparedStatement =
-        connection.prepareStatement(SQL_INSERT_EVENT, Statement.RETURN_GENERATED_KEYS)) {
+    String insertEventSql = insertEventSqlByDataSource.get(dataSource);
 
-      Timestamp eventCreationTimestamp = Timestamp.from(Instant.now());
+    if (insertEventSql == null) {
 
-      int initialRetries = CamundaListenerConfiguration.getInitialNumberOfTaskCreationRetries();
+      String outboxSchemaName = CamundaListenerConfiguration.getOutboxSchema();
+      outboxSchemaName =
+          (outboxSchemaName == null || outboxSchemaName.isEmpty())
+              ? DEFAULT_SCHEMA
+              : outboxSchemaName;
 
-      preparedStatement.setString(1, delegateTask.getEventName());
-      preparedStatement.setTimestamp(2, eventCreationTimestamp);
-      preparedStatement.setString(3, payloadJson);
-      preparedStatement.setInt(4, initialRetries);
-      preparedStatement.setTimestamp(5, eventCreationTimestamp);
-      preparedStatement.setString(6, delegateTask.getId());
-      preparedStatement.setString(7, delegateTask.getProcessEngine().getName());
+      String dbProductName = connection.getMetaData().getDatabaseProductName();
+      if ("PostgreSQL".equals(dbProductName)) {
+        outboxSchemaName = outboxSchemaName.toLowerCase();
+      } else {
+        outboxSchemaName = outboxSchemaName.toUpperCase();
+      }
 
-      preparedStatement.execute();
+      insertEventSql = String.format(SQL_INSERT_EVENT, outboxSchemaName);
+      insertEventSqlByDataSource.put(dataSource, insertEventSql);
+      LOGGER.debug("TaskanaTaskListener inserts events with {}", insertEventSql);
     }
+
+    return insertEventSql;
+  }
+
+  private void signalOutboxEvents(List<OutboxEvent> events) {
+    events.stream().map(event -> event.type).distinct().forEach(OutboxEventSignal::signal);
   }
 
-  private String getReferencedTaskJson(DelegateTask delegateTask) throws JsonProcessingException {
+  // package-private for the benchmarks of the payload serialization
+  String getReferencedTaskJson(DelegateTask delegateTask) throws JsonProcessingException {
+
+    TaskanaUserTaskDescriptor userTaskDescriptor = getUserTaskDescriptor(delegateTask);
 
     ReferencedTask referencedTask = new ReferencedTask();
 
@@ -219,9 +279,8 @@ public class TaskanaTaskListener implements TaskListener {
     referencedTask.setOwner(delegateTask.getOwner());
     referencedTask.setTaskDefinitionKey(delegateTask.getTaskDefinitionKey());
     referencedTask.setBusinessProcessId(delegateTask.getProcessInstanceId());
-    referencedTask.setClassificationKey(
-        getUserTaskExtensionProperty(delegateTask, "taskana.classification-key"));
-    referencedTask.setDomain(getDomainVariable(delegateTask));
+    referencedTask.setClassificationKey(userTaskDescriptor.getClassificationKey());
+    referencedTask.setDomain(getDomainVariable(delegateTask, userTaskDescriptor));
     referencedTask.setWorkbasketKey(getVariable(delegateTask, "taskana.workbasket-key", null));
     referencedTask.setManualPriority(getVariable(delegateTask, "taskana.manual-priority", "-1"));
     referencedTask.setCustomInt1(getVariable(delegateTask, "taskana.custom-int-1", null));
@@ -232,22 +291,54 @@ public class TaskanaTaskListener implements TaskListener {
     referencedTask.setCustomInt6(getVariable(delegateTask, "taskana.custom-int-6", null));
     referencedTask.setCustomInt7(getVariable(delegateTask, "taskana.custom-int-7", null));
     referencedTask.setCustomInt8(getVariable(delegateTask, "taskana.custom-int-8", null));
-    referencedTask.setVariables(getProcessVariables(delegateTask));
+    referencedTask.setVariables(getProcessVariables(delegateTask, userTaskDescriptor));
     String referencedTaskJson = objectMapper.writeValueAsString(referencedTask);
     LOGGER.debug("Exit from getReferencedTaskJson. Returning {}.", referencedTaskJson);
     return referencedTaskJson;
   }
 
-  private String getDomainVariable(DelegateTask delegateTask) {
-    String taskDomain = getVariable(delegateTask, "taskana.domain", null);
-    if (taskDomain != null) {
-      return taskDomain;
+  private TaskanaUserTaskDescriptor getUserTaskDescriptor(DelegateTask delegateTask) {
+
+    DelegateExecution execution = delegateTask.getExecution();
+
+    if (execution instanceof ExecutionEntity) {
+      ActivityImpl activity = ((ExecutionEntity) execution).getActivity();
+      Object userTaskDescriptor =
+          activity == null ? null : activity.getProperty(TaskanaUserTaskDescriptor.PROPERTY_NAME);
+      if (userTaskDescriptor instanceof TaskanaUserTaskDescriptor) {
+        return (TaskanaUserTaskDescriptor) userTaskDescriptor;
+      }
     }
-    taskDomain = getUserTaskExtensionProperty(delegateTask, "taskana.domain");
+
+    // e.g. a process definition that was deployed before the TaskanaParseListener was registered
+    LOGGER.debug(
+        "User task {} in ProcessDefinition {} was not parsed by the TaskanaParseListener. "
+            + "Reading its properties from the BPMN model.",
+        delegateTask.getTaskDefinitionKey(),
+        delegateTask.getProcessDefinitionId());
+
+    try {
+      return execution == null
+          ? TaskanaUserTaskDescriptor.fromBpmnModel(null, null)
+          : TaskanaUserTaskDescriptor.fromBpmnModel(
+              execution.getBpmnModelElementInstance(), execution.getBpmnModelInstance());
+    } catch (RuntimeException e) {
+      LOGGER.warn(
+          "Caught exception while trying to read the properties of user task {} "
+              + "from the BPMN model. Creating the task without them.",
+          delegateTask.getTaskDefinitionKey(),
+          e);
+      return TaskanaUserTaskDescriptor.fromBpmnModel(null, null);
+    }
+  }
+
+  private String getDomainVariable(
+      DelegateTask delegateTask, TaskanaUserTaskDescriptor userTaskDescriptor) {
+    String taskDomain = getVariable(delegateTask, "taskana.domain", null);
     if (taskDomain != null) {
       return taskDomain;
     }
-    return getProcessModelExtensionProperty(delegateTask, "taskana.domain");
+    return userTaskDescriptor.getDomain();
   }
 
   private String getVariable(
@@ -269,32 +360,17 @@ public class TaskanaTaskListener implements TaskListener {
     return variable;
   }
 
-  private String getProcessVariables(DelegateTask delegateTask) {
+  private String getProcessVariables(
+      DelegateTask delegateTask, TaskanaUserTaskDescriptor userTaskDescriptor) {
 
     StringBuilder variablesBuilder = new StringBuilder();
-    List<String> variableNames;
 
-    // Get Task Variables
-    String taskVariablesConcatenated =
-        getUserTaskExtensionProperty(delegateTask, "taskana-attributes");
-
-    if (taskVariablesConcatenated != null) {
-      variableNames = splitVariableNamesString(taskVariablesConcatenated);
-
-    } else {
-      String processVariablesConcatenated =
-          getProcessModelExtensionProperty(delegateTask, "taskana-attributes");
-      if (processVariablesConcatenated != null) {
-        variableNames = splitVariableNamesString(processVariablesConcatenated);
-      } else {
-        return "{}";
-      }
-    }
-
-    variableNames.forEach(
-        nameOfVariableToAdd ->
-            addToVariablesBuilder(
-                delegateTask, objectMapper, variablesBuilder, nameOfVariableToAdd));
+    userTaskDescriptor
+        .getVariableNames()
+        .forEach(
+            nameOfVariableToAdd ->
+                addToVariablesBuilder(
+                    delegateTask, objectMapper, variablesBuilder, nameOfVariableToAdd));
 
     if (variablesBuilder.length() > 0) {
       variablesBuilder.deleteCharAt(variablesBuilder.length() - 1).append("}");
@@ -370,60 +446,6 @@ public class TaskanaTaskListener implements TaskListener {
     return variableValueDto;
   }
 
-  private List<String> splitVariableNamesString(String variableNamesConcatenated) {
-    return Arrays.asList(variableNamesConcatenated.trim().split("\\s*,\\s*"));
-  }
-
-  private String getProcessModelExtensionProperty(DelegateTask delegateTask, String propertyKey) {
-
-    String propertyValue = null;
-
-    BpmnModelInstance model = delegateTask.getExecution().getBpmnModelInstance();
-
-    List<CamundaProperty> processModelExtensionProperties =
-        model.getModelElementsByType(CamundaProperty.class).stream()
-            .filter(camundaProperty -> camundaProperty.getCamundaName() != null)
-            .filter(camundaProperty -> camundaProperty.getCamundaName().equals(propertyKey))
-            .collect(Collectors.toList());
-
-    if (processModelExtensionProperties.isEmpty()) {
-      return propertyValue;
-    } else {
-      propertyValue = processModelExtensionProperties.get(0).getCamundaValue();
-    }
-
-    return propertyValue;
-  }
-
-  private String getUserTaskExtensionProperty(DelegateTask delegateTask, String propertyKey) {
-
-    String propertyValue = null;
-
-    ExtensionElements extensionElements =
-        delegateTask.getExecution().getBpmnModelElementInstance().getExtensionElements();
-
-    if (extensionElements == null) {
-      return propertyValue;
-    } else {
-      CamundaProperties camundaProperties =
-          extensionElements.getElementsQuery().filterByType(CamundaProperties.class).singleResult();
-
-      List<CamundaProperty> userTaskExtensionProperties =
-          camundaProperties.getCamundaProperties().stream()
-              .filter(camundaProperty -> camundaProperty.getCamundaName() != null)
-              .filter(camundaProperty -> camundaProperty.getCamundaName().equals(propertyKey))
-              .collect(Collectors.toList());
-
-      if (userTaskExtensionProperties.isEmpty()) {
-        return propertyValue;
-      } else {
-        propertyValue = userTaskExtensionProperties.get(0).getCamundaValue();
-      }
-    }
-
-    return propertyValue;
-  }
-
   private String formatDate(Date date) {
     if (date == null) {
       return null;
@@ -433,4 +455,24 @@ public class TaskanaTaskListener implements TaskListener {
           .format(date.toInstant());
     }
   }
+
+  private static class OutboxEvent {
+
+    private final String type;
+    private final Timestamp created;
+    private final String payload;
+    private final String camundaTaskId;
+    private final String systemEngineIdentifier;
+    // all events of a task get the same shard key, so they are retrieved by the same adapter
+    private final int shardKey;
+
+    private OutboxEvent(DelegateTask delegateTask, String payload) {
+      this.type = delegateTask.getEventName();
+      this.created = Timestamp.from(Instant.now());
+      this.payload = payload;
+      this.camundaTaskId = delegateTask.getId();
+      this.systemEngineIdentifier = delegateTask.getProcessEngine().getName();
+      this.shardKey = camundaTaskId == null ? 0 : camundaTaskId.hashCode() & Integer.MAX_VALUE;
+    }
+  }
 }
@@ -12,9 +12,17 @@ CREATE TABLE %schemaName%.event_store
     ERROR VARCHAR(1000),
     CAMUNDA_TASK_ID VARCHAR(40),
     SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LEASE_OWNER VARCHAR(128),
+    LEASE_EXPIRY TIMESTAMP,
+    SHARD_KEY INT,
     CONSTRAINT event_store_pkey PRIMARY KEY (ID)
 );
 
+CREATE INDEX %schemaName%.IDX_EVENT_STORE_TYPE_RETRIES
+    ON %schemaName%.event_store (TYPE, REMAINING_RETRIES, BLOCKED_UNTIL, ID);
+CREATE INDEX %schemaName%.IDX_EVENT_STORE_ENGINE_TYPE
+    ON %schemaName%.event_store (SYSTEM_ENGINE_IDENTIFIER, TYPE, ID);
+
 
 CREATE TABLE %schemaName%.OUTBOX_SCHEMA_VERSION(
         ID INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1),
@@ -22,6 +30,6 @@ CREATE TABLE %schemaName%.OUTBOX_SCHEMA_VERSION(
         CREATED TIMESTAMP NOT NULL,
         PRIMARY KEY (ID)
 );
-INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.11.0', CURRENT_TIMESTAMP);
+INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
 
 
@@ -0,0 +1,7 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+SET SCHEMA %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.12.0', CURRENT_TIMESTAMP);
+
+ALTER TABLE event_store ADD COLUMN LEASE_OWNER VARCHAR(128);
+ALTER TABLE event_store ADD COLUMN LEASE_EXPIRY TIMESTAMP;
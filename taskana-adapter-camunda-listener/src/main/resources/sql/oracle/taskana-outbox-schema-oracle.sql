@@ -20,13 +20,21 @@ CREATE TABLE %schemaName%.EVENT_STORE
     BLOCKED_UNTIL TIMESTAMP NOT NULL,
     ERROR VARCHAR2(1000),
     CAMUNDA_TASK_ID VARCHAR(40),
-    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128)
+    SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LEASE_OWNER VARCHAR(128),
+    LEASE_EXPIRY TIMESTAMP,
+    SHARD_KEY NUMBER(10)
     );
 
 ALTER TABLE %schemaName%.EVENT_STORE ADD(
     CONSTRAINT EVENT_STORE_PKEY PRIMARY KEY (ID)
 );
 
+CREATE INDEX %schemaName%.IDX_EVENT_STORE_TYPE_RETRIES
+    ON %schemaName%.EVENT_STORE (TYPE, REMAINING_RETRIES, BLOCKED_UNTIL, ID);
+CREATE INDEX %schemaName%.IDX_EVENT_STORE_ENGINE_TYPE
+    ON %schemaName%.EVENT_STORE (SYSTEM_ENGINE_IDENTIFIER, TYPE, ID);
+
 CREATE SEQUENCE EVENT_STORE_SEQ START WITH 1;
 
 CREATE OR REPLACE TRIGGER EVENT_STORE_BIR
@@ -65,7 +73,7 @@ BEGIN
 /
 
 
-INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.11.0', CURRENT_TIMESTAMP);
+INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
 
 GRANT INSERT,UPDATE,SELECT,DELETE ON %schemaName%.OUTBOX_SCHEMA_VERSION TO %camundaSchemaName%;
 GRANT INSERT,UPDATE,SELECT,DELETE ON %schemaName%.EVENT_STORE TO %camundaSchemaName%;
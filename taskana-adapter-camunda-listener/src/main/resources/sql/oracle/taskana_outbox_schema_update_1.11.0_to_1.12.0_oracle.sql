@@ -0,0 +1,6 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+ALTER SESSION SET CURRENT_SCHEMA = %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.12.0', CURRENT_TIMESTAMP);
+
+ALTER TABLE EVENT_STORE ADD (LEASE_OWNER VARCHAR(128), LEASE_EXPIRY TIMESTAMP);
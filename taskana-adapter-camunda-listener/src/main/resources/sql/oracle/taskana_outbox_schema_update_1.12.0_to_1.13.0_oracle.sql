@@ -0,0 +1,7 @@
+-- this script updates the tables OUTBOX_SCHEMA_VERSION and event_store.
+ALTER SESSION SET CURRENT_SCHEMA = %schemaName%;
+
+INSERT INTO OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.13.0', CURRENT_TIMESTAMP);
+
+CREATE INDEX IDX_EVENT_STORE_TYPE_RETRIES ON EVENT_STORE (TYPE, REMAINING_RETRIES, BLOCKED_UNTIL, ID);
+CREATE INDEX IDX_EVENT_STORE_ENGINE_TYPE ON EVENT_STORE (SYSTEM_ENGINE_IDENTIFIER, TYPE, ID);
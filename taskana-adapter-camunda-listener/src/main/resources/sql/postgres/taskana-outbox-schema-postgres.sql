@@ -7,7 +7,7 @@ CREATE TABLE %schemaName%.OUTBOX_SCHEMA_VERSION(
     PRIMARY KEY (ID)
     );
 
-INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.11.0', CURRENT_TIMESTAMP);
+INSERT INTO %schemaName%.OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.14.0', CURRENT_TIMESTAMP);
 
 CREATE TABLE IF NOT EXISTS %schemaName%.event_store
 (
@@ -20,5 +20,13 @@ CREATE TABLE IF NOT EXISTS %schemaName%.event_store
     ERROR VARCHAR(1000),
     CAMUNDA_TASK_ID VARCHAR(40),
     SYSTEM_ENGINE_IDENTIFIER VARCHAR(128),
+    LEASE_OWNER VARCHAR(128),
+    LEASE_EXPIRY TIMESTAMP,
+    SHARD_KEY INT,
     CONSTRAINT event_store_pkey PRIMARY KEY (id)
     );
+
+CREATE INDEX IF NOT EXISTS idx_event_store_type_retries
+    ON %schemaName%.event_store (type, remaining_retries, blocked_until, id);
+CREATE INDEX IF NOT EXISTS idx_event_store_engine_type
+    ON %schemaName%.event_store (system_engine_identifier, type, id);
@@ -0,0 +1,147 @@
+package pro.taskana.adapter.camunda.parselistener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.RepositoryServiceImpl;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/** Test for the TaskanaUserTaskDescriptors the TaskanaParseListener attaches to the user tasks. */
+class TaskanaParseListenerTest {
+
+  private static ProcessEngine processEngine;
+  private static ProcessDefinitionEntity taskanaPropertiesProcess;
+  private static ProcessDefinitionEntity noTaskanaPropertiesProcess;
+
+  @BeforeAll
+  static void deployProcesses() {
+
+    ProcessEngineConfigurationImpl configuration =
+        (ProcessEngineConfigurationImpl)
+            ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+                .setJdbcUrl("jdbc:h2:mem:taskana-parse-listener;DB_CLOSE_DELAY=1000")
+                .setHistory(ProcessEngineConfiguration.HISTORY_NONE)
+                .setJobExecutorActivate(false);
+    List<BpmnParseListener> preParseListeners = new ArrayList<>();
+    preParseListeners.add(new TaskanaParseListener());
+    configuration.setCustomPreBPMNParseListeners(preParseListeners);
+
+    processEngine = configuration.buildProcessEngine();
+
+    taskanaPropertiesProcess =
+        deployProcess("processes/taskana_properties_process.bpmn", "taskana_properties_process");
+    noTaskanaPropertiesProcess =
+        deployProcess(
+            "processes/no_taskana_properties_process.bpmn", "no_taskana_properties_process");
+  }
+
+  @AfterAll
+  static void closeProcessEngine() {
+    processEngine.close();
+  }
+
+  @Test
+  void should_UseUserTaskProperties_When_PropertiesAreDefinedAtTheUserTask() {
+
+    TaskanaUserTaskDescriptor descriptor =
+        getDescriptor(taskanaPropertiesProcess, "UserTask_Activity");
+
+    assertThat(descriptor.getClassificationKey()).isEqualTo("L1050");
+    assertThat(descriptor.getDomain()).isEqualTo("ACTIVITY_DOMAIN");
+    assertThat(descriptor.getVariableNames()).containsExactly("attribute1", "attribute2");
+  }
+
+  @Test
+  void should_UseProcessModelProperties_When_PropertiesAreMissingAtTheUserTask() {
+
+    TaskanaUserTaskDescriptor descriptor =
+        getDescriptor(taskanaPropertiesProcess, "UserTask_Process");
+
+    assertThat(descriptor.getClassificationKey()).isEqualTo("L1060");
+    assertThat(descriptor.getDomain()).isEqualTo("PROCESS_DOMAIN");
+    assertThat(descriptor.getVariableNames())
+        .containsExactly("processAttribute1", "processAttribute2");
+  }
+
+  @Test
+  void should_AttachDescriptor_When_UserTaskIsInNestedSubProcess() {
+
+    TaskanaUserTaskDescriptor nestedDescriptor =
+        getDescriptor(taskanaPropertiesProcess, "UserTask_Nested");
+
+    assertThat(nestedDescriptor.getClassificationKey()).isNull();
+    assertThat(nestedDescriptor.getDomain()).isEqualTo("PROCESS_DOMAIN");
+    assertThat(nestedDescriptor.getVariableNames())
+        .containsExactly("processAttribute1", "processAttribute2");
+
+    TaskanaUserTaskDescriptor nestedDescriptorWithDomain =
+        getDescriptor(taskanaPropertiesProcess, "UserTask_NestedWithDomain");
+
+    assertThat(nestedDescriptorWithDomain.getClassificationKey()).isEqualTo("L1070");
+    assertThat(nestedDescriptorWithDomain.getDomain()).isEqualTo("NESTED_DOMAIN");
+    assertThat(nestedDescriptorWithDomain.getVariableNames())
+        .containsExactly("processAttribute1", "processAttribute2");
+  }
+
+  @Test
+  void should_NotAttachDescriptor_When_ActivityIsNoUserTask() {
+
+    assertThat(
+            taskanaPropertiesProcess
+                .findActivity("SubProcess_Inner")
+                .getProperty(TaskanaUserTaskDescriptor.PROPERTY_NAME))
+        .isNull();
+  }
+
+  @Test
+  void should_AttachEmptyDescriptor_When_ModelDefinesNoTaskanaProperties() {
+
+    TaskanaUserTaskDescriptor descriptor =
+        getDescriptor(noTaskanaPropertiesProcess, "UserTask_WithoutProperties");
+
+    assertThat(descriptor.getClassificationKey()).isNull();
+    assertThat(descriptor.getDomain()).isNull();
+    assertThat(descriptor.getVariableNames()).isEmpty();
+  }
+
+  private static ProcessDefinitionEntity deployProcess(String resource, String processKey) {
+
+    RepositoryService repositoryService = processEngine.getRepositoryService();
+    repositoryService.createDeployment().addClasspathResource(resource).deploy();
+
+    ProcessDefinition processDefinition =
+        repositoryService
+            .createProcessDefinitionQuery()
+            .processDefinitionKey(processKey)
+            .latestVersion()
+            .singleResult();
+
+    return (ProcessDefinitionEntity)
+        ((RepositoryServiceImpl) repositoryService)
+            .getDeployedProcessDefinition(processDefinition.getId());
+  }
+
+  private TaskanaUserTaskDescriptor getDescriptor(
+      ProcessDefinitionEntity processDefinition, String activityId) {
+
+    ActivityImpl activity = processDefinition.findActivity(activityId);
+
+    assertThat(activity).isNotNull();
+    assertThat(activity.getProperty(TaskanaUserTaskDescriptor.PROPERTY_NAME))
+        .isInstanceOf(TaskanaUserTaskDescriptor.class);
+
+    return (TaskanaUserTaskDescriptor)
+        activity.getProperty(TaskanaUserTaskDescriptor.PROPERTY_NAME);
+  }
+}
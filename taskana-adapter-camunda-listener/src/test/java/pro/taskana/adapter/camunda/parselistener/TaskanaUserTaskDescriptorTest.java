@@ -0,0 +1,85 @@
+package pro.taskana.adapter.camunda.parselistener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for the TaskanaUserTaskDescriptors read from the BPMN model, which the TaskanaTaskListener
+ * falls back to for user tasks without a descriptor of the TaskanaParseListener.
+ */
+class TaskanaUserTaskDescriptorTest {
+
+  private final BpmnModelInstance taskanaPropertiesModel =
+      readModel("processes/taskana_properties_process.bpmn");
+
+  @Test
+  void should_ReadUserTaskProperties_When_PropertiesAreDefinedAtTheUserTask() {
+
+    TaskanaUserTaskDescriptor descriptor = fromBpmnModel("UserTask_Activity");
+
+    assertThat(descriptor.getClassificationKey()).isEqualTo("L1050");
+    assertThat(descriptor.getDomain()).isEqualTo("ACTIVITY_DOMAIN");
+    assertThat(descriptor.getVariableNames()).containsExactly("attribute1", "attribute2");
+  }
+
+  @Test
+  void should_ReadProcessModelProperties_When_PropertiesAreMissingAtTheUserTask() {
+
+    TaskanaUserTaskDescriptor descriptor = fromBpmnModel("UserTask_Process");
+
+    assertThat(descriptor.getClassificationKey()).isEqualTo("L1060");
+    assertThat(descriptor.getDomain()).isEqualTo("PROCESS_DOMAIN");
+    assertThat(descriptor.getVariableNames())
+        .containsExactly("processAttribute1", "processAttribute2");
+  }
+
+  @Test
+  void should_ReadProcessModelProperties_When_UserTaskIsInNestedSubProcess() {
+
+    TaskanaUserTaskDescriptor descriptor = fromBpmnModel("UserTask_Nested");
+
+    assertThat(descriptor.getClassificationKey()).isNull();
+    assertThat(descriptor.getDomain()).isEqualTo("PROCESS_DOMAIN");
+    assertThat(descriptor.getVariableNames())
+        .containsExactly("processAttribute1", "processAttribute2");
+  }
+
+  @Test
+  void should_ReturnEmptyDescriptor_When_ModelDefinesNoTaskanaProperties() {
+
+    BpmnModelInstance model = readModel("processes/no_taskana_properties_process.bpmn");
+    UserTask userTask = model.getModelElementById("UserTask_WithoutProperties");
+
+    TaskanaUserTaskDescriptor descriptor = TaskanaUserTaskDescriptor.fromBpmnModel(userTask, model);
+
+    assertThat(descriptor.getClassificationKey()).isNull();
+    assertThat(descriptor.getDomain()).isNull();
+    assertThat(descriptor.getVariableNames()).isEmpty();
+  }
+
+  @Test
+  void should_ReturnEmptyDescriptor_When_ModelIsNotAvailable() {
+
+    TaskanaUserTaskDescriptor descriptor = TaskanaUserTaskDescriptor.fromBpmnModel(null, null);
+
+    assertThat(descriptor.getClassificationKey()).isNull();
+    assertThat(descriptor.getDomain()).isNull();
+    assertThat(descriptor.getVariableNames()).isEmpty();
+  }
+
+  private TaskanaUserTaskDescriptor fromBpmnModel(String userTaskId) {
+    UserTask userTask = taskanaPropertiesModel.getModelElementById(userTaskId);
+    return TaskanaUserTaskDescriptor.fromBpmnModel(userTask, taskanaPropertiesModel);
+  }
+
+  private static BpmnModelInstance readModel(String resource) {
+    InputStream inputStream =
+        TaskanaUserTaskDescriptorTest.class.getClassLoader().getResourceAsStream(resource);
+    return Bpmn.readModelFromStream(inputStream);
+  }
+}
@@ -0,0 +1,177 @@
+package pro.taskana.adapter.camunda.schemacreator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+/** Test for the creation and the migration of the outbox schema on H2. */
+class TaskanaOutboxSchemaCreatorTest {
+
+  private static final String SCHEMA = "TASKANA_TABLES";
+  private static final String CURRENT_VERSION = "1.14.0";
+
+  // the schema as created by the outbox of version 1.11.0
+  private static final List<String> SCHEMA_1_11_0 =
+      List.of(
+          "CREATE SCHEMA IF NOT EXISTS " + SCHEMA,
+          "CREATE TABLE "
+              + SCHEMA
+              + ".event_store ("
+              + "ID INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1), "
+              + "TYPE VARCHAR(32) NOT NULL, "
+              + "CREATED TIMESTAMP, "
+              + "PAYLOAD CLOB, "
+              + "REMAINING_RETRIES INT NOT NULL, "
+              + "BLOCKED_UNTIL TIMESTAMP NOT NULL, "
+              + "ERROR VARCHAR(1000), "
+              + "CAMUNDA_TASK_ID VARCHAR(40), "
+              + "SYSTEM_ENGINE_IDENTIFIER VARCHAR(128), "
+              + "CONSTRAINT event_store_pkey PRIMARY KEY (ID))",
+          "CREATE TABLE "
+              + SCHEMA
+              + ".OUTBOX_SCHEMA_VERSION ("
+              + "ID INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1), "
+              + "VERSION VARCHAR(255) NOT NULL, "
+              + "CREATED TIMESTAMP NOT NULL, "
+              + "PRIMARY KEY (ID))",
+          "INSERT INTO "
+              + SCHEMA
+              + ".OUTBOX_SCHEMA_VERSION (VERSION, CREATED) VALUES ('1.11.0', CURRENT_TIMESTAMP)",
+          "INSERT INTO "
+              + SCHEMA
+              + ".event_store (TYPE, CREATED, PAYLOAD, REMAINING_RETRIES, BLOCKED_UNTIL, "
+              + "CAMUNDA_TASK_ID, SYSTEM_ENGINE_IDENTIFIER) VALUES ('create', CURRENT_TIMESTAMP, "
+              + "'{}', 5, CURRENT_TIMESTAMP, 'task-1', 'default')");
+
+  @Test
+  void should_MigrateSchemaToCurrentVersion_When_SchemaHasVersion1110() throws Exception {
+
+    DataSource dataSource = createDataSource();
+    execute(dataSource, SCHEMA_1_11_0);
+    TaskanaOutboxSchemaCreator schemaCreator = new TaskanaOutboxSchemaCreator(dataSource, SCHEMA);
+
+    assertThat(schemaCreator.isValidSchemaVersion(CURRENT_VERSION)).isFalse();
+    assertThat(schemaCreator.migrateSchema(CURRENT_VERSION)).isTrue();
+
+    assertThat(schemaCreator.isValidSchemaVersion(CURRENT_VERSION)).isTrue();
+    assertThat(
+            query(
+                dataSource, "SELECT VERSION FROM " + SCHEMA + ".OUTBOX_SCHEMA_VERSION ORDER BY ID"))
+        .containsExactly("1.11.0", "1.12.0", "1.13.0", CURRENT_VERSION);
+    assertThat(getColumns(dataSource))
+        .contains("LEASE_OWNER", "LEASE_EXPIRY", "SHARD_KEY", "SYSTEM_ENGINE_IDENTIFIER");
+    assertThat(getIndexes(dataSource))
+        .containsExactlyInAnyOrder("IDX_EVENT_STORE_TYPE_RETRIES", "IDX_EVENT_STORE_ENGINE_TYPE");
+    // the events of the outbox are kept, without a lease and a shard key
+    assertThat(
+            query(
+                dataSource,
+                "SELECT CAMUNDA_TASK_ID || ':' || COALESCE(LEASE_OWNER, '-') || ':' "
+                    + "|| COALESCE(CAST(SHARD_KEY AS VARCHAR), '-') FROM "
+                    + SCHEMA
+                    + ".event_store"))
+        .containsExactly("task-1:-:-");
+  }
+
+  @Test
+  void should_MatchCreatedSchema_When_SchemaIsMigrated() throws Exception {
+
+    DataSource migratedDataSource = createDataSource();
+    execute(migratedDataSource, SCHEMA_1_11_0);
+    assertThat(
+            new TaskanaOutboxSchemaCreator(migratedDataSource, SCHEMA)
+                .migrateSchema(CURRENT_VERSION))
+        .isTrue();
+
+    DataSource createdDataSource = createDataSource();
+    TaskanaOutboxSchemaCreator schemaCreator =
+        new TaskanaOutboxSchemaCreator(createdDataSource, SCHEMA);
+    assertThat(schemaCreator.createSchema()).isTrue();
+    assertThat(schemaCreator.isValidSchemaVersion(CURRENT_VERSION)).isTrue();
+
+    assertThat(getColumns(migratedDataSource))
+        .containsExactlyInAnyOrderElementsOf(getColumns(createdDataSource));
+    assertThat(getIndexes(migratedDataSource))
+        .containsExactlyInAnyOrderElementsOf(getIndexes(createdDataSource));
+  }
+
+  @Test
+  void should_NotMigrateSchema_When_SchemaHasCurrentVersion() {
+
+    DataSource dataSource = createDataSource();
+    TaskanaOutboxSchemaCreator schemaCreator = new TaskanaOutboxSchemaCreator(dataSource, SCHEMA);
+    schemaCreator.createSchema();
+
+    assertThat(schemaCreator.migrateSchema(CURRENT_VERSION)).isTrue();
+    assertThat(schemaCreator.isValidSchemaVersion(CURRENT_VERSION)).isTrue();
+  }
+
+  private static DataSource createDataSource() {
+    // every schema gets a database of its own
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:outbox-schema-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    dataSource.setUser("sa");
+    return dataSource;
+  }
+
+  private static void execute(DataSource dataSource, List<String> statements)
+      throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      for (String sql : statements) {
+        statement.execute(sql);
+      }
+    }
+  }
+
+  private static List<String> query(DataSource dataSource, String sql) throws SQLException {
+    List<String> values = new ArrayList<>();
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(sql)) {
+      while (resultSet.next()) {
+        values.add(resultSet.getString(1));
+      }
+    }
+    return values;
+  }
+
+  private static List<String> getColumns(DataSource dataSource) throws SQLException {
+    List<String> columns = new ArrayList<>();
+    try (Connection connection = dataSource.getConnection();
+        ResultSet resultSet =
+            connection.getMetaData().getColumns(null, SCHEMA, "EVENT_STORE", null)) {
+      while (resultSet.next()) {
+        columns.add(resultSet.getString("COLUMN_NAME"));
+      }
+    }
+    return columns;
+  }
+
+  private static List<String> getIndexes(DataSource dataSource) throws SQLException {
+    List<String> indexes = new ArrayList<>();
+    try (Connection connection = dataSource.getConnection()) {
+      DatabaseMetaData metaData = connection.getMetaData();
+      try (ResultSet resultSet = metaData.getIndexInfo(null, SCHEMA, "EVENT_STORE", false, false)) {
+        while (resultSet.next()) {
+          String indexName = resultSet.getString("INDEX_NAME");
+          // the index of the primary key is named by the database
+          if (indexName.startsWith("IDX_") && !indexes.contains(indexName)) {
+            indexes.add(indexName);
+          }
+        }
+      }
+    }
+    return indexes;
+  }
+}
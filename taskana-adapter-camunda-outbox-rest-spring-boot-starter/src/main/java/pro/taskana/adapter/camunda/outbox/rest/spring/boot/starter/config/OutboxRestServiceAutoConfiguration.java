@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import pro.taskana.adapter.camunda.outbox.rest.config.OutboxRestServiceConfig;
 import pro.taskana.adapter.camunda.outbox.rest.controller.CamundaTaskEventsController;
+import pro.taskana.adapter.camunda.outbox.rest.controller.CamundaTasksController;
 import pro.taskana.adapter.camunda.parselistener.TaskanaParseListenerProcessEnginePlugin;
 
 /** Configuration for the outbox REST service. */
@@ -25,6 +26,12 @@ public class OutboxRestServiceAutoConfiguration {
     return new CamundaTaskEventsController();
   }
 
+  @Bean
+  @ConditionalOnMissingBean
+  public CamundaTasksController camundaTasksController() {
+    return new CamundaTasksController();
+  }
+
   @Bean
   @ConditionalOnMissingBean
   public TaskanaParseListenerProcessEnginePlugin taskanaParseListenerProcessEnginePlugin() {
@@ -26,12 +26,21 @@ public class OutboxRestConfiguration {
       "taskana.adapter.outbox.max.number.of.events";
   private static final String TASKANA_ADAPTER_OUTBOX_DURATION_BETWEEN_TASK_CREATION_RETRIES =
       "taskana.adapter.outbox.duration.between.task.creation.retries";
+  private static final String TASKANA_ADAPTER_OUTBOX_LEASE_DURATION =
+      "taskana.adapter.outbox.lease.duration";
+  private static final String TASKANA_ADAPTER_OUTBOX_WAIT_MAX_TIMEOUT =
+      "taskana.adapter.outbox.wait.max.timeout";
+  private static final String TASKANA_ADAPTER_OUTBOX_WAIT_RECHECK_INTERVAL =
+      "taskana.adapter.outbox.wait.recheck.interval";
   private static final String OUTBOX_SYSTEM_PROPERTY = "taskana.outbox.properties";
 
   private static final String OUTBOX_SCHEMA_DEFAULT = "taskana_tables";
   private static final int MAX_NUMBER_OF_EVENTS_DEFAULT = 50;
   private static final Duration DURATION_BETWEEN_TASK_CREATION_RETRIES_DEFAULT =
       Duration.ofHours(1);
+  private static final Duration LEASE_DURATION_DEFAULT = Duration.ofMinutes(5);
+  private static final Duration WAIT_MAX_TIMEOUT_DEFAULT = Duration.ofSeconds(60);
+  private static final Duration WAIT_RECHECK_INTERVAL_DEFAULT = Duration.ofSeconds(5);
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRestConfiguration.class);
 
@@ -154,6 +163,51 @@ public class OutboxRestConfiguration {
     }
   }
 
+  public static Duration getLeaseDuration() {
+    return getDurationProperty(
+        TASKANA_ADAPTER_OUTBOX_LEASE_DURATION, "lease duration", LEASE_DURATION_DEFAULT);
+  }
+
+  public static Duration getWaitMaxTimeout() {
+    return getDurationProperty(
+        TASKANA_ADAPTER_OUTBOX_WAIT_MAX_TIMEOUT,
+        "max timeout for waiting",
+        WAIT_MAX_TIMEOUT_DEFAULT);
+  }
+
+  public static Duration getWaitRecheckInterval() {
+    return getDurationProperty(
+        TASKANA_ADAPTER_OUTBOX_WAIT_RECHECK_INTERVAL,
+        "recheck interval for waiting",
+        WAIT_RECHECK_INTERVAL_DEFAULT);
+  }
+
+  private static Duration getDurationProperty(
+      String propertyName, String description, Duration defaultValue) {
+
+    String durationProperty = getInstance().outboxProperties.getProperty(propertyName);
+
+    if (durationProperty == null || durationProperty.isEmpty()) {
+      LOGGER.info(
+          String.format(
+              "Couldn't retrieve property entry for %s, setting to default %s",
+              description, defaultValue));
+      return defaultValue;
+    } else {
+      try {
+        return Duration.parse(durationProperty);
+      } catch (Exception e) {
+        LOGGER.warn(
+            String.format(
+                "Attempted to retrieve %s and caught Exception. Setting default to %s ",
+                description, defaultValue),
+            e);
+
+        return defaultValue;
+      }
+    }
+  }
+
   private void readPropertiesFromClasspath() {
     try (InputStream propertiesStream =
         this.getClass().getClassLoader().getResourceAsStream(TASKANA_OUTBOX_PROPERTIES)) {
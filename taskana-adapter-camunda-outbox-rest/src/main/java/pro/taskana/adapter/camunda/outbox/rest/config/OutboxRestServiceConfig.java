@@ -5,6 +5,7 @@ import jakarta.ws.rs.core.Application;
 import java.util.HashSet;
 import java.util.Set;
 import pro.taskana.adapter.camunda.outbox.rest.controller.CamundaTaskEventsController;
+import pro.taskana.adapter.camunda.outbox.rest.controller.CamundaTasksController;
 import pro.taskana.adapter.camunda.outbox.rest.exception.CamundaTaskEventNotFoundExceptionMapper;
 import pro.taskana.adapter.camunda.outbox.rest.exception.InvalidArgumentExceptionMapper;
 import pro.taskana.adapter.camunda.outbox.rest.exception.JsonParseExceptionMapper;
@@ -18,6 +19,7 @@ public class OutboxRestServiceConfig extends Application {
   public Set<Class<?>> getClasses() {
     Set<Class<?>> classesToBeScanned = new HashSet<>();
     classesToBeScanned.add(CamundaTaskEventsController.class);
+    classesToBeScanned.add(CamundaTasksController.class);
     classesToBeScanned.add(InvalidArgumentExceptionMapper.class);
     classesToBeScanned.add(CamundaTaskEventNotFoundExceptionMapper.class);
     classesToBeScanned.add(JsonParseExceptionMapper.class);
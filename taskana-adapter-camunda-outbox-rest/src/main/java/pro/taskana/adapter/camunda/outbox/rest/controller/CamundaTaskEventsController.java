@@ -9,21 +9,28 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import jakarta.ws.rs.core.UriInfo;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import pro.taskana.adapter.camunda.outbox.rest.exception.CamundaTaskEventNotFoundException;
 import pro.taskana.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
 import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
 import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEventList;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEventStatistics;
 import pro.taskana.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource;
 import pro.taskana.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResourceAssembler;
 import pro.taskana.adapter.camunda.outbox.rest.resource.CamundaTaskEventResource;
 import pro.taskana.adapter.camunda.outbox.rest.resource.CamundaTaskEventResourceAssembler;
+import pro.taskana.adapter.camunda.outbox.rest.service.CamundaTaskEventsLongPollingService;
 import pro.taskana.adapter.camunda.outbox.rest.service.CamundaTaskEventsService;
 import spinjar.com.fasterxml.jackson.core.JsonProcessingException;
 import spinjar.com.fasterxml.jackson.core.type.TypeReference;
@@ -34,8 +41,12 @@ import spinjar.com.fasterxml.jackson.databind.ObjectMapper;
 public class CamundaTaskEventsController {
 
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String AFTER = "after";
+  private static final String TIMEOUT = "timeout";
 
   CamundaTaskEventsService camundaTaskEventService = new CamundaTaskEventsService();
+  CamundaTaskEventsLongPollingService camundaTaskEventsLongPollingService =
+      CamundaTaskEventsLongPollingService.getInstance();
   CamundaTaskEventResourceAssembler camundaTaskEventResourceAssembler =
       new CamundaTaskEventResourceAssembler();
   CamundaTaskEventListResourceAssembler camundaTaskEventListResourceAssembler =
@@ -45,10 +56,15 @@ public class CamundaTaskEventsController {
   @Produces(MediaType.APPLICATION_JSON)
   public Response getEvents(@Context UriInfo uriInfo) throws InvalidArgumentException {
 
-    CamundaTaskEventList camundaTaskEventList = new CamundaTaskEventList();
-
     MultivaluedMap<String, String> filterParams = uriInfo.getQueryParameters();
 
+    if (camundaTaskEventService.isStreamable(filterParams)) {
+      StreamingOutput camundaTaskEvents = camundaTaskEventService.streamEvents(filterParams);
+      return Response.status(200).entity(camundaTaskEvents).build();
+    }
+
+    CamundaTaskEventList camundaTaskEventList = new CamundaTaskEventList();
+
     List<CamundaTaskEvent> camundaTaskEvents = camundaTaskEventService.getEvents(filterParams);
 
     camundaTaskEventList.setCamundaTaskEvents(camundaTaskEvents);
@@ -56,9 +72,41 @@ public class CamundaTaskEventsController {
     CamundaTaskEventListResource camundaTaskEventListResource =
         camundaTaskEventListResourceAssembler.toResource(camundaTaskEventList);
 
+    if (camundaTaskEventService.isNextPageAvailable(filterParams, camundaTaskEvents)) {
+      int lastEventId = camundaTaskEvents.get(camundaTaskEvents.size() - 1).getId();
+      camundaTaskEventListResource.setNext(
+          uriInfo.getRequestUriBuilder().replaceQueryParam(AFTER, lastEventId).build().toString());
+    }
+
     return Response.status(200).entity(camundaTaskEventListResource).build();
   }
 
+  @GET
+  @Path(Mapping.URL_WAIT_FOR_EVENTS)
+  @Produces(MediaType.APPLICATION_JSON)
+  public void waitForEvents(@Context UriInfo uriInfo, @Suspended AsyncResponse asyncResponse)
+      throws InvalidArgumentException {
+
+    MultivaluedMap<String, String> filterParams =
+        new MultivaluedHashMap<>(uriInfo.getQueryParameters());
+
+    Duration timeout = camundaTaskEventsLongPollingService.getTimeout(filterParams.remove(TIMEOUT));
+
+    camundaTaskEventsLongPollingService.waitForEvents(
+        filterParams,
+        timeout,
+        asyncResponse,
+        camundaTaskEvents -> {
+          CamundaTaskEventList camundaTaskEventList = new CamundaTaskEventList();
+          camundaTaskEventList.setCamundaTaskEvents(camundaTaskEvents);
+
+          CamundaTaskEventListResource camundaTaskEventListResource =
+              camundaTaskEventListResourceAssembler.toResource(camundaTaskEventList);
+
+          return Response.status(200).entity(camundaTaskEventListResource).build();
+        });
+  }
+
   @Path(Mapping.URL_EVENT)
   @GET
   @Produces(MediaType.APPLICATION_JSON)
@@ -185,4 +233,14 @@ public class CamundaTaskEventsController {
 
     return Response.status(200).entity(failedEventsCount).build();
   }
+
+  @GET
+  @Path(Mapping.URL_EVENT_STATISTICS)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getEventStatistics() {
+
+    List<CamundaTaskEventStatistics> eventStatistics = camundaTaskEventService.getEventStatistics();
+
+    return Response.status(200).entity(eventStatistics).build();
+  }
 }
@@ -0,0 +1,57 @@
+package pro.taskana.adapter.camunda.outbox.rest.controller;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import java.util.List;
+import pro.taskana.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskCompletion;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskCompletionResult;
+import pro.taskana.adapter.camunda.outbox.rest.service.CamundaTaskCompletionService;
+import spinjar.com.fasterxml.jackson.core.JsonProcessingException;
+import spinjar.com.fasterxml.jackson.core.type.TypeReference;
+import spinjar.com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Controller for completing camunda tasks on behalf of the TASKANA Adapter. */
+@Path(Mapping.URL_TASKS)
+public class CamundaTasksController {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  CamundaTaskCompletionService camundaTaskCompletionService = new CamundaTaskCompletionService();
+
+  @Path(Mapping.URL_COMPLETE_TASKS)
+  @POST
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response completeTasks(
+      @QueryParam("engine") String engine, @Context SecurityContext securityContext, String body)
+      throws InvalidArgumentException, JsonProcessingException {
+
+    List<CamundaTaskCompletion> camundaTaskCompletions =
+        OBJECT_MAPPER.readValue(body, new TypeReference<List<CamundaTaskCompletion>>() {});
+
+    if (camundaTaskCompletions == null) {
+      throw new InvalidArgumentException(
+          "Please provide a valid json body in the format "
+              + "[{\"taskId\":\"id\",\"assignee\":\"user\",\"variables\":{}}]");
+    }
+
+    // the tasks are completed as the caller the servlet container authenticated
+    String userId =
+        securityContext == null || securityContext.getUserPrincipal() == null
+            ? null
+            : securityContext.getUserPrincipal().getName();
+
+    List<CamundaTaskCompletionResult> camundaTaskCompletionResults =
+        camundaTaskCompletionService.completeTasks(engine, userId, camundaTaskCompletions);
+
+    return Response.status(200).entity(camundaTaskCompletionResults).build();
+  }
+}
@@ -10,6 +10,10 @@ public final class Mapping {
       URL_EVENT + "/decrease-remaining-retries";
   public static final String DELETE_FAILED_EVENTS = "/delete-failed-events";
   public static final String URL_COUNT_FAILED_EVENTS = "/count";
+  public static final String URL_WAIT_FOR_EVENTS = "/wait";
+  public static final String URL_EVENT_STATISTICS = "/stats";
+  public static final String URL_TASKS = "/tasks";
+  public static final String URL_COMPLETE_TASKS = "/complete";
 
   private Mapping() {}
 }
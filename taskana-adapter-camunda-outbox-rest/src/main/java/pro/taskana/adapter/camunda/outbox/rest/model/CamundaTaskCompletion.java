@@ -0,0 +1,47 @@
+package pro.taskana.adapter.camunda.outbox.rest.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/** POJO that represents a camunda task to be completed by the TASKANA Adapter. */
+public class CamundaTaskCompletion implements Serializable {
+
+  private String taskId;
+  private String assignee;
+  private Map<String, CamundaVariableValue> variables;
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public void setTaskId(String taskId) {
+    this.taskId = taskId;
+  }
+
+  public String getAssignee() {
+    return assignee;
+  }
+
+  public void setAssignee(String assignee) {
+    this.assignee = assignee;
+  }
+
+  public Map<String, CamundaVariableValue> getVariables() {
+    return variables;
+  }
+
+  public void setVariables(Map<String, CamundaVariableValue> variables) {
+    this.variables = variables;
+  }
+
+  @Override
+  public String toString() {
+    return "CamundaTaskCompletion [taskId="
+        + taskId
+        + ", assignee="
+        + assignee
+        + ", variables="
+        + variables
+        + "]";
+  }
+}
@@ -0,0 +1,59 @@
+package pro.taskana.adapter.camunda.outbox.rest.model;
+
+import java.io.Serializable;
+
+/**
+ * POJO that represents the result of completing a camunda task. The status follows the HTTP status
+ * codes: 204 if the task was completed, 404 if the task doesn't exist, 400 if the request for the
+ * task was invalid, 401 if the caller isn't authenticated, 403 if the caller isn't authorized to
+ * complete the task and 500 if the completion failed.
+ */
+public class CamundaTaskCompletionResult implements Serializable {
+
+  private String taskId;
+  private int status;
+  private String error;
+
+  public CamundaTaskCompletionResult() {}
+
+  public CamundaTaskCompletionResult(String taskId, int status, String error) {
+    this.taskId = taskId;
+    this.status = status;
+    this.error = error;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public void setTaskId(String taskId) {
+    this.taskId = taskId;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  @Override
+  public String toString() {
+    return "CamundaTaskCompletionResult [taskId="
+        + taskId
+        + ", status="
+        + status
+        + ", error="
+        + error
+        + "]";
+  }
+}
@@ -0,0 +1,72 @@
+package pro.taskana.adapter.camunda.outbox.rest.model;
+
+import java.io.Serializable;
+
+/**
+ * POJO that represents the backlog of the camunda outbox table for one combination of event type,
+ * engine and retry bucket. The retry bucket is "new" for events that didn't fail yet, "retrying"
+ * for failed events with remaining retries and "failed" for events without remaining retries.
+ */
+public class CamundaTaskEventStatistics implements Serializable {
+
+  private String type;
+  private String systemEngineIdentifier;
+  private String retryBucket;
+  private long eventsCount;
+  private String oldestCreated;
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public String getSystemEngineIdentifier() {
+    return systemEngineIdentifier;
+  }
+
+  public void setSystemEngineIdentifier(String systemEngineIdentifier) {
+    this.systemEngineIdentifier = systemEngineIdentifier;
+  }
+
+  public String getRetryBucket() {
+    return retryBucket;
+  }
+
+  public void setRetryBucket(String retryBucket) {
+    this.retryBucket = retryBucket;
+  }
+
+  public long getEventsCount() {
+    return eventsCount;
+  }
+
+  public void setEventsCount(long eventsCount) {
+    this.eventsCount = eventsCount;
+  }
+
+  public String getOldestCreated() {
+    return oldestCreated;
+  }
+
+  public void setOldestCreated(String oldestCreated) {
+    this.oldestCreated = oldestCreated;
+  }
+
+  @Override
+  public String toString() {
+    return "CamundaTaskEventStatistics [type="
+        + type
+        + ", systemEngineIdentifier="
+        + systemEngineIdentifier
+        + ", retryBucket="
+        + retryBucket
+        + ", eventsCount="
+        + eventsCount
+        + ", oldestCreated="
+        + oldestCreated
+        + "]";
+  }
+}
@@ -0,0 +1,47 @@
+package pro.taskana.adapter.camunda.outbox.rest.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/** POJO that represents a variable in the format of the Camunda REST Api. */
+public class CamundaVariableValue implements Serializable {
+
+  private String type;
+  private Object value;
+  private Map<String, Object> valueInfo;
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  public void setValue(Object value) {
+    this.value = value;
+  }
+
+  public Map<String, Object> getValueInfo() {
+    return valueInfo;
+  }
+
+  public void setValueInfo(Map<String, Object> valueInfo) {
+    this.valueInfo = valueInfo;
+  }
+
+  @Override
+  public String toString() {
+    return "CamundaVariableValue [type="
+        + type
+        + ", value="
+        + value
+        + ", valueInfo="
+        + valueInfo
+        + "]";
+  }
+}
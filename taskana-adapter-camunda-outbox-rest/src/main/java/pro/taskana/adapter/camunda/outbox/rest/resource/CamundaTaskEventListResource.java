@@ -11,6 +11,7 @@ import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
 public class CamundaTaskEventListResource implements Serializable {
 
   private List<CamundaTaskEvent> camundaTaskEvents;
+  private String next;
 
   public CamundaTaskEventListResource() {}
 
@@ -26,4 +27,12 @@ public class CamundaTaskEventListResource implements Serializable {
   public void setCamundaTaskEvents(List<CamundaTaskEvent> theResources) {
     this.camundaTaskEvents = theResources;
   }
+
+  public String getNext() {
+    return next;
+  }
+
+  public void setNext(String next) {
+    this.next = next;
+  }
 }
@@ -0,0 +1,256 @@
+package pro.taskana.adapter.camunda.outbox.rest.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngines;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.identity.Tenant;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.impl.type.ValueTypeResolver;
+import org.camunda.bpm.engine.variable.type.PrimitiveValueType;
+import org.camunda.bpm.engine.variable.type.SerializableValueType;
+import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pro.taskana.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskCompletion;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskCompletionResult;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaVariableValue;
+import spinjar.com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Completes camunda tasks through the Java Api of the process engine this service runs in. Setting
+ * the assignee, marking the task as completed by the TASKANA Adapter and completing it happen in
+ * one engine command per task.
+ *
+ * <p>Like the Camunda REST Api, the commands run as the authenticated caller of the request, so
+ * that the authorizations of the process engine apply. If authorization is enabled, requests
+ * without an authenticated caller are rejected.
+ */
+public class CamundaTaskCompletionService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CamundaTaskCompletionService.class);
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final String DEFAULT_ENGINE = "default";
+  private static final String COMPLETED_BY_TASKANA_ADAPTER_LOCAL_VARIABLE =
+      "completedByTaskanaAdapter";
+  private static final int STATUS_COMPLETED = 204;
+  private static final int STATUS_INVALID = 400;
+  private static final int STATUS_UNAUTHENTICATED = 401;
+  private static final int STATUS_FORBIDDEN = 403;
+  private static final int STATUS_NOT_FOUND = 404;
+  private static final int STATUS_FAILED = 500;
+
+  /**
+   * Completes the given camunda tasks. The failure to complete one task doesn't affect the others.
+   *
+   * @param engine the name of the process engine, the default engine if null
+   * @param userId the id of the authenticated caller, null if the caller isn't authenticated
+   * @param camundaTaskCompletions the tasks to complete
+   * @return the result of the completion for each task
+   * @throws InvalidArgumentException if there is no process engine with the given name
+   */
+  public List<CamundaTaskCompletionResult> completeTasks(
+      String engine, String userId, List<CamundaTaskCompletion> camundaTaskCompletions)
+      throws InvalidArgumentException {
+
+    ProcessEngine processEngine = getProcessEngine(engine);
+    ProcessEngineConfigurationImpl processEngineConfiguration =
+        (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+
+    List<CamundaTaskCompletionResult> camundaTaskCompletionResults = new ArrayList<>();
+
+    if (userId == null && processEngineConfiguration.isAuthorizationEnabled()) {
+      LOGGER.warn("Rejected the completion of camunda tasks by an unauthenticated caller");
+      camundaTaskCompletions.forEach(
+          camundaTaskCompletion ->
+              camundaTaskCompletionResults.add(
+                  new CamundaTaskCompletionResult(
+                      camundaTaskCompletion.getTaskId(),
+                      STATUS_UNAUTHENTICATED,
+                      "The completion of camunda tasks requires an authenticated user")));
+      return camundaTaskCompletionResults;
+    }
+
+    IdentityService identityService = processEngine.getIdentityService();
+
+    try {
+      if (userId != null) {
+        identityService.setAuthentication(
+            userId, getGroupIds(identityService, userId), getTenantIds(identityService, userId));
+      }
+
+      for (CamundaTaskCompletion camundaTaskCompletion : camundaTaskCompletions) {
+        camundaTaskCompletionResults.add(
+            completeTask(
+                processEngine.getTaskService(),
+                processEngineConfiguration.getCommandExecutorTxRequired(),
+                processEngineConfiguration.getValueTypeResolver(),
+                camundaTaskCompletion));
+      }
+    } finally {
+      if (userId != null) {
+        identityService.clearAuthentication();
+      }
+    }
+
+    return camundaTaskCompletionResults;
+  }
+
+  private CamundaTaskCompletionResult completeTask(
+      TaskService taskService,
+      CommandExecutor commandExecutor,
+      ValueTypeResolver valueTypeResolver,
+      CamundaTaskCompletion camundaTaskCompletion) {
+
+    String taskId = camundaTaskCompletion.getTaskId();
+
+    try {
+
+      if (taskId == null || taskId.isEmpty()) {
+        throw new InvalidArgumentException("taskId must not be empty!");
+      }
+
+      VariableMap variables =
+          getVariables(valueTypeResolver, camundaTaskCompletion.getVariables());
+
+      boolean completed =
+          commandExecutor.execute(
+              commandContext -> {
+                // a task the caller may not read is reported as forbidden rather than as missing
+                commandContext.disableAuthorizationCheck();
+                try {
+                  if (taskService.createTaskQuery().taskId(taskId).singleResult() == null) {
+                    return false;
+                  }
+                } finally {
+                  commandContext.enableAuthorizationCheck();
+                }
+                taskService.setAssignee(taskId, camundaTaskCompletion.getAssignee());
+                taskService.setVariableLocal(
+                    taskId, COMPLETED_BY_TASKANA_ADAPTER_LOCAL_VARIABLE, true);
+                taskService.complete(taskId, variables);
+                return true;
+              });
+
+      if (!completed) {
+        return new CamundaTaskCompletionResult(
+            taskId, STATUS_NOT_FOUND, "Camunda task " + taskId + " doesn't exist");
+      }
+
+      LOGGER.debug("Completed camunda task {}", taskId);
+      return new CamundaTaskCompletionResult(taskId, STATUS_COMPLETED, null);
+
+    } catch (InvalidArgumentException e) {
+      return new CamundaTaskCompletionResult(taskId, STATUS_INVALID, e.getMessage());
+    } catch (AuthorizationException e) {
+      LOGGER.warn("The caller isn't authorized to complete camunda task {}", taskId, e);
+      return new CamundaTaskCompletionResult(taskId, STATUS_FORBIDDEN, e.getMessage());
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception while trying to complete camunda task {}", taskId, e);
+      return new CamundaTaskCompletionResult(taskId, STATUS_FAILED, e.getMessage());
+    }
+  }
+
+  // the groups and tenants of the caller, as resolved by the authentication filter of the REST Api
+  private List<String> getGroupIds(IdentityService identityService, String userId) {
+    return identityService.createGroupQuery().groupMember(userId).list().stream()
+        .map(Group::getId)
+        .collect(Collectors.toList());
+  }
+
+  private List<String> getTenantIds(IdentityService identityService, String userId) {
+    return identityService
+        .createTenantQuery()
+        .userMember(userId)
+        .includingGroupsOfUser(true)
+        .list()
+        .stream()
+        .map(Tenant::getId)
+        .collect(Collectors.toList());
+  }
+
+  private VariableMap getVariables(
+      ValueTypeResolver valueTypeResolver, Map<String, CamundaVariableValue> camundaVariables)
+      throws InvalidArgumentException {
+
+    VariableMap variables = Variables.createVariables();
+
+    if (camundaVariables != null) {
+      for (Map.Entry<String, CamundaVariableValue> camundaVariable : camundaVariables.entrySet()) {
+        variables.putValueTyped(
+            camundaVariable.getKey(),
+            getTypedValue(valueTypeResolver, camundaVariable.getKey(), camundaVariable.getValue()));
+      }
+    }
+
+    return variables;
+  }
+
+  private TypedValue getTypedValue(
+      ValueTypeResolver valueTypeResolver, String name, CamundaVariableValue camundaVariable)
+      throws InvalidArgumentException {
+
+    if (camundaVariable == null || camundaVariable.getType() == null) {
+      return Variables.untypedValue(camundaVariable == null ? null : camundaVariable.getValue());
+    }
+
+    // the Camunda REST Api capitalizes the names of the value types
+    String type = camundaVariable.getType();
+    ValueType valueType =
+        valueTypeResolver.typeForName(Character.toLowerCase(type.charAt(0)) + type.substring(1));
+
+    if (valueType == null) {
+      throw new InvalidArgumentException(
+          String.format("Variable %s has the unsupported type %s", name, type));
+    }
+
+    Object value = camundaVariable.getValue();
+    Map<String, Object> valueInfo = camundaVariable.getValueInfo();
+
+    try {
+      if (valueType instanceof PrimitiveValueType) {
+        Class<?> javaType = ((PrimitiveValueType) valueType).getJavaType();
+        Object convertedValue =
+            value == null || javaType == null ? value : OBJECT_MAPPER.convertValue(value, javaType);
+        return valueType.createValue(convertedValue, valueInfo);
+      } else if (valueType instanceof SerializableValueType) {
+        String serializedValue =
+            value == null || value instanceof String
+                ? (String) value
+                : OBJECT_MAPPER.writeValueAsString(value);
+        return ((SerializableValueType) valueType)
+            .createValueFromSerialized(serializedValue, valueInfo);
+      } else {
+        return valueType.createValue(value, valueInfo);
+      }
+    } catch (Exception e) {
+      throw new InvalidArgumentException(
+          String.format("Variable %s can't be converted to type %s", name, type), e);
+    }
+  }
+
+  private ProcessEngine getProcessEngine(String engine) throws InvalidArgumentException {
+
+    String engineName = engine == null || engine.isEmpty() ? DEFAULT_ENGINE : engine;
+    ProcessEngine processEngine = ProcessEngines.getProcessEngines().get(engineName);
+
+    if (processEngine == null) {
+      throw new InvalidArgumentException(
+          String.format("There is no process engine with the name %s", engineName));
+    }
+
+    return processEngine;
+  }
+}
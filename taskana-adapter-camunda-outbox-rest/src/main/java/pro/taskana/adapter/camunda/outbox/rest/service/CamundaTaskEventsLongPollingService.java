@@ -0,0 +1,312 @@
+package pro.taskana.adapter.camunda.outbox.rest.service;
+
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pro.taskana.adapter.camunda.OutboxRestConfiguration;
+import pro.taskana.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import pro.taskana.adapter.camunda.tasklistener.OutboxEventSignal;
+
+/**
+ * Keeps requests for outbox events open until matching events exist or the requested timeout
+ * elapses. Waiting requests are re-checked as soon as the TaskanaTaskListener running in the same
+ * JVM signals new events. Only if the signal isn't available, they are re-checked periodically.
+ *
+ * <p>The signal only reaches this service if both use the same {@link OutboxEventSignal} class,
+ * i.e. if the listener is loaded by a class loader that is visible to the outbox REST service, as
+ * in a Spring Boot application or with the listener deployed as a shared module of WildFly. If the
+ * outbox REST service sees a copy of its own, e.g. since the listener is packaged into its war,
+ * the subscription succeeds but is never signaled. This is detected as soon as a waiting request
+ * times out although there are matching events and no signal has been received so far, and the
+ * service falls back to the periodic re-check.
+ */
+public class CamundaTaskEventsLongPollingService {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(CamundaTaskEventsLongPollingService.class);
+
+  private final CamundaTaskEventsService camundaTaskEventsService = new CamundaTaskEventsService();
+  private final Set<PendingRequest> pendingRequests = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean recheckScheduled = new AtomicBoolean(false);
+  private final AtomicBoolean pollingStarted = new AtomicBoolean(false);
+  private final AtomicLong signalCount = new AtomicLong();
+  private final Duration maxTimeout = OutboxRestConfiguration.getWaitMaxTimeout();
+  private final Duration recheckInterval = OutboxRestConfiguration.getWaitRecheckInterval();
+  private volatile boolean signalSubscribed;
+  private volatile boolean signalReceived;
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "taskana-outbox-long-polling");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private CamundaTaskEventsLongPollingService() {
+    subscribeToOutboxEventSignal();
+  }
+
+  public static CamundaTaskEventsLongPollingService getInstance() {
+    return LazyHolder.INSTANCE;
+  }
+
+  /**
+   * Resumes the given response with the events matching the filter parameters as soon as there
+   * are any, or with an empty list when the timeout elapses.
+   *
+   * @param filterParams the filter parameters as accepted by {@link
+   *     CamundaTaskEventsService#getEvents(MultivaluedMap)}
+   * @param timeout how long to wait for events at most
+   * @param asyncResponse the suspended response
+   * @param responseBuilder builds the response out of the retrieved events
+   * @throws InvalidArgumentException if the filter parameters are invalid
+   */
+  public void waitForEvents(
+      MultivaluedMap<String, String> filterParams,
+      Duration timeout,
+      AsyncResponse asyncResponse,
+      Function<List<CamundaTaskEvent>, Response> responseBuilder)
+      throws InvalidArgumentException {
+
+    PendingRequest pendingRequest =
+        new PendingRequest(filterParams, asyncResponse, responseBuilder);
+
+    long signalCountBeforeQuery = signalCount.get();
+    List<CamundaTaskEvent> camundaTaskEvents = camundaTaskEventsService.getEvents(filterParams);
+
+    if (!camundaTaskEvents.isEmpty() || timeout.isZero()) {
+      resume(pendingRequest, camundaTaskEvents);
+      return;
+    }
+
+    asyncResponse.setTimeoutHandler(
+        response -> {
+          pendingRequests.remove(pendingRequest);
+          response.resume(responseBuilder.apply(Collections.emptyList()));
+          executor.execute(() -> checkOutboxEventSignal(pendingRequest));
+        });
+    asyncResponse.setTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+    pendingRequests.add(pendingRequest);
+    // events signaled after the query but before the request was added would be missed otherwise
+    recheckIfSignaledSince(signalCountBeforeQuery);
+  }
+
+  /**
+   * Returns whether waiting requests are re-checked periodically, i.e. whether the signal of the
+   * TaskanaTaskListener is not available.
+   *
+   * @return true if the waiting requests are re-checked periodically
+   */
+  public boolean isPolling() {
+    return pollingStarted.get();
+  }
+
+  /**
+   * Parses the timeout of a waiting request. Supported are ISO-8601 durations like PT30S as well
+   * as plain numbers with an optional unit of ms or s, e.g. 30s or 500ms. Plain numbers are
+   * interpreted as seconds. The timeout is capped at the configured maximum.
+   *
+   * @param timeouts the values of the timeout request parameter
+   * @return the timeout to wait for events
+   * @throws InvalidArgumentException if the timeout can't be parsed or is negative
+   */
+  public Duration getTimeout(List<String> timeouts) throws InvalidArgumentException {
+
+    if (timeouts == null || timeouts.isEmpty()) {
+      return maxTimeout;
+    }
+
+    String timeout = timeouts.get(0).trim();
+    Duration parsedTimeout;
+
+    try {
+      if (timeout.endsWith("ms")) {
+        parsedTimeout =
+            Duration.ofMillis(Long.parseLong(timeout.substring(0, timeout.length() - 2)));
+      } else if (timeout.startsWith("P") || timeout.startsWith("p")) {
+        parsedTimeout = Duration.parse(timeout);
+      } else if (timeout.endsWith("s")) {
+        parsedTimeout =
+            Duration.ofSeconds(Long.parseLong(timeout.substring(0, timeout.length() - 1)));
+      } else {
+        parsedTimeout = Duration.ofSeconds(Long.parseLong(timeout));
+      }
+    } catch (NumberFormatException | DateTimeParseException e) {
+      throw new InvalidArgumentException(
+          "timeout param must be a duration like 30s, 500ms or PT30S!", e);
+    }
+
+    if (parsedTimeout.isNegative()) {
+      throw new InvalidArgumentException("timeout param must not be negative!");
+    }
+
+    return parsedTimeout.compareTo(maxTimeout) > 0 ? maxTimeout : parsedTimeout;
+  }
+
+  private void subscribeToOutboxEventSignal() {
+    try {
+      OutboxEventSignal.subscribe(this::onOutboxEventSignal);
+      signalSubscribed = true;
+      LOGGER.info("Outbox Rest Api subscribed to new events signaled by the TaskanaTaskListener");
+    } catch (NoClassDefFoundError e) {
+      startPolling("TaskanaTaskListener is not available in this JVM.");
+    }
+  }
+
+  private void startPolling(String reason) {
+    if (pollingStarted.compareAndSet(false, true)) {
+      LOGGER.info(
+          "{} Waiting requests for events will be re-checked every {}", reason, recheckInterval);
+      executor.scheduleWithFixedDelay(
+          this::recheckPendingRequests,
+          recheckInterval.toMillis(),
+          recheckInterval.toMillis(),
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Detects a subscription to a copy of the OutboxEventSignal that is never signaled. If a request
+   * timed out although there are matching events and no signal has been received at all, the
+   * TaskanaTaskListener most likely signals the OutboxEventSignal of another class loader.
+   */
+  private void checkOutboxEventSignal(PendingRequest pendingRequest) {
+
+    if (!signalSubscribed || signalReceived || pollingStarted.get()) {
+      return;
+    }
+
+    try {
+      if (camundaTaskEventsService.hasEvents(pendingRequest.filterParams)) {
+        LOGGER.warn(
+            "A request waiting for events timed out although there are matching events, "
+                + "and the TaskanaTaskListener hasn't signaled any event so far. It probably "
+                + "signals the OutboxEventSignal of another class loader, e.g. since the "
+                + "taskana-adapter-camunda-listener is packaged into the war of the "
+                + "Outbox Rest Api instead of being shared with the process engine.");
+        startPolling("Outbox Rest Api doesn't receive the signal of the TaskanaTaskListener.");
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception while trying to check for events of a timed out request", e);
+    }
+  }
+
+  private void onOutboxEventSignal(String eventType) {
+    signalReceived = true;
+    signalCount.incrementAndGet();
+    if (!pendingRequests.isEmpty()) {
+      LOGGER.debug("New {} event signaled, re-checking waiting requests", eventType);
+      scheduleRecheck();
+    }
+  }
+
+  /**
+   * Schedules a re-check of the waiting requests if events were signaled since the given count was
+   * read. A signal only schedules a re-check while requests are waiting, so a request that is
+   * added to or returned to the waiting requests has to catch up on the signals in between.
+   */
+  private void recheckIfSignaledSince(long signalCountBefore) {
+    if (signalCount.get() != signalCountBefore) {
+      scheduleRecheck();
+    }
+  }
+
+  private void scheduleRecheck() {
+    if (recheckScheduled.compareAndSet(false, true)) {
+      executor.execute(
+          () -> {
+            recheckScheduled.set(false);
+            recheckPendingRequests();
+          });
+    }
+  }
+
+  private void recheckPendingRequests() {
+
+    // the requests that return to the waiting requests are only re-checked on the next run
+    for (PendingRequest pendingRequest : List.copyOf(pendingRequests)) {
+
+      if (!pendingRequest.asyncResponse.isSuspended()) {
+        pendingRequests.remove(pendingRequest);
+        continue;
+      }
+
+      // the events are only leased to requests that are still waiting for them
+      if (!pendingRequests.remove(pendingRequest)) {
+        continue;
+      }
+
+      long signalCountBeforeQuery = signalCount.get();
+      try {
+        List<CamundaTaskEvent> camundaTaskEvents =
+            camundaTaskEventsService.getEvents(pendingRequest.filterParams);
+
+        if (!camundaTaskEvents.isEmpty()) {
+          resume(pendingRequest, camundaTaskEvents);
+          continue;
+        }
+      } catch (Exception e) {
+        LOGGER.warn("Caught Exception while trying to re-check a waiting request for events", e);
+      }
+
+      // there are no events yet, or another adapter instance leased them in the meantime
+      if (pendingRequest.asyncResponse.isSuspended()) {
+        pendingRequests.add(pendingRequest);
+        recheckIfSignaledSince(signalCountBeforeQuery);
+      }
+    }
+  }
+
+  /**
+   * Resumes the request with the given events. If the request can't be resumed anymore, e.g. since
+   * it timed out or the client disconnected, the leases of the events are released again.
+   */
+  private void resume(PendingRequest pendingRequest, List<CamundaTaskEvent> camundaTaskEvents) {
+
+    Response response = pendingRequest.responseBuilder.apply(camundaTaskEvents);
+
+    if (!pendingRequest.asyncResponse.resume(response)) {
+      LOGGER.debug(
+          "Waiting request was no longer suspended, releasing the leases of {} events",
+          camundaTaskEvents.size());
+      camundaTaskEventsService.releaseLeases(pendingRequest.filterParams, camundaTaskEvents);
+    }
+  }
+
+  private static class PendingRequest {
+
+    private final MultivaluedMap<String, String> filterParams;
+    private final AsyncResponse asyncResponse;
+    private final Function<List<CamundaTaskEvent>, Response> responseBuilder;
+
+    private PendingRequest(
+        MultivaluedMap<String, String> filterParams,
+        AsyncResponse asyncResponse,
+        Function<List<CamundaTaskEvent>, Response> responseBuilder) {
+      this.filterParams = filterParams;
+      this.asyncResponse = asyncResponse;
+      this.responseBuilder = responseBuilder;
+    }
+  }
+
+  private static class LazyHolder {
+    private static final CamundaTaskEventsLongPollingService INSTANCE =
+        new CamundaTaskEventsLongPollingService();
+  }
+}
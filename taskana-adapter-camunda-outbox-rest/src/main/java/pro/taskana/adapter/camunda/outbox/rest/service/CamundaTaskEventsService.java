@@ -1,7 +1,9 @@
 package pro.taskana.adapter.camunda.outbox.rest.service;
 
 import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -27,8 +29,12 @@ import pro.taskana.adapter.camunda.OutboxRestConfiguration;
 import pro.taskana.adapter.camunda.outbox.rest.exception.CamundaTaskEventNotFoundException;
 import pro.taskana.adapter.camunda.outbox.rest.exception.InvalidArgumentException;
 import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEventStatistics;
+import spinjar.com.fasterxml.jackson.core.JsonGenerator;
 import spinjar.com.fasterxml.jackson.databind.JsonNode;
 import spinjar.com.fasterxml.jackson.databind.ObjectMapper;
+import spinjar.com.fasterxml.jackson.databind.ObjectWriter;
+import spinjar.com.fasterxml.jackson.databind.SerializationFeature;
 
 /** Implementation of the Outbox REST service. */
 public class CamundaTaskEventsService {
@@ -39,26 +45,65 @@ public class CamundaTaskEventsService {
   private static final String DELETE = "delete";
   private static final String RETRIES = "retries";
   private static final String TYPE = "type";
+  private static final String LEASE_OWNER = "lease-owner";
+  private static final String AFTER = "after";
+  private static final String LIMIT = "limit";
+  private static final String ENGINE = "engine";
+  private static final String SHARD = "shard";
+  private static final String SHARDS = "shards";
+  private static final String POSTGRESQL = "PostgreSQL";
 
-  private static final List<String> ALLOWED_PARAMS = Stream.of(TYPE, RETRIES).toList();
+  private static final List<String> ALLOWED_PARAMS =
+      Stream.of(TYPE, RETRIES, LEASE_OWNER, AFTER, LIMIT, ENGINE, SHARD, SHARDS).toList();
 
   private static final String OUTBOX_SCHEMA = OutboxRestConfiguration.getOutboxSchema();
   private static final String SQL_GET_CREATE_EVENTS =
       "select * from %s.event_store where type = ? "
-          + "and remaining_retries>0 and blocked_until < ? fetch first %d rows only";
-  private static final String SQL_GET_ALL_EVENTS = "select * from %s.event_store";
+          + "and remaining_retries>0 and blocked_until < ? and id > ?%s "
+          + "order by id fetch first %d rows only";
+  private static final String SQL_GET_LEASABLE_CREATE_EVENT_IDS =
+      "select id from %s.event_store where type = ? "
+          + "and remaining_retries>0 and blocked_until < ? "
+          + "and (lease_expiry is null or lease_expiry < ? or lease_owner = ?)%s "
+          + "order by id fetch first %d rows only";
+  private static final String SQL_ENGINE_FILTER = " and system_engine_identifier = ?";
+  private static final String SQL_SHARD_FILTER = " and mod(coalesce(shard_key, 0), ?) = ?";
+  private static final String SQL_SKIP_LOCKED = " for update skip locked";
+  private static final String SQL_LEASE_EVENT =
+      "update %s.event_store set lease_owner = ?, lease_expiry = ? where id = ? "
+          + "and (lease_expiry is null or lease_expiry < ? or lease_owner = ?)";
+  private static final String SQL_WITHOUT_PLACEHOLDERS_GET_LEASED_EVENTS =
+      "select * from %s.event_store where lease_owner = ? and id in (%s) order by id";
+  private static final String SQL_WITHOUT_PLACEHOLDERS_RELEASE_LEASES =
+      "update %s.event_store set lease_owner = null, lease_expiry = null "
+          + "where lease_owner = ? and id in (%s)";
+  private static final String SQL_GET_ALL_EVENTS = "select * from %s.event_store%s order by id";
+  private static final String SQL_GET_ALL_EVENTS_PAGE =
+      "select * from %s.event_store where id > ?%s order by id fetch first %d rows only";
   private static final String SQL_GET_EVENT = "select * from %s.event_store where id = ? ";
   private static final String SQL_GET_COMPLETE_AND_DELETE_EVENTS =
-      "select * from %s.event_store where type = ? OR type = ? fetch first %d rows only";
+      "select * from %s.event_store where (type = ? OR type = ?) and id > ?%s "
+          + "order by id fetch first %d rows only";
   private static final String SQL_GET_EVENTS_FILTERED_BY_RETRIES =
-      "select * from %s.event_store where remaining_retries = ?";
+      "select * from %s.event_store where remaining_retries = ?%s order by id";
+  private static final String SQL_GET_EVENTS_FILTERED_BY_RETRIES_PAGE =
+      "select * from %s.event_store where remaining_retries = ? and id > ?%s "
+          + "order by id fetch first %d rows only";
   private static final String SQL_GET_EVENTS_COUNT =
       "select count(id) from %s.event_store where remaining_retries = ?";
+  private static final String SQL_GET_EVENT_STATISTICS =
+      "select type, system_engine_identifier, retry_bucket, count(*), min(created) from ("
+          + "select type, system_engine_identifier, created, case "
+          + "when remaining_retries <= 0 then 'failed' "
+          + "when error is null then 'new' else 'retrying' end retry_bucket "
+          + "from %s.event_store) events "
+          + "group by type, system_engine_identifier, retry_bucket "
+          + "order by type, system_engine_identifier, retry_bucket";
   private static final String SQL_WITHOUT_PLACEHOLDERS_DELETE_EVENTS =
       "delete from %s.event_store where id in (%s)";
   private static final String SQL_DECREASE_REMAINING_RETRIES =
       "update %s.event_store set remaining_retries = remaining_retries-1, blocked_until = ?, "
-          + "error = ? where id = ?";
+          + "error = ?, lease_owner = null, lease_expiry = null where id = ?";
   private static final String SQL_SET_REMAINING_RETRIES =
       "update %s.event_store set remaining_retries = ? where id = ?";
   private static final String SQL_SET_REMAINING_RETRIES_FOR_MULTIPLE_EVENTS =
@@ -69,6 +114,9 @@ public class CamundaTaskEventsService {
       "delete from %s.event_store where remaining_retries <= 0 ";
 
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final ObjectWriter EVENT_WRITER =
+      OBJECT_MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  private static final int STREAMING_FETCH_SIZE = 500;
 
   private static int maxNumberOfEventsReturned = 0;
 
@@ -87,25 +135,43 @@ public class CamundaTaskEventsService {
 
     verifyNoInvalidParameters(filterParams);
 
+    int after = getAfter(filterParams);
+    int limit = getLimit(filterParams);
+    String engine = filterParams.getFirst(ENGINE);
+    Shard shard = getShard(filterParams);
+
     List<CamundaTaskEvent> camundaTaskEvents;
 
-    if (filterParams.containsKey(TYPE) && filterParams.get(TYPE).contains(CREATE)) {
+    if (isLeaseRequest(filterParams)) {
+
+      String leaseOwner = getLeaseOwner(filterParams.get(LEASE_OWNER));
+
+      camundaTaskEvents = leaseCreateEvents(leaseOwner, engine, shard);
+
+    } else if (filterParams.containsKey(TYPE) && filterParams.get(TYPE).contains(CREATE)) {
 
-      camundaTaskEvents = getCreateEvents();
+      camundaTaskEvents = getCreateEvents(after, limit, engine, shard);
 
     } else if (filterParams.containsKey(TYPE)
         && filterParams.get(TYPE).contains(DELETE)
         && filterParams.get(TYPE).contains(COMPLETE)) {
 
-      camundaTaskEvents = getCompleteAndDeleteEvents();
+      camundaTaskEvents = getCompleteAndDeleteEvents(after, limit, engine, shard);
 
     } else if (filterParams.containsKey(RETRIES) && filterParams.get(RETRIES) != null) {
 
       int remainingRetries = getRetries(filterParams.get(RETRIES));
 
-      camundaTaskEvents = getEventsFilteredByRetries(remainingRetries);
+      if (isPaged(filterParams)) {
+        camundaTaskEvents =
+            getEventsFilteredByRetries(remainingRetries, after, limit, engine, shard);
+      } else {
+        camundaTaskEvents = getEventsFilteredByRetries(remainingRetries, engine, shard);
+      }
+    } else if (isPaged(filterParams)) {
+      camundaTaskEvents = getAllEvents(after, limit, engine, shard);
     } else {
-      camundaTaskEvents = getAllEvents();
+      camundaTaskEvents = getAllEvents(engine, shard);
     }
     if (LOGGER.isDebugEnabled()) {
 
@@ -117,6 +183,133 @@ public class CamundaTaskEventsService {
     return camundaTaskEvents;
   }
 
+  /**
+   * Checks whether there are events for the given filter parameters without leasing them. For a
+   * request with a lease owner, only the events that could be leased to the owner are considered.
+   *
+   * @param filterParams the filter parameters as accepted by {@link #getEvents(MultivaluedMap)}
+   * @return true if {@link #getEvents(MultivaluedMap)} would return events
+   * @throws InvalidArgumentException if the filter parameters are invalid
+   */
+  public boolean hasEvents(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    if (!isLeaseRequest(filterParams)) {
+      return !getEvents(filterParams).isEmpty();
+    }
+
+    verifyNoInvalidParameters(filterParams);
+
+    String leaseOwner = getLeaseOwner(filterParams.get(LEASE_OWNER));
+    String engine = filterParams.getFirst(ENGINE);
+    Shard shard = getShard(filterParams);
+
+    try (Connection connection = getConnection()) {
+
+      return !getLeasableCreateEventIds(connection, leaseOwner, engine, shard, Instant.now())
+          .isEmpty();
+
+    } catch (SQLException | NullPointerException e) {
+      LOGGER.warn("Caught Exception while trying to check for leasable create events", e);
+    }
+    return false;
+  }
+
+  /**
+   * Releases the leases of the given events, if they were leased with the given filter parameters.
+   * This makes the events available to all adapter instances again, e.g. after they couldn't be
+   * sent to the owner of the lease.
+   *
+   * @param filterParams the filter parameters the events were retrieved with
+   * @param camundaTaskEvents the events that were retrieved
+   */
+  public void releaseLeases(
+      MultivaluedMap<String, String> filterParams, List<CamundaTaskEvent> camundaTaskEvents) {
+
+    if (!isLeaseRequest(filterParams) || camundaTaskEvents.isEmpty()) {
+      return;
+    }
+
+    List<Integer> ids = camundaTaskEvents.stream().map(CamundaTaskEvent::getId).toList();
+
+    String sql =
+        String.format(
+            SQL_WITHOUT_PLACEHOLDERS_RELEASE_LEASES,
+            OUTBOX_SCHEMA,
+            preparePlaceHolders(ids.size()));
+
+    try (Connection connection = getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      preparedStatement.setString(1, filterParams.getFirst(LEASE_OWNER));
+      for (int i = 0; i < ids.size(); i++) {
+        preparedStatement.setInt(i + 2, ids.get(i));
+      }
+      preparedStatement.execute();
+
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception while trying to release the leases of events", e);
+    }
+  }
+
+  /**
+   * Checks whether the events returned for the given filter parameters are a full page, i.e. if the
+   * client should request the next page with the id of the last event as cursor.
+   *
+   * @param filterParams the filter parameters the events were retrieved with
+   * @param camundaTaskEvents the events that were retrieved
+   * @return true if the client paged through the events and the page is full
+   * @throws InvalidArgumentException if the paging parameters are invalid
+   */
+  public boolean isNextPageAvailable(
+      MultivaluedMap<String, String> filterParams, List<CamundaTaskEvent> camundaTaskEvents)
+      throws InvalidArgumentException {
+
+    return isPaged(filterParams)
+        && !filterParams.containsKey(LEASE_OWNER)
+        && !camundaTaskEvents.isEmpty()
+        && camundaTaskEvents.size() >= getLimit(filterParams);
+  }
+
+  /**
+   * Checks whether the events for the given filter parameters are unbounded, i.e. neither limited
+   * by type nor paged, and should therefore be streamed to the client.
+   *
+   * @param filterParams the filter parameters of the request
+   * @return true if the events should be streamed
+   */
+  public boolean isStreamable(MultivaluedMap<String, String> filterParams) {
+    return !filterParams.containsKey(TYPE) && !isPaged(filterParams);
+  }
+
+  /**
+   * Streams all events or the events filtered by retries, engine and shard as JSON in the format
+   * of the CamundaTaskEventListResource. The rows are read through a forward-only cursor and
+   * written one by one, so the heap usage doesn't depend on the number of events.
+   *
+   * @param filterParams the filter parameters of the request
+   * @return the output that writes the events when the response is sent
+   * @throws InvalidArgumentException if the filter parameters are invalid
+   */
+  public StreamingOutput streamEvents(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    verifyNoInvalidParameters(filterParams);
+
+    Integer remainingRetries =
+        filterParams.containsKey(RETRIES) ? getRetries(filterParams.get(RETRIES)) : null;
+    String engine = filterParams.getFirst(ENGINE);
+    Shard shard = getShard(filterParams);
+
+    String sql =
+        remainingRetries == null
+            ? String.format(SQL_GET_ALL_EVENTS, OUTBOX_SCHEMA, getWhereClause(engine, shard))
+            : String.format(
+                SQL_GET_EVENTS_FILTERED_BY_RETRIES, OUTBOX_SCHEMA, getFilters(engine, shard));
+
+    return outputStream -> writeEvents(outputStream, sql, remainingRetries, engine, shard);
+  }
+
   public void deleteEvents(String idsAsJsonArray) {
 
     List<Integer> idsAsIntegers = getIdsAsIntegers(idsAsJsonArray);
@@ -165,17 +358,58 @@ public class CamundaTaskEventsService {
   }
 
   public List<CamundaTaskEvent> getEventsFilteredByRetries(Integer remainingRetries) {
+    return getEventsFilteredByRetries(remainingRetries, null, null);
+  }
+
+  public List<CamundaTaskEvent> getEventsFilteredByRetries(
+      Integer remainingRetries, int after, int limit) {
+    return getEventsFilteredByRetries(remainingRetries, after, limit, null, null);
+  }
+
+  private List<CamundaTaskEvent> getEventsFilteredByRetries(
+      Integer remainingRetries, String engine, Shard shard) {
+
+    List<CamundaTaskEvent> camundaTaskEventsFilteredByRetries = new ArrayList<>();
+
+    String getEventsFilteredByRetriesSql =
+        String.format(SQL_GET_EVENTS_FILTERED_BY_RETRIES, OUTBOX_SCHEMA, getFilters(engine, shard));
+
+    try (Connection connection = getConnection();
+        PreparedStatement preparedStatement =
+            connection.prepareStatement(getEventsFilteredByRetriesSql)) {
+
+      preparedStatement.setInt(1, remainingRetries);
+      setFilterValues(preparedStatement, 2, engine, shard);
+
+      ResultSet camundaTaskEventFilteredByRetriesResultSet = preparedStatement.executeQuery();
+      camundaTaskEventsFilteredByRetries =
+          getCamundaTaskEvents(camundaTaskEventFilteredByRetriesResultSet);
+
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception while trying to retrieve failed events from the outbox", e);
+    }
+    return camundaTaskEventsFilteredByRetries;
+  }
+
+  private List<CamundaTaskEvent> getEventsFilteredByRetries(
+      Integer remainingRetries, int after, int limit, String engine, Shard shard) {
 
     List<CamundaTaskEvent> camundaTaskEventsFilteredByRetries = new ArrayList<>();
 
     String getEventsFilteredByRetriesSql =
-        String.format(SQL_GET_EVENTS_FILTERED_BY_RETRIES, OUTBOX_SCHEMA);
+        String.format(
+            SQL_GET_EVENTS_FILTERED_BY_RETRIES_PAGE,
+            OUTBOX_SCHEMA,
+            getFilters(engine, shard),
+            limit);
 
     try (Connection connection = getConnection();
         PreparedStatement preparedStatement =
             connection.prepareStatement(getEventsFilteredByRetriesSql)) {
 
       preparedStatement.setInt(1, remainingRetries);
+      preparedStatement.setInt(2, after);
+      setFilterValues(preparedStatement, 3, engine, shard);
 
       ResultSet camundaTaskEventFilteredByRetriesResultSet = preparedStatement.executeQuery();
       camundaTaskEventsFilteredByRetries =
@@ -211,6 +445,39 @@ public class CamundaTaskEventsService {
     return eventsCount;
   }
 
+  /**
+   * Counts the events of the outbox per type, engine and retry bucket. Only the columns of the
+   * events without their payload are read, so the statistics can be polled frequently.
+   *
+   * @return the statistics of the outbox
+   */
+  public List<CamundaTaskEventStatistics> getEventStatistics() {
+
+    List<CamundaTaskEventStatistics> eventStatistics = new ArrayList<>();
+
+    String sql = String.format(SQL_GET_EVENT_STATISTICS, OUTBOX_SCHEMA);
+
+    try (Connection connection = getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      ResultSet eventStatisticsResultSet = preparedStatement.executeQuery();
+
+      while (eventStatisticsResultSet.next()) {
+        CamundaTaskEventStatistics statistics = new CamundaTaskEventStatistics();
+        statistics.setType(eventStatisticsResultSet.getString(1));
+        statistics.setSystemEngineIdentifier(eventStatisticsResultSet.getString(2));
+        statistics.setRetryBucket(eventStatisticsResultSet.getString(3));
+        statistics.setEventsCount(eventStatisticsResultSet.getLong(4));
+        statistics.setOldestCreated(formatDate(eventStatisticsResultSet.getTimestamp(5)));
+        eventStatistics.add(statistics);
+      }
+
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception while trying to retrieve event statistics from the outbox", e);
+    }
+    return eventStatistics;
+  }
+
   public CamundaTaskEvent setRemainingRetries(int id, int retriesToSet)
       throws CamundaTaskEventNotFoundException {
 
@@ -330,14 +597,46 @@ public class CamundaTaskEventsService {
   }
 
   public List<CamundaTaskEvent> getAllEvents() {
+    return getAllEvents(null, null);
+  }
+
+  public List<CamundaTaskEvent> getAllEvents(int after, int limit) {
+    return getAllEvents(after, limit, null, null);
+  }
+
+  private List<CamundaTaskEvent> getAllEvents(String engine, Shard shard) {
+
+    List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
+
+    String sql = String.format(SQL_GET_ALL_EVENTS, OUTBOX_SCHEMA, getWhereClause(engine, shard));
+
+    try (Connection connection = getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      setFilterValues(preparedStatement, 1, engine, shard);
+
+      ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery();
+      camundaTaskEvents = getCamundaTaskEvents(camundaTaskEventResultSet);
+
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception while trying to retrieve all events from the outbox", e);
+    }
+    return camundaTaskEvents;
+  }
+
+  private List<CamundaTaskEvent> getAllEvents(int after, int limit, String engine, Shard shard) {
 
     List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
 
-    String sql = String.format(SQL_GET_ALL_EVENTS, OUTBOX_SCHEMA);
+    String sql =
+        String.format(SQL_GET_ALL_EVENTS_PAGE, OUTBOX_SCHEMA, getFilters(engine, shard), limit);
 
     try (Connection connection = getConnection();
         PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 
+      preparedStatement.setInt(1, after);
+      setFilterValues(preparedStatement, 2, engine, shard);
+
       ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery();
       camundaTaskEvents = getCamundaTaskEvents(camundaTaskEventResultSet);
 
@@ -357,6 +656,99 @@ public class CamundaTaskEventsService {
     }
   }
 
+  private boolean isLeaseRequest(MultivaluedMap<String, String> filterParams) {
+    return filterParams.containsKey(TYPE)
+        && filterParams.get(TYPE).contains(CREATE)
+        && filterParams.containsKey(LEASE_OWNER);
+  }
+
+  private boolean isPaged(MultivaluedMap<String, String> filterParams) {
+    return filterParams.containsKey(AFTER) || filterParams.containsKey(LIMIT);
+  }
+
+  private int getAfter(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    String after = filterParams.getFirst(AFTER);
+
+    if (after == null) {
+      return 0;
+    }
+
+    try {
+      int afterId = Integer.parseInt(after);
+      if (afterId < 0) {
+        throw new InvalidArgumentException("after param must not be negative!");
+      }
+      return afterId;
+
+    } catch (NumberFormatException e) {
+      throw new InvalidArgumentException("after param must be of type Integer!");
+    }
+  }
+
+  private int getLimit(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    String limit = filterParams.getFirst(LIMIT);
+
+    if (limit == null) {
+      return maxNumberOfEventsReturned;
+    }
+
+    try {
+      int pageSize = Integer.parseInt(limit);
+      if (pageSize < 1) {
+        throw new InvalidArgumentException("limit param must be greater than 0!");
+      }
+      return Math.min(pageSize, maxNumberOfEventsReturned);
+
+    } catch (NumberFormatException e) {
+      throw new InvalidArgumentException("limit param must be of type Integer!");
+    }
+  }
+
+  private String getLeaseOwner(List<String> leaseOwners) throws InvalidArgumentException {
+
+    if (leaseOwners == null || leaseOwners.isEmpty() || leaseOwners.get(0).isBlank()) {
+      throw new InvalidArgumentException("lease-owner param must not be empty!");
+    }
+    return leaseOwners.get(0);
+  }
+
+  /**
+   * Returns the shard of the events requested by an adapter instance. The events of a task have the
+   * same shard key, so they all belong to the same shard out of the given number of shards.
+   */
+  private Shard getShard(MultivaluedMap<String, String> filterParams)
+      throws InvalidArgumentException {
+
+    String shard = filterParams.getFirst(SHARD);
+    String shards = filterParams.getFirst(SHARDS);
+
+    if (shard == null && shards == null) {
+      return null;
+    }
+    if (shard == null || shards == null) {
+      throw new InvalidArgumentException("shard and shards params must be provided together!");
+    }
+
+    try {
+      int numberOfShards = Integer.parseInt(shards);
+      int shardIndex = Integer.parseInt(shard);
+      if (numberOfShards < 1) {
+        throw new InvalidArgumentException("shards param must be greater than 0!");
+      }
+      if (shardIndex < 0 || shardIndex >= numberOfShards) {
+        throw new InvalidArgumentException("shard param must be between 0 and shards - 1!");
+      }
+      return new Shard(shardIndex, numberOfShards);
+
+    } catch (NumberFormatException e) {
+      throw new InvalidArgumentException("shard and shards params must be of type Integer!");
+    }
+  }
+
   private void verifyNoInvalidParameters(MultivaluedMap<String, String> filterParams)
       throws InvalidArgumentException {
 
@@ -382,17 +774,20 @@ public class CamundaTaskEventsService {
     return new PooledDataSource(driver, jdbcUrl, username, password);
   }
 
-  private List<CamundaTaskEvent> getCreateEvents() {
+  private List<CamundaTaskEvent> getCreateEvents(int after, int limit, String engine, Shard shard) {
 
     List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
 
     try (Connection connection = getConnection()) {
 
-      String sql = String.format(SQL_GET_CREATE_EVENTS, OUTBOX_SCHEMA, maxNumberOfEventsReturned);
+      String sql =
+          String.format(SQL_GET_CREATE_EVENTS, OUTBOX_SCHEMA, getFilters(engine, shard), limit);
       try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 
         preparedStatement.setString(1, CREATE);
         preparedStatement.setTimestamp(2, Timestamp.from(Instant.now()));
+        preparedStatement.setInt(3, after);
+        setFilterValues(preparedStatement, 4, engine, shard);
 
         ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery();
         camundaTaskEvents = getCamundaTaskEvents(camundaTaskEventResultSet);
@@ -404,6 +799,198 @@ public class CamundaTaskEventsService {
     return camundaTaskEvents;
   }
 
+  /**
+   * Leases a batch of create events to the given owner. Events that are leased by another owner
+   * are skipped until that lease expires, so that concurrent adapter instances retrieve disjoint
+   * batches. On PostgreSQL the candidate rows are additionally locked with SKIP LOCKED, on all
+   * other databases the conditional update on the lease columns decides who owns an event.
+   *
+   * @param leaseOwner the identifier of the adapter instance that requests the events
+   * @param engine the engine identifier to filter the events by, or null for all engines
+   * @param shard the shard to filter the events by, or null for all shards
+   * @return the create events that are leased to the given owner
+   */
+  private List<CamundaTaskEvent> leaseCreateEvents(String leaseOwner, String engine, Shard shard) {
+
+    List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
+
+    try (Connection connection = getConnection()) {
+
+      boolean originalAutoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+
+      try {
+        Instant now = Instant.now();
+
+        List<Integer> leasableIds =
+            getLeasableCreateEventIds(connection, leaseOwner, engine, shard, now);
+
+        if (!leasableIds.isEmpty()) {
+          leaseEvents(connection, leasableIds, leaseOwner, now);
+          camundaTaskEvents = getLeasedEvents(connection, leasableIds, leaseOwner);
+        }
+        connection.commit();
+
+      } catch (SQLException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        connection.setAutoCommit(originalAutoCommit);
+      }
+
+    } catch (SQLException | NullPointerException e) {
+      LOGGER.warn("Caught Exception while trying to lease create events from the outbox", e);
+    }
+    return camundaTaskEvents;
+  }
+
+  private List<Integer> getLeasableCreateEventIds(
+      Connection connection, String leaseOwner, String engine, Shard shard, Instant now)
+      throws SQLException {
+
+    String sql =
+        String.format(
+            SQL_GET_LEASABLE_CREATE_EVENT_IDS,
+            OUTBOX_SCHEMA,
+            getFilters(engine, shard),
+            maxNumberOfEventsReturned);
+
+    if (POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+      sql = sql + SQL_SKIP_LOCKED;
+    }
+
+    List<Integer> leasableIds = new ArrayList<>();
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      preparedStatement.setString(1, CREATE);
+      preparedStatement.setTimestamp(2, Timestamp.from(now));
+      preparedStatement.setTimestamp(3, Timestamp.from(now));
+      preparedStatement.setString(4, leaseOwner);
+      setFilterValues(preparedStatement, 5, engine, shard);
+
+      ResultSet leasableIdsResultSet = preparedStatement.executeQuery();
+      while (leasableIdsResultSet.next()) {
+        leasableIds.add(leasableIdsResultSet.getInt(1));
+      }
+    }
+    return leasableIds;
+  }
+
+  private void leaseEvents(
+      Connection connection, List<Integer> ids, String leaseOwner, Instant now)
+      throws SQLException {
+
+    String sql = String.format(SQL_LEASE_EVENT, OUTBOX_SCHEMA);
+    Instant leaseExpiry = now.plus(OutboxRestConfiguration.getLeaseDuration());
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      for (Integer id : ids) {
+        preparedStatement.setString(1, leaseOwner);
+        preparedStatement.setTimestamp(2, Timestamp.from(leaseExpiry));
+        preparedStatement.setInt(3, id);
+        preparedStatement.setTimestamp(4, Timestamp.from(now));
+        preparedStatement.setString(5, leaseOwner);
+        preparedStatement.addBatch();
+      }
+      preparedStatement.executeBatch();
+    }
+  }
+
+  private List<CamundaTaskEvent> getLeasedEvents(
+      Connection connection, List<Integer> ids, String leaseOwner) throws SQLException {
+
+    String sql =
+        String.format(
+            SQL_WITHOUT_PLACEHOLDERS_GET_LEASED_EVENTS,
+            OUTBOX_SCHEMA,
+            preparePlaceHolders(ids.size()));
+
+    try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+      preparedStatement.setString(1, leaseOwner);
+      for (int i = 0; i < ids.size(); i++) {
+        preparedStatement.setInt(i + 2, ids.get(i));
+      }
+
+      ResultSet leasedEventsResultSet = preparedStatement.executeQuery();
+      return getCamundaTaskEvents(leasedEventsResultSet);
+    }
+  }
+
+  private void writeEvents(
+      OutputStream outputStream, String sql, Integer remainingRetries, String engine, Shard shard)
+      throws IOException {
+
+    try (Connection connection = getConnection()) {
+
+      boolean originalAutoCommit = connection.getAutoCommit();
+      // PostgreSQL only fetches the result in chunks of the fetch size outside of auto commit
+      connection.setAutoCommit(false);
+
+      try (PreparedStatement preparedStatement =
+              connection.prepareStatement(
+                  sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          JsonGenerator generator =
+              OBJECT_MAPPER
+                  .getFactory()
+                  .createGenerator(outputStream)
+                  .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+
+        preparedStatement.setFetchSize(STREAMING_FETCH_SIZE);
+        int firstFilterIndex = 1;
+        if (remainingRetries != null) {
+          preparedStatement.setInt(firstFilterIndex++, remainingRetries);
+        }
+        setFilterValues(preparedStatement, firstFilterIndex, engine, shard);
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("camundaTaskEvents");
+
+        try (ResultSet camundaTaskEventResultSet = preparedStatement.executeQuery()) {
+          while (camundaTaskEventResultSet.next()) {
+            EVENT_WRITER.writeValue(generator, getCamundaTaskEvent(camundaTaskEventResultSet));
+          }
+        }
+
+        generator.writeEndArray();
+        generator.writeNullField("next");
+        generator.writeEndObject();
+
+      } finally {
+        connection.rollback();
+        connection.setAutoCommit(originalAutoCommit);
+      }
+
+    } catch (SQLException e) {
+      LOGGER.warn("Caught Exception while trying to stream events from the outbox", e);
+      throw new IOException("Failed to stream events from the outbox", e);
+    }
+  }
+
+  private String getFilters(String engine, Shard shard) {
+    return (engine == null ? "" : SQL_ENGINE_FILTER) + (shard == null ? "" : SQL_SHARD_FILTER);
+  }
+
+  private String getWhereClause(String engine, Shard shard) {
+    String filters = getFilters(engine, shard);
+    return filters.isEmpty() ? "" : " where" + filters.substring(" and".length());
+  }
+
+  private void setFilterValues(
+      PreparedStatement preparedStatement, int firstIndex, String engine, Shard shard)
+      throws SQLException {
+    int index = firstIndex;
+    if (engine != null) {
+      preparedStatement.setString(index++, engine);
+    }
+    if (shard != null) {
+      preparedStatement.setInt(index++, shard.shards);
+      preparedStatement.setInt(index, shard.shard);
+    }
+  }
+
   private String preparePlaceHolders(int length) {
     return String.join(",", Collections.nCopies(length, "?"));
   }
@@ -415,29 +1002,35 @@ public class CamundaTaskEventsService {
     }
   }
 
-  private List<CamundaTaskEvent> getCamundaTaskEvents(ResultSet createEventsResultSet)
+  // package-private for the benchmarks of the row mapping
+  List<CamundaTaskEvent> getCamundaTaskEvents(ResultSet createEventsResultSet)
       throws SQLException {
 
     List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
 
     while (createEventsResultSet.next()) {
+      camundaTaskEvents.add(getCamundaTaskEvent(createEventsResultSet));
+    }
 
-      CamundaTaskEvent camundaTaskEvent = new CamundaTaskEvent();
+    return camundaTaskEvents;
+  }
 
-      camundaTaskEvent.setId(createEventsResultSet.getInt(1));
-      camundaTaskEvent.setType(createEventsResultSet.getString(2));
-      camundaTaskEvent.setCreated(formatDate(createEventsResultSet.getTimestamp(3)));
-      camundaTaskEvent.setPayload(createEventsResultSet.getString(4));
-      camundaTaskEvent.setRemainingRetries(createEventsResultSet.getInt(5));
-      camundaTaskEvent.setBlockedUntil(createEventsResultSet.getString(6));
-      camundaTaskEvent.setError(createEventsResultSet.getString(7));
-      camundaTaskEvent.setCamundaTaskId(createEventsResultSet.getString(8));
-      camundaTaskEvent.setSystemEngineIdentifier(createEventsResultSet.getString(9));
+  private CamundaTaskEvent getCamundaTaskEvent(ResultSet camundaTaskEventResultSet)
+      throws SQLException {
 
-      camundaTaskEvents.add(camundaTaskEvent);
-    }
+    CamundaTaskEvent camundaTaskEvent = new CamundaTaskEvent();
 
-    return camundaTaskEvents;
+    camundaTaskEvent.setId(camundaTaskEventResultSet.getInt(1));
+    camundaTaskEvent.setType(camundaTaskEventResultSet.getString(2));
+    camundaTaskEvent.setCreated(formatDate(camundaTaskEventResultSet.getTimestamp(3)));
+    camundaTaskEvent.setPayload(camundaTaskEventResultSet.getString(4));
+    camundaTaskEvent.setRemainingRetries(camundaTaskEventResultSet.getInt(5));
+    camundaTaskEvent.setBlockedUntil(camundaTaskEventResultSet.getString(6));
+    camundaTaskEvent.setError(camundaTaskEventResultSet.getString(7));
+    camundaTaskEvent.setCamundaTaskId(camundaTaskEventResultSet.getString(8));
+    camundaTaskEvent.setSystemEngineIdentifier(camundaTaskEventResultSet.getString(9));
+
+    return camundaTaskEvent;
   }
 
   private List<Integer> getIdsAsIntegers(String idsAsJsonArray) {
@@ -461,17 +1054,21 @@ public class CamundaTaskEventsService {
     return idsAsIntegers;
   }
 
-  private List<CamundaTaskEvent> getCompleteAndDeleteEvents() {
+  private List<CamundaTaskEvent> getCompleteAndDeleteEvents(
+      int after, int limit, String engine, Shard shard) {
 
     List<CamundaTaskEvent> camundaTaskEvents = new ArrayList<>();
 
     String sql =
-        String.format(SQL_GET_COMPLETE_AND_DELETE_EVENTS, OUTBOX_SCHEMA, maxNumberOfEventsReturned);
+        String.format(
+            SQL_GET_COMPLETE_AND_DELETE_EVENTS, OUTBOX_SCHEMA, getFilters(engine, shard), limit);
     try (Connection connection = getConnection();
         PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 
       preparedStatement.setString(1, COMPLETE);
       preparedStatement.setString(2, DELETE);
+      preparedStatement.setInt(3, after);
+      setFilterValues(preparedStatement, 4, engine, shard);
 
       ResultSet completeAndDeleteEventsResultSet = preparedStatement.executeQuery();
       camundaTaskEvents = getCamundaTaskEvents(completeAndDeleteEventsResultSet);
@@ -548,4 +1145,15 @@ public class CamundaTaskEventsService {
           .format(date.toInstant());
     }
   }
+
+  private static class Shard {
+
+    private final int shard;
+    private final int shards;
+
+    private Shard(int shard, int shards) {
+      this.shard = shard;
+      this.shards = shards;
+    }
+  }
 }
@@ -0,0 +1,176 @@
+package pro.taskana.adapter.integration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Class to assist with writing events directly into the outbox table. The events carry a payload
+ * that is no ReferencedTask, so the running adapter skips them and the tests see them unchanged.
+ * Each test uses an engine identifier of its own to tell its events apart.
+ */
+public class OutboxTestEvents {
+
+  public static final String PAYLOAD = "no-referenced-task";
+
+  private static final String SQL_INSERT_EVENT =
+      "INSERT INTO taskana_tables.event_store (TYPE, CREATED, PAYLOAD, REMAINING_RETRIES, "
+          + "BLOCKED_UNTIL, CAMUNDA_TASK_ID, SYSTEM_ENGINE_IDENTIFIER, SHARD_KEY) "
+          + "VALUES (?,?,?,?,?,?,?,?)";
+  private static final String SQL_GET_EVENT_IDS =
+      "SELECT ID FROM taskana_tables.event_store WHERE SYSTEM_ENGINE_IDENTIFIER = ? ORDER BY ID";
+  private static final String SQL_GET_LEASE_OWNER =
+      "SELECT LEASE_OWNER FROM taskana_tables.event_store WHERE ID = ?";
+  private static final String SQL_EXPIRE_LEASES =
+      "UPDATE taskana_tables.event_store SET LEASE_EXPIRY = ? WHERE LEASE_OWNER = ?";
+  private static final String SQL_GET_CREATED_CAMUNDA_TASK_IDS =
+      "SELECT CAMUNDA_TASK_ID FROM taskana_tables.event_store "
+          + "WHERE TYPE = 'create' AND PAYLOAD LIKE ? ORDER BY ID";
+  private static final String SQL_SET_ERROR =
+      "UPDATE taskana_tables.event_store SET ERROR = ? WHERE ID = ?";
+  private static final String SQL_DELETE_EVENTS =
+      "DELETE FROM taskana_tables.event_store WHERE SYSTEM_ENGINE_IDENTIFIER = ?";
+
+  private final DataSource dataSource;
+
+  public OutboxTestEvents(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Inserts events that can be retrieved right away. The shard keys of the events are 0, 1, 2, ...
+   *
+   * @param type the type of the events
+   * @param engine the engine identifier of the events
+   * @param remainingRetries the remaining retries of the events
+   * @param numberOfEvents the number of events to insert
+   * @return the ids of all events of the engine in ascending order
+   * @throws SQLException in case of database problems
+   */
+  public List<Integer> insertEvents(
+      String type, String engine, int remainingRetries, int numberOfEvents) throws SQLException {
+
+    Timestamp now = Timestamp.from(Instant.now().minusSeconds(1));
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(SQL_INSERT_EVENT)) {
+
+      for (int i = 0; i < numberOfEvents; i++) {
+        preparedStatement.setString(1, type);
+        preparedStatement.setTimestamp(2, now);
+        preparedStatement.setString(3, PAYLOAD);
+        preparedStatement.setInt(4, remainingRetries);
+        preparedStatement.setTimestamp(5, now);
+        preparedStatement.setString(6, engine + "-task-" + i);
+        preparedStatement.setString(7, engine);
+        preparedStatement.setInt(8, i);
+        preparedStatement.addBatch();
+      }
+      preparedStatement.executeBatch();
+      commitIfNecessary(connection);
+    }
+    return getEventIds(engine);
+  }
+
+  public List<Integer> getEventIds(String engine) throws SQLException {
+
+    List<Integer> ids = new ArrayList<>();
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(SQL_GET_EVENT_IDS)) {
+
+      preparedStatement.setString(1, engine);
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        while (resultSet.next()) {
+          ids.add(resultSet.getInt(1));
+        }
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * Returns the Camunda task ids of the create events the listener wrote for the user tasks of a
+   * process instance. The payload of these events contains the id of the process instance.
+   *
+   * @param processInstanceId the id of the process instance
+   * @return the Camunda task ids of the create events in the order of their insertion
+   * @throws SQLException in case of database problems
+   */
+  public List<String> getCreatedCamundaTaskIds(String processInstanceId) throws SQLException {
+
+    List<String> camundaTaskIds = new ArrayList<>();
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement preparedStatement =
+            connection.prepareStatement(SQL_GET_CREATED_CAMUNDA_TASK_IDS)) {
+
+      preparedStatement.setString(1, "%" + processInstanceId + "%");
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        while (resultSet.next()) {
+          camundaTaskIds.add(resultSet.getString(1));
+        }
+      }
+    }
+    return camundaTaskIds;
+  }
+
+  public String getLeaseOwner(int id) throws SQLException {
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(SQL_GET_LEASE_OWNER)) {
+
+      preparedStatement.setInt(1, id);
+      try (ResultSet resultSet = preparedStatement.executeQuery()) {
+        return resultSet.next() ? resultSet.getString(1) : null;
+      }
+    }
+  }
+
+  public void expireLeases(String leaseOwner) throws SQLException {
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(SQL_EXPIRE_LEASES)) {
+
+      preparedStatement.setTimestamp(1, Timestamp.from(Instant.now().minusSeconds(1)));
+      preparedStatement.setString(2, leaseOwner);
+      preparedStatement.executeUpdate();
+      commitIfNecessary(connection);
+    }
+  }
+
+  public void setError(int id, String error) throws SQLException {
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(SQL_SET_ERROR)) {
+
+      preparedStatement.setString(1, error);
+      preparedStatement.setInt(2, id);
+      preparedStatement.executeUpdate();
+      commitIfNecessary(connection);
+    }
+  }
+
+  public void deleteEvents(String engine) throws SQLException {
+
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_EVENTS)) {
+
+      preparedStatement.setString(1, engine);
+      preparedStatement.executeUpdate();
+      commitIfNecessary(connection);
+    }
+  }
+
+  private void commitIfNecessary(Connection connection) throws SQLException {
+    if (!connection.getAutoCommit()) {
+      connection.commit();
+    }
+  }
+}
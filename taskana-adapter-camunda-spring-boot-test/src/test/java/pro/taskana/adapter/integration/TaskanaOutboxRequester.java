@@ -1,5 +1,7 @@
 package pro.taskana.adapter.integration;
 
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import org.json.JSONException;
 import org.springframework.boot.test.web.client.TestRestTemplate;
@@ -8,6 +10,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEventStatistics;
 import pro.taskana.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
 
@@ -80,6 +83,66 @@ public class TaskanaOutboxRequester {
     return answer.getBody().getCamundaTaskEvents();
   }
 
+  /**
+   * Retrieves the events of the outbox with the given query.
+   *
+   * @param query the query string, e.g. {@code ?type=create&limit=10}
+   * @return the retrieved events together with the link to the next page
+   */
+  public CamundaTaskEventListResource getEvents(String query) {
+
+    return getEvents(URI.create(BASIC_OUTBOX_PATH + query));
+  }
+
+  /**
+   * Retrieves the events of the outbox with the given url, e.g. the link to the next page.
+   *
+   * @param url the complete url of the request
+   * @return the retrieved events together with the link to the next page
+   */
+  public CamundaTaskEventListResource getEvents(URI url) {
+
+    HttpEntity<Void> requestEntity = httpHeaderProvider.prepareNewEntityForOutboxRestApi();
+    ResponseEntity<CamundaTaskEventListResource> answer =
+        this.restTemplate.exchange(
+            url, HttpMethod.GET, requestEntity, CamundaTaskEventListResource.class);
+
+    return answer.getBody();
+  }
+
+  /**
+   * Retrieves the number of events of the outbox per type, engine and retry bucket.
+   *
+   * @return the statistics of the outbox
+   */
+  public List<CamundaTaskEventStatistics> getEventStatistics() {
+
+    String url = BASIC_OUTBOX_PATH + "/stats";
+
+    HttpEntity<Void> requestEntity = httpHeaderProvider.prepareNewEntityForOutboxRestApi();
+    ResponseEntity<CamundaTaskEventStatistics[]> answer =
+        this.restTemplate.exchange(
+            url, HttpMethod.GET, requestEntity, CamundaTaskEventStatistics[].class);
+
+    return Arrays.asList(answer.getBody());
+  }
+
+  /**
+   * Waits in the outbox for the events matching the given query.
+   *
+   * @param query the query string, e.g. {@code ?type=create&timeout=10s}
+   * @return the retrieved events, empty if the timeout elapsed
+   */
+  public CamundaTaskEventListResource waitForEvents(String query) {
+    return getEvents(URI.create(BASIC_OUTBOX_PATH + "/wait" + query));
+  }
+
+  public List<CamundaTaskEvent> leaseCreateEvents(String engine, String leaseOwner) {
+
+    return getEvents("?type=create&engine=" + engine + "&lease-owner=" + leaseOwner)
+        .getCamundaTaskEvents();
+  }
+
   public boolean setRemainingRetries(int id, int newRetries) throws JSONException {
 
     String url = BASIC_OUTBOX_PATH + "/" + id;
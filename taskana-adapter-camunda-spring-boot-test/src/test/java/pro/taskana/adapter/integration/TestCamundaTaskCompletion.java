@@ -0,0 +1,197 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.Map;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.identity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskCompletion;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskCompletionResult;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaVariableValue;
+import pro.taskana.adapter.camunda.outbox.rest.service.CamundaTaskCompletionService;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+
+/** Test class to test the completion of camunda tasks through the outbox REST service. */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestCamundaTaskCompletion extends AbsIntegrationTest {
+
+  private static final String UNAUTHORIZED_USER = "completion-test-user";
+  private static final String ADMIN_USER = "admin";
+
+  private final CamundaTaskCompletionService camundaTaskCompletionService =
+      new CamundaTaskCompletionService();
+
+  @Autowired private ProcessEngine processEngine;
+
+  private String engine;
+
+  @BeforeEach
+  void createUnauthorizedUser() {
+    engine = processEngine.getName();
+    User user = processEngine.getIdentityService().newUser(UNAUTHORIZED_USER);
+    user.setPassword(UNAUTHORIZED_USER);
+    processEngine.getIdentityService().saveUser(user);
+  }
+
+  @AfterEach
+  void deleteUnauthorizedUserAndDisableAuthorization() {
+    processEngine.getProcessEngineConfiguration().setAuthorizationEnabled(false);
+    processEngine.getIdentityService().deleteUser(UNAUTHORIZED_USER);
+  }
+
+  @Test
+  void should_CompleteTasksWithVariables_When_AllTasksCanBeCompleted() throws Exception {
+
+    String processInstanceId = startProcess();
+    String camundaTaskId = getCamundaTaskId(processInstanceId);
+
+    List<CamundaTaskCompletionResult> results =
+        camundaTaskCompletionService.completeTasks(
+            engine,
+            ADMIN_USER,
+            List.of(newCompletion(camundaTaskId, Map.of("amount", newVariable(5, "Integer")))));
+
+    assertThat(results)
+        .extracting(CamundaTaskCompletionResult::getTaskId, CamundaTaskCompletionResult::getStatus)
+        .containsExactly(tuple(camundaTaskId, 204));
+    assertThat(getOpenTaskCount(camundaTaskId)).isZero();
+    assertThat(
+            processEngine
+                .getHistoryService()
+                .createHistoricVariableInstanceQuery()
+                .processInstanceId(processInstanceId)
+                .variableName("amount")
+                .singleResult()
+                .getValue())
+        .isEqualTo(5);
+  }
+
+  @Test
+  void should_CompleteOtherTasks_When_CompletionOfOneTaskFails() throws Exception {
+
+    String invalidCamundaTaskId = getCamundaTaskId(startProcess());
+    String camundaTaskId = getCamundaTaskId(startProcess());
+
+    List<CamundaTaskCompletionResult> results =
+        camundaTaskCompletionService.completeTasks(
+            engine,
+            ADMIN_USER,
+            List.of(
+                newCompletion(
+                    invalidCamundaTaskId, Map.of("amount", newVariable(5, "UnknownType"))),
+                newCompletion(camundaTaskId, null)));
+
+    assertThat(results)
+        .extracting(CamundaTaskCompletionResult::getTaskId)
+        .containsExactly(invalidCamundaTaskId, camundaTaskId);
+    assertThat(results.get(0).getStatus()).isEqualTo(400);
+    assertThat(results.get(0).getError()).contains("UnknownType");
+    assertThat(results.get(1).getStatus()).isEqualTo(204);
+    assertThat(getOpenTaskCount(invalidCamundaTaskId)).isOne();
+    assertThat(getOpenTaskCount(camundaTaskId)).isZero();
+  }
+
+  @Test
+  void should_ReportNotFound_When_TaskDoesNotExist() throws Exception {
+
+    List<CamundaTaskCompletionResult> results =
+        camundaTaskCompletionService.completeTasks(
+            engine, ADMIN_USER, List.of(newCompletion("unknown-camunda-task-id", null)));
+
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).getTaskId()).isEqualTo("unknown-camunda-task-id");
+    assertThat(results.get(0).getStatus()).isEqualTo(404);
+  }
+
+  @Test
+  void should_ReportForbidden_When_CallerIsNotAuthorizedToCompleteTask() throws Exception {
+
+    String camundaTaskId = getCamundaTaskId(startProcess());
+    processEngine.getProcessEngineConfiguration().setAuthorizationEnabled(true);
+
+    List<CamundaTaskCompletionResult> results =
+        camundaTaskCompletionService.completeTasks(
+            engine, UNAUTHORIZED_USER, List.of(newCompletion(camundaTaskId, null)));
+
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).getStatus()).isEqualTo(403);
+    assertThat(getOpenTaskCount(camundaTaskId)).isOne();
+    // the authentication of the caller isn't left behind on the thread
+    assertThat(processEngine.getIdentityService().getCurrentAuthentication()).isNull();
+
+    // the admin is authorized to complete the same task
+    results =
+        camundaTaskCompletionService.completeTasks(
+            engine, ADMIN_USER, List.of(newCompletion(camundaTaskId, null)));
+
+    assertThat(results.get(0).getStatus()).isEqualTo(204);
+    assertThat(getOpenTaskCount(camundaTaskId)).isZero();
+  }
+
+  @Test
+  void should_ReportUnauthenticated_When_CallerIsNotAuthenticatedAndAuthorizationIsEnabled()
+      throws Exception {
+
+    String camundaTaskId = getCamundaTaskId(startProcess());
+    processEngine.getProcessEngineConfiguration().setAuthorizationEnabled(true);
+
+    List<CamundaTaskCompletionResult> results =
+        camundaTaskCompletionService.completeTasks(
+            engine, null, List.of(newCompletion(camundaTaskId, null)));
+
+    assertThat(results).hasSize(1);
+    assertThat(results.get(0).getStatus()).isEqualTo(401);
+    assertThat(getOpenTaskCount(camundaTaskId)).isOne();
+  }
+
+  private String startProcess() {
+    return processEngine
+        .getRuntimeService()
+        .startProcessInstanceByKey("simple_user_task_process")
+        .getProcessInstanceId();
+  }
+
+  private String getCamundaTaskId(String processInstanceId) {
+    return processEngine
+        .getTaskService()
+        .createTaskQuery()
+        .processInstanceId(processInstanceId)
+        .singleResult()
+        .getId();
+  }
+
+  private long getOpenTaskCount(String camundaTaskId) {
+    return processEngine.getTaskService().createTaskQuery().taskId(camundaTaskId).count();
+  }
+
+  private CamundaTaskCompletion newCompletion(
+      String camundaTaskId, Map<String, CamundaVariableValue> variables) {
+    CamundaTaskCompletion camundaTaskCompletion = new CamundaTaskCompletion();
+    camundaTaskCompletion.setTaskId(camundaTaskId);
+    camundaTaskCompletion.setAssignee("teamlead_1");
+    camundaTaskCompletion.setVariables(variables);
+    return camundaTaskCompletion;
+  }
+
+  private CamundaVariableValue newVariable(Object value, String type) {
+    CamundaVariableValue camundaVariableValue = new CamundaVariableValue();
+    camundaVariableValue.setValue(value);
+    camundaVariableValue.setType(type);
+    return camundaVariableValue;
+  }
+}
@@ -0,0 +1,131 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+
+/**
+ * Test class to test the leasing of create events on H2, where the conditional update of the lease
+ * columns decides which adapter instance owns an event.
+ */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestOutboxEventLeasing extends AbsIntegrationTest {
+
+  private static final String ENGINE = "lease-test";
+  private static final String OWNER_1 = "adapter-1";
+  private static final String OWNER_2 = "adapter-2";
+
+  private OutboxTestEvents outboxTestEvents;
+
+  @BeforeEach
+  void createOutboxTestEvents() throws Exception {
+    outboxTestEvents = new OutboxTestEvents(camundaBpmDataSource);
+    outboxTestEvents.deleteEvents(ENGINE);
+  }
+
+  @AfterEach
+  void deleteOutboxTestEvents() throws Exception {
+    outboxTestEvents.deleteEvents(ENGINE);
+  }
+
+  @Test
+  void should_LeaseEachEventToOneOwnerOnly_When_OwnersRequestConcurrently() throws Exception {
+
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      for (int round = 0; round < 5; round++) {
+        List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, 5, 20);
+
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<List<Integer>> leasedByOwner1 =
+            CompletableFuture.supplyAsync(() -> leaseAfter(start, OWNER_1), executorService);
+        CompletableFuture<List<Integer>> leasedByOwner2 =
+            CompletableFuture.supplyAsync(() -> leaseAfter(start, OWNER_2), executorService);
+        start.countDown();
+
+        List<Integer> idsOfOwner1 = leasedByOwner1.get(30, TimeUnit.SECONDS);
+        List<Integer> idsOfOwner2 = leasedByOwner2.get(30, TimeUnit.SECONDS);
+
+        assertThat(idsOfOwner1).doesNotContainAnyElementsOf(idsOfOwner2);
+        List<Integer> leasedIds = new ArrayList<>(idsOfOwner1);
+        leasedIds.addAll(idsOfOwner2);
+        assertThat(leasedIds).containsExactlyInAnyOrderElementsOf(eventIds);
+        for (Integer id : idsOfOwner1) {
+          assertThat(outboxTestEvents.getLeaseOwner(id)).isEqualTo(OWNER_1);
+        }
+        for (Integer id : idsOfOwner2) {
+          assertThat(outboxTestEvents.getLeaseOwner(id)).isEqualTo(OWNER_2);
+        }
+
+        outboxTestEvents.deleteEvents(ENGINE);
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  void should_NotLeaseEventsToOtherOwner_When_LeaseIsNotExpired() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, 5, 10);
+
+    assertThat(getIds(taskanaOutboxRequester.leaseCreateEvents(ENGINE, OWNER_1)))
+        .containsExactlyElementsOf(eventIds);
+    assertThat(taskanaOutboxRequester.leaseCreateEvents(ENGINE, OWNER_2)).isEmpty();
+    // the owner of a lease gets its events again, e.g. after a restart
+    assertThat(getIds(taskanaOutboxRequester.leaseCreateEvents(ENGINE, OWNER_1)))
+        .containsExactlyElementsOf(eventIds);
+  }
+
+  @Test
+  void should_LeaseEventsToOtherOwner_When_LeaseIsExpired() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, 5, 10);
+
+    assertThat(getIds(taskanaOutboxRequester.leaseCreateEvents(ENGINE, OWNER_1)))
+        .containsExactlyElementsOf(eventIds);
+
+    outboxTestEvents.expireLeases(OWNER_1);
+
+    assertThat(getIds(taskanaOutboxRequester.leaseCreateEvents(ENGINE, OWNER_2)))
+        .containsExactlyElementsOf(eventIds);
+    assertThat(taskanaOutboxRequester.leaseCreateEvents(ENGINE, OWNER_1)).isEmpty();
+    for (Integer id : eventIds) {
+      assertThat(outboxTestEvents.getLeaseOwner(id)).isEqualTo(OWNER_2);
+    }
+  }
+
+  private List<Integer> leaseAfter(CountDownLatch start, String leaseOwner) {
+    try {
+      start.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+    return getIds(taskanaOutboxRequester.leaseCreateEvents(ENGINE, leaseOwner));
+  }
+
+  private List<Integer> getIds(List<CamundaTaskEvent> camundaTaskEvents) {
+    return camundaTaskEvents.stream().map(CamundaTaskEvent::getId).toList();
+  }
+}
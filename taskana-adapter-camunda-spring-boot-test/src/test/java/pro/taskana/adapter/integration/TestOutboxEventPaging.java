@@ -0,0 +1,222 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.web.util.UriUtils;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import pro.taskana.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+
+/**
+ * Test class to test the keyset paging and the filters of the events of the outbox REST API,
+ * including the partition of the events into the shards of the adapter instances of a cluster.
+ */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestOutboxEventPaging extends AbsIntegrationTest {
+
+  private static final String ENGINE = "paging-test";
+  private static final String OTHER_ENGINE = "paging-test&engine=x+y z";
+  // no other test creates events with this number of remaining retries
+  private static final int RETRIES = 4711;
+
+  private OutboxTestEvents outboxTestEvents;
+
+  @BeforeEach
+  void createOutboxTestEvents() throws Exception {
+    outboxTestEvents = new OutboxTestEvents(camundaBpmDataSource);
+    outboxTestEvents.deleteEvents(ENGINE);
+  }
+
+  @AfterEach
+  void deleteOutboxTestEvents() throws Exception {
+    outboxTestEvents.deleteEvents(ENGINE);
+    outboxTestEvents.deleteEvents(OTHER_ENGINE);
+  }
+
+  @Test
+  void should_ReturnEachEventOnce_When_FollowingTheNextLinks() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 7);
+
+    List<CamundaTaskEventListResource> pages = getAllPages("?retries=" + RETRIES + "&limit=3");
+
+    assertThat(pages).hasSize(3);
+    assertThat(getIds(pages.get(0))).containsExactlyElementsOf(eventIds.subList(0, 3));
+    assertThat(getIds(pages.get(1))).containsExactlyElementsOf(eventIds.subList(3, 6));
+    assertThat(getIds(pages.get(2))).containsExactlyElementsOf(eventIds.subList(6, 7));
+    assertThat(pages.get(0).getNext()).contains("after=" + eventIds.get(2));
+    assertThat(pages.get(1).getNext()).contains("after=" + eventIds.get(5));
+    assertThat(pages.get(2).getNext()).isNull();
+  }
+
+  @Test
+  void should_ReturnEmptyLastPageWithoutNextLink_When_EventsFillTheLastPage() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 6);
+
+    List<CamundaTaskEventListResource> pages = getAllPages("?retries=" + RETRIES + "&limit=3");
+
+    assertThat(pages).hasSize(3);
+    assertThat(getIds(pages.get(0))).containsExactlyElementsOf(eventIds.subList(0, 3));
+    assertThat(getIds(pages.get(1))).containsExactlyElementsOf(eventIds.subList(3, 6));
+    assertThat(pages.get(1).getNext()).isNotNull();
+    assertThat(pages.get(2).getCamundaTaskEvents()).isEmpty();
+    assertThat(pages.get(2).getNext()).isNull();
+  }
+
+  @Test
+  void should_StartAfterTheGivenId_When_RequestingCreateEventsOfAnEngine() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 5);
+
+    CamundaTaskEventListResource page =
+        taskanaOutboxRequester.getEvents(
+            "?type=create&engine=" + ENGINE + "&after=" + eventIds.get(1) + "&limit=2");
+
+    assertThat(getIds(page)).containsExactlyElementsOf(eventIds.subList(2, 4));
+    assertThat(page.getNext()).contains("after=" + eventIds.get(3));
+
+    CamundaTaskEventListResource lastPage =
+        taskanaOutboxRequester.getEvents(URI.create(page.getNext()));
+
+    assertThat(getIds(lastPage)).containsExactly(eventIds.get(4));
+    assertThat(lastPage.getNext()).isNull();
+  }
+
+  @Test
+  void should_NotReturnNextLink_When_RequestIsNotPaged() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 3);
+
+    CamundaTaskEventListResource events =
+        taskanaOutboxRequester.getEvents("?type=create&engine=" + ENGINE);
+
+    assertThat(getIds(events)).containsExactlyElementsOf(eventIds);
+    assertThat(events.getNext()).isNull();
+  }
+
+  @Test
+  void should_StreamSameEventsAsPages_When_RequestIsNotPaged() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 7);
+
+    CamundaTaskEventListResource streamedEvents =
+        taskanaOutboxRequester.getEvents("?retries=" + RETRIES);
+
+    List<CamundaTaskEvent> pagedEvents =
+        getAllPages("?retries=" + RETRIES + "&limit=3").stream()
+            .flatMap(page -> page.getCamundaTaskEvents().stream())
+            .toList();
+
+    assertThat(streamedEvents.getNext()).isNull();
+    assertThat(getIds(streamedEvents)).containsExactlyElementsOf(eventIds);
+    assertThat(streamedEvents.getCamundaTaskEvents())
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyElementsOf(pagedEvents);
+  }
+
+  @Test
+  void should_ReturnOnlyEventsOfTheEngine_When_EngineContainsReservedCharacters() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 2);
+    List<Integer> otherEventIds = outboxTestEvents.insertEvents("create", OTHER_ENGINE, RETRIES, 3);
+
+    CamundaTaskEventListResource otherEvents =
+        taskanaOutboxRequester.getEvents(
+            "?type=create&engine=" + UriUtils.encode(OTHER_ENGINE, StandardCharsets.UTF_8));
+
+    assertThat(getIds(otherEvents)).containsExactlyElementsOf(otherEventIds);
+    assertThat(otherEvents.getCamundaTaskEvents())
+        .extracting(CamundaTaskEvent::getSystemEngineIdentifier)
+        .containsOnly(OTHER_ENGINE);
+
+    CamundaTaskEventListResource events =
+        taskanaOutboxRequester.getEvents("?type=create&engine=" + ENGINE);
+
+    assertThat(getIds(events)).containsExactlyElementsOf(eventIds);
+  }
+
+  @Test
+  void should_PartitionEventsIntoDisjointShards_When_RequestingEachShard() throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 7);
+
+    List<List<Integer>> shards = new ArrayList<>();
+    for (int shard = 0; shard < 3; shard++) {
+      shards.add(
+          getAllPages("?type=create&engine=" + ENGINE + "&shard=" + shard + "&shards=3&limit=2")
+              .stream()
+              .flatMap(page -> getIds(page).stream())
+              .toList());
+    }
+
+    // the shard keys of the events are 0 to 6, each shard gets the keys of its remainder
+    assertThat(shards.get(0)).containsExactly(eventIds.get(0), eventIds.get(3), eventIds.get(6));
+    assertThat(shards.get(1)).containsExactly(eventIds.get(1), eventIds.get(4));
+    assertThat(shards.get(2)).containsExactly(eventIds.get(2), eventIds.get(5));
+    assertThat(shards.stream().flatMap(List::stream).toList())
+        .containsExactlyInAnyOrderElementsOf(eventIds);
+  }
+
+  @Test
+  void should_ApplyEngineAndShardFilters_When_RequestingEventsByRetriesOrAllEvents()
+      throws Exception {
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, RETRIES, 5);
+    outboxTestEvents.insertEvents("create", OTHER_ENGINE, RETRIES, 3);
+    String filters =
+        "engine=" + UriUtils.encode(ENGINE, StandardCharsets.UTF_8) + "&shard=1&shards=2";
+    // the shard keys of the events are 0 to 4, the shard 1 of 2 gets the odd ones
+    List<Integer> expectedIds = List.of(eventIds.get(1), eventIds.get(3));
+
+    CamundaTaskEventListResource streamedEventsByRetries =
+        taskanaOutboxRequester.getEvents("?retries=" + RETRIES + "&" + filters);
+    List<Integer> pagedEventsByRetries =
+        getAllPages("?retries=" + RETRIES + "&limit=1&" + filters).stream()
+            .flatMap(page -> getIds(page).stream())
+            .toList();
+    List<Integer> streamedEvents = getIds(taskanaOutboxRequester.getEvents("?" + filters));
+    List<Integer> pagedEvents =
+        getAllPages("?limit=1&after=" + (eventIds.get(0) - 1) + "&" + filters).stream()
+            .flatMap(page -> getIds(page).stream())
+            .toList();
+
+    assertThat(getIds(streamedEventsByRetries)).containsExactlyElementsOf(expectedIds);
+    assertThat(pagedEventsByRetries).containsExactlyElementsOf(expectedIds);
+    assertThat(streamedEvents).containsExactlyElementsOf(expectedIds);
+    assertThat(pagedEvents).containsExactlyElementsOf(expectedIds);
+  }
+
+  private List<CamundaTaskEventListResource> getAllPages(String query) {
+
+    List<CamundaTaskEventListResource> pages = new ArrayList<>();
+    CamundaTaskEventListResource page = taskanaOutboxRequester.getEvents(query);
+    pages.add(page);
+
+    while (page.getNext() != null && pages.size() <= 100) {
+      page = taskanaOutboxRequester.getEvents(URI.create(page.getNext()));
+      pages.add(page);
+    }
+    return pages;
+  }
+
+  private List<Integer> getIds(CamundaTaskEventListResource page) {
+    return page.getCamundaTaskEvents().stream().map(CamundaTaskEvent::getId).toList();
+  }
+}
@@ -0,0 +1,89 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEventStatistics;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+
+/**
+ * Test class to test the statistics of the outbox REST API, which count the events per type,
+ * engine and retry bucket.
+ */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestOutboxEventStatistics extends AbsIntegrationTest {
+
+  private static final String ENGINE = "statistics-test";
+  private static final DateTimeFormatter OUTBOX_DATE_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+  private OutboxTestEvents outboxTestEvents;
+
+  @BeforeEach
+  void createOutboxTestEvents() throws Exception {
+    outboxTestEvents = new OutboxTestEvents(camundaBpmDataSource);
+    outboxTestEvents.deleteEvents(ENGINE);
+  }
+
+  @AfterEach
+  void deleteOutboxTestEvents() throws Exception {
+    outboxTestEvents.deleteEvents(ENGINE);
+  }
+
+  @Test
+  void should_CountEventsPerTypeAndRetryBucket_When_RequestingStatistics() throws Exception {
+
+    Instant start = Instant.now().minusSeconds(2);
+    List<Integer> createEventIds = outboxTestEvents.insertEvents("create", ENGINE, 3, 3);
+    outboxTestEvents.setError(createEventIds.get(0), "creation failed");
+    outboxTestEvents.insertEvents("create", ENGINE, 0, 2);
+    outboxTestEvents.insertEvents("complete", ENGINE, 3, 1);
+
+    List<CamundaTaskEventStatistics> eventStatistics =
+        taskanaOutboxRequester.getEventStatistics().stream()
+            .filter(statistics -> ENGINE.equals(statistics.getSystemEngineIdentifier()))
+            .toList();
+
+    assertThat(eventStatistics)
+        .extracting(
+            CamundaTaskEventStatistics::getType,
+            CamundaTaskEventStatistics::getRetryBucket,
+            CamundaTaskEventStatistics::getEventsCount)
+        .containsExactly(
+            tuple("complete", "new", 1L),
+            tuple("create", "failed", 2L),
+            tuple("create", "new", 2L),
+            tuple("create", "retrying", 1L));
+    assertThat(eventStatistics)
+        .extracting(
+            statistics ->
+                OffsetDateTime.parse(statistics.getOldestCreated(), OUTBOX_DATE_FORMATTER)
+                    .toInstant())
+        .allMatch(oldestCreated -> oldestCreated.isAfter(start))
+        .allMatch(oldestCreated -> oldestCreated.isBefore(Instant.now()));
+  }
+
+  @Test
+  void should_NotReturnStatisticsOfEngine_When_EngineHasNoEvents() {
+
+    assertThat(taskanaOutboxRequester.getEventStatistics())
+        .extracting(CamundaTaskEventStatistics::getSystemEngineIdentifier)
+        .doesNotContain(ENGINE);
+  }
+}
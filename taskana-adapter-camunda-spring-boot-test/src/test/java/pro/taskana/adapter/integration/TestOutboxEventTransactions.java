@@ -0,0 +1,162 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+import pro.taskana.common.test.security.WithAccessId;
+import pro.taskana.impl.configuration.DbCleaner;
+import pro.taskana.impl.configuration.DbCleaner.ApplicationDatabaseType;
+
+/**
+ * Test class to test that the TaskanaTaskListener writes the events of a command context into the
+ * outbox when its transaction commits and discards them when it rolls back. The user tasks have an
+ * unknown classification, so the adapter can't create their TASKANA tasks and keeps the events.
+ */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestOutboxEventTransactions extends AbsIntegrationTest {
+
+  private static final String MULTI_INSTANCE_PROCESS = "simple_multi_instance_user_task_process";
+  private static final int NUMBER_OF_INSTANCES = 5;
+
+  @Autowired private ProcessEngine processEngine;
+
+  @Autowired private ProcessEngineConfigurationImpl engineConfiguration;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private OutboxTestEvents outboxTestEvents;
+
+  @BeforeEach
+  void createOutboxTestEvents() {
+    outboxTestEvents = new OutboxTestEvents(camundaBpmDataSource);
+  }
+
+  @AfterEach
+  @WithAccessId(user = "taskadmin")
+  void resetOutbox() {
+    DbCleaner cleaner = new DbCleaner();
+    cleaner.clearDb(camundaBpmDataSource, ApplicationDatabaseType.OUTBOX);
+  }
+
+  @Test
+  void should_InsertEventsOfAllInstances_When_MultiInstanceTaskIsCreatedInOneTransaction()
+      throws Exception {
+
+    String processInstanceId = startMultiInstanceProcess();
+
+    assertThat(outboxTestEvents.getCreatedCamundaTaskIds(processInstanceId))
+        .hasSize(NUMBER_OF_INSTANCES)
+        .containsExactlyInAnyOrderElementsOf(getCamundaTaskIds(processInstanceId));
+  }
+
+  @Test
+  void should_NotInsertEvents_When_TransactionIsRolledBack() throws Exception {
+
+    AtomicReference<String> rolledBackProcessInstanceId = new AtomicReference<>();
+
+    assertThatThrownBy(
+            () ->
+                engineConfiguration
+                    .getCommandExecutorTxRequired()
+                    .execute(
+                        commandContext -> {
+                          rolledBackProcessInstanceId.set(startMultiInstanceProcess());
+                          throw new IllegalStateException("roll back the transaction");
+                        }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(rolledBackProcessInstanceId.get()).isNotNull();
+    assertThat(outboxTestEvents.getCreatedCamundaTaskIds(rolledBackProcessInstanceId.get()))
+        .isEmpty();
+
+    // the events of the rolled back transaction don't show up with the ones of the next one
+    String processInstanceId = startMultiInstanceProcess();
+
+    assertThat(outboxTestEvents.getCreatedCamundaTaskIds(processInstanceId))
+        .containsExactlyInAnyOrderElementsOf(getCamundaTaskIds(processInstanceId));
+    assertThat(outboxTestEvents.getCreatedCamundaTaskIds(rolledBackProcessInstanceId.get()))
+        .isEmpty();
+  }
+
+  @Test
+  void should_InsertEventsOfAllCommandContexts_When_TheyShareOneTransaction() throws Exception {
+
+    List<String> processInstanceIds =
+        new TransactionTemplate(transactionManager)
+            .execute(status -> List.of(startMultiInstanceProcess(), startMultiInstanceProcess()));
+
+    assertThat(processInstanceIds).hasSize(2);
+    for (String processInstanceId : processInstanceIds) {
+      assertThat(outboxTestEvents.getCreatedCamundaTaskIds(processInstanceId))
+          .hasSize(NUMBER_OF_INSTANCES)
+          .containsExactlyInAnyOrderElementsOf(getCamundaTaskIds(processInstanceId));
+    }
+  }
+
+  @Test
+  void should_InsertEventsOfNewCommandContext_When_OuterTransactionIsRolledBack()
+      throws Exception {
+
+    AtomicReference<String> outerProcessInstanceId = new AtomicReference<>();
+    AtomicReference<String> innerProcessInstanceId = new AtomicReference<>();
+
+    assertThatThrownBy(
+            () ->
+                engineConfiguration
+                    .getCommandExecutorTxRequired()
+                    .execute(
+                        commandContext -> {
+                          outerProcessInstanceId.set(startMultiInstanceProcess());
+                          innerProcessInstanceId.set(
+                              engineConfiguration
+                                  .getCommandExecutorTxRequiresNew()
+                                  .execute(newCommandContext -> startMultiInstanceProcess()));
+                          throw new IllegalStateException("roll back the outer transaction");
+                        }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(outboxTestEvents.getCreatedCamundaTaskIds(outerProcessInstanceId.get())).isEmpty();
+    assertThat(outboxTestEvents.getCreatedCamundaTaskIds(innerProcessInstanceId.get()))
+        .hasSize(NUMBER_OF_INSTANCES)
+        .containsExactlyInAnyOrderElementsOf(getCamundaTaskIds(innerProcessInstanceId.get()));
+  }
+
+  private String startMultiInstanceProcess() {
+    return processEngine
+        .getRuntimeService()
+        .startProcessInstanceByKey(MULTI_INSTANCE_PROCESS)
+        .getProcessInstanceId();
+  }
+
+  private List<String> getCamundaTaskIds(String processInstanceId) {
+    return processEngine
+        .getTaskService()
+        .createTaskQuery()
+        .processInstanceId(processInstanceId)
+        .list()
+        .stream()
+        .map(Task::getId)
+        .toList();
+  }
+}
@@ -0,0 +1,274 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.TimeoutHandler;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import pro.taskana.adapter.camunda.outbox.rest.model.CamundaTaskEvent;
+import pro.taskana.adapter.camunda.outbox.rest.resource.CamundaTaskEventListResource;
+import pro.taskana.adapter.camunda.outbox.rest.service.CamundaTaskEventsLongPollingService;
+import pro.taskana.adapter.camunda.tasklistener.OutboxEventSignal;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+
+/**
+ * Test class to test the requests waiting in the outbox for new events. The listener runs in the
+ * same JVM as the outbox REST service, so waiting requests are resumed by its signal.
+ */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestOutboxLongPolling extends AbsIntegrationTest {
+
+  private static final String ENGINE = "long-polling-test";
+  private static final String LEASE_OWNER = "long-polling-adapter";
+
+  private final CamundaTaskEventsLongPollingService longPollingService =
+      CamundaTaskEventsLongPollingService.getInstance();
+
+  private OutboxTestEvents outboxTestEvents;
+
+  @BeforeEach
+  void createOutboxTestEvents() throws Exception {
+    outboxTestEvents = new OutboxTestEvents(camundaBpmDataSource);
+    outboxTestEvents.deleteEvents(ENGINE);
+  }
+
+  @AfterEach
+  void deleteOutboxTestEvents() throws Exception {
+    outboxTestEvents.deleteEvents(ENGINE);
+  }
+
+  @Test
+  void should_ResumeWaitingRequest_When_NewEventsAreSignaled() throws Exception {
+
+    Instant start = Instant.now();
+    CompletableFuture<CamundaTaskEventListResource> waitingRequest =
+        CompletableFuture.supplyAsync(
+            () ->
+                taskanaOutboxRequester.waitForEvents(
+                    "?type=create&engine=" + ENGINE + "&timeout=30s"));
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, 5, 3);
+    OutboxEventSignal.signal("create");
+
+    CamundaTaskEventListResource events = waitingRequest.get(10, TimeUnit.SECONDS);
+
+    assertThat(events.getCamundaTaskEvents())
+        .extracting(CamundaTaskEvent::getId)
+        .containsExactlyElementsOf(eventIds);
+    assertThat(Duration.between(start, Instant.now())).isLessThan(Duration.ofSeconds(30));
+    // the signal is available, so the waiting requests are not re-checked periodically
+    assertThat(longPollingService.isPolling()).isFalse();
+  }
+
+  @Test
+  void should_ResumeWaitingRequest_When_EventsAreSignaledDuringInitialQuery() throws Exception {
+
+    // the events are inserted after the initial query found none, but before the request waits
+    CompletableFuture<List<Integer>> eventIds = new CompletableFuture<>();
+    StubAsyncResponse asyncResponse =
+        new StubAsyncResponse(
+            () -> {
+              try {
+                eventIds.complete(outboxTestEvents.insertEvents("create", ENGINE, 5, 3));
+              } catch (SQLException e) {
+                eventIds.completeExceptionally(e);
+              }
+              OutboxEventSignal.signal("create");
+            });
+
+    longPollingService.waitForEvents(
+        getLeaseFilterParams(), Duration.ofSeconds(30), asyncResponse, this::toResponse);
+
+    @SuppressWarnings("unchecked")
+    List<CamundaTaskEvent> events =
+        (List<CamundaTaskEvent>) asyncResponse.resumedWith.get(10, TimeUnit.SECONDS).getEntity();
+    assertThat(events)
+        .extracting(CamundaTaskEvent::getId)
+        .containsExactlyElementsOf(eventIds.get());
+  }
+
+  @Test
+  void should_ReturnNoEvents_When_TimeoutElapses() {
+
+    Instant start = Instant.now();
+
+    CamundaTaskEventListResource events =
+        taskanaOutboxRequester.waitForEvents("?type=create&engine=" + ENGINE + "&timeout=2s");
+
+    assertThat(events.getCamundaTaskEvents()).isEmpty();
+    assertThat(Duration.between(start, Instant.now()))
+        .isGreaterThanOrEqualTo(Duration.ofSeconds(2))
+        .isLessThan(Duration.ofSeconds(20));
+  }
+
+  @Test
+  void should_NotLeaseEvents_When_ClientDisconnectedBeforeEventsArrived() throws Exception {
+
+    StubAsyncResponse asyncResponse = new StubAsyncResponse(false);
+    longPollingService.waitForEvents(
+        getLeaseFilterParams(), Duration.ofSeconds(30), asyncResponse, this::toResponse);
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, 5, 3);
+    OutboxEventSignal.signal("create");
+    Thread.sleep(2000);
+
+    assertThat(asyncResponse.resumedWith).isNotDone();
+    for (Integer id : eventIds) {
+      assertThat(outboxTestEvents.getLeaseOwner(id)).isNull();
+    }
+  }
+
+  @Test
+  void should_ReleaseLeases_When_ResponseCanNotBeResumed() throws Exception {
+
+    StubAsyncResponse asyncResponse = new StubAsyncResponse(true);
+    longPollingService.waitForEvents(
+        getLeaseFilterParams(), Duration.ofSeconds(30), asyncResponse, this::toResponse);
+
+    List<Integer> eventIds = outboxTestEvents.insertEvents("create", ENGINE, 5, 3);
+    OutboxEventSignal.signal("create");
+
+    Response response = asyncResponse.resumedWith.get(10, TimeUnit.SECONDS);
+    assertThat(response.getStatus()).isEqualTo(200);
+    // the lease is released after the failed attempt to resume the response
+    Thread.sleep(500);
+
+    for (Integer id : eventIds) {
+      assertThat(outboxTestEvents.getLeaseOwner(id)).isNull();
+    }
+    assertThat(taskanaOutboxRequester.leaseCreateEvents(ENGINE, "other-adapter"))
+        .extracting(CamundaTaskEvent::getId)
+        .containsExactlyElementsOf(eventIds);
+  }
+
+  private MultivaluedMap<String, String> getLeaseFilterParams() {
+    MultivaluedMap<String, String> filterParams = new MultivaluedHashMap<>();
+    filterParams.add("type", "create");
+    filterParams.add("engine", ENGINE);
+    filterParams.add("lease-owner", LEASE_OWNER);
+    return filterParams;
+  }
+
+  private Response toResponse(List<CamundaTaskEvent> camundaTaskEvents) {
+    return Response.status(200).entity(camundaTaskEvents).build();
+  }
+
+  /**
+   * AsyncResponse that records the response it is resumed with. The AsyncResponse of a client that
+   * disconnected can't be resumed anymore, but may still claim to be suspended, as if the client
+   * disconnected between the check and the attempt to resume. The AsyncResponse of a connected
+   * client runs the given action when its timeout is set, i.e. right before the request waits.
+   */
+  private static class StubAsyncResponse implements AsyncResponse {
+
+    private final CompletableFuture<Response> resumedWith = new CompletableFuture<>();
+    private final boolean suspended;
+    private final boolean connected;
+    private final Runnable onSetTimeout;
+
+    private StubAsyncResponse(boolean suspended) {
+      this.suspended = suspended;
+      this.connected = false;
+      this.onSetTimeout = () -> {};
+    }
+
+    private StubAsyncResponse(Runnable onSetTimeout) {
+      this.suspended = true;
+      this.connected = true;
+      this.onSetTimeout = onSetTimeout;
+    }
+
+    @Override
+    public boolean resume(Object response) {
+      return resumedWith.complete((Response) response) && connected;
+    }
+
+    @Override
+    public boolean resume(Throwable response) {
+      return resumedWith.completeExceptionally(response) && connected;
+    }
+
+    @Override
+    public boolean cancel() {
+      return false;
+    }
+
+    @Override
+    public boolean cancel(int retryAfter) {
+      return false;
+    }
+
+    @Override
+    public boolean cancel(Date retryAfter) {
+      return false;
+    }
+
+    @Override
+    public boolean isSuspended() {
+      return suspended && !resumedWith.isDone();
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public boolean isDone() {
+      return !isSuspended();
+    }
+
+    @Override
+    public boolean setTimeout(long time, TimeUnit unit) {
+      onSetTimeout.run();
+      return true;
+    }
+
+    @Override
+    public void setTimeoutHandler(TimeoutHandler handler) {}
+
+    @Override
+    public Collection<Class<?>> register(Class<?> callback) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Map<Class<?>, Collection<Class<?>>> register(Class<?> callback, Class<?>... callbacks) {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public Collection<Class<?>> register(Object callback) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Map<Class<?>, Collection<Class<?>>> register(Object callback, Object... callbacks) {
+      return Collections.emptyMap();
+    }
+  }
+}
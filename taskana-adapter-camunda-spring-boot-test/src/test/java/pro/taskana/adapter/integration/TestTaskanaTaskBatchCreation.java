@@ -0,0 +1,208 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import pro.taskana.adapter.exceptions.TaskCreationFailedException;
+import pro.taskana.adapter.impl.TaskanaTaskStarter;
+import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemConnector;
+import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+import pro.taskana.common.test.security.WithAccessId;
+import pro.taskana.task.api.models.Task;
+import pro.taskana.task.api.models.TaskSummary;
+import pro.taskana.workbasket.api.exceptions.WorkbasketNotFoundException;
+
+/**
+ * Test class to test the creation of TASKANA tasks in one transaction per page and the skipping of
+ * redelivered tasks that already exist in TASKANA.
+ */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestTaskanaTaskBatchCreation extends AbsIntegrationTest {
+
+  private static final String INVALID_WORKBASKET_KEY = "invalidWorkbasketKey";
+  private static final String SYSTEM_URL = "http://batch-creation-system";
+
+  @Autowired private TaskanaConnector taskanaConnector;
+
+  @Autowired private TaskanaTaskStarter taskanaTaskStarter;
+
+  @Autowired private AdapterManager adapterManager;
+
+  @BeforeEach
+  void initAdapter() {
+    synchronized (AdapterManager.class) {
+      adapterManager.init();
+    }
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_CreateOtherTasksOfPage_When_CreationOfOneTaskFails() throws Exception {
+
+    ReferencedTask firstTask = newReferencedTask("GPK_KSC");
+    ReferencedTask invalidTask = newReferencedTask(INVALID_WORKBASKET_KEY);
+    ReferencedTask lastTask = newReferencedTask("GPK_KSC");
+
+    List<Task> taskanaTasks = new ArrayList<>();
+    for (ReferencedTask referencedTask : List.of(firstTask, invalidTask, lastTask)) {
+      referencedTask.setVariables("{}");
+      taskanaTasks.add(taskanaConnector.convertToTaskanaTask(referencedTask));
+    }
+
+    Map<String, TaskCreationFailedException> failedTasks =
+        taskanaConnector.createTaskanaTasks(taskanaTasks);
+
+    assertThat(failedTasks).containsOnlyKeys(invalidTask.getId());
+    assertThat(failedTasks.get(invalidTask.getId()))
+        .hasCauseInstanceOf(WorkbasketNotFoundException.class);
+    // the failed task is rolled back without the tasks created before and after it
+    assertThat(getTaskanaTaskExternalIds(firstTask, invalidTask, lastTask))
+        .containsExactlyInAnyOrder(firstTask.getId(), lastTask.getId());
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_CountTaskAsCreated_When_TaskAlreadyExistsInTaskana() throws Exception {
+
+    ReferencedTask referencedTask = newReferencedTask("GPK_KSC");
+    // the pre-check doesn't know the task yet, so its second event fails with TaskAlreadyExist
+    ReferencedTask redeliveredTask = redeliver(referencedTask);
+    ReferencedTask invalidTask = newReferencedTask(INVALID_WORKBASKET_KEY);
+
+    SystemConnector systemConnector =
+        newSystemConnector(List.of(referencedTask, redeliveredTask, invalidTask));
+    taskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(systemConnector);
+
+    assertThat(getCreatedTaskIds(systemConnector))
+        .containsExactly(referencedTask.getId(), referencedTask.getId());
+    assertThat(getFailedTaskIds(systemConnector)).containsExactly(invalidTask.getId());
+    assertThat(getTaskanaTaskExternalIds(referencedTask, invalidTask))
+        .containsExactly(referencedTask.getId());
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_SkipExistingTasksBeforeConversion_When_TasksAreRedelivered() throws Exception {
+
+    ReferencedTask firstTask = newReferencedTask("GPK_KSC");
+    ReferencedTask secondTask = newReferencedTask("GPK_KSC");
+
+    SystemConnector systemConnector = newSystemConnector(List.of(firstTask, secondTask));
+    taskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(systemConnector);
+
+    assertThat(getTaskIdsOfRequestedVariables(systemConnector))
+        .containsExactly(firstTask.getId(), secondTask.getId());
+
+    // the events of both tasks are delivered again together with the event of a new task
+    ReferencedTask newTask = newReferencedTask("GPK_KSC");
+    SystemConnector redeliveringSystemConnector =
+        newSystemConnector(List.of(redeliver(firstTask), newTask, redeliver(secondTask)));
+    taskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(
+        redeliveringSystemConnector);
+
+    assertThat(getCreatedTaskIds(redeliveringSystemConnector))
+        .containsExactlyInAnyOrder(firstTask.getId(), newTask.getId(), secondTask.getId());
+    verify(redeliveringSystemConnector, never())
+        .taskanaTaskFailedToBeCreatedForNewReferencedTask(any(), any());
+    // only the new task is converted, which requires its variables
+    assertThat(getTaskIdsOfRequestedVariables(redeliveringSystemConnector))
+        .containsExactly(newTask.getId());
+    assertThat(getTaskanaTaskExternalIds(firstTask, newTask, secondTask))
+        .containsExactlyInAnyOrder(firstTask.getId(), newTask.getId(), secondTask.getId());
+  }
+
+  private List<String> getTaskanaTaskExternalIds(ReferencedTask... referencedTasks) {
+    String[] externalIds = new String[referencedTasks.length];
+    for (int i = 0; i < referencedTasks.length; i++) {
+      externalIds[i] = referencedTasks[i].getId();
+    }
+    return taskService.createTaskQuery().externalIdIn(externalIds).list().stream()
+        .map(TaskSummary::getExternalId)
+        .toList();
+  }
+
+  private ReferencedTask newReferencedTask(String workbasketKey) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId("batch-creation-" + UUID.randomUUID());
+    referencedTask.setName("batch creation task");
+    referencedTask.setWorkbasketKey(workbasketKey);
+    referencedTask.setDomain("DOMAIN_A");
+    referencedTask.setClassificationKey("T6310");
+    referencedTask.setSystemUrl(SYSTEM_URL);
+    return referencedTask;
+  }
+
+  private ReferencedTask redeliver(ReferencedTask referencedTask) {
+    ReferencedTask redeliveredTask = newReferencedTask(referencedTask.getWorkbasketKey());
+    redeliveredTask.setId(referencedTask.getId());
+    return redeliveredTask;
+  }
+
+  /**
+   * Mocks a SystemConnector that delivers the given tasks as new started tasks. It doesn't deliver
+   * the variables together with the tasks, so they are requested for every converted task.
+   */
+  private SystemConnector newSystemConnector(List<ReferencedTask> newStartedReferencedTasks) {
+    SystemConnector systemConnector = mock(SystemConnector.class);
+    when(systemConnector.getSystemUrl()).thenReturn(SYSTEM_URL);
+    when(systemConnector.getSystemIdentifier()).thenReturn("batch-creation-engine");
+    when(systemConnector.retrieveNewStartedReferencedTasks()).thenReturn(newStartedReferencedTasks);
+    when(systemConnector.retrieveReferencedTaskVariables(any())).thenReturn("{}");
+    return systemConnector;
+  }
+
+  private List<String> getCreatedTaskIds(SystemConnector systemConnector) {
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ReferencedTask>> createdTasks = ArgumentCaptor.forClass(List.class);
+    verify(systemConnector, atLeastOnce())
+        .taskanaTasksHaveBeenCreatedForNewReferencedTasks(createdTasks.capture());
+    return createdTasks.getAllValues().stream()
+        .flatMap(List::stream)
+        .map(ReferencedTask::getId)
+        .toList();
+  }
+
+  private List<String> getFailedTaskIds(SystemConnector systemConnector) {
+    ArgumentCaptor<ReferencedTask> failedTasks = ArgumentCaptor.forClass(ReferencedTask.class);
+    verify(systemConnector, atLeastOnce())
+        .taskanaTaskFailedToBeCreatedForNewReferencedTask(failedTasks.capture(), any());
+    return failedTasks.getAllValues().stream().map(ReferencedTask::getId).toList();
+  }
+
+  private List<String> getTaskIdsOfRequestedVariables(SystemConnector systemConnector) {
+    ArgumentCaptor<String> taskIds = ArgumentCaptor.forClass(String.class);
+    verify(systemConnector, atLeastOnce()).retrieveReferencedTaskVariables(taskIds.capture());
+    return taskIds.getAllValues();
+  }
+}
@@ -0,0 +1,135 @@
+package pro.taskana.adapter.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import pro.taskana.adapter.exceptions.TaskTerminationFailedException;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
+import pro.taskana.adapter.test.TaskanaAdapterTestApplication;
+import pro.taskana.common.test.security.JaasExtension;
+import pro.taskana.common.test.security.WithAccessId;
+import pro.taskana.task.api.CallbackState;
+import pro.taskana.task.api.TaskState;
+import pro.taskana.task.api.exceptions.InvalidTaskStateException;
+import pro.taskana.task.api.models.Task;
+
+/**
+ * Test class to test the termination of the TASKANA tasks of finished referenced tasks in bulk,
+ * with referenced tasks that were completed, cancelled or terminated.
+ */
+@SpringBootTest(
+    classes = TaskanaAdapterTestApplication.class,
+    webEnvironment = WebEnvironment.DEFINED_PORT)
+@AutoConfigureWebTestClient
+@ExtendWith(JaasExtension.class)
+class TestTaskanaTaskBulkTermination extends AbsIntegrationTest {
+
+  private static final String SYSTEM_URL = "http://bulk-termination-system";
+
+  @Autowired private TaskanaConnector taskanaConnector;
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_TerminateTasksAccordingToTheirState_When_ReferencedTasksHaveMixedStates()
+      throws Exception {
+
+    ReferencedTask terminatedTask = createTaskanaTask("TERMINATED");
+    ReferencedTask cancelledTask = createTaskanaTask("CANCELLED");
+    ReferencedTask completedTask = createTaskanaTask("COMPLETED");
+    ReferencedTask secondCompletedTask = createTaskanaTask("COMPLETED");
+
+    Map<String, TaskTerminationFailedException> failedTasks =
+        taskanaConnector.terminateTaskanaTasks(
+            List.of(terminatedTask, cancelledTask, completedTask, secondCompletedTask));
+
+    assertThat(failedTasks).isEmpty();
+    assertThat(getTaskanaTask(terminatedTask).getState()).isEqualTo(TaskState.TERMINATED);
+    assertThat(getTaskanaTask(cancelledTask).getState()).isEqualTo(TaskState.CANCELLED);
+    assertThat(getTaskanaTask(completedTask).getState()).isEqualTo(TaskState.COMPLETED);
+    assertThat(getTaskanaTask(secondCompletedTask).getState()).isEqualTo(TaskState.COMPLETED);
+    // the adapter mustn't attempt to finish the referenced tasks again
+    for (ReferencedTask referencedTask :
+        List.of(terminatedTask, cancelledTask, completedTask, secondCompletedTask)) {
+      assertThat(getTaskanaTask(referencedTask).getCallbackState())
+          .isEqualTo(CallbackState.CALLBACK_PROCESSING_COMPLETED);
+    }
+  }
+
+  @WithAccessId(
+      user = "teamlead_1",
+      groups = {"taskadmin"})
+  @Test
+  void should_TerminateOtherTasks_When_TerminationOfOneTaskFails() throws Exception {
+
+    ReferencedTask terminatedTask = createTaskanaTask("TERMINATED");
+    ReferencedTask alreadyTerminatedTask = createTaskanaTask("TERMINATED");
+    ReferencedTask alreadyCompletedTask = createTaskanaTask("COMPLETED");
+    ReferencedTask completedTask = createTaskanaTask("COMPLETED");
+    ReferencedTask unknownTask = newReferencedTask("COMPLETED");
+
+    String alreadyTerminatedTaskId = getTaskanaTask(alreadyTerminatedTask).getId();
+    taskService.terminateTask(alreadyTerminatedTaskId);
+    taskService.forceCompleteTask(getTaskanaTask(alreadyCompletedTask).getId());
+
+    Map<String, TaskTerminationFailedException> failedTasks =
+        taskanaConnector.terminateTaskanaTasks(
+            List.of(
+                terminatedTask,
+                alreadyTerminatedTask,
+                alreadyCompletedTask,
+                unknownTask,
+                completedTask));
+
+    // tasks that are already completed or gone are no failure
+    assertThat(failedTasks).containsOnlyKeys(alreadyTerminatedTask.getId());
+    assertThat(failedTasks.get(alreadyTerminatedTask.getId()).getTaskId())
+        .isEqualTo(alreadyTerminatedTaskId);
+    assertThat(failedTasks.get(alreadyTerminatedTask.getId()))
+        .hasCauseInstanceOf(InvalidTaskStateException.class);
+
+    assertThat(getTaskanaTask(terminatedTask).getState()).isEqualTo(TaskState.TERMINATED);
+    assertThat(getTaskanaTask(completedTask).getState()).isEqualTo(TaskState.COMPLETED);
+    assertThat(getTaskanaTask(terminatedTask).getCallbackState())
+        .isEqualTo(CallbackState.CALLBACK_PROCESSING_COMPLETED);
+    assertThat(getTaskanaTask(completedTask).getCallbackState())
+        .isEqualTo(CallbackState.CALLBACK_PROCESSING_COMPLETED);
+    assertThat(getTaskanaTask(alreadyTerminatedTask).getCallbackState())
+        .isEqualTo(CallbackState.CALLBACK_PROCESSING_REQUIRED);
+  }
+
+  private ReferencedTask createTaskanaTask(String taskState) throws Exception {
+    ReferencedTask referencedTask = newReferencedTask(taskState);
+    taskService.createTask(taskanaConnector.convertToTaskanaTask(referencedTask));
+    return referencedTask;
+  }
+
+  private Task getTaskanaTask(ReferencedTask referencedTask) throws Exception {
+    String taskId =
+        taskService.createTaskQuery().externalIdIn(referencedTask.getId()).single().getId();
+    return taskService.getTask(taskId);
+  }
+
+  private ReferencedTask newReferencedTask(String taskState) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId("bulk-termination-" + UUID.randomUUID());
+    referencedTask.setName("bulk termination task");
+    referencedTask.setWorkbasketKey("GPK_KSC");
+    referencedTask.setDomain("DOMAIN_A");
+    referencedTask.setClassificationKey("T6310");
+    referencedTask.setSystemUrl(SYSTEM_URL);
+    referencedTask.setVariables("{}");
+    referencedTask.setTaskState(taskState);
+    return referencedTask;
+  }
+}
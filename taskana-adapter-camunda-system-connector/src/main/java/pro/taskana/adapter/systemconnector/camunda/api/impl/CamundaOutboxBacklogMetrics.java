@@ -0,0 +1,152 @@
+package pro.taskana.adapter.systemconnector.camunda.api.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.MultiGauge.Row;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.camunda.outbox.rest.CamundaTaskEventStatistics;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls.SystemUrlInfo;
+
+/**
+ * Polls the statistics of the outboxes of the Camunda systems and provides them as gauges, tagged
+ * by the url of the outbox, the event type, the engine and the retry bucket. The number of events
+ * is the backlog of the adapter, the age of the oldest event shows how far it lags behind.
+ */
+@Component
+public class CamundaOutboxBacklogMetrics {
+
+  public static final String OUTBOX_EVENTS = "taskana.adapter.camunda.outbox.events";
+  public static final String OUTBOX_OLDEST_EVENT_AGE =
+      "taskana.adapter.camunda.outbox.oldest.event.age";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CamundaOutboxBacklogMetrics.class);
+  private static final String NONE = "none";
+
+  @Autowired private CamundaSystemUrls camundaSystemUrls;
+  @Autowired private HttpHeaderProvider httpHeaderProvider;
+  @Autowired private RestTemplate restTemplate;
+  @Autowired private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+  @Value("${taskana.adapter.camunda.outbox.backlog-metrics.enabled:false}")
+  private boolean backlogMetricsEnabled;
+
+  private MultiGauge outboxEvents;
+  private MultiGauge oldestEventAge;
+
+  @Scheduled(
+      fixedRateString =
+          "${taskana.adapter.camunda.outbox.backlog-metrics.interval.in.milliseconds:60000}")
+  public void updateBacklogMetrics() {
+    if (!backlogMetricsEnabled) {
+      return;
+    }
+
+    // several systems can share an outbox, each outbox is polled once
+    Set<String> outboxUrls = new LinkedHashSet<>();
+    for (SystemUrlInfo systemUrlInfo : camundaSystemUrls.getUrls()) {
+      outboxUrls.add(systemUrlInfo.getSystemTaskEventUrl());
+    }
+
+    List<Row<?>> outboxEventsRows = new ArrayList<>();
+    List<Row<?>> oldestEventAgeRows = new ArrayList<>();
+    Instant now = Instant.now();
+    for (String outboxUrl : outboxUrls) {
+      for (CamundaTaskEventStatistics statistics : retrieveEventStatistics(outboxUrl)) {
+        Tags tags =
+            Tags.of(
+                "outbox.url",
+                outboxUrl,
+                "type",
+                valueOrNone(statistics.getType()),
+                "engine",
+                valueOrNone(statistics.getSystemEngineIdentifier()),
+                "retry.bucket",
+                valueOrNone(statistics.getRetryBucket()));
+        outboxEventsRows.add(Row.of(tags, statistics.getEventsCount()));
+        Instant oldestCreated = parseOutboxDate(statistics.getOldestCreated());
+        if (oldestCreated != null) {
+          oldestEventAgeRows.add(
+              Row.of(tags, Duration.between(oldestCreated, now).toMillis() / 1000.0));
+        }
+      }
+    }
+
+    initializeGauges();
+    outboxEvents.register(outboxEventsRows, true);
+    oldestEventAge.register(oldestEventAgeRows, true);
+  }
+
+  private List<CamundaTaskEventStatistics> retrieveEventStatistics(String outboxUrl) {
+    String requestUrl = outboxUrl + CamundaSystemConnectorImpl.URL_GET_CAMUNDA_EVENT_STATISTICS;
+    try {
+      ResponseEntity<CamundaTaskEventStatistics[]> responseEntity =
+          restTemplate.exchange(
+              requestUrl,
+              HttpMethod.GET,
+              new HttpEntity<Object>(httpHeaderProvider.getHttpHeadersForOutboxRestApi()),
+              CamundaTaskEventStatistics[].class);
+      CamundaTaskEventStatistics[] eventStatistics = responseEntity.getBody();
+      return eventStatistics == null ? Collections.emptyList() : Arrays.asList(eventStatistics);
+    } catch (Exception e) {
+      LOGGER.warn(
+          "Caught exception while trying to retrieve the event statistics from outbox {}",
+          outboxUrl,
+          e);
+      return Collections.emptyList();
+    }
+  }
+
+  private synchronized void initializeGauges() {
+    if (outboxEvents == null) {
+      MeterRegistry meterRegistry =
+          meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+      outboxEvents =
+          MultiGauge.builder(OUTBOX_EVENTS)
+              .description("Number of events in the outbox")
+              .register(meterRegistry);
+      oldestEventAge =
+          MultiGauge.builder(OUTBOX_OLDEST_EVENT_AGE)
+              .description("Age of the oldest event in the outbox")
+              .baseUnit("seconds")
+              .register(meterRegistry);
+    }
+  }
+
+  private static Instant parseOutboxDate(String date) {
+    if (date == null) {
+      return null;
+    }
+    try {
+      return OffsetDateTime.parse(date, CamundaTaskRetriever.OUTBOX_DATE_FORMATTER).toInstant();
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private static String valueOrNone(String value) {
+    return value == null ? NONE : value;
+  }
+}
@@ -1,6 +1,11 @@
 package pro.taskana.adapter.systemconnector.camunda.api.impl;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 import pro.taskana.adapter.configuration.AdapterSpringContextProvider;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
 import pro.taskana.adapter.systemconnector.api.SystemConnector;
@@ -13,10 +18,20 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
   static final String URL_GET_CAMUNDA_TASKS = "/task/";
 
   static final String URL_GET_CAMUNDA_CREATE_EVENTS = "/events?type=create";
+  static final String LEASE_OWNER_PARAM = "&lease-owner=";
+  static final String ENGINE_PARAM = "&engine=";
+  static final String SHARD_PARAM = "&shard=";
+  static final String SHARDS_PARAM = "&shards=";
   static final String URL_GET_CAMUNDA_FINISHED_EVENTS = "/events?type=complete&type=delete";
+  static final String URL_WAIT_FOR_CAMUNDA_CREATE_EVENTS = "/events/wait?type=create";
+  static final String URL_WAIT_FOR_CAMUNDA_FINISHED_EVENTS =
+      "/events/wait?type=complete&type=delete";
+  static final String TIMEOUT_PARAM = "&timeout=";
   static final String URL_DELETE_CAMUNDA_EVENTS = "/events/delete-successful-events";
+  static final String URL_GET_CAMUNDA_EVENT_STATISTICS = "/events/stats";
   static final String URL_CAMUNDA_EVENT_DECREASE_REMAINING_RETRIES =
       "/events/%d/decrease-remaining-retries";
+  static final String URL_COMPLETE_CAMUNDA_TASKS = "/tasks/complete";
 
   static final String BODY_SET_CAMUNDA_VARIABLES = "{\"variables\":{";
   static final String LOCAL_VARIABLE_PATH = "/localVariables";
@@ -52,12 +67,44 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
         AdapterSpringContextProvider.getBean(CamundaTaskEventErrorHandler.class);
   }
 
+  /**
+   * Encodes the value of a query parameter of the outbox urls. All characters except the unreserved
+   * ones are encoded, so that e.g. an engine identifier containing {@code &} or {@code +} reaches
+   * the outbox unchanged.
+   *
+   * @param value the value of the query parameter
+   * @return the encoded value
+   */
+  static String encodeQueryParam(String value) {
+    return UriUtils.encode(value, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Creates the URI of an outbox request from a url whose query parameters are already encoded.
+   * Passing the URI to the RestTemplate prevents it from encoding the parameters a second time.
+   *
+   * @param encodedUrl the url with encoded query parameters
+   * @return the URI of the request
+   */
+  static URI toUri(String encodedUrl) {
+    return UriComponentsBuilder.fromHttpUrl(encodedUrl).build(true).toUri();
+  }
+
   @Override
   public List<ReferencedTask> retrieveNewStartedReferencedTasks() {
     return taskRetriever.retrieveNewStartedCamundaTasks(
         camundaSystemUrl.getSystemTaskEventUrl(), camundaSystemUrl.getCamundaEngineIdentifier());
   }
 
+  @Override
+  public List<ReferencedTask> retrieveNewStartedReferencedTasks(int shard, int shards) {
+    return taskRetriever.retrieveNewStartedCamundaTasks(
+        camundaSystemUrl.getSystemTaskEventUrl(),
+        camundaSystemUrl.getCamundaEngineIdentifier(),
+        shard,
+        shards);
+  }
+
   @Override
   public void taskanaTasksHaveBeenCreatedForNewReferencedTasks(
       List<ReferencedTask> referencedTasks) {
@@ -71,6 +118,15 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
         camundaSystemUrl.getSystemTaskEventUrl(), camundaSystemUrl.getCamundaEngineIdentifier());
   }
 
+  @Override
+  public List<ReferencedTask> retrieveFinishedReferencedTasks(int shard, int shards) {
+    return taskRetriever.retrieveFinishedCamundaTasks(
+        camundaSystemUrl.getSystemTaskEventUrl(),
+        camundaSystemUrl.getCamundaEngineIdentifier(),
+        shard,
+        shards);
+  }
+
   @Override
   public void taskanaTasksHaveBeenTerminatedForFinishedReferencedTasks(
       List<ReferencedTask> referencedTasks) {
@@ -88,6 +144,11 @@ public class CamundaSystemConnectorImpl implements SystemConnector {
     return taskCompleter.completeCamundaTask(camundaSystemUrl, camundaTask);
   }
 
+  @Override
+  public Map<String, SystemResponse> completeReferencedTasks(List<ReferencedTask> camundaTasks) {
+    return taskCompleter.completeCamundaTasks(camundaSystemUrl, camundaTasks);
+  }
+
   @Override
   public SystemResponse claimReferencedTask(ReferencedTask camundaTask) {
     return taskClaimer.claimCamundaTask(camundaSystemUrl, camundaTask);
@@ -1,17 +1,36 @@
 package pro.taskana.adapter.systemconnector.camunda.api.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.camunda.outbox.rest.CamundaTaskCompletionResult;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
 import pro.taskana.adapter.systemconnector.api.SystemResponse;
 import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import pro.taskana.adapter.util.ThreadFactories;
 import pro.taskana.common.api.exceptions.SystemException;
 
 /** Completes Camunda Tasks via the Camunda REST Api. */
@@ -23,6 +42,108 @@ public class CamundaTaskCompleter {
       "completedByTaskanaAdapter";
   @Autowired HttpHeaderProvider httpHeaderProvider;
   @Autowired private RestTemplate restTemplate;
+  @Autowired private CamundaTaskNonBlockingCompleter nonBlockingCompleter;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Value("${taskana.adapter.camunda.completion.parallelism:4}")
+  private int parallelism;
+
+  @Value("${taskana.adapter.camunda.completion.via-outbox.enabled:false}")
+  private boolean completionViaOutboxEnabled;
+
+  @Value("${taskana.adapter.virtual-threads.enabled:false}")
+  private boolean virtualThreadsEnabled;
+
+  @Value("${taskana.adapter.camunda.completion.non-blocking.enabled:false}")
+  private boolean nonBlockingCompletionEnabled;
+
+  private Executor executor;
+
+  /**
+   * Creates the executor that completes the tasks in parallel. It is shared by all calls, so that
+   * the number of parallel completions stays bounded by the configured parallelism. Platform
+   * threads are pooled, while with virtual threads each task is completed by a thread of its own
+   * that waits for a permit of the semaphore.
+   */
+  @PostConstruct
+  public void createExecutor() {
+    if (parallelism <= 1) {
+      return;
+    }
+    ThreadFactory threadFactory =
+        ThreadFactories.newThreadFactory("camunda-task-completer-", virtualThreadsEnabled);
+    if (virtualThreadsEnabled && ThreadFactories.isVirtualThreadSupported()) {
+      Semaphore permits = new Semaphore(parallelism);
+      executor =
+          task ->
+              threadFactory
+                  .newThread(
+                      () -> {
+                        permits.acquireUninterruptibly();
+                        try {
+                          task.run();
+                        } finally {
+                          permits.release();
+                        }
+                      })
+                  .start();
+    } else {
+      executor = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+  }
+
+  @PreDestroy
+  public void shutdownExecutor() {
+    // the virtual threads of the running completions end on their own
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  /**
+   * Completes the given Camunda tasks of one engine. Up to the configured number of tasks are
+   * completed in parallel, so that the throughput depends on the connection pool rather than on
+   * the latency of the Camunda REST Api.
+   *
+   * @param camundaSystemUrlInfo the urls of the Camunda engine
+   * @param referencedTasks the tasks to complete
+   * @return the response for each task, mapped by the task id
+   */
+  public Map<String, SystemResponse> completeCamundaTasks(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, List<ReferencedTask> referencedTasks) {
+
+    if (completionViaOutboxEnabled) {
+      return completeCamundaTasksViaOutbox(camundaSystemUrlInfo, referencedTasks);
+    }
+
+    if (nonBlockingCompletionEnabled) {
+      return nonBlockingCompleter.completeCamundaTasks(camundaSystemUrlInfo, referencedTasks);
+    }
+
+    Map<String, SystemResponse> responses = new LinkedHashMap<>();
+
+    if (executor == null || referencedTasks.size() <= 1) {
+      referencedTasks.forEach(
+          referencedTask ->
+              responses.put(
+                  referencedTask.getId(),
+                  completeCamundaTaskAndCatchException(camundaSystemUrlInfo, referencedTask)));
+      return responses;
+    }
+
+    Map<String, CompletableFuture<SystemResponse>> pendingResponses = new LinkedHashMap<>();
+    referencedTasks.forEach(
+        referencedTask ->
+            pendingResponses.put(
+                referencedTask.getId(),
+                CompletableFuture.supplyAsync(
+                    () ->
+                        completeCamundaTaskAndCatchException(camundaSystemUrlInfo, referencedTask),
+                    executor)));
+    pendingResponses.forEach((taskId, response) -> responses.put(taskId, response.join()));
+
+    return responses;
+  }
 
   public SystemResponse completeCamundaTask(
       CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, ReferencedTask referencedTask) {
@@ -46,6 +167,129 @@ public class CamundaTaskCompleter {
     }
   }
 
+  /**
+   * Completes the given Camunda tasks with a single request to the outbox REST service, which
+   * completes them through the Java Api of the process engine.
+   */
+  private Map<String, SystemResponse> completeCamundaTasksViaOutbox(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, List<ReferencedTask> referencedTasks) {
+
+    Map<String, SystemResponse> responses = new LinkedHashMap<>();
+
+    if (referencedTasks.isEmpty()) {
+      return responses;
+    }
+
+    StringBuilder requestUrlBuilder =
+        new StringBuilder()
+            .append(camundaSystemUrlInfo.getSystemTaskEventUrl())
+            .append(CamundaSystemConnectorImpl.URL_COMPLETE_CAMUNDA_TASKS);
+    if (camundaSystemUrlInfo.getCamundaEngineIdentifier() != null) {
+      requestUrlBuilder
+          .append("?engine=")
+          .append(
+              CamundaSystemConnectorImpl.encodeQueryParam(
+                  camundaSystemUrlInfo.getCamundaEngineIdentifier()));
+    }
+
+    try {
+      String requestBody = prepareCompletionRequestBody(referencedTasks);
+
+      LOGGER.debug("completing camunda tasks with request body {}", requestBody);
+
+      HttpEntity<String> entity = httpHeaderProvider.prepareNewEntityForOutboxRestApi(requestBody);
+
+      ResponseEntity<CamundaTaskCompletionResult[]> responseEntity =
+          restTemplate.postForEntity(
+              CamundaSystemConnectorImpl.toUri(requestUrlBuilder.toString()),
+              entity,
+              CamundaTaskCompletionResult[].class);
+
+      CamundaTaskCompletionResult[] completionResults = responseEntity.getBody();
+      if (completionResults != null) {
+        Arrays.stream(completionResults)
+            .forEach(
+                completionResult ->
+                    responses.put(
+                        completionResult.getTaskId(), toSystemResponse(completionResult)));
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Caught Exception when trying to complete camunda tasks via the outbox", e);
+      referencedTasks.forEach(
+          referencedTask ->
+              responses.put(
+                  referencedTask.getId(),
+                  new SystemResponse(HttpStatus.INTERNAL_SERVER_ERROR, e)));
+      return responses;
+    }
+
+    // a task without a result wasn't completed, so that its completion is retried
+    referencedTasks.stream()
+        .filter(referencedTask -> !responses.containsKey(referencedTask.getId()))
+        .forEach(
+            referencedTask ->
+                responses.put(
+                    referencedTask.getId(),
+                    new SystemResponse(
+                        HttpStatus.INTERNAL_SERVER_ERROR,
+                        new SystemException(
+                            "no result returned by the outbox REST service "
+                                + "on the attempt to complete Camunda Task "
+                                + referencedTask.getId()))));
+
+    return responses;
+  }
+
+  private SystemResponse toSystemResponse(CamundaTaskCompletionResult completionResult) {
+
+    // like with the Camunda REST Api, a task that doesn't exist anymore counts as completed
+    if (completionResult.getStatus() == HttpStatus.NO_CONTENT.value()
+        || completionResult.getStatus() == HttpStatus.NOT_FOUND.value()) {
+      return new SystemResponse(HttpStatus.OK, null);
+    }
+
+    return new SystemResponse(
+        completionResult.getStatus(),
+        new SystemException(
+            "caught status "
+                + completionResult.getStatus()
+                + " on the attempt to complete Camunda Task "
+                + completionResult.getTaskId()
+                + ": "
+                + completionResult.getError()));
+  }
+
+  private String prepareCompletionRequestBody(List<ReferencedTask> referencedTasks)
+      throws JsonProcessingException {
+
+    ArrayNode requestBody = objectMapper.createArrayNode();
+
+    for (ReferencedTask referencedTask : referencedTasks) {
+      ObjectNode completion = requestBody.addObject();
+      completion.put("taskId", referencedTask.getId());
+      completion.put("assignee", referencedTask.getAssignee());
+      // the variables of a ReferencedTask are the members of a json object in the Camunda format
+      completion.set(
+          "variables",
+          referencedTask.getVariables() == null
+              ? objectMapper.createObjectNode()
+              : objectMapper.readTree("{" + referencedTask.getVariables() + "}"));
+    }
+
+    return objectMapper.writeValueAsString(requestBody);
+  }
+
+  private SystemResponse completeCamundaTaskAndCatchException(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, ReferencedTask referencedTask) {
+    try {
+      return completeCamundaTask(camundaSystemUrlInfo, referencedTask);
+    } catch (HttpStatusCodeException e) {
+      return new SystemResponse(e.getStatusCode(), e);
+    } catch (Exception e) {
+      return new SystemResponse(HttpStatus.INTERNAL_SERVER_ERROR, e);
+    }
+  }
+
   private void setAssigneeToOwnerOfReferencedTask(
       CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo,
       ReferencedTask referencedTask,
@@ -0,0 +1,201 @@
+package pro.taskana.adapter.systemconnector.camunda.api.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+
+/**
+ * Completes Camunda Tasks via the Camunda REST Api without blocking the calling thread per request.
+ * The requests are sent asynchronously through the OkHttp dispatcher, which limits the number of
+ * requests in flight. The requests of one task are chained, while the tasks are processed
+ * concurrently, so the calling thread only waits for the last of them to finish.
+ *
+ * <p>This is a partial implementation of a non-blocking Camunda connector. Only the completion,
+ * which sends three requests per task, is non-blocking. The retrieval of events, the claiming and
+ * the cancelling of claims still use the blocking RestTemplate, and the SystemConnector SPI still
+ * returns its results synchronously.
+ */
+public class CamundaTaskNonBlockingCompleter {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(CamundaTaskNonBlockingCompleter.class);
+
+  private static final MediaType APPLICATION_JSON = MediaType.get("application/json");
+  private static final String BODY_SET_COMPLETED_BY_TASKANA_ADAPTER =
+      "{\"value\" : true, \"type\": \"Boolean\"}";
+  private static final String COMPLETED_BY_TASKANA_ADAPTER_LOCAL_VARIABLE =
+      "/completedByTaskanaAdapter";
+
+  @Autowired HttpHeaderProvider httpHeaderProvider;
+  @Autowired private OkHttpClient camundaOkHttpClient;
+
+  /**
+   * Completes the given Camunda tasks of one engine.
+   *
+   * @param camundaSystemUrlInfo the urls of the Camunda engine
+   * @param referencedTasks the tasks to complete
+   * @return the response for each task, mapped by the task id
+   */
+  public Map<String, SystemResponse> completeCamundaTasks(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, List<ReferencedTask> referencedTasks) {
+
+    Map<String, CompletableFuture<SystemResponse>> pendingResponses = new LinkedHashMap<>();
+    referencedTasks.forEach(
+        referencedTask ->
+            pendingResponses.put(
+                referencedTask.getId(), completeCamundaTask(camundaSystemUrlInfo, referencedTask)));
+
+    Map<String, SystemResponse> responses = new LinkedHashMap<>();
+    pendingResponses.forEach((taskId, response) -> responses.put(taskId, response.join()));
+    return responses;
+  }
+
+  private CompletableFuture<SystemResponse> completeCamundaTask(
+      CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo, ReferencedTask referencedTask) {
+
+    String taskUrl =
+        camundaSystemUrlInfo.getSystemRestUrl()
+            + CamundaSystemConnectorImpl.URL_GET_CAMUNDA_TASKS
+            + referencedTask.getId();
+
+    String assigneeRequestBody =
+        CamundaSystemConnectorImpl.BODY_SET_ASSIGNEE + "\"" + referencedTask.getAssignee() + "\"}";
+
+    String completionRequestBody =
+        referencedTask.getVariables() == null
+            ? CamundaSystemConnectorImpl.EMPTY_REQUEST_BODY
+            : CamundaSystemConnectorImpl.BODY_SET_CAMUNDA_VARIABLES
+                + referencedTask.getVariables()
+                + "}}";
+
+    return send(taskUrl + CamundaSystemConnectorImpl.SET_ASSIGNEE, "POST", assigneeRequestBody)
+        .thenCompose(
+            statusCode ->
+                send(
+                    taskUrl
+                        + CamundaSystemConnectorImpl.LOCAL_VARIABLE_PATH
+                        + COMPLETED_BY_TASKANA_ADAPTER_LOCAL_VARIABLE,
+                    "PUT",
+                    BODY_SET_COMPLETED_BY_TASKANA_ADAPTER))
+        .thenCompose(
+            statusCode ->
+                send(
+                    taskUrl + CamundaSystemConnectorImpl.COMPLETE_TASK,
+                    "POST",
+                    completionRequestBody))
+        .thenApply(
+            statusCode -> {
+              LOGGER.debug(
+                  "completed camunda task {}. Status code = {}",
+                  referencedTask.getId(),
+                  statusCode);
+              return new SystemResponse(statusCode, null);
+            })
+        .exceptionallyCompose(e -> handleFailedCompletion(taskUrl, referencedTask, unwrap(e)));
+  }
+
+  private CompletableFuture<SystemResponse> handleFailedCompletion(
+      String taskUrl, ReferencedTask referencedTask, Throwable e) {
+
+    if (!(e instanceof HttpStatusCodeException)) {
+      LOGGER.warn("Caught Exception when trying to complete camunda task", e);
+      return CompletableFuture.completedFuture(
+          new SystemResponse(HttpStatus.INTERNAL_SERVER_ERROR, e));
+    }
+
+    // like the blocking completion, a task that doesn't exist anymore counts as completed
+    return send(taskUrl, "GET", null)
+        .handle(
+            (statusCode, existenceCheckException) -> {
+              Throwable cause = unwrap(existenceCheckException);
+              if (cause instanceof HttpStatusCodeException
+                  && HttpStatus.NOT_FOUND.equals(
+                      ((HttpStatusCodeException) cause).getStatusCode())) {
+                LOGGER.debug(
+                    "Camunda Task {} is not existing. Returning silently", referencedTask.getId());
+                return new SystemResponse(HttpStatus.OK, null);
+              }
+              LOGGER.warn("Caught Exception when trying to complete camunda task", e);
+              return new SystemResponse(((HttpStatusCodeException) e).getStatusCode(), e);
+            });
+  }
+
+  private CompletableFuture<Integer> send(String url, String method, String requestBody) {
+
+    Request.Builder requestBuilder = new Request.Builder().url(url);
+    HttpHeaders headers = httpHeaderProvider.getHttpHeadersForCamundaRestApi();
+    headers.forEach(
+        (name, values) -> values.forEach(value -> requestBuilder.addHeader(name, value)));
+    requestBuilder.method(
+        method, requestBody == null ? null : RequestBody.create(requestBody, APPLICATION_JSON));
+
+    CompletableFuture<Integer> statusCode = new CompletableFuture<>();
+
+    camundaOkHttpClient
+        .newCall(requestBuilder.build())
+        .enqueue(
+            new Callback() {
+              @Override
+              public void onFailure(Call call, IOException e) {
+                statusCode.completeExceptionally(e);
+              }
+
+              @Override
+              public void onResponse(Call call, Response response) {
+                try (ResponseBody responseBody = response.body()) {
+                  if (response.isSuccessful()) {
+                    statusCode.complete(response.code());
+                  } else {
+                    statusCode.completeExceptionally(
+                        createHttpStatusCodeException(
+                            response, responseBody == null ? new byte[0] : responseBody.bytes()));
+                  }
+                } catch (IOException | RuntimeException e) {
+                  // OkHttp doesn't report a failing callback, which would leave the task pending
+                  statusCode.completeExceptionally(e);
+                }
+              }
+            });
+
+    return statusCode;
+  }
+
+  private static HttpStatusCodeException createHttpStatusCodeException(
+      Response response, byte[] responseBody) {
+    HttpStatusCode statusCode = HttpStatusCode.valueOf(response.code());
+    if (statusCode.is4xxClientError()) {
+      return HttpClientErrorException.create(
+          statusCode, response.message(), null, responseBody, StandardCharsets.UTF_8);
+    }
+    return HttpServerErrorException.create(
+        statusCode, response.message(), null, responseBody, StandardCharsets.UTF_8);
+  }
+
+  private static Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+}
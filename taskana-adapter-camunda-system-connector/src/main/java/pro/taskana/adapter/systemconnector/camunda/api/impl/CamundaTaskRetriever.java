@@ -2,13 +2,19 @@ package pro.taskana.adapter.systemconnector.camunda.api.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -18,25 +24,99 @@ import org.springframework.web.client.RestTemplate;
 import pro.taskana.adapter.camunda.outbox.rest.CamundaTaskEvent;
 import pro.taskana.adapter.camunda.outbox.rest.CamundaTaskEventListResource;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.camunda.config.OkHttpProperties;
 
 /** Retrieves new tasks from camunda that have been started or finished by camunda. */
 @Component
 public class CamundaTaskRetriever {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CamundaTaskRetriever.class);
+  private static final long LONG_POLLING_READ_TIMEOUT_MARGIN = 1_000;
+  static final DateTimeFormatter OUTBOX_DATE_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
 
   @Autowired private HttpHeaderProvider httpHeaderProvider;
   @Autowired private ObjectMapper objectMapper;
   @Autowired private RestTemplate restTemplate;
+  @Autowired private OkHttpProperties okHttpProperties;
+
+  @Value("${taskana.adapter.camunda.outbox.leasing.enabled:false}")
+  private boolean leasingEnabled;
+
+  @Value("${taskana.adapter.camunda.outbox.engine-filter.enabled:false}")
+  private boolean engineFilterEnabled;
+
+  @Value("${taskana.adapter.camunda.outbox.long-polling.enabled:false}")
+  private boolean longPollingEnabled;
+
+  @Value("${taskana.adapter.camunda.outbox.long-polling.timeout.in.milliseconds:30000}")
+  private long longPollingTimeout;
+
+  private final String leaseOwner = UUID.randomUUID().toString();
 
   public List<ReferencedTask> retrieveNewStartedCamundaTasks(
       String camundaSystemTaskEventUrl, String camundaSystemEngineIdentifier) {
+    return retrieveNewStartedCamundaTasks(
+        camundaSystemTaskEventUrl, camundaSystemEngineIdentifier, "");
+  }
+
+  /**
+   * Retrieves the new started tasks of one shard. The outbox assigns the events to the shards by
+   * the hash of the Camunda task id, so all events of a task are retrieved by the same adapter.
+   *
+   * @param camundaSystemTaskEventUrl the url of the outbox
+   * @param camundaSystemEngineIdentifier the engine identifier, or null for all engines
+   * @param shard the index of the shard, starting with 0
+   * @param shards the number of shards
+   * @return the new started tasks of the shard
+   */
+  public List<ReferencedTask> retrieveNewStartedCamundaTasks(
+      String camundaSystemTaskEventUrl,
+      String camundaSystemEngineIdentifier,
+      int shard,
+      int shards) {
+    return retrieveNewStartedCamundaTasks(
+        camundaSystemTaskEventUrl, camundaSystemEngineIdentifier, getShardSelector(shard, shards));
+  }
+
+  public List<ReferencedTask> retrieveFinishedCamundaTasks(
+      String camundaSystemUrl, String camundaSystemEngineIdentifier) {
+    return retrieveFinishedCamundaTasks(camundaSystemUrl, camundaSystemEngineIdentifier, "");
+  }
+
+  /**
+   * Retrieves the finished tasks of one shard.
+   *
+   * @param camundaSystemUrl the url of the outbox
+   * @param camundaSystemEngineIdentifier the engine identifier, or null for all engines
+   * @param shard the index of the shard, starting with 0
+   * @param shards the number of shards
+   * @return the finished tasks of the shard
+   */
+  public List<ReferencedTask> retrieveFinishedCamundaTasks(
+      String camundaSystemUrl, String camundaSystemEngineIdentifier, int shard, int shards) {
+    return retrieveFinishedCamundaTasks(
+        camundaSystemUrl, camundaSystemEngineIdentifier, getShardSelector(shard, shards));
+  }
+
+  private List<ReferencedTask> retrieveNewStartedCamundaTasks(
+      String camundaSystemTaskEventUrl,
+      String camundaSystemEngineIdentifier,
+      String shardSelector) {
 
     LOGGER.debug("entry to retrieveNewStartedCamundaTasks.");
 
+    String eventSelector =
+        longPollingEnabled
+            ? CamundaSystemConnectorImpl.URL_WAIT_FOR_CAMUNDA_CREATE_EVENTS + getTimeoutSelector()
+            : CamundaSystemConnectorImpl.URL_GET_CAMUNDA_CREATE_EVENTS;
+    eventSelector += getEngineSelector(camundaSystemEngineIdentifier) + shardSelector;
+    if (leasingEnabled) {
+      eventSelector += CamundaSystemConnectorImpl.LEASE_OWNER_PARAM + leaseOwner;
+    }
+
     List<CamundaTaskEvent> camundaTaskEvents =
-        getCamundaTaskEvents(
-            camundaSystemTaskEventUrl, CamundaSystemConnectorImpl.URL_GET_CAMUNDA_CREATE_EVENTS);
+        getCamundaTaskEvents(camundaSystemTaskEventUrl, eventSelector);
 
     List<ReferencedTask> referencedTasks =
         getReferencedTasksFromCamundaTaskEvents(camundaTaskEvents, camundaSystemEngineIdentifier);
@@ -47,13 +127,19 @@ public class CamundaTaskRetriever {
     return referencedTasks;
   }
 
-  public List<ReferencedTask> retrieveFinishedCamundaTasks(
-      String camundaSystemUrl, String camundaSystemEngineIdentifier) {
+  private List<ReferencedTask> retrieveFinishedCamundaTasks(
+      String camundaSystemUrl, String camundaSystemEngineIdentifier, String shardSelector) {
     LOGGER.debug("entry to retrieveFinishedCamundaTasks. CamundSystemURL = {} ", camundaSystemUrl);
 
+    String eventSelector =
+        longPollingEnabled
+            ? CamundaSystemConnectorImpl.URL_WAIT_FOR_CAMUNDA_FINISHED_EVENTS
+                + getTimeoutSelector()
+            : CamundaSystemConnectorImpl.URL_GET_CAMUNDA_FINISHED_EVENTS;
+    eventSelector += getEngineSelector(camundaSystemEngineIdentifier) + shardSelector;
+
     List<CamundaTaskEvent> camundaTaskEvents =
-        getCamundaTaskEvents(
-            camundaSystemUrl, CamundaSystemConnectorImpl.URL_GET_CAMUNDA_FINISHED_EVENTS);
+        getCamundaTaskEvents(camundaSystemUrl, eventSelector);
 
     List<ReferencedTask> referencedTasks =
         getReferencedTasksFromCamundaTaskEvents(camundaTaskEvents, camundaSystemEngineIdentifier);
@@ -64,6 +150,39 @@ public class CamundaTaskRetriever {
     return referencedTasks;
   }
 
+  /**
+   * The outbox keeps a waiting request open for the given timeout at most. The timeout is kept
+   * below the read timeout of the http client, so that an idle outbox doesn't cause read timeouts.
+   */
+  private String getTimeoutSelector() {
+    long timeout =
+        Math.max(
+            0,
+            Math.min(
+                longPollingTimeout,
+                okHttpProperties.getReadTimeout() - LONG_POLLING_READ_TIMEOUT_MARGIN));
+    return CamundaSystemConnectorImpl.TIMEOUT_PARAM + timeout + "ms";
+  }
+
+  /**
+   * The engine is only sent if the engine filter is enabled, since outboxes before the engine
+   * filter reject requests with unknown parameters. Without it, the events of other engines are
+   * skipped after the retrieval.
+   */
+  private String getEngineSelector(String camundaSystemEngineIdentifier) {
+    return !engineFilterEnabled || camundaSystemEngineIdentifier == null
+        ? ""
+        : CamundaSystemConnectorImpl.ENGINE_PARAM
+            + CamundaSystemConnectorImpl.encodeQueryParam(camundaSystemEngineIdentifier);
+  }
+
+  private String getShardSelector(int shard, int shards) {
+    return CamundaSystemConnectorImpl.SHARD_PARAM
+        + shard
+        + CamundaSystemConnectorImpl.SHARDS_PARAM
+        + shards;
+  }
+
   private List<CamundaTaskEvent> getCamundaTaskEvents(
       String camundaSystemTaskEventUrl, String eventSelector) {
 
@@ -78,9 +197,11 @@ public class CamundaTaskRetriever {
 
     try {
 
+      URI requestUri = CamundaSystemConnectorImpl.toUri(requestUrl);
+
       ResponseEntity<CamundaTaskEventListResource> responseEntity =
           restTemplate.exchange(
-              requestUrl,
+              requestUri,
               HttpMethod.GET,
               new HttpEntity<Object>(headers),
               CamundaTaskEventListResource.class);
@@ -105,6 +226,18 @@ public class CamundaTaskRetriever {
     return Collections.emptyList();
   }
 
+  private String getOutboxEventCreated(String created) {
+    if (created == null) {
+      return null;
+    }
+    try {
+      return OffsetDateTime.parse(created, OUTBOX_DATE_FORMATTER).toInstant().toString();
+    } catch (DateTimeParseException e) {
+      LOGGER.warn("Caught {} while trying to parse the creation time of an outbox event", e);
+      return null;
+    }
+  }
+
   private List<ReferencedTask> getReferencedTasksFromCamundaTaskEvents(
       List<CamundaTaskEvent> camundaTaskEvents, String systemEngineIdentifier) {
 
@@ -123,6 +256,8 @@ public class CamundaTaskRetriever {
               objectMapper.readValue(referencedTaskJson, ReferencedTask.class);
           referencedTask.setOutboxEventId(String.valueOf(camundaTaskEvent.getId()));
           referencedTask.setOutboxEventType(String.valueOf(camundaTaskEvent.getType()));
+          referencedTask.setOutboxEventCreated(
+              getOutboxEventCreated(camundaTaskEvent.getCreated()));
           referencedTasks.add(referencedTask);
 
         } catch (IOException e) {
@@ -1,6 +1,14 @@
 package pro.taskana.adapter.systemconnector.camunda.config;
 
-import java.time.Duration;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -9,12 +17,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaOutboxBacklogMetrics;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskClaimCanceler;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskClaimer;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskCompleter;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskEventCleaner;
+import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskNonBlockingCompleter;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskRetriever;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
+import pro.taskana.adapter.util.ThreadFactories;
 
 /** Configures the camunda system connector. */
 @Configuration
@@ -23,14 +34,46 @@ import pro.taskana.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
 public class CamundaSystemConnectorConfiguration {
 
   @Bean
-  RestTemplate restTemplate(RestTemplateBuilder builder, OkHttpProperties okHttpProperties) {
+  RestTemplate restTemplate(RestTemplateBuilder builder, OkHttpClient camundaOkHttpClient) {
+    // the RestTemplate shares the connection pool and the timeouts of the OkHttpClient
     return builder
-        .setConnectTimeout(Duration.ofMillis(okHttpProperties.getConnectionTimeout()))
-        .setReadTimeout(Duration.ofMillis(okHttpProperties.getReadTimeout()))
-        .requestFactory(OkHttp3ClientHttpRequestFactory.class)
+        .requestFactory(() -> new OkHttp3ClientHttpRequestFactory(camundaOkHttpClient))
         .build();
   }
 
+  @Bean
+  OkHttpClient camundaOkHttpClient(
+      OkHttpProperties okHttpProperties,
+      CamundaSystemUrls camundaSystemUrls,
+      ObjectProvider<MeterRegistry> meterRegistryProvider,
+      @Value("${taskana.adapter.virtual-threads.enabled:false}") boolean virtualThreadsEnabled) {
+    Dispatcher dispatcher =
+        new Dispatcher(
+            Executors.newCachedThreadPool(
+                ThreadFactories.newThreadFactory(
+                    "camunda-okhttp-dispatcher-", virtualThreadsEnabled)));
+    dispatcher.setMaxRequests(okHttpProperties.getMaxRequests());
+    dispatcher.setMaxRequestsPerHost(okHttpProperties.getMaxRequestsPerHost());
+
+    return new OkHttpClient.Builder()
+        .connectTimeout(okHttpProperties.getConnectionTimeout(), TimeUnit.MILLISECONDS)
+        .readTimeout(okHttpProperties.getReadTimeout(), TimeUnit.MILLISECONDS)
+        .connectionPool(
+            new ConnectionPool(
+                okHttpProperties.getMaxIdleConnections(),
+                okHttpProperties.getKeepAliveDuration(),
+                TimeUnit.MILLISECONDS))
+        .dispatcher(dispatcher)
+        .protocols(getProtocols(okHttpProperties))
+        .addInterceptor(new OkHttpRequestTimer(meterRegistryProvider, camundaSystemUrls))
+        .build();
+  }
+
+  @Bean
+  OkHttpPoolMetrics okHttpPoolMetrics(OkHttpClient camundaOkHttpClient) {
+    return new OkHttpPoolMetrics(camundaOkHttpClient);
+  }
+
   @Bean
   HttpHeaderProvider httpHeaderProvider() {
     return new HttpHeaderProvider();
@@ -53,6 +96,11 @@ public class CamundaSystemConnectorConfiguration {
     return new CamundaTaskCompleter();
   }
 
+  @Bean
+  CamundaTaskNonBlockingCompleter camundaTaskNonBlockingCompleter() {
+    return new CamundaTaskNonBlockingCompleter();
+  }
+
   @Bean
   CamundaTaskClaimer camundaTaskClaimer() {
     return new CamundaTaskClaimer();
@@ -67,4 +115,21 @@ public class CamundaSystemConnectorConfiguration {
   CamundaTaskEventCleaner camundaTaskEventCleaner() {
     return new CamundaTaskEventCleaner();
   }
+
+  @Bean
+  CamundaOutboxBacklogMetrics camundaOutboxBacklogMetrics() {
+    return new CamundaOutboxBacklogMetrics();
+  }
+
+  private static List<Protocol> getProtocols(OkHttpProperties okHttpProperties) {
+    if (!okHttpProperties.isHttp2Enabled()) {
+      return List.of(Protocol.HTTP_1_1);
+    }
+    // with prior knowledge, HTTP/2 is spoken over plain connections without an upgrade
+    if (okHttpProperties.isHttp2PriorKnowledge()) {
+      return List.of(Protocol.H2_PRIOR_KNOWLEDGE);
+    }
+    // HTTP/2 is negotiated via ALPN on TLS connections, plain connections use HTTP/1.1
+    return List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+  }
 }
@@ -0,0 +1,42 @@
+package pro.taskana.adapter.systemconnector.camunda.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import okhttp3.OkHttpClient;
+
+/**
+ * Provides the utilization of the connection pool and the dispatcher of the OkHttpClient that is
+ * used for the requests to Camunda as gauges. A pool whose connection count stays at the maximum of
+ * idle connections while calls are queued is too small.
+ */
+public class OkHttpPoolMetrics implements MeterBinder {
+
+  public static final String CONNECTIONS = "taskana.adapter.camunda.okhttp.connections";
+  public static final String IDLE_CONNECTIONS = "taskana.adapter.camunda.okhttp.connections.idle";
+  public static final String RUNNING_CALLS = "taskana.adapter.camunda.okhttp.calls.running";
+  public static final String QUEUED_CALLS = "taskana.adapter.camunda.okhttp.calls.queued";
+
+  private final OkHttpClient okHttpClient;
+
+  public OkHttpPoolMetrics(OkHttpClient okHttpClient) {
+    this.okHttpClient = okHttpClient;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(CONNECTIONS, okHttpClient, client -> client.connectionPool().connectionCount())
+        .description("Connections of the pool, in use or idle")
+        .register(registry);
+    Gauge.builder(
+            IDLE_CONNECTIONS, okHttpClient, client -> client.connectionPool().idleConnectionCount())
+        .description("Idle connections of the pool")
+        .register(registry);
+    Gauge.builder(RUNNING_CALLS, okHttpClient, client -> client.dispatcher().runningCallsCount())
+        .description("Calls that are executed, synchronous and asynchronous")
+        .register(registry);
+    Gauge.builder(QUEUED_CALLS, okHttpClient, client -> client.dispatcher().queuedCallsCount())
+        .description("Asynchronous calls that wait for the limits of the dispatcher")
+        .register(registry);
+  }
+}
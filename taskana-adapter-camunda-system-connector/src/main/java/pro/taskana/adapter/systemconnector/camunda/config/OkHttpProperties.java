@@ -11,6 +11,18 @@ public class OkHttpProperties {
 
   private long readTimeout = 5_000;
 
+  private int maxIdleConnections = 20;
+
+  private long keepAliveDuration = 300_000;
+
+  private int maxRequests = 64;
+
+  private int maxRequestsPerHost = 64;
+
+  private boolean http2Enabled = true;
+
+  private boolean http2PriorKnowledge = false;
+
   public long getConnectionTimeout() {
     return connectionTimeout;
   }
@@ -26,4 +38,52 @@ public class OkHttpProperties {
   public void setReadTimeout(long readTimeout) {
     this.readTimeout = readTimeout;
   }
+
+  public int getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  public void setMaxIdleConnections(int maxIdleConnections) {
+    this.maxIdleConnections = maxIdleConnections;
+  }
+
+  public long getKeepAliveDuration() {
+    return keepAliveDuration;
+  }
+
+  public void setKeepAliveDuration(long keepAliveDuration) {
+    this.keepAliveDuration = keepAliveDuration;
+  }
+
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  public void setMaxRequests(int maxRequests) {
+    this.maxRequests = maxRequests;
+  }
+
+  public int getMaxRequestsPerHost() {
+    return maxRequestsPerHost;
+  }
+
+  public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+    this.maxRequestsPerHost = maxRequestsPerHost;
+  }
+
+  public boolean isHttp2Enabled() {
+    return http2Enabled;
+  }
+
+  public void setHttp2Enabled(boolean http2Enabled) {
+    this.http2Enabled = http2Enabled;
+  }
+
+  public boolean isHttp2PriorKnowledge() {
+    return http2PriorKnowledge;
+  }
+
+  public void setHttp2PriorKnowledge(boolean http2PriorKnowledge) {
+    this.http2PriorKnowledge = http2PriorKnowledge;
+  }
 }
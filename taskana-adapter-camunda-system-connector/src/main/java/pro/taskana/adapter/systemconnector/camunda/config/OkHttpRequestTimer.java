@@ -0,0 +1,135 @@
+package pro.taskana.adapter.systemconnector.camunda.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.beans.factory.ObjectProvider;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls.SystemUrlInfo;
+
+/**
+ * Records the duration of the requests of the OkHttpClient to Camunda, tagged by the url of the
+ * Camunda system, the engine, the HTTP method and the status of the response. Failed requests are
+ * recorded with the status "IO_ERROR".
+ *
+ * <p>The engine is the one of the configured system whose Camunda REST or outbox url is the longest
+ * prefix of the request url. The requests to an outbox that is shared by several engines are
+ * tagged with the engine parameter of the request, or with "all" without one.
+ */
+public class OkHttpRequestTimer implements Interceptor {
+
+  public static final String HTTP_REQUESTS = "taskana.adapter.camunda.http.requests";
+
+  private static final String NONE = "none";
+  private static final String ALL_ENGINES = "all";
+
+  private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+  private final List<SystemUrlPrefix> systemUrlPrefixes = new ArrayList<>();
+
+  private MeterRegistry meterRegistry;
+
+  public OkHttpRequestTimer(
+      ObjectProvider<MeterRegistry> meterRegistryProvider, CamundaSystemUrls camundaSystemUrls) {
+    this.meterRegistryProvider = meterRegistryProvider;
+    for (SystemUrlInfo systemUrlInfo : camundaSystemUrls.getUrls()) {
+      addSystemUrlPrefix(systemUrlInfo.getSystemRestUrl(), systemUrlInfo);
+      addSystemUrlPrefix(systemUrlInfo.getSystemTaskEventUrl(), systemUrlInfo);
+    }
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    long startNanos = System.nanoTime();
+    String status = "IO_ERROR";
+    try {
+      Response response = chain.proceed(request);
+      status = String.valueOf(response.code());
+      return response;
+    } finally {
+      Timer.builder(HTTP_REQUESTS)
+          .tag("system.url", getSystemUrl(request.url()))
+          .tag("engine", getEngine(request.url()))
+          .tag("method", request.method())
+          .tag("status", status)
+          .register(getMeterRegistry())
+          .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static String getSystemUrl(HttpUrl url) {
+    // the path is left out, it contains the ids of tasks and would create a timer per task
+    return url.scheme() + "://" + url.host() + ":" + url.port();
+  }
+
+  private String getEngine(HttpUrl url) {
+    String requestUrl = url.toString();
+    int longestPrefix = -1;
+    Set<String> engines = new HashSet<>();
+    for (SystemUrlPrefix systemUrlPrefix : systemUrlPrefixes) {
+      int prefixLength = systemUrlPrefix.prefix.length();
+      if (prefixLength < longestPrefix || !systemUrlPrefix.matches(requestUrl)) {
+        continue;
+      }
+      if (prefixLength > longestPrefix) {
+        longestPrefix = prefixLength;
+        engines.clear();
+      }
+      engines.add(systemUrlPrefix.engine);
+    }
+
+    if (engines.isEmpty()) {
+      return NONE;
+    }
+    if (engines.size() == 1) {
+      return engines.iterator().next();
+    }
+    String engine = url.queryParameter("engine");
+    return engine != null && engines.contains(engine) ? engine : ALL_ENGINES;
+  }
+
+  private void addSystemUrlPrefix(String systemUrl, SystemUrlInfo systemUrlInfo) {
+    HttpUrl url = systemUrl == null ? null : HttpUrl.parse(systemUrl);
+    if (url != null) {
+      String engine = systemUrlInfo.getCamundaEngineIdentifier();
+      systemUrlPrefixes.add(new SystemUrlPrefix(url.toString(), engine == null ? NONE : engine));
+    }
+  }
+
+  private synchronized MeterRegistry getMeterRegistry() {
+    if (meterRegistry == null) {
+      meterRegistry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+    return meterRegistry;
+  }
+
+  private static class SystemUrlPrefix {
+
+    private final String prefix;
+    private final String engine;
+
+    SystemUrlPrefix(String prefix, String engine) {
+      // the url of a system ends before a slash or the query of the request url
+      this.prefix = prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+      this.engine = engine;
+    }
+
+    boolean matches(String requestUrl) {
+      if (!requestUrl.startsWith(prefix)) {
+        return false;
+      }
+      return requestUrl.length() == prefix.length()
+          || requestUrl.charAt(prefix.length()) == '/'
+          || requestUrl.charAt(prefix.length()) == '?';
+    }
+  }
+}
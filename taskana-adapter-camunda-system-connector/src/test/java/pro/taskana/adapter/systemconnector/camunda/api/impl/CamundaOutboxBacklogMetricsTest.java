@@ -0,0 +1,199 @@
+package pro.taskana.adapter.systemconnector.camunda.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.camunda.outbox.rest.CamundaTaskEventStatistics;
+import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaOutboxBacklogMetricsTest.CamundaOutboxBacklogMetricsTestConfiguration;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaConnectorTestConfiguration;
+
+@ContextConfiguration(
+    classes = {
+      CamundaConnectorTestConfiguration.class,
+      CamundaOutboxBacklogMetricsTestConfiguration.class
+    })
+@SpringBootTest(properties = "taskana.adapter.camunda.outbox.backlog-metrics.enabled=true")
+class CamundaOutboxBacklogMetricsTest {
+
+  private static final String OUTBOX_URL = "http://localhost:8081/outbox-rest";
+  private static final String STATISTICS_URL =
+      OUTBOX_URL + CamundaSystemConnectorImpl.URL_GET_CAMUNDA_EVENT_STATISTICS;
+
+  @Autowired RestTemplate restTemplate;
+
+  @Autowired ObjectMapper objectMapper;
+
+  @Autowired SimpleMeterRegistry meterRegistry;
+
+  @Autowired CamundaOutboxBacklogMetrics camundaOutboxBacklogMetrics;
+
+  private MockRestServiceServer mockServer;
+
+  @BeforeEach
+  void setUp() {
+    mockServer = MockRestServiceServer.createServer(restTemplate);
+  }
+
+  @Test
+  void should_ProvideEventsAndAgeOfOldestEventPerBucket_When_OutboxReturnsStatistics()
+      throws Exception {
+
+    // both systems share the outbox, which is polled once
+    mockServer
+        .expect(ExpectedCount.once(), requestTo(STATISTICS_URL))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(
+                    List.of(
+                        newStatistics("create", "new", 5, Instant.now().minusSeconds(120)),
+                        newStatistics("create", "failed", 2, null))),
+                MediaType.APPLICATION_JSON));
+
+    camundaOutboxBacklogMetrics.updateBacklogMetrics();
+
+    mockServer.verify();
+    assertThat(getOutboxEvents("new").value()).isEqualTo(5);
+    assertThat(getOutboxEvents("failed").value()).isEqualTo(2);
+    assertThat(
+            meterRegistry
+                .get(CamundaOutboxBacklogMetrics.OUTBOX_OLDEST_EVENT_AGE)
+                .tags(getTags("new"))
+                .gauge()
+                .value())
+        .isBetween(120.0, 180.0);
+    // the age is left out for the buckets without the creation of their oldest event
+    assertThat(
+            meterRegistry
+                .find(CamundaOutboxBacklogMetrics.OUTBOX_OLDEST_EVENT_AGE)
+                .tags(getTags("failed"))
+                .gauge())
+        .isNull();
+  }
+
+  @Test
+  void should_RemoveGaugesOfEmptyBuckets_When_OutboxIsPolledAgain() throws Exception {
+
+    mockServer
+        .expect(requestTo(STATISTICS_URL))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(
+                    List.of(
+                        newStatistics("create", "new", 5, Instant.now()),
+                        newStatistics("create", "retrying", 1, Instant.now()))),
+                MediaType.APPLICATION_JSON));
+    mockServer
+        .expect(requestTo(STATISTICS_URL))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(
+                    List.of(newStatistics("create", "new", 3, Instant.now()))),
+                MediaType.APPLICATION_JSON));
+
+    camundaOutboxBacklogMetrics.updateBacklogMetrics();
+    camundaOutboxBacklogMetrics.updateBacklogMetrics();
+
+    assertThat(getOutboxEvents("new").value()).isEqualTo(3);
+    assertThat(
+            meterRegistry
+                .find(CamundaOutboxBacklogMetrics.OUTBOX_EVENTS)
+                .tags(getTags("retrying"))
+                .gauge())
+        .isNull();
+  }
+
+  @Test
+  void should_RemoveGauges_When_OutboxIsNotAvailable() throws Exception {
+
+    mockServer
+        .expect(requestTo(STATISTICS_URL))
+        .andRespond(
+            withSuccess(
+                objectMapper.writeValueAsString(
+                    List.of(newStatistics("create", "new", 5, Instant.now()))),
+                MediaType.APPLICATION_JSON));
+    mockServer.expect(requestTo(STATISTICS_URL)).andRespond(withServerError());
+
+    camundaOutboxBacklogMetrics.updateBacklogMetrics();
+    camundaOutboxBacklogMetrics.updateBacklogMetrics();
+
+    // outdated values would hide that the backlog is unknown
+    assertThat(meterRegistry.find(CamundaOutboxBacklogMetrics.OUTBOX_EVENTS).gauges()).isEmpty();
+  }
+
+  private Gauge getOutboxEvents(String retryBucket) {
+    return meterRegistry
+        .get(CamundaOutboxBacklogMetrics.OUTBOX_EVENTS)
+        .tags(getTags(retryBucket))
+        .gauge();
+  }
+
+  private String[] getTags(String retryBucket) {
+    return new String[] {
+      "outbox.url", OUTBOX_URL, "type", "create", "engine", "default", "retry.bucket", retryBucket
+    };
+  }
+
+  private CamundaTaskEventStatistics newStatistics(
+      String type, String retryBucket, long eventsCount, Instant oldestCreated) {
+    CamundaTaskEventStatistics statistics = new CamundaTaskEventStatistics();
+    statistics.setType(type);
+    statistics.setSystemEngineIdentifier("default");
+    statistics.setRetryBucket(retryBucket);
+    statistics.setEventsCount(eventsCount);
+    if (oldestCreated != null) {
+      statistics.setOldestCreated(
+          CamundaTaskRetriever.OUTBOX_DATE_FORMATTER.format(
+              oldestCreated.atOffset(ZoneOffset.ofHours(1))));
+    }
+    return statistics;
+  }
+
+  @Configuration
+  static class CamundaOutboxBacklogMetricsTestConfiguration {
+
+    @Bean
+    CamundaSystemUrls camundaSystemUrls() {
+      return new CamundaSystemUrls(
+          "http://localhost:8080/engine-rest|"
+              + OUTBOX_URL
+              + "|default, "
+              + "http://localhost:8082/engine-rest|"
+              + OUTBOX_URL
+              + "|other");
+    }
+
+    @Bean
+    SimpleMeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+
+    @Bean
+    CamundaOutboxBacklogMetrics camundaOutboxBacklogMetrics() {
+      return new CamundaOutboxBacklogMetrics();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package pro.taskana.adapter.systemconnector.camunda.api.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import pro.taskana.adapter.util.ThreadFactories;
+
+class CamundaTaskCompleterTest {
+
+  private static final int PARALLELISM = 2;
+  private static final int NUMBER_OF_TASKS = 4;
+
+  private final RestTemplate restTemplate = mock(RestTemplate.class);
+  private final CountDownLatch parallelCompletionsStarted = new CountDownLatch(PARALLELISM);
+  private final AtomicInteger runningCompletions = new AtomicInteger();
+  private final AtomicInteger maxRunningCompletions = new AtomicInteger();
+  private final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+  @Test
+  void should_CompleteTasksOnPooledThreads_When_PlatformThreadsAreUsed() {
+
+    Map<String, SystemResponse> responses = completeTasks(false);
+
+    assertThat(responses).hasSize(NUMBER_OF_TASKS);
+    assertThat(responses.values())
+        .extracting(SystemResponse::getStatusCode)
+        .containsOnly(HttpStatus.NO_CONTENT);
+    assertThat(maxRunningCompletions).hasValue(PARALLELISM);
+    assertThat(threadNames)
+        .hasSize(PARALLELISM)
+        .allMatch(threadName -> threadName.startsWith("camunda-task-completer-"));
+  }
+
+  @Test
+  void should_CompleteEachTaskOnThreadOfItsOwn_When_VirtualThreadsAreUsed() {
+    assumeTrue(ThreadFactories.isVirtualThreadSupported(), "virtual threads require Java 21");
+
+    Map<String, SystemResponse> responses = completeTasks(true);
+
+    assertThat(responses).hasSize(NUMBER_OF_TASKS);
+    assertThat(responses.values())
+        .extracting(SystemResponse::getStatusCode)
+        .containsOnly(HttpStatus.NO_CONTENT);
+    // the threads aren't pooled, but the completions are still bounded by the parallelism
+    assertThat(maxRunningCompletions).hasValue(PARALLELISM);
+    assertThat(threadNames)
+        .hasSize(NUMBER_OF_TASKS)
+        .allMatch(threadName -> threadName.startsWith("camunda-task-completer-"));
+  }
+
+  private Map<String, SystemResponse> completeTasks(boolean virtualThreadsEnabled) {
+    when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(), eq(String.class)))
+        .thenAnswer(invocation -> ResponseEntity.noContent().build());
+    when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+        .thenAnswer(invocation -> performCompletion());
+
+    CamundaTaskCompleter taskCompleter = new CamundaTaskCompleter();
+    ReflectionTestUtils.setField(taskCompleter, "restTemplate", restTemplate);
+    ReflectionTestUtils.setField(taskCompleter, "httpHeaderProvider", new HttpHeaderProvider());
+    ReflectionTestUtils.setField(taskCompleter, "parallelism", PARALLELISM);
+    ReflectionTestUtils.setField(taskCompleter, "virtualThreadsEnabled", virtualThreadsEnabled);
+    taskCompleter.createExecutor();
+
+    CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo = new CamundaSystemUrls.SystemUrlInfo();
+    camundaSystemUrlInfo.setSystemRestUrl("http://localhost:8080/engine-rest");
+    List<ReferencedTask> referencedTasks =
+        IntStream.range(0, NUMBER_OF_TASKS).mapToObj(this::newReferencedTask).toList();
+    try {
+      return taskCompleter.completeCamundaTasks(camundaSystemUrlInfo, referencedTasks);
+    } finally {
+      taskCompleter.shutdownExecutor();
+    }
+  }
+
+  private ResponseEntity<String> performCompletion() throws InterruptedException {
+    threadNames.add(Thread.currentThread().getName());
+    maxRunningCompletions.accumulateAndGet(runningCompletions.incrementAndGet(), Math::max);
+    try {
+      // the first completions wait for each other, so that they run in parallel
+      parallelCompletionsStarted.countDown();
+      parallelCompletionsStarted.await(10, TimeUnit.SECONDS);
+      return ResponseEntity.noContent().build();
+    } finally {
+      runningCompletions.decrementAndGet();
+    }
+  }
+
+  private ReferencedTask newReferencedTask(int number) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId("task-" + number);
+    referencedTask.setAssignee("teamlead_1");
+    return referencedTask;
+  }
+}
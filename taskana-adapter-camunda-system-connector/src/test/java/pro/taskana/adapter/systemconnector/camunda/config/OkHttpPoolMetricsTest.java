@@ -0,0 +1,127 @@
+package pro.taskana.adapter.systemconnector.camunda.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaRestApiStub;
+
+class OkHttpPoolMetricsTest {
+
+  private static final String TASK_URL = "http://localhost:8080/engine-rest/task/task-1";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void should_ProvideIdleConnection_When_RequestIsFinished() throws Exception {
+
+    // the connections are only pooled for requests that reach a server
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          exchange.sendResponseHeaders(204, -1);
+          exchange.close();
+        });
+    server.start();
+    OkHttpClient okHttpClient = new OkHttpClient.Builder().build();
+    new OkHttpPoolMetrics(okHttpClient).bindTo(meterRegistry);
+
+    try {
+      okHttpClient
+          .newCall(
+              new Request.Builder()
+                  .url(
+                      "http://"
+                          + server.getAddress().getHostString()
+                          + ":"
+                          + server.getAddress().getPort()
+                          + "/engine-rest/task")
+                  .build())
+          .execute()
+          .close();
+
+      assertThat(getGauge(OkHttpPoolMetrics.CONNECTIONS)).isOne();
+      assertThat(getGauge(OkHttpPoolMetrics.IDLE_CONNECTIONS)).isOne();
+      assertThat(getGauge(OkHttpPoolMetrics.RUNNING_CALLS)).isZero();
+      assertThat(getGauge(OkHttpPoolMetrics.QUEUED_CALLS)).isZero();
+    } finally {
+      okHttpClient.connectionPool().evictAll();
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void should_ProvideRunningAndQueuedCalls_When_DispatcherIsAtItsLimit() throws Exception {
+
+    CamundaRestApiStub camundaRestApi = new CamundaRestApiStub();
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(1);
+    OkHttpClient okHttpClient =
+        new OkHttpClient.Builder().dispatcher(dispatcher).addInterceptor(camundaRestApi).build();
+    new OkHttpPoolMetrics(okHttpClient).bindTo(meterRegistry);
+
+    CountDownLatch requestStarted = new CountDownLatch(1);
+    CountDownLatch releaseRequests = new CountDownLatch(1);
+    CountDownLatch requestsFinished = new CountDownLatch(2);
+    camundaRestApi.onRequest(
+        "GET",
+        TASK_URL,
+        request -> {
+          requestStarted.countDown();
+          try {
+            releaseRequests.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+
+    for (int i = 0; i < 2; i++) {
+      okHttpClient
+          .newCall(new Request.Builder().url(TASK_URL).build())
+          .enqueue(
+              new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                  requestsFinished.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                  response.close();
+                  requestsFinished.countDown();
+                }
+              });
+    }
+
+    try {
+      assertThat(requestStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+      // the second call waits until the first one is finished
+      assertThat(getGauge(OkHttpPoolMetrics.RUNNING_CALLS)).isOne();
+      assertThat(getGauge(OkHttpPoolMetrics.QUEUED_CALLS)).isOne();
+      // the stub answers in place of a server, so no connection is opened
+      assertThat(getGauge(OkHttpPoolMetrics.CONNECTIONS)).isZero();
+    } finally {
+      releaseRequests.countDown();
+    }
+    assertThat(requestsFinished.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private double getGauge(String name) {
+    return meterRegistry.get(name).gauge().value();
+  }
+}
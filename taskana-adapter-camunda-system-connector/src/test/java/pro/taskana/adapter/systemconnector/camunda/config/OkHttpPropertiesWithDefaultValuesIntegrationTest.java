@@ -25,6 +25,24 @@ class OkHttpPropertiesWithDefaultValuesIntegrationTest {
     assertThat(okHttpProperties.getReadTimeout()).isEqualTo(5_000);
   }
 
+  @Test
+  void should_HaveDefaultPoolSettings_When_NoPoolPropertiesAreSet(
+      @Autowired OkHttpProperties okHttpProperties
+  ) {
+    assertThat(okHttpProperties.getMaxIdleConnections()).isEqualTo(20);
+    assertThat(okHttpProperties.getKeepAliveDuration()).isEqualTo(300_000);
+    assertThat(okHttpProperties.getMaxRequests()).isEqualTo(64);
+    assertThat(okHttpProperties.getMaxRequestsPerHost()).isEqualTo(64);
+  }
+
+  @Test
+  void should_PreferHttp2WithoutPriorKnowledge_When_NoHttp2PropertiesAreSet(
+      @Autowired OkHttpProperties okHttpProperties
+  ) {
+    assertThat(okHttpProperties.isHttp2Enabled()).isTrue();
+    assertThat(okHttpProperties.isHttp2PriorKnowledge()).isFalse();
+  }
+
   @EnableConfigurationProperties(OkHttpProperties.class)
   static class OkHttpPropertiesWithDefaultValuesIntegrationTestConfiguration {}
 }
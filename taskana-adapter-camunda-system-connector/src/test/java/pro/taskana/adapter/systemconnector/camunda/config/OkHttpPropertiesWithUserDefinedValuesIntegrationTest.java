@@ -10,7 +10,15 @@ import pro.taskana.adapter.systemconnector.camunda.config.OkHttpPropertiesWithUs
 
 @SpringBootTest(
     classes = {OkHttpPropertiesWithUserDefinedValuesIntegrationTestConfiguration.class},
-    properties = {"okhttp.connection-timeout=1000", "okhttp.read-timeout=10000"})
+    properties = {
+      "okhttp.connection-timeout=1000",
+      "okhttp.read-timeout=10000",
+      "okhttp.max-idle-connections=50",
+      "okhttp.keep-alive-duration=60000",
+      "okhttp.max-requests=200",
+      "okhttp.max-requests-per-host=100",
+      "okhttp.http2-enabled=false"
+    })
 class OkHttpPropertiesWithUserDefinedValuesIntegrationTest {
 
   @Test
@@ -25,6 +33,21 @@ class OkHttpPropertiesWithUserDefinedValuesIntegrationTest {
     assertThat(okHttpProperties.getReadTimeout()).isEqualTo(10_000);
   }
 
+  @Test
+  void should_HaveUserDefinedPoolSettings_When_PoolPropertiesAreSet(
+      @Autowired OkHttpProperties okHttpProperties) {
+    assertThat(okHttpProperties.getMaxIdleConnections()).isEqualTo(50);
+    assertThat(okHttpProperties.getKeepAliveDuration()).isEqualTo(60_000);
+    assertThat(okHttpProperties.getMaxRequests()).isEqualTo(200);
+    assertThat(okHttpProperties.getMaxRequestsPerHost()).isEqualTo(100);
+  }
+
+  @Test
+  void should_DisableHttp2_When_PropertyOkHttpHttp2EnabledIsFalse(
+      @Autowired OkHttpProperties okHttpProperties) {
+    assertThat(okHttpProperties.isHttp2Enabled()).isFalse();
+  }
+
   @EnableConfigurationProperties(OkHttpProperties.class)
   static class OkHttpPropertiesWithUserDefinedValuesIntegrationTestConfiguration {}
 }
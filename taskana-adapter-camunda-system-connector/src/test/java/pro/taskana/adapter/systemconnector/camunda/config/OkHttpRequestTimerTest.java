@@ -0,0 +1,109 @@
+package pro.taskana.adapter.systemconnector.camunda.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.Map;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaRestApiStub;
+
+class OkHttpRequestTimerTest {
+
+  private static final String SYSTEM_URL = "http://localhost:8080";
+  private static final String TASK_URL = SYSTEM_URL + "/engine-rest/task/";
+  private static final String OTHER_TASK_URL = "http://localhost:8082/engine-rest/task/";
+  private static final String OUTBOX_URL = "http://localhost:8081/outbox-rest";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CamundaRestApiStub camundaRestApi = new CamundaRestApiStub();
+  private final OkHttpClient okHttpClient =
+      new OkHttpClient.Builder()
+          .addInterceptor(
+              new OkHttpRequestTimer(
+                  new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                      .getBeanProvider(MeterRegistry.class),
+                  // both engines share the outbox
+                  new CamundaSystemUrls(
+                      SYSTEM_URL
+                          + "/engine-rest|"
+                          + OUTBOX_URL
+                          + "|default, "
+                          + "http://localhost:8082/engine-rest|"
+                          + OUTBOX_URL
+                          + "|other")))
+          .addInterceptor(camundaRestApi)
+          .build();
+
+  @Test
+  void should_TimeRequestsBySystemEngineMethodAndStatus_When_RequestsAreSent() throws Exception {
+
+    camundaRestApi.respond("POST", TASK_URL + "task-2/complete/", 500);
+
+    execute(new Request.Builder().url(TASK_URL + "task-1").get().build());
+    execute(new Request.Builder().url(TASK_URL + "task-2").get().build());
+    execute(
+        new Request.Builder()
+            .url(TASK_URL + "task-2/complete/")
+            .post(RequestBody.create("{}", MediaType.get("application/json")))
+            .build());
+
+    // the requests of all tasks share one timer, since the path isn't part of the tags
+    assertThat(meterRegistry.find(OkHttpRequestTimer.HTTP_REQUESTS).timers()).hasSize(2);
+    assertThat(getTimer("GET", "200").count()).isEqualTo(2);
+    assertThat(getTimer("POST", "500").count()).isOne();
+  }
+
+  @Test
+  void should_TagRequestsWithEngineOfTheSystem_When_SystemsShareTheOutbox() throws Exception {
+
+    execute(new Request.Builder().url(OTHER_TASK_URL + "task-1").get().build());
+    execute(new Request.Builder().url(OUTBOX_URL + "/events?type=create&engine=other").build());
+    execute(new Request.Builder().url(OUTBOX_URL + "/events?type=create").build());
+    execute(new Request.Builder().url("http://localhost:8083/engine-rest/task/task-1").build());
+
+    assertThat(getTimer("http://localhost:8082", "other").count()).isOne();
+    assertThat(getTimer("http://localhost:8081", "other").count()).isOne();
+    // without the engine parameter, the request to the shared outbox is one for all engines
+    assertThat(getTimer("http://localhost:8081", "all").count()).isOne();
+    assertThat(getTimer("http://localhost:8083", "none").count()).isOne();
+  }
+
+  @Test
+  void should_RecordIoError_When_RequestFails() {
+
+    IOException connectionReset = new IOException("connection reset");
+    camundaRestApi.fail("GET", TASK_URL + "task-1", connectionReset);
+
+    assertThatThrownBy(() -> execute(new Request.Builder().url(TASK_URL + "task-1").build()))
+        .isSameAs(connectionReset);
+
+    assertThat(getTimer("GET", "IO_ERROR").count()).isOne();
+  }
+
+  private void execute(Request request) throws IOException {
+    okHttpClient.newCall(request).execute().close();
+  }
+
+  private Timer getTimer(String method, String status) {
+    return meterRegistry
+        .get(OkHttpRequestTimer.HTTP_REQUESTS)
+        .tags("system.url", SYSTEM_URL, "engine", "default", "method", method, "status", status)
+        .timer();
+  }
+
+  private Timer getTimer(String systemUrl, String engine) {
+    return meterRegistry
+        .get(OkHttpRequestTimer.HTTP_REQUESTS)
+        .tags("system.url", systemUrl, "engine", engine, "method", "GET", "status", "200")
+        .timer();
+  }
+}
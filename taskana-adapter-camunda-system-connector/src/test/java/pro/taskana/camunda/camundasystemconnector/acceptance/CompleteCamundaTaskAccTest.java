@@ -0,0 +1,123 @@
+package pro.taskana.camunda.camundasystemconnector.acceptance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
+import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskCompleter;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaConnectorTestConfiguration;
+import pro.taskana.common.api.exceptions.SystemException;
+
+/** Acceptance test for the parallel completion of Camunda tasks via the Camunda REST Api. */
+@ContextConfiguration(classes = {CamundaConnectorTestConfiguration.class})
+@SpringBootTest(properties = "taskana.adapter.camunda.completion.parallelism=3")
+class CompleteCamundaTaskAccTest {
+
+  private static final String TASK_URL = "http://localhost:8080/engine-rest/task/";
+
+  @Autowired RestTemplate restTemplate;
+
+  @Autowired CamundaTaskCompleter taskCompleter;
+
+  private final List<String> threadNames = new CopyOnWriteArrayList<>();
+  private MockRestServiceServer mockServer;
+  private CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo;
+
+  @BeforeEach
+  void setUp() {
+    // the tasks are completed in parallel, so their requests arrive in any order
+    mockServer = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    camundaSystemUrlInfo = new CamundaSystemUrls.SystemUrlInfo();
+    camundaSystemUrlInfo.setSystemRestUrl("http://localhost:8080/engine-rest");
+    camundaSystemUrlInfo.setSystemTaskEventUrl("http://localhost:8080/outbox-rest");
+    camundaSystemUrlInfo.setCamundaEngineIdentifier("default");
+  }
+
+  @Test
+  void should_CompleteOtherTasksAndReportFailure_When_CompletionOfOneTaskFails() {
+
+    for (String taskId : List.of("task-1", "task-2", "task-3")) {
+      expectRequest(HttpMethod.POST, taskId + "/assignee/", withNoContent());
+      expectRequest(
+          HttpMethod.PUT, taskId + "/localVariables/completedByTaskanaAdapter", withNoContent());
+      expectRequest(
+          HttpMethod.POST,
+          taskId + "/complete/",
+          "task-2".equals(taskId) ? withServerError() : withNoContent());
+    }
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo,
+            List.of(
+                newReferencedTask("task-1"),
+                newReferencedTask("task-2"),
+                newReferencedTask("task-3")));
+
+    mockServer.verify();
+    assertThat(responses).containsOnlyKeys("task-1", "task-2", "task-3");
+    assertThat(responses.get("task-1").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    assertThat(responses.get("task-3").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    assertThat(responses.get("task-2").getStatusCode())
+        .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    assertThat(responses.get("task-2").getThrowable())
+        .isInstanceOf(SystemException.class)
+        .hasMessageContaining("task-2");
+    // the tasks are completed by the threads of the completer, not by the calling thread
+    assertThat(threadNames)
+        .allMatch(threadName -> threadName.startsWith("camunda-task-completer-"));
+  }
+
+  @Test
+  void should_CompleteTaskInCallingThread_When_OnlyOneTaskIsCompleted() {
+
+    expectRequest(HttpMethod.POST, "task-1/assignee/", withNoContent());
+    expectRequest(
+        HttpMethod.PUT, "task-1/localVariables/completedByTaskanaAdapter", withNoContent());
+    expectRequest(HttpMethod.POST, "task-1/complete/", withNoContent());
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo, List.of(newReferencedTask("task-1")));
+
+    mockServer.verify();
+    assertThat(responses.get("task-1").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    assertThat(threadNames).containsOnly(Thread.currentThread().getName());
+  }
+
+  private void expectRequest(HttpMethod httpMethod, String path, ResponseCreator response) {
+    mockServer
+        .expect(requestTo(TASK_URL + path))
+        .andExpect(method(httpMethod))
+        .andRespond(
+            request -> {
+              threadNames.add(Thread.currentThread().getName());
+              return response.createResponse(request);
+            });
+  }
+
+  private ReferencedTask newReferencedTask(String id) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setAssignee("teamlead_1");
+    return referencedTask;
+  }
+}
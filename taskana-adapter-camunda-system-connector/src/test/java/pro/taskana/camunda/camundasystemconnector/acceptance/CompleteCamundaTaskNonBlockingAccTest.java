@@ -0,0 +1,200 @@
+package pro.taskana.camunda.camundasystemconnector.acceptance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import okhttp3.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.web.client.HttpServerErrorException;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
+import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskCompleter;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaConnectorTestConfiguration;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaRestApiStub;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaRestApiStub.RecordedRequest;
+
+/** Acceptance test for the completion of Camunda tasks with asynchronous requests. */
+@ContextConfiguration(classes = {CamundaConnectorTestConfiguration.class})
+@SpringBootTest(properties = "taskana.adapter.camunda.completion.non-blocking.enabled=true")
+class CompleteCamundaTaskNonBlockingAccTest {
+
+  private static final String TASK_URL = "http://localhost:8080/engine-rest/task/";
+
+  @Autowired CamundaTaskCompleter taskCompleter;
+
+  @Autowired CamundaRestApiStub camundaRestApi;
+
+  private CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo;
+
+  @BeforeEach
+  void setUp() {
+    camundaRestApi.reset();
+    camundaSystemUrlInfo = new CamundaSystemUrls.SystemUrlInfo();
+    camundaSystemUrlInfo.setSystemRestUrl("http://localhost:8080/engine-rest");
+    camundaSystemUrlInfo.setSystemTaskEventUrl("http://localhost:8080/outbox-rest");
+    camundaSystemUrlInfo.setCamundaEngineIdentifier("default");
+  }
+
+  @Test
+  void should_ChainRequestsOfEachTask_When_CompletingTasks() {
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo,
+            List.of(
+                newReferencedTask(
+                    "task-1", "teamlead_1", "\"amount\":{\"value\":5,\"type\":\"Integer\"}"),
+                newReferencedTask("task-2", "teamlead_2", null)));
+
+    assertThat(responses).containsOnlyKeys("task-1", "task-2");
+    assertThat(responses.values())
+        .extracting(SystemResponse::getStatusCode)
+        .containsOnly(HttpStatus.NO_CONTENT);
+
+    assertThat(getRequestsOfTask("task-1"))
+        .extracting(RecordedRequest::toString)
+        .containsExactly(
+            "POST " + TASK_URL + "task-1/assignee/",
+            "PUT " + TASK_URL + "task-1/localVariables/completedByTaskanaAdapter",
+            "POST " + TASK_URL + "task-1/complete/");
+    assertThat(getRequestsOfTask("task-1"))
+        .extracting(RecordedRequest::getBody)
+        .containsExactly(
+            "{\"userId\":\"teamlead_1\"}",
+            "{\"value\" : true, \"type\": \"Boolean\"}",
+            "{\"variables\":{\"amount\":{\"value\":5,\"type\":\"Integer\"}}}");
+    assertThat(getRequestsOfTask("task-2"))
+        .extracting(RecordedRequest::getBody)
+        .last()
+        .isEqualTo("{}");
+
+    // the requests are sent by the dispatcher of OkHttp, the calling thread only joins the results
+    assertThat(camundaRestApi.getRecordedRequests())
+        .extracting(RecordedRequest::getThreadName)
+        .doesNotContain(Thread.currentThread().getName());
+  }
+
+  @Test
+  void should_SendRequestsOfTasksConcurrently_When_CompletingTasks() {
+
+    CountDownLatch tasksInFlight = new CountDownLatch(2);
+    AtomicBoolean tasksWereInFlightTogether = new AtomicBoolean(true);
+    Consumer<Request> waitForOtherTask =
+        request -> {
+          tasksInFlight.countDown();
+          try {
+            if (!tasksInFlight.await(10, TimeUnit.SECONDS)) {
+              tasksWereInFlightTogether.set(false);
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    camundaRestApi.onRequest("POST", TASK_URL + "task-1/assignee/", waitForOtherTask);
+    camundaRestApi.onRequest("POST", TASK_URL + "task-2/assignee/", waitForOtherTask);
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo,
+            List.of(
+                newReferencedTask("task-1", "teamlead_1", null),
+                newReferencedTask("task-2", "teamlead_1", null)));
+
+    assertThat(tasksWereInFlightTogether).isTrue();
+    assertThat(responses.values())
+        .extracting(SystemResponse::getStatusCode)
+        .containsOnly(HttpStatus.NO_CONTENT);
+  }
+
+  @Test
+  void should_ReportTaskAsCompleted_When_TaskDoesNotExistAnymore() {
+
+    camundaRestApi.respond("POST", TASK_URL + "task-1/assignee/", 404);
+    camundaRestApi.respond("GET", TASK_URL + "task-1", 404);
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo, List.of(newReferencedTask("task-1", "teamlead_1", null)));
+
+    assertThat(responses.get("task-1").getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(responses.get("task-1").getThrowable()).isNull();
+    assertThat(getRequestsOfTask("task-1"))
+        .extracting(RecordedRequest::toString)
+        .containsExactly("POST " + TASK_URL + "task-1/assignee/", "GET " + TASK_URL + "task-1");
+  }
+
+  @Test
+  void should_ReportHttpStatusAndCompleteOtherTasks_When_CompletionOfOneTaskFails() {
+
+    camundaRestApi.respond("POST", TASK_URL + "task-1/complete/", 500);
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo,
+            List.of(
+                newReferencedTask("task-1", "teamlead_1", null),
+                newReferencedTask("task-2", "teamlead_1", null)));
+
+    assertThat(responses.get("task-1").getStatusCode())
+        .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    assertThat(responses.get("task-1").getThrowable())
+        .isInstanceOf(HttpServerErrorException.class);
+    assertThat(responses.get("task-2").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    // the task still exists, so its completion failed
+    assertThat(getRequestsOfTask("task-1"))
+        .extracting(RecordedRequest::toString)
+        .endsWith("POST " + TASK_URL + "task-1/complete/", "GET " + TASK_URL + "task-1");
+  }
+
+  @Test
+  void should_ReportInternalServerError_When_RequestFailsWithIoException() {
+
+    IOException connectionReset = new IOException("connection reset");
+    camundaRestApi.fail(
+        "PUT", TASK_URL + "task-1/localVariables/completedByTaskanaAdapter", connectionReset);
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo,
+            List.of(
+                newReferencedTask("task-1", "teamlead_1", null),
+                newReferencedTask("task-2", "teamlead_1", null)));
+
+    assertThat(responses.get("task-1").getStatusCode())
+        .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    assertThat(responses.get("task-1").getThrowable()).isSameAs(connectionReset);
+    assertThat(responses.get("task-2").getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    // the chain of the task stops at the failed request
+    assertThat(getRequestsOfTask("task-1"))
+        .extracting(RecordedRequest::toString)
+        .containsExactly(
+            "POST " + TASK_URL + "task-1/assignee/",
+            "PUT " + TASK_URL + "task-1/localVariables/completedByTaskanaAdapter");
+  }
+
+  private List<RecordedRequest> getRequestsOfTask(String taskId) {
+    return camundaRestApi.getRecordedRequests().stream()
+        .filter(request -> request.getUrl().startsWith(TASK_URL + taskId))
+        .toList();
+  }
+
+  private ReferencedTask newReferencedTask(String id, String assignee, String variables) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setAssignee(assignee);
+    referencedTask.setVariables(variables);
+    return referencedTask;
+  }
+}
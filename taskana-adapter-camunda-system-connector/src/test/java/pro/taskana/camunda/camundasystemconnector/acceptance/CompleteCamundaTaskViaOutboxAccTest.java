@@ -0,0 +1,117 @@
+package pro.taskana.camunda.camundasystemconnector.acceptance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
+import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskCompleter;
+import pro.taskana.adapter.systemconnector.camunda.config.CamundaSystemUrls;
+import pro.taskana.camunda.camundasystemconnector.configuration.CamundaConnectorTestConfiguration;
+
+/** Acceptance test for the completion of Camunda tasks via the outbox REST service. */
+@ContextConfiguration(classes = {CamundaConnectorTestConfiguration.class})
+@SpringBootTest(properties = "taskana.adapter.camunda.completion.via-outbox.enabled=true")
+class CompleteCamundaTaskViaOutboxAccTest {
+
+  private static final String OUTBOX_URL = "http://localhost:8080/outbox-rest";
+
+  @Autowired RestTemplate restTemplate;
+
+  @Autowired CamundaTaskCompleter taskCompleter;
+
+  private MockRestServiceServer mockServer;
+
+  private CamundaSystemUrls.SystemUrlInfo camundaSystemUrlInfo;
+
+  @BeforeEach
+  void setUp() {
+    mockServer = MockRestServiceServer.createServer(restTemplate);
+    camundaSystemUrlInfo = new CamundaSystemUrls.SystemUrlInfo();
+    camundaSystemUrlInfo.setSystemRestUrl("http://localhost:8080/engine-rest");
+    camundaSystemUrlInfo.setSystemTaskEventUrl(OUTBOX_URL);
+    camundaSystemUrlInfo.setCamundaEngineIdentifier("default");
+  }
+
+  @Test
+  void should_SerializeCompletionsAsJson_When_ValuesContainJsonCharacters() {
+
+    ReferencedTask taskWithVariables =
+        newReferencedTask(
+            "task-1", "team\"lead\\1", "\"amount\":{\"value\":5,\"type\":\"Integer\"}");
+    ReferencedTask taskWithoutVariables = newReferencedTask("task-2", null, null);
+
+    String expectedRequestBody =
+        "[{\"taskId\":\"task-1\",\"assignee\":\"team\\\"lead\\\\1\","
+            + "\"variables\":{\"amount\":{\"value\":5,\"type\":\"Integer\"}}},"
+            + "{\"taskId\":\"task-2\",\"assignee\":null,\"variables\":{}}]";
+
+    mockServer
+        .expect(requestTo(OUTBOX_URL + "/tasks/complete?engine=default"))
+        .andExpect(method(HttpMethod.POST))
+        .andExpect(content().json(expectedRequestBody, true))
+        .andRespond(
+            withSuccess(
+                "[{\"taskId\":\"task-1\",\"status\":204},{\"taskId\":\"task-2\",\"status\":404}]",
+                MediaType.APPLICATION_JSON));
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo, List.of(taskWithVariables, taskWithoutVariables));
+
+    mockServer.verify();
+    assertThat(responses).containsOnlyKeys("task-1", "task-2");
+    assertThat(responses.values())
+        .extracting(SystemResponse::getStatusCode)
+        .containsOnly(HttpStatus.OK);
+  }
+
+  @Test
+  void should_ReportError_When_NoResultIsReturnedForTask() {
+
+    mockServer
+        .expect(requestTo(OUTBOX_URL + "/tasks/complete?engine=default"))
+        .andExpect(method(HttpMethod.POST))
+        .andRespond(
+            withSuccess("[{\"taskId\":\"task-1\",\"status\":204}]", MediaType.APPLICATION_JSON));
+
+    Map<String, SystemResponse> responses =
+        taskCompleter.completeCamundaTasks(
+            camundaSystemUrlInfo,
+            List.of(
+                newReferencedTask("task-1", "teamlead_1", null),
+                newReferencedTask("task-2", "teamlead_1", null)));
+
+    mockServer.verify();
+    assertThat(responses.get("task-1").getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(responses.get("task-2").getStatusCode())
+        .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    assertThat(responses.get("task-2").getThrowable())
+        .isNotNull()
+        .hasMessageContaining("no result returned")
+        .hasMessageContaining("task-2");
+  }
+
+  private ReferencedTask newReferencedTask(String id, String assignee, String variables) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setAssignee(assignee);
+    referencedTask.setVariables(variables);
+    return referencedTask;
+  }
+}
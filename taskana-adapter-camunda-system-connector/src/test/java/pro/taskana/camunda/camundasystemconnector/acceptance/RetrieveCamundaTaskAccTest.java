@@ -15,6 +15,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
@@ -27,7 +28,7 @@ import pro.taskana.camunda.camundasystemconnector.configuration.CamundaConnector
  * @author bbr
  */
 @ContextConfiguration(classes = {CamundaConnectorTestConfiguration.class})
-@SpringBootTest
+@SpringBootTest(properties = "taskana.adapter.camunda.outbox.engine-filter.enabled=true")
 class RetrieveCamundaTaskAccTest {
 
   @Autowired RestTemplate restTemplate;
@@ -51,6 +52,7 @@ class RetrieveCamundaTaskAccTest {
     ReferencedTask expectedTask = new ReferencedTask();
     expectedTask.setOutboxEventId("1");
     expectedTask.setOutboxEventType("create");
+    expectedTask.setOutboxEventCreated("1970-01-01T09:48:16.436Z");
     expectedTask.setId("801aca2e-1b25-11e9-b283-94819a5b525c");
     expectedTask.setName("modify Request");
     expectedTask.setAssignee("admin");
@@ -105,7 +107,7 @@ class RetrieveCamundaTaskAccTest {
             + "}";
 
     String camundaSystemUrl = "http://localhost:8080/";
-    String requestUrl = camundaSystemUrl + "events?type=create";
+    String requestUrl = camundaSystemUrl + "events?type=create&engine=default";
     String systemEngineIdentifier = "default";
 
     mockServer
@@ -133,6 +135,7 @@ class RetrieveCamundaTaskAccTest {
     expectedTask.setId("2275fb87-1065-11ea-a7a0-02004c4f4f50");
     expectedTask.setOutboxEventId("16");
     expectedTask.setOutboxEventType("complete");
+    expectedTask.setOutboxEventCreated("2019-11-26T15:55:52.460Z");
 
     String expectedReplyBody =
         "{"
@@ -152,7 +155,7 @@ class RetrieveCamundaTaskAccTest {
     String camundaSystemUrl = "http://localhost:8080";
     String camundaSystemEngineIdentifier = "default";
     mockServer
-        .expect(requestTo(camundaSystemUrl + "/events?type=complete&type=delete"))
+        .expect(requestTo(camundaSystemUrl + "/events?type=complete&type=delete&engine=default"))
         .andExpect(method(HttpMethod.GET))
         .andExpect(content().contentType(org.springframework.http.MediaType.APPLICATION_JSON))
         .andRespond(withSuccess(expectedReplyBody, MediaType.APPLICATION_JSON));
@@ -163,4 +166,74 @@ class RetrieveCamundaTaskAccTest {
     assertThat(actualResult).isNotEmpty();
     assertThat(actualResult.get(0)).isEqualTo(expectedTask);
   }
+
+  @Test
+  void should_EncodeEngineIdentifier_When_RetrievingCamundaTasksOfAnEngine() {
+
+    String systemEngineIdentifier = "engine one&shard=1+2";
+
+    String expectedReplyBody =
+        "{\"camundaTaskEvents\":[{"
+            + "\"id\": 17,"
+            + "\"type\": \"complete\","
+            + "\"systemEngineIdentifier\": \"engine one&shard=1+2\","
+            + "\"created\": \"2019-11-26T16:55:52.460+0100\","
+            + "\"payload\": \"{\\\"id\\\":\\\"2275fb87-1065-11ea-a7a0-02004c4f4f50\\\"}\""
+            + "}]}";
+
+    String camundaSystemUrl = "http://localhost:8080";
+    mockServer
+        .expect(
+            requestTo(
+                camundaSystemUrl
+                    + "/events?type=complete&type=delete&engine=engine%20one%26shard%3D1%2B2"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(expectedReplyBody, MediaType.APPLICATION_JSON));
+
+    List<ReferencedTask> actualResult =
+        taskRetriever.retrieveFinishedCamundaTasks(camundaSystemUrl, systemEngineIdentifier);
+
+    mockServer.verify();
+    assertThat(actualResult)
+        .extracting(ReferencedTask::getId)
+        .containsExactly("2275fb87-1065-11ea-a7a0-02004c4f4f50");
+  }
+
+  @Test
+  void should_NotSendEngineIdentifier_When_EngineFilterIsDisabled() {
+
+    String expectedReplyBody =
+        "{\"camundaTaskEvents\":["
+            + "{\"id\": 18,"
+            + "\"type\": \"complete\","
+            + "\"systemEngineIdentifier\": \"default\","
+            + "\"created\": \"2019-11-26T16:55:52.460+0100\","
+            + "\"payload\": \"{\\\"id\\\":\\\"task-of-default\\\"}\""
+            + "},"
+            + "{\"id\": 19,"
+            + "\"type\": \"complete\","
+            + "\"systemEngineIdentifier\": \"other\","
+            + "\"created\": \"2019-11-26T16:55:52.460+0100\","
+            + "\"payload\": \"{\\\"id\\\":\\\"task-of-other\\\"}\""
+            + "}]}";
+
+    // outboxes before the engine filter answer unknown parameters with 400
+    String camundaSystemUrl = "http://localhost:8080";
+    mockServer
+        .expect(requestTo(camundaSystemUrl + "/events?type=complete&type=delete"))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(expectedReplyBody, MediaType.APPLICATION_JSON));
+
+    ReflectionTestUtils.setField(taskRetriever, "engineFilterEnabled", false);
+    List<ReferencedTask> actualResult;
+    try {
+      actualResult = taskRetriever.retrieveFinishedCamundaTasks(camundaSystemUrl, "default");
+    } finally {
+      ReflectionTestUtils.setField(taskRetriever, "engineFilterEnabled", true);
+    }
+
+    mockServer.verify();
+    // the events of other engines are skipped by the adapter instead
+    assertThat(actualResult).extracting(ReferencedTask::getId).containsExactly("task-of-default");
+  }
 }
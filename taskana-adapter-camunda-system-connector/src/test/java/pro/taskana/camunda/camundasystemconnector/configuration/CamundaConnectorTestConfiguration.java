@@ -2,6 +2,7 @@ package pro.taskana.camunda.camundasystemconnector.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
+import okhttp3.OkHttpClient;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -10,6 +11,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskCompleter;
+import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskNonBlockingCompleter;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.CamundaTaskRetriever;
 import pro.taskana.adapter.systemconnector.camunda.api.impl.HttpHeaderProvider;
 import pro.taskana.adapter.systemconnector.camunda.config.OkHttpProperties;
@@ -56,4 +58,19 @@ public class CamundaConnectorTestConfiguration {
   CamundaTaskCompleter camundaTaskCompleter() {
     return new CamundaTaskCompleter();
   }
+
+  @Bean
+  CamundaRestApiStub camundaRestApiStub() {
+    return new CamundaRestApiStub();
+  }
+
+  @Bean
+  OkHttpClient camundaOkHttpClient(CamundaRestApiStub camundaRestApiStub) {
+    return new OkHttpClient.Builder().addInterceptor(camundaRestApiStub).build();
+  }
+
+  @Bean
+  CamundaTaskNonBlockingCompleter camundaTaskNonBlockingCompleter() {
+    return new CamundaTaskNonBlockingCompleter();
+  }
 }
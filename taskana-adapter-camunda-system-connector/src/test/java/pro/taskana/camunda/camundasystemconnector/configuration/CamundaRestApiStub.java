@@ -0,0 +1,129 @@
+package pro.taskana.camunda.camundasystemconnector.configuration;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Interceptor of the camundaOkHttpClient that answers the requests in place of the Camunda REST
+ * Api. It responds with 204, or 200 for GET requests, unless another status or a failure is set
+ * for a request. It records the requests together with the threads they were sent from.
+ */
+public class CamundaRestApiStub implements Interceptor {
+
+  private final Map<String, Integer> statusCodes = new ConcurrentHashMap<>();
+  private final Map<String, IOException> failures = new ConcurrentHashMap<>();
+  private final Map<String, Consumer<Request>> actions = new ConcurrentHashMap<>();
+  private final List<RecordedRequest> recordedRequests = new CopyOnWriteArrayList<>();
+
+  public void respond(String method, String url, int statusCode) {
+    statusCodes.put(method + " " + url, statusCode);
+  }
+
+  public void fail(String method, String url, IOException e) {
+    failures.put(method + " " + url, e);
+  }
+
+  public void onRequest(String method, String url, Consumer<Request> action) {
+    actions.put(method + " " + url, action);
+  }
+
+  public List<RecordedRequest> getRecordedRequests() {
+    return recordedRequests;
+  }
+
+  public void reset() {
+    statusCodes.clear();
+    failures.clear();
+    actions.clear();
+    recordedRequests.clear();
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    String key = request.method() + " " + request.url();
+
+    recordedRequests.add(
+        new RecordedRequest(
+            request.method(),
+            request.url().toString(),
+            readBody(request),
+            Thread.currentThread().getName()));
+
+    Consumer<Request> action = actions.get(key);
+    if (action != null) {
+      action.accept(request);
+    }
+
+    IOException failure = failures.get(key);
+    if (failure != null) {
+      throw failure;
+    }
+
+    int statusCode = statusCodes.getOrDefault(key, "GET".equals(request.method()) ? 200 : 204);
+    return new Response.Builder()
+        .request(request)
+        .protocol(Protocol.HTTP_1_1)
+        .code(statusCode)
+        .message("status " + statusCode)
+        .body(ResponseBody.create("", MediaType.get("application/json")))
+        .build();
+  }
+
+  private static String readBody(Request request) throws IOException {
+    if (request.body() == null) {
+      return null;
+    }
+    Buffer buffer = new Buffer();
+    request.body().writeTo(buffer);
+    return buffer.readUtf8();
+  }
+
+  /** A request received by the stub. */
+  public static class RecordedRequest {
+
+    private final String method;
+    private final String url;
+    private final String body;
+    private final String threadName;
+
+    RecordedRequest(String method, String url, String body, String threadName) {
+      this.method = method;
+      this.url = url;
+      this.body = body;
+      this.threadName = threadName;
+    }
+
+    public String getMethod() {
+      return method;
+    }
+
+    public String getUrl() {
+      return url;
+    }
+
+    public String getBody() {
+      return body;
+    }
+
+    public String getThreadName() {
+      return threadName;
+    }
+
+    @Override
+    public String toString() {
+      return method + " " + url;
+    }
+  }
+}
@@ -1,29 +1,35 @@
 package pro.taskana.adapter.taskanaconnector.api.impl;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pro.taskana.adapter.exceptions.AssertionViolationException;
 import pro.taskana.adapter.exceptions.TaskCreationFailedException;
 import pro.taskana.adapter.exceptions.TaskTerminationFailedException;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.taskanaconnector.api.ReferencedTaskPage;
 import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
-import pro.taskana.common.api.exceptions.NotAuthorizedException;
+import pro.taskana.common.api.BaseQuery.SortDirection;
+import pro.taskana.common.api.BulkOperationResults;
+import pro.taskana.common.api.exceptions.InvalidArgumentException;
 import pro.taskana.common.api.exceptions.TaskanaException;
 import pro.taskana.task.api.CallbackState;
+import pro.taskana.task.api.TaskQuery;
+import pro.taskana.task.api.TaskQueryColumnName;
 import pro.taskana.task.api.TaskService;
 import pro.taskana.task.api.TaskState;
-import pro.taskana.task.api.exceptions.InvalidOwnerException;
-import pro.taskana.task.api.exceptions.InvalidTaskStateException;
 import pro.taskana.task.api.exceptions.TaskNotFoundException;
 import pro.taskana.task.api.models.Task;
 import pro.taskana.task.api.models.TaskSummary;
-import pro.taskana.workbasket.api.exceptions.NotAuthorizedOnWorkbasketException;
 
 /** Implements TaskanaConnector. */
 @Component
@@ -40,14 +46,74 @@ public class TaskanaSystemConnectorImpl implements TaskanaConnector {
 
   @Autowired private TaskInformationMapper taskInformationMapper;
 
+  @Autowired private TaskanaTaskProjectionReader taskanaTaskProjectionReader;
+
+  @Autowired private TaskanaTaskBatchCreator taskanaTaskBatchCreator;
+
   public List<ReferencedTask> retrieveFinishedTaskanaTasksAsReferencedTasks() {
+    return retrieveFinishedTaskanaTasksAsReferencedTasks(createFinishedTasksQuery().list());
+  }
 
+  @Override
+  public ReferencedTaskPage retrieveFinishedTaskanaTasksAsReferencedTasks(int offset, int limit) {
     List<TaskSummary> finishedTasks =
-        taskService
-            .createTaskQuery()
-            .stateIn(TaskState.COMPLETED, TaskState.CANCELLED, TaskState.TERMINATED)
-            .callbackStateIn(CallbackState.CALLBACK_PROCESSING_REQUIRED, CallbackState.CLAIMED)
-            .list();
+        createFinishedTasksQuery().orderByTaskId(SortDirection.ASCENDING).list(offset, limit);
+    return new ReferencedTaskPage(
+        retrieveFinishedTaskanaTasksAsReferencedTasks(finishedTasks), finishedTasks.size());
+  }
+
+  @Override
+  public List<ReferencedTask> retrieveClaimedTaskanaTasksAsReferencedTasks() {
+    return retrieveClaimedTaskanaTasksAsReferencedTasks(createClaimedTasksQuery().list());
+  }
+
+  @Override
+  public ReferencedTaskPage retrieveClaimedTaskanaTasksAsReferencedTasks(int offset, int limit) {
+    List<TaskSummary> claimedTasks =
+        createClaimedTasksQuery().orderByTaskId(SortDirection.ASCENDING).list(offset, limit);
+    return new ReferencedTaskPage(
+        retrieveClaimedTaskanaTasksAsReferencedTasks(claimedTasks), claimedTasks.size());
+  }
+
+  @Override
+  public List<ReferencedTask> retrieveCancelledClaimTaskanaTasksAsReferencedTasks() {
+    return retrieveCancelledClaimTaskanaTasksAsReferencedTasks(
+        createCancelledClaimTasksQuery().list());
+  }
+
+  @Override
+  public ReferencedTaskPage retrieveCancelledClaimTaskanaTasksAsReferencedTasks(
+      int offset, int limit) {
+    List<TaskSummary> cancelledClaimTasks =
+        createCancelledClaimTasksQuery().orderByTaskId(SortDirection.ASCENDING).list(offset, limit);
+    return new ReferencedTaskPage(
+        retrieveCancelledClaimTaskanaTasksAsReferencedTasks(cancelledClaimTasks),
+        cancelledClaimTasks.size());
+  }
+
+  private TaskQuery createFinishedTasksQuery() {
+    return taskService
+        .createTaskQuery()
+        .stateIn(TaskState.COMPLETED, TaskState.CANCELLED, TaskState.TERMINATED)
+        .callbackStateIn(CallbackState.CALLBACK_PROCESSING_REQUIRED, CallbackState.CLAIMED);
+  }
+
+  private TaskQuery createClaimedTasksQuery() {
+    return taskService
+        .createTaskQuery()
+        .stateIn(TaskState.CLAIMED)
+        .callbackStateIn(CallbackState.CALLBACK_PROCESSING_REQUIRED);
+  }
+
+  private TaskQuery createCancelledClaimTasksQuery() {
+    return taskService
+        .createTaskQuery()
+        .stateIn(TaskState.READY)
+        .callbackStateIn(CallbackState.CLAIMED);
+  }
+
+  private List<ReferencedTask> retrieveFinishedTaskanaTasksAsReferencedTasks(
+      List<TaskSummary> finishedTasks) {
 
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(
@@ -58,15 +124,8 @@ public class TaskanaSystemConnectorImpl implements TaskanaConnector {
     return retrieveTaskanaTasksAndConvertToReferencedTasks(finishedTasks);
   }
 
-  @Override
-  public List<ReferencedTask> retrieveClaimedTaskanaTasksAsReferencedTasks() {
-
-    List<TaskSummary> claimedTasks =
-        taskService
-            .createTaskQuery()
-            .stateIn(TaskState.CLAIMED)
-            .callbackStateIn(CallbackState.CALLBACK_PROCESSING_REQUIRED)
-            .list();
+  private List<ReferencedTask> retrieveClaimedTaskanaTasksAsReferencedTasks(
+      List<TaskSummary> claimedTasks) {
 
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(
@@ -77,15 +136,8 @@ public class TaskanaSystemConnectorImpl implements TaskanaConnector {
     return retrieveTaskanaTasksAndConvertToReferencedTasks(claimedTasks);
   }
 
-  @Override
-  public List<ReferencedTask> retrieveCancelledClaimTaskanaTasksAsReferencedTasks() {
-
-    List<TaskSummary> claimedTasks =
-        taskService
-            .createTaskQuery()
-            .stateIn(TaskState.READY)
-            .callbackStateIn(CallbackState.CLAIMED)
-            .list();
+  private List<ReferencedTask> retrieveCancelledClaimTaskanaTasksAsReferencedTasks(
+      List<TaskSummary> claimedTasks) {
 
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(
@@ -118,6 +170,38 @@ public class TaskanaSystemConnectorImpl implements TaskanaConnector {
     }
   }
 
+  @Override
+  public Set<String> retrieveExistingExternalIds(List<String> externalIds) {
+
+    Set<String> existingExternalIds = new HashSet<>();
+
+    for (List<String> externalIdsOfQuery : partitionIdsPerQuery(externalIds)) {
+      existingExternalIds.addAll(
+          taskService
+              .createTaskQuery()
+              .externalIdIn(externalIdsOfQuery.toArray(new String[0]))
+              .listValues(TaskQueryColumnName.EXTERNAL_ID, SortDirection.ASCENDING));
+    }
+
+    return existingExternalIds;
+  }
+
+  @Override
+  public Map<String, TaskCreationFailedException> createTaskanaTasks(List<Task> taskanaTasks) {
+    try {
+      return taskanaTaskBatchCreator.createTasks(taskanaTasks);
+    } catch (SQLException | RuntimeException e) {
+      LOGGER.error("Caught Exception {} when creating taskana tasks {} ", e, taskanaTasks);
+      Map<String, TaskCreationFailedException> failedTasks = new HashMap<>();
+      for (Task taskanaTask : taskanaTasks) {
+        failedTasks.put(
+            taskanaTask.getExternalId(),
+            new TaskCreationFailedException(taskanaTask.getExternalId(), e));
+      }
+      return failedTasks;
+    }
+  }
+
   @Override
   public Task convertToTaskanaTask(ReferencedTask camundaTask) {
     return taskInformationMapper.convertToTaskanaTask(camundaTask);
@@ -131,41 +215,149 @@ public class TaskanaSystemConnectorImpl implements TaskanaConnector {
   @Override
   public void terminateTaskanaTask(ReferencedTask referencedTask)
       throws TaskTerminationFailedException {
-    String taskId = null;
-    TaskSummary taskSummary = null;
-    try {
-      taskSummary = taskService.createTaskQuery().externalIdIn(referencedTask.getId()).single();
-      if (taskSummary != null) {
-        taskId = taskSummary.getId();
+    TaskTerminationFailedException e =
+        terminateTaskanaTasks(List.of(referencedTask)).get(referencedTask.getId());
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  @Override
+  public Map<String, TaskTerminationFailedException> terminateTaskanaTasks(
+      List<ReferencedTask> referencedTasks) {
 
+    Map<String, TaskTerminationFailedException> failedTasks = new HashMap<>();
+    Map<String, TaskSummary> taskSummaries =
+        retrieveTaskSummariesByExternalId(
+            referencedTasks.stream().map(ReferencedTask::getId).collect(Collectors.toList()),
+            failedTasks);
+
+    List<String> terminatedExternalIds = new ArrayList<>();
+    List<TaskSummary> tasksToForceComplete = new ArrayList<>();
+
+    for (ReferencedTask referencedTask : referencedTasks) {
+      TaskSummary taskSummary = taskSummaries.get(referencedTask.getId());
+      if (taskSummary == null) {
+        continue;
+      }
+      try {
         switch (referencedTask.getTaskState()) {
           case TASK_STATE_TERMINATED:
-            taskService.terminateTask(taskId);
+            taskService.terminateTask(taskSummary.getId());
+            terminatedExternalIds.add(referencedTask.getId());
             break;
           case TASK_STATE_CANCELLED:
-            taskService.cancelTask(taskId);
+            taskService.cancelTask(taskSummary.getId());
+            terminatedExternalIds.add(referencedTask.getId());
             break;
           default:
-            taskService.forceCompleteTask(taskId);
+            tasksToForceComplete.add(taskSummary);
             break;
         }
-        // take care that the adapter doesn't attempt to finish the corresponding camunda task
-        List<String> externalIds = Stream.of(referencedTask.getId()).collect(Collectors.toList());
-        taskService.setCallbackStateForTasks(
-            externalIds, CallbackState.CALLBACK_PROCESSING_COMPLETED);
+      } catch (TaskanaException e) {
+        handleTerminationFailure(taskSummary, e, failedTasks);
+      }
+    }
+
+    terminatedExternalIds.addAll(forceCompleteTasks(tasksToForceComplete, failedTasks));
+
+    if (!terminatedExternalIds.isEmpty()) {
+      // take care that the adapter doesn't attempt to finish the corresponding camunda tasks
+      taskService.setCallbackStateForTasks(
+          terminatedExternalIds, CallbackState.CALLBACK_PROCESSING_COMPLETED);
+    }
+
+    return failedTasks;
+  }
+
+  private List<String> forceCompleteTasks(
+      List<TaskSummary> taskSummaries, Map<String, TaskTerminationFailedException> failedTasks) {
+
+    List<String> completedExternalIds = new ArrayList<>();
+    if (taskSummaries.isEmpty()) {
+      return completedExternalIds;
+    }
+
+    try {
+      BulkOperationResults<String, TaskanaException> results =
+          taskService.forceCompleteTasks(
+              taskSummaries.stream().map(TaskSummary::getId).collect(Collectors.toList()));
+
+      for (TaskSummary taskSummary : taskSummaries) {
+        TaskanaException e = results.getErrorForId(taskSummary.getId());
+        if (e == null) {
+          completedExternalIds.add(taskSummary.getExternalId());
+        } else {
+          handleTerminationFailure(taskSummary, e, failedTasks);
+        }
       }
-    } catch (TaskNotFoundException e1) {
-      LOGGER.debug("Nothing to do in terminateTaskanaTask. Task {} is already gone", taskId);
-    } catch (InvalidOwnerException
-        | NotAuthorizedException
-        | NotAuthorizedOnWorkbasketException
-        | InvalidTaskStateException e2) {
-      if (TaskState.COMPLETED.equals(taskSummary.getState())) {
-        LOGGER.debug("Nothing to do in terminateTaskanaTask. Task {} is already completed", taskId);
-      } else {
-        throw new TaskTerminationFailedException("Task termination failed for task " + taskId, e2);
+    } catch (InvalidArgumentException e) {
+      taskSummaries.forEach(taskSummary -> handleTerminationFailure(taskSummary, e, failedTasks));
+    }
+
+    return completedExternalIds;
+  }
+
+  private void handleTerminationFailure(
+      TaskSummary taskSummary,
+      TaskanaException e,
+      Map<String, TaskTerminationFailedException> failedTasks) {
+    if (e instanceof TaskNotFoundException) {
+      LOGGER.debug(
+          "Nothing to do in terminateTaskanaTasks. Task {} is already gone", taskSummary.getId());
+    } else if (taskSummary.getState().isEndState()) {
+      // e.g. terminated by another instance of the cluster during the rebalance of the shards
+      LOGGER.debug(
+          "Nothing to do in terminateTaskanaTasks. Task {} is already in end state {}",
+          taskSummary.getId(),
+          taskSummary.getState());
+    } else {
+      failedTasks.put(
+          taskSummary.getExternalId(),
+          new TaskTerminationFailedException(taskSummary.getId(), e));
+    }
+  }
+
+  private Map<String, TaskSummary> retrieveTaskSummariesByExternalId(
+      List<String> externalIds, Map<String, TaskTerminationFailedException> failedTasks) {
+
+    Map<String, TaskSummary> taskSummaries = new HashMap<>();
+    Set<String> duplicateExternalIds = new HashSet<>();
+
+    for (List<String> externalIdsOfQuery : partitionIdsPerQuery(externalIds)) {
+      List<TaskSummary> taskSummariesOfQuery =
+          taskService
+              .createTaskQuery()
+              .externalIdIn(externalIdsOfQuery.toArray(new String[0]))
+              .list();
+      for (TaskSummary taskSummary : taskSummariesOfQuery) {
+        if (taskSummaries.putIfAbsent(taskSummary.getExternalId(), taskSummary) != null) {
+          duplicateExternalIds.add(taskSummary.getExternalId());
+        }
       }
     }
+
+    // like the query for a single task, an external id with more than one task is an error
+    for (String externalId : duplicateExternalIds) {
+      TaskSummary taskSummary = taskSummaries.remove(externalId);
+      failedTasks.put(
+          externalId,
+          new TaskTerminationFailedException(
+              taskSummary.getId(),
+              new AssertionViolationException(
+                  String.format("Found more than one task with external id '%s'", externalId))));
+    }
+
+    return taskSummaries;
+  }
+
+  private static List<List<String>> partitionIdsPerQuery(List<String> ids) {
+    int maxNumberOfIdsPerQuery = TaskanaTaskProjectionReader.MAX_NUMBER_OF_IDS_PER_QUERY;
+    List<List<String>> partitions = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += maxNumberOfIdsPerQuery) {
+      partitions.add(ids.subList(from, Math.min(from + maxNumberOfIdsPerQuery, ids.size())));
+    }
+    return partitions;
   }
 
   private List<ReferencedTask> retrieveTaskanaTasksAndConvertToReferencedTasks(
@@ -173,17 +365,21 @@ public class TaskanaSystemConnectorImpl implements TaskanaConnector {
 
     List<ReferencedTask> result = new ArrayList<>();
 
+    Map<String, Task> taskanaTasks =
+        taskanaTaskProjectionReader.readTasks(
+            requestedTasks.stream().map(TaskSummary::getId).collect(Collectors.toList()));
+
     for (TaskSummary taskSummary : requestedTasks) {
-      try {
-        Task taskanaTask = taskService.getTask(taskSummary.getId());
-        Map<String, String> callbackInfo = taskanaTask.getCallbackInfo();
-        if (callbackInfo != null
-            && callbackInfo.get(REFERENCED_TASK_ID) != null
-            && callbackInfo.get(SYSTEM_URL) != null) {
-          result.add(taskInformationMapper.convertToReferencedTask(taskanaTask));
-        }
-      } catch (TaskNotFoundException | NotAuthorizedOnWorkbasketException e) {
-        LOGGER.error("Caught {} when trying to retrieve requested taskana tasks.", e, e);
+      Task taskanaTask = taskanaTasks.get(taskSummary.getId());
+      if (taskanaTask == null) {
+        LOGGER.error("Requested taskana task {} doesn't exist anymore.", taskSummary.getId());
+        continue;
+      }
+      Map<String, String> callbackInfo = taskanaTask.getCallbackInfo();
+      if (callbackInfo != null
+          && callbackInfo.get(REFERENCED_TASK_ID) != null
+          && callbackInfo.get(SYSTEM_URL) != null) {
+        result.add(taskInformationMapper.convertToReferencedTask(taskanaTask));
       }
     }
 
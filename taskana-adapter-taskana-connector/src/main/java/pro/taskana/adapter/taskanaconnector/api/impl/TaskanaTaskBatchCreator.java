@@ -0,0 +1,117 @@
+package pro.taskana.adapter.taskanaconnector.api.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pro.taskana.TaskanaConfiguration;
+import pro.taskana.adapter.exceptions.TaskCreationFailedException;
+import pro.taskana.common.api.TaskanaEngine;
+import pro.taskana.common.api.TaskanaEngine.ConnectionManagementMode;
+import pro.taskana.common.api.exceptions.TaskanaException;
+import pro.taskana.task.api.models.Task;
+
+/**
+ * Creates a page of TASKANA tasks within one transaction, so that the page costs one commit instead
+ * of one commit per task. It uses its own TASKANA engine in the explicit connection management
+ * mode, because setting a connection on the engine that is shared by the other services of the
+ * adapter would affect them, too. The creation of each task is guarded by a savepoint, so that a
+ * failing task doesn't roll back the others.
+ *
+ * <p>An engine in the explicit connection management mode holds the connection of one transaction,
+ * so it is used by one caller at a time. The pages of different systems are created concurrently
+ * with engines of their own, which are kept for the next pages. The number of engines therefore
+ * grows up to the number of concurrent callers, i.e. the number of systems of the task starter.
+ */
+@Component
+public class TaskanaTaskBatchCreator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TaskanaTaskBatchCreator.class);
+
+  @Autowired private TaskanaConfiguration taskanaConfiguration;
+
+  private final ConcurrentLinkedDeque<TaskanaEngine> idleTaskanaEngines =
+      new ConcurrentLinkedDeque<>();
+  private TaskanaConfiguration batchConfiguration;
+
+  /**
+   * Creates the given tasks and commits them together.
+   *
+   * @param taskanaTasks the tasks to create
+   * @return the exceptions of the tasks which couldn't be created, mapped by their external id
+   * @throws SQLException if the transaction couldn't be committed. None of the tasks was created
+   *     in this case.
+   */
+  public Map<String, TaskCreationFailedException> createTasks(List<Task> taskanaTasks)
+      throws SQLException {
+
+    TaskanaEngine engine = acquireTaskanaEngine();
+    try {
+      return createTasks(engine, taskanaTasks);
+    } finally {
+      idleTaskanaEngines.push(engine);
+    }
+  }
+
+  private Map<String, TaskCreationFailedException> createTasks(
+      TaskanaEngine engine, List<Task> taskanaTasks) throws SQLException {
+
+    Map<String, TaskCreationFailedException> failedTasks = new HashMap<>();
+
+    try (Connection connection = taskanaConfiguration.getDataSource().getConnection()) {
+      engine.setConnection(connection);
+      try {
+        for (Task taskanaTask : taskanaTasks) {
+          Savepoint savepoint = connection.setSavepoint();
+          try {
+            engine.getTaskService().createTask(taskanaTask);
+          } catch (TaskanaException | RuntimeException e) {
+            connection.rollback(savepoint);
+            failedTasks.put(
+                taskanaTask.getExternalId(),
+                new TaskCreationFailedException(taskanaTask.getExternalId(), e));
+          }
+        }
+        connection.commit();
+      } catch (SQLException | RuntimeException e) {
+        connection.rollback();
+        throw e;
+      } finally {
+        engine.closeConnection();
+      }
+    }
+
+    LOGGER.debug(
+        "Created {} of {} taskana tasks in one transaction",
+        taskanaTasks.size() - failedTasks.size(),
+        taskanaTasks.size());
+
+    return failedTasks;
+  }
+
+  private TaskanaEngine acquireTaskanaEngine() throws SQLException {
+    TaskanaEngine engine = idleTaskanaEngines.poll();
+    if (engine != null) {
+      return engine;
+    }
+    LOGGER.debug("All taskana engines of the batch creation are in use, building another one");
+    return TaskanaEngine.buildTaskanaEngine(
+        getBatchConfiguration(), ConnectionManagementMode.EXPLICIT);
+  }
+
+  private synchronized TaskanaConfiguration getBatchConfiguration() {
+    if (batchConfiguration == null) {
+      // the jobs are already scheduled by the engine that is shared by the other services
+      batchConfiguration =
+          new TaskanaConfiguration.Builder(taskanaConfiguration).jobSchedulerEnabled(false).build();
+    }
+    return batchConfiguration;
+  }
+}
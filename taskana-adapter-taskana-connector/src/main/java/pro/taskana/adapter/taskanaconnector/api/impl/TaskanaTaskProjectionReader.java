@@ -0,0 +1,86 @@
+package pro.taskana.adapter.taskanaconnector.api.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import pro.taskana.TaskanaConfiguration;
+import pro.taskana.task.api.models.Task;
+import pro.taskana.task.internal.models.TaskImpl;
+
+/**
+ * Reads the fields of TASKANA tasks that are needed to convert them to ReferencedTasks. Loading
+ * the full tasks via the TaskService would cost one query per task, including attachments,
+ * classification and workbasket, which are not needed by the adapter.
+ */
+@Component
+public class TaskanaTaskProjectionReader {
+
+  static final int MAX_NUMBER_OF_IDS_PER_QUERY = 500;
+
+  private static final String SQL_GET_TASKS =
+      "SELECT ID, EXTERNAL_ID, NAME, DESCRIPTION, OWNER, CALLBACK_INFO, CUSTOM_ATTRIBUTES "
+          + "FROM %s.TASK WHERE ID IN (:ids)";
+
+  @Autowired private TaskanaConfiguration taskanaConfiguration;
+
+  /**
+   * Reads the tasks with the given ids. The tasks only contain the id, the external id, the name,
+   * the description, the owner, the callback info and the custom attributes.
+   *
+   * @param taskIds the ids of the tasks to read
+   * @return the tasks mapped by their id. Ids without a task are missing.
+   */
+  public Map<String, Task> readTasks(List<String> taskIds) {
+
+    Map<String, Task> tasks = new HashMap<>();
+
+    NamedParameterJdbcTemplate jdbcTemplate =
+        new NamedParameterJdbcTemplate(taskanaConfiguration.getDataSource());
+    String sql = String.format(SQL_GET_TASKS, taskanaConfiguration.getSchemaName());
+
+    for (int from = 0; from < taskIds.size(); from += MAX_NUMBER_OF_IDS_PER_QUERY) {
+
+      List<String> taskIdsOfQuery =
+          taskIds.subList(from, Math.min(from + MAX_NUMBER_OF_IDS_PER_QUERY, taskIds.size()));
+
+      jdbcTemplate
+          .query(sql, new MapSqlParameterSource("ids", taskIdsOfQuery), this::mapTask)
+          .forEach(task -> tasks.put(task.getId(), task));
+    }
+
+    return tasks;
+  }
+
+  private Task mapTask(ResultSet resultSet, int rowNum) throws SQLException {
+
+    TaskImpl task = new TaskImpl();
+    task.setId(resultSet.getString(1));
+    task.setExternalId(resultSet.getString(2));
+    task.setName(resultSet.getString(3));
+    task.setDescription(resultSet.getString(4));
+    task.setOwner(resultSet.getString(5));
+    task.setCallbackInfo(readMap(resultSet.getString(6)));
+    task.setCustomAttributes(readMap(resultSet.getString(7)));
+    return task;
+  }
+
+  // TASKANA stores these maps as JSON objects
+  private Map<String, String> readMap(String json) {
+
+    Map<String, String> map = new HashMap<>();
+
+    if (json != null && !json.isEmpty()) {
+      JSONObject jsonObject = new JSONObject(json);
+      jsonObject.keySet().forEach(key -> map.put(key, String.valueOf(jsonObject.get(key))));
+    }
+
+    return map;
+  }
+}
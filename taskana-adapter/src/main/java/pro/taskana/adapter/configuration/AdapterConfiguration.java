@@ -13,6 +13,8 @@ import pro.taskana.adapter.impl.ReferencedTaskCompleter;
 import pro.taskana.adapter.impl.TaskanaTaskStarter;
 import pro.taskana.adapter.impl.TaskanaTaskTerminator;
 import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.metrics.AdapterMetrics;
 
 /** Configures the adapter. */
 @EnableScheduling
@@ -29,6 +31,18 @@ public class AdapterConfiguration {
     return new AdapterManager();
   }
 
+  @Bean
+  @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+  public ClusterLockManager clusterLockManager() {
+    return new ClusterLockManager();
+  }
+
+  @Bean
+  @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+  public AdapterMetrics adapterMetrics() {
+    return new AdapterMetrics();
+  }
+
   @Bean
   @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
   public ReferencedTaskCompleter referencedTaskCompleter() {
@@ -1,21 +1,31 @@
 package pro.taskana.adapter.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import pro.taskana.adapter.util.ThreadFactories;
 
 /**
  * Configures the scheduler. Per default all @scheduled methods share a single thread. To provide a
  * unique thread per @scheduled method, we configure here 10 threads for the @scheduled methods.
+ * With taskana.adapter.virtual-threads.enabled these threads are virtual threads on Java 21+.
  */
 @Configuration
 public class SchedulerConfiguration implements SchedulingConfigurer {
 
+  @Value("${taskana.adapter.virtual-threads.enabled:false}")
+  private boolean virtualThreadsEnabled;
+
   @Override
   public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
     ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
     taskScheduler.setPoolSize(10);
+    if (virtualThreadsEnabled) {
+      taskScheduler.setThreadFactory(
+          ThreadFactories.newThreadFactory("taskana-adapter-scheduler-", true));
+    }
     taskScheduler.initialize();
     taskRegistrar.setTaskScheduler(taskScheduler);
   }
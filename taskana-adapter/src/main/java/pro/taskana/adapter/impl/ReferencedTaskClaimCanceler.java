@@ -9,6 +9,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.metrics.AdapterMetrics;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
 import pro.taskana.adapter.systemconnector.api.SystemConnector;
 import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
@@ -22,12 +24,26 @@ import pro.taskana.task.api.CallbackState;
 public class ReferencedTaskClaimCanceler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReferencedTaskClaimCanceler.class);
+  private static final String LOCK_NAME = ReferencedTaskClaimCanceler.class.getSimpleName();
+  private static final String JOB = "referenced-task-claim-canceler";
 
   @Value("${taskana.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value("${taskana.adapter.callback.page.size:500}")
+  protected int callbackPageSize;
+
+  @Value("${taskana.adapter.callback.max.tasks.per.run:5000}")
+  protected int callbackMaxTasksPerRun;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired ClusterLockManager clusterLockManager;
+
+  @Autowired AdapterMetrics adapterMetrics;
+
+  private ReferencedTaskPager referencedTaskPager;
+
   @Scheduled(
       fixedRateString =
           "${taskana.adapter.scheduler.run.interval.for.cancel.claim.referenced.tasks."
@@ -35,7 +51,7 @@ public class ReferencedTaskClaimCanceler {
   public void retrieveCancelledClaimTaskanaTasksAndCancelClaimCorrespondingReferencedTasks() {
 
     synchronized (ReferencedTaskClaimCanceler.class) {
-      if (!adapterManager.isInitialized()) {
+      if (!adapterManager.isInitialized() || !clusterLockManager.tryAcquire(LOCK_NAME)) {
         return;
       }
 
@@ -56,17 +72,23 @@ public class ReferencedTaskClaimCanceler {
 
   public void retrieveCancelledClaimTaskanaTasksAndCancelClaimCorrespondingReferencedTask() {
 
+    long cycleStart = System.nanoTime();
     try {
       TaskanaConnector taskanaSystemConnector = adapterManager.getTaskanaConnector();
 
-      List<ReferencedTask> tasksCancelClaimedByTaskana =
-          taskanaSystemConnector.retrieveCancelledClaimTaskanaTasksAsReferencedTasks();
-      List<ReferencedTask> tasksCancelClaimedInExternalSystem =
-          cancelClaimReferencedTasksInExternalSystem(tasksCancelClaimedByTaskana);
-
-      taskanaSystemConnector.changeTaskCallbackState(
-          tasksCancelClaimedInExternalSystem, CallbackState.CALLBACK_PROCESSING_REQUIRED);
+      getReferencedTaskPager()
+          .processPages(
+              taskanaSystemConnector::retrieveCancelledClaimTaskanaTasksAsReferencedTasks,
+              tasksCancelClaimedByTaskana -> {
+                List<ReferencedTask> tasksCancelClaimedInExternalSystem =
+                    cancelClaimReferencedTasksInExternalSystem(tasksCancelClaimedByTaskana);
+                taskanaSystemConnector.changeTaskCallbackState(
+                    tasksCancelClaimedInExternalSystem,
+                    CallbackState.CALLBACK_PROCESSING_REQUIRED);
+                return tasksCancelClaimedInExternalSystem;
+              });
     } finally {
+      adapterMetrics.recordCycle(JOB, AdapterMetrics.ALL_SYSTEMS, null, cycleStart);
       LOGGER.trace(
           "ReferencedTaskClaimer."
               + "retrieveCancelledClaimTaskanaTasksAndCancel"
@@ -91,11 +113,14 @@ public class ReferencedTaskClaimCanceler {
     LOGGER.trace(
         "ENTRY to ReferencedTaskClaimer.cancelClaimReferencedTask, TaskId = {} ",
         referencedTask.getId());
+    long start = System.nanoTime();
+    String engine = null;
     boolean success = false;
     try {
       SystemConnector connector =
           adapterManager.getSystemConnectors().get(referencedTask.getSystemUrl());
       if (connector != null) {
+        engine = connector.getSystemIdentifier();
         connector.cancelClaimReferencedTask(referencedTask);
         success = true;
       } else {
@@ -108,9 +133,23 @@ public class ReferencedTaskClaimCanceler {
           ex,
           referencedTask);
     }
+    adapterMetrics.recordFetchedItems(JOB, referencedTask.getSystemUrl(), engine, 1);
+    adapterMetrics.recordProcessedItems(
+        JOB, referencedTask.getSystemUrl(), engine, success ? 1 : 0, success ? 0 : 1, start);
     LOGGER.trace(
         "Exit from ReferencedTaskClaimerCanceller.cancelClaimReferencedTask, Success = {} ",
         success);
     return success;
   }
+
+  private ReferencedTaskPager getReferencedTaskPager() {
+    if (referencedTaskPager == null) {
+      referencedTaskPager =
+          new ReferencedTaskPager(
+              callbackPageSize,
+              callbackMaxTasksPerRun,
+              () -> clusterLockManager.isLockHeld(LOCK_NAME));
+    }
+    return referencedTaskPager;
+  }
 }
@@ -9,6 +9,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.metrics.AdapterMetrics;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
 import pro.taskana.adapter.systemconnector.api.SystemConnector;
 import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
@@ -20,12 +22,26 @@ import pro.taskana.task.api.CallbackState;
 public class ReferencedTaskClaimer {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReferencedTaskClaimer.class);
+  private static final String LOCK_NAME = ReferencedTaskClaimer.class.getSimpleName();
+  private static final String JOB = "referenced-task-claimer";
 
   @Value("${taskana.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value("${taskana.adapter.callback.page.size:500}")
+  protected int callbackPageSize;
+
+  @Value("${taskana.adapter.callback.max.tasks.per.run:5000}")
+  protected int callbackMaxTasksPerRun;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired ClusterLockManager clusterLockManager;
+
+  @Autowired AdapterMetrics adapterMetrics;
+
+  private ReferencedTaskPager referencedTaskPager;
+
   @Scheduled(
       fixedRateString =
           "${taskana.adapter.scheduler.run.interval.for.claim.referenced.tasks."
@@ -33,7 +49,7 @@ public class ReferencedTaskClaimer {
   public void retrieveClaimedTaskanaTasksAndClaimCorrespondingReferencedTasks() {
 
     synchronized (ReferencedTaskClaimer.class) {
-      if (!adapterManager.isInitialized()) {
+      if (!adapterManager.isInitialized() || !clusterLockManager.tryAcquire(LOCK_NAME)) {
         return;
       }
 
@@ -57,17 +73,22 @@ public class ReferencedTaskClaimer {
     LOGGER.trace(
         "ReferencedTaskClaimer."
             + "retrieveClaimedTaskanaTasksAndClaimCorrespondingReferencedTask ENTRY");
+    long cycleStart = System.nanoTime();
     try {
       TaskanaConnector taskanaSystemConnector = adapterManager.getTaskanaConnector();
 
-      List<ReferencedTask> tasksClaimedByTaskana =
-          taskanaSystemConnector.retrieveClaimedTaskanaTasksAsReferencedTasks();
-      List<ReferencedTask> tasksClaimedInExternalSystem =
-          claimReferencedTasksInExternalSystem(tasksClaimedByTaskana);
-
-      taskanaSystemConnector.changeTaskCallbackState(
-          tasksClaimedInExternalSystem, CallbackState.CLAIMED);
+      getReferencedTaskPager()
+          .processPages(
+              taskanaSystemConnector::retrieveClaimedTaskanaTasksAsReferencedTasks,
+              tasksClaimedByTaskana -> {
+                List<ReferencedTask> tasksClaimedInExternalSystem =
+                    claimReferencedTasksInExternalSystem(tasksClaimedByTaskana);
+                taskanaSystemConnector.changeTaskCallbackState(
+                    tasksClaimedInExternalSystem, CallbackState.CLAIMED);
+                return tasksClaimedInExternalSystem;
+              });
     } finally {
+      adapterMetrics.recordCycle(JOB, AdapterMetrics.ALL_SYSTEMS, null, cycleStart);
       LOGGER.trace(
           "ReferencedTaskClaimer."
               + "retrieveClaimedTaskanaTasksAndClaimCorrespondingReferencedTask EXIT ");
@@ -89,11 +110,14 @@ public class ReferencedTaskClaimer {
   private boolean claimReferencedTask(ReferencedTask referencedTask) {
     LOGGER.trace(
         "ENTRY to ReferencedTaskClaimer.claimReferencedTask, TaskId = {} ", referencedTask.getId());
+    long start = System.nanoTime();
+    String engine = null;
     boolean success = false;
     try {
       SystemConnector connector =
           adapterManager.getSystemConnectors().get(referencedTask.getSystemUrl());
       if (connector != null) {
+        engine = connector.getSystemIdentifier();
         connector.claimReferencedTask(referencedTask);
         success = true;
       } else {
@@ -103,7 +127,21 @@ public class ReferencedTaskClaimer {
     } catch (Exception ex) {
       LOGGER.error("Caught {} when attempting to claim referenced task {}", ex, referencedTask);
     }
+    adapterMetrics.recordFetchedItems(JOB, referencedTask.getSystemUrl(), engine, 1);
+    adapterMetrics.recordProcessedItems(
+        JOB, referencedTask.getSystemUrl(), engine, success ? 1 : 0, success ? 0 : 1, start);
     LOGGER.trace("Exit from ReferencedTaskClaimer.claimReferencedTask, Success = {} ", success);
     return success;
   }
+
+  private ReferencedTaskPager getReferencedTaskPager() {
+    if (referencedTaskPager == null) {
+      referencedTaskPager =
+          new ReferencedTaskPager(
+              callbackPageSize,
+              callbackMaxTasksPerRun,
+              () -> clusterLockManager.isLockHeld(LOCK_NAME));
+    }
+    return referencedTaskPager;
+  }
 }
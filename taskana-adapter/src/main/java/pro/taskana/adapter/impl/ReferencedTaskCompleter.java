@@ -1,7 +1,9 @@
 package pro.taskana.adapter.impl;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +11,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.metrics.AdapterMetrics;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
 import pro.taskana.adapter.systemconnector.api.SystemConnector;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
 import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
 import pro.taskana.common.api.exceptions.SystemException;
 import pro.taskana.task.api.CallbackState;
@@ -22,12 +27,26 @@ import pro.taskana.task.api.CallbackState;
 public class ReferencedTaskCompleter {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ReferencedTaskCompleter.class);
+  private static final String LOCK_NAME = ReferencedTaskCompleter.class.getSimpleName();
+  private static final String JOB = "referenced-task-completer";
 
   @Value("${taskana.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value("${taskana.adapter.callback.page.size:500}")
+  protected int callbackPageSize;
+
+  @Value("${taskana.adapter.callback.max.tasks.per.run:5000}")
+  protected int callbackMaxTasksPerRun;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired ClusterLockManager clusterLockManager;
+
+  @Autowired AdapterMetrics adapterMetrics;
+
+  private ReferencedTaskPager referencedTaskPager;
+
   @Scheduled(
       fixedRateString =
           "${taskana.adapter.scheduler.run.interval.for.complete.referenced.tasks."
@@ -35,7 +54,7 @@ public class ReferencedTaskCompleter {
   public void retrieveFinishedTaskanaTasksAndCompleteCorrespondingReferencedTasks() {
 
     synchronized (ReferencedTaskCompleter.class) {
-      if (!adapterManager.isInitialized()) {
+      if (!adapterManager.isInitialized() || !clusterLockManager.tryAcquire(LOCK_NAME)) {
         return;
       }
 
@@ -58,17 +77,22 @@ public class ReferencedTaskCompleter {
     LOGGER.trace(
         "ReferencedTaskCompleter."
             + "retrieveFinishedTaskanaTasksAndCompleteCorrespondingReferencedTask ENTRY");
+    long cycleStart = System.nanoTime();
     try {
       TaskanaConnector taskanaSystemConnector = adapterManager.getTaskanaConnector();
 
-      List<ReferencedTask> tasksCompletedByTaskana =
-          taskanaSystemConnector.retrieveFinishedTaskanaTasksAsReferencedTasks();
-      List<ReferencedTask> tasksCompletedInExternalSystem =
-          completeReferencedTasksInExternalSystem(tasksCompletedByTaskana);
-
-      taskanaSystemConnector.changeTaskCallbackState(
-          tasksCompletedInExternalSystem, CallbackState.CALLBACK_PROCESSING_COMPLETED);
+      getReferencedTaskPager()
+          .processPages(
+              taskanaSystemConnector::retrieveFinishedTaskanaTasksAsReferencedTasks,
+              tasksCompletedByTaskana -> {
+                List<ReferencedTask> tasksCompletedInExternalSystem =
+                    completeReferencedTasksInExternalSystem(tasksCompletedByTaskana);
+                taskanaSystemConnector.changeTaskCallbackState(
+                    tasksCompletedInExternalSystem, CallbackState.CALLBACK_PROCESSING_COMPLETED);
+                return tasksCompletedInExternalSystem;
+              });
     } finally {
+      adapterMetrics.recordCycle(JOB, AdapterMetrics.ALL_SYSTEMS, null, cycleStart);
       LOGGER.trace(
           "ReferencedTaskCompleter."
               + "retrieveFinishedTaskanaTasksAndCompleteCorrespondingReferencedTask EXIT ");
@@ -101,12 +125,80 @@ public class ReferencedTaskCompleter {
 
   private List<ReferencedTask> completeReferencedTasksInExternalSystem(
       List<ReferencedTask> tasksCompletedByTaskana) {
-    List<ReferencedTask> tasksCompletedInExternalSystem = new ArrayList<>();
+
+    Map<String, List<ReferencedTask>> tasksCompletedByTaskanaPerSystemUrl = new LinkedHashMap<>();
     for (ReferencedTask referencedTask : tasksCompletedByTaskana) {
-      if (completeReferencedTask(referencedTask)) {
-        tasksCompletedInExternalSystem.add(referencedTask);
+      tasksCompletedByTaskanaPerSystemUrl
+          .computeIfAbsent(referencedTask.getSystemUrl(), systemUrl -> new ArrayList<>())
+          .add(referencedTask);
+    }
+
+    List<ReferencedTask> tasksCompletedInExternalSystem = new ArrayList<>();
+    tasksCompletedByTaskanaPerSystemUrl.forEach(
+        (systemUrl, referencedTasks) ->
+            tasksCompletedInExternalSystem.addAll(
+                completeReferencedTasksOfSystem(systemUrl, referencedTasks)));
+
+    return tasksCompletedInExternalSystem;
+  }
+
+  private List<ReferencedTask> completeReferencedTasksOfSystem(
+      String systemUrl, List<ReferencedTask> referencedTasks) {
+
+    List<ReferencedTask> tasksCompletedInExternalSystem = new ArrayList<>();
+    long completionStart = System.nanoTime();
+
+    SystemConnector connector = adapterManager.getSystemConnectors().get(systemUrl);
+    if (connector == null) {
+      LOGGER.error(
+          "Caught exception when attempting to complete referenced tasks {}",
+          referencedTasks,
+          new SystemException("couldnt find a connector for systemUrl " + systemUrl));
+      adapterMetrics.recordFetchedItems(JOB, systemUrl, null, referencedTasks.size());
+      adapterMetrics.recordProcessedItems(
+          JOB, systemUrl, null, 0, referencedTasks.size(), completionStart);
+      return tasksCompletedInExternalSystem;
+    }
+    String engine = connector.getSystemIdentifier();
+    adapterMetrics.recordFetchedItems(JOB, systemUrl, engine, referencedTasks.size());
+
+    try {
+      Map<String, SystemResponse> responses = connector.completeReferencedTasks(referencedTasks);
+
+      for (ReferencedTask referencedTask : referencedTasks) {
+        SystemResponse response = responses.get(referencedTask.getId());
+        if (response != null && response.getThrowable() == null) {
+          tasksCompletedInExternalSystem.add(referencedTask);
+        } else {
+          LOGGER.error(
+              "Caught exception when attempting to complete referenced task {}",
+              referencedTask,
+              response == null ? null : response.getThrowable());
+        }
       }
+    } catch (Exception ex) {
+      LOGGER.error(
+          "Caught exception when attempting to complete referenced tasks {}", referencedTasks, ex);
     }
+
+    adapterMetrics.recordProcessedItems(
+        JOB,
+        systemUrl,
+        engine,
+        tasksCompletedInExternalSystem.size(),
+        referencedTasks.size() - tasksCompletedInExternalSystem.size(),
+        completionStart);
     return tasksCompletedInExternalSystem;
   }
+
+  private ReferencedTaskPager getReferencedTaskPager() {
+    if (referencedTaskPager == null) {
+      referencedTaskPager =
+          new ReferencedTaskPager(
+              callbackPageSize,
+              callbackMaxTasksPerRun,
+              () -> clusterLockManager.isLockHeld(LOCK_NAME));
+    }
+    return referencedTaskPager;
+  }
 }
@@ -0,0 +1,72 @@
+package pro.taskana.adapter.impl;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.taskanaconnector.api.ReferencedTaskPage;
+
+/**
+ * Processes ReferencedTasks page by page, so that a large backlog neither has to be held in memory
+ * at once nor extends a single run indefinitely. Processed tasks are expected to leave the queried
+ * result, which is why only the tasks that couldn't be processed move the offset forward. This
+ * includes the tasks the page retriever left out of the ReferencedTasks of a page, since they stay
+ * in the queried result as well. Whether a page is the last one is decided by the number of
+ * retrieved tasks rather than by the number of ReferencedTasks for the same reason. A run that
+ * exhausts its budget is resumed at the same offset by the next run. A run also stops as soon as
+ * its continuation condition fails, e.g. because this instance lost the lock of its job.
+ */
+class ReferencedTaskPager {
+
+  private final int pageSize;
+  private final int maxNumberOfTasksPerRun;
+  private final BooleanSupplier continuationCondition;
+  private int nextOffset = 0;
+
+  ReferencedTaskPager(int pageSize, int maxNumberOfTasksPerRun) {
+    this(pageSize, maxNumberOfTasksPerRun, () -> true);
+  }
+
+  ReferencedTaskPager(
+      int pageSize, int maxNumberOfTasksPerRun, BooleanSupplier continuationCondition) {
+    this.pageSize = Math.max(1, pageSize);
+    this.maxNumberOfTasksPerRun = Math.max(1, maxNumberOfTasksPerRun);
+    this.continuationCondition = continuationCondition;
+  }
+
+  /**
+   * Retrieves and processes pages of ReferencedTasks until there are no more tasks or the budget
+   * of this run is exhausted.
+   *
+   * @param pageRetriever retrieves the page of tasks for an offset and a limit
+   * @param pageProcessor processes the tasks of a page and returns the successfully processed ones
+   */
+  void processPages(
+      BiFunction<Integer, Integer, ReferencedTaskPage> pageRetriever,
+      Function<List<ReferencedTask>, List<ReferencedTask>> pageProcessor) {
+
+    int offset = nextOffset;
+    int numberOfRetrievedTasks = 0;
+
+    while (numberOfRetrievedTasks < maxNumberOfTasksPerRun
+        && continuationCondition.getAsBoolean()) {
+
+      int limit = Math.min(pageSize, maxNumberOfTasksPerRun - numberOfRetrievedTasks);
+      ReferencedTaskPage page = pageRetriever.apply(offset, limit);
+      List<ReferencedTask> referencedTasks = page.getReferencedTasks();
+      List<ReferencedTask> processedTasks =
+          referencedTasks.isEmpty() ? referencedTasks : pageProcessor.apply(referencedTasks);
+
+      numberOfRetrievedTasks += page.getNumberOfRetrievedTasks();
+
+      if (page.getNumberOfRetrievedTasks() < limit) {
+        nextOffset = 0;
+        return;
+      }
+
+      offset += page.getNumberOfRetrievedTasks() - processedTasks.size();
+      nextOffset = offset;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package pro.taskana.adapter.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pro.taskana.adapter.systemconnector.api.SystemConnector;
+import pro.taskana.adapter.util.ThreadFactories;
+
+/**
+ * Runs the cycles of a scheduled job on a worker thread per SystemConnector. A system that responds
+ * slowly or not at all therefore only delays its own cycles, while the other systems are processed
+ * in parallel at their regular rate. A new cycle of a system is skipped as long as its previous
+ * cycle is still running.
+ */
+class SystemConnectorWorkers {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SystemConnectorWorkers.class);
+
+  private final String name;
+  private final ThreadFactory threadFactory;
+  private final Map<String, ExecutorService> executors = new ConcurrentHashMap<>();
+  private final Set<String> systemUrlsWithRunningCycle = ConcurrentHashMap.newKeySet();
+
+  SystemConnectorWorkers(String name, boolean virtualThreadsEnabled) {
+    this.name = name;
+    this.threadFactory = ThreadFactories.newThreadFactory(name + "-worker-", virtualThreadsEnabled);
+  }
+
+  /**
+   * Starts a cycle for each of the given SystemConnectors whose previous cycle has finished.
+   *
+   * @param systemConnectors the SystemConnectors to start a cycle for
+   * @param cycle the work of one cycle for a SystemConnector
+   */
+  void startCycles(Collection<SystemConnector> systemConnectors, Consumer<SystemConnector> cycle) {
+
+    for (SystemConnector systemConnector : systemConnectors) {
+      String systemUrl = systemConnector.getSystemUrl();
+
+      if (!systemUrlsWithRunningCycle.add(systemUrl)) {
+        LOGGER.debug(
+            "Skipping {} cycle for system {}, its previous cycle is still running",
+            name,
+            systemUrl);
+        continue;
+      }
+
+      try {
+        getExecutor(systemUrl)
+            .execute(
+                () -> {
+                  try {
+                    cycle.accept(systemConnector);
+                  } catch (Exception e) {
+                    LOGGER.warn(
+                        "Caught exception during {} cycle for system {}", name, systemUrl, e);
+                  } finally {
+                    systemUrlsWithRunningCycle.remove(systemUrl);
+                  }
+                });
+      } catch (RejectedExecutionException e) {
+        systemUrlsWithRunningCycle.remove(systemUrl);
+        throw e;
+      }
+    }
+  }
+
+  private ExecutorService getExecutor(String systemUrl) {
+    return executors.computeIfAbsent(
+        systemUrl, url -> Executors.newSingleThreadExecutor(threadFactory));
+  }
+}
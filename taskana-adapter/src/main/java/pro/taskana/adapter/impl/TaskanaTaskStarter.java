@@ -1,7 +1,11 @@
 package pro.taskana.adapter.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +14,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import pro.taskana.adapter.exceptions.TaskCreationFailedException;
 import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.manager.ClusterShard;
+import pro.taskana.adapter.metrics.AdapterMetrics;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
 import pro.taskana.adapter.systemconnector.api.SystemConnector;
 import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
@@ -21,12 +28,26 @@ import pro.taskana.task.api.models.Task;
 public class TaskanaTaskStarter {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TaskanaTaskStarter.class);
+  private static final String LOCK_NAME_PREFIX = TaskanaTaskStarter.class.getSimpleName() + ":";
+  private static final String JOB = "taskana-task-starter";
 
   @Value("${taskana.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value("${taskana.adapter.creation.page.size:100}")
+  protected int creationPageSize;
+
+  @Value("${taskana.adapter.virtual-threads.enabled:false}")
+  protected boolean virtualThreadsEnabled;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired ClusterLockManager clusterLockManager;
+
+  @Autowired AdapterMetrics adapterMetrics;
+
+  private SystemConnectorWorkers systemConnectorWorkers;
+
   @Scheduled(
       fixedRateString =
           "${taskana.adapter.scheduler.run.interval.for.start.taskana.tasks.in.milliseconds:5000}")
@@ -41,40 +62,75 @@ public class TaskanaTaskStarter {
 
       LOGGER.debug(
           "-retrieveNewReferencedTasksAndCreateCorrespondingTaskanaTasks started---------------");
-      try {
-        UserContext.runAsUser(
-            runAsUser,
-            () -> {
-              retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks();
-              return null;
-            });
-      } catch (Exception ex) {
-        LOGGER.error(
-            "Caught exception while trying to create Taskana tasks from referenced tasks", ex);
-      }
+      // each system is processed by a worker of its own, so that a slow system doesn't delay
+      // the others
+      getSystemConnectorWorkers()
+          .startCycles(
+              adapterManager.getSystemConnectors().values(),
+              systemConnector -> {
+                // with sharding, the systems are processed by all instances, each for its shard
+                if (!clusterLockManager.isShardingEnabled()
+                    && !clusterLockManager.tryAcquire(getLockName(systemConnector))) {
+                  return;
+                }
+                try {
+                  UserContext.runAsUser(
+                      runAsUser,
+                      () -> {
+                        retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(systemConnector);
+                        return null;
+                      });
+                } catch (Exception ex) {
+                  LOGGER.error(
+                      "Caught exception while trying to create Taskana tasks from referenced tasks",
+                      ex);
+                }
+              });
     }
   }
 
   public void retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks() {
+    for (SystemConnector systemConnector : (adapterManager.getSystemConnectors().values())) {
+      retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(systemConnector);
+    }
+  }
+
+  public void retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(
+      SystemConnector systemConnector) {
     LOGGER.trace(
         "TaskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks ENTRY ");
-    for (SystemConnector systemConnector : (adapterManager.getSystemConnectors().values())) {
-      try {
+    String systemUrl = systemConnector.getSystemUrl();
+    String engine = systemConnector.getSystemIdentifier();
+    long cycleStart = System.nanoTime();
+    try {
 
-        List<ReferencedTask> tasksToStart = systemConnector.retrieveNewStartedReferencedTasks();
+      // the tasks are only created as long as this instance keeps the shard they belong to
+      ClusterShard claimedShard = clusterLockManager.getShard();
+      List<ReferencedTask> tasksToStart =
+          retrieveNewStartedReferencedTasks(systemConnector, claimedShard);
+      adapterMetrics.recordFetchedItems(JOB, systemUrl, engine, tasksToStart.size());
 
-        List<ReferencedTask> newCreatedTasksInTaskana =
-            createAndStartTaskanaTasks(systemConnector, tasksToStart);
+      long creationStart = System.nanoTime();
+      List<ReferencedTask> newCreatedTasksInTaskana =
+          createAndStartTaskanaTasks(systemConnector, claimedShard, tasksToStart);
+      adapterMetrics.recordProcessedItems(
+          JOB,
+          systemUrl,
+          engine,
+          newCreatedTasksInTaskana.size(),
+          tasksToStart.size() - newCreatedTasksInTaskana.size(),
+          creationStart);
+      adapterMetrics.recordEventAges(JOB, systemUrl, engine, newCreatedTasksInTaskana);
 
-        systemConnector.taskanaTasksHaveBeenCreatedForNewReferencedTasks(newCreatedTasksInTaskana);
-      } finally {
-        if (LOGGER.isTraceEnabled()) {
-          LOGGER.trace(
-              String.format(
-                  "TaskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks "
-                      + "Leaving handling of new tasks for System Connector %s",
-                  systemConnector.getSystemUrl()));
-        }
+      systemConnector.taskanaTasksHaveBeenCreatedForNewReferencedTasks(newCreatedTasksInTaskana);
+    } finally {
+      adapterMetrics.recordCycle(JOB, systemUrl, engine, cycleStart);
+      if (LOGGER.isTraceEnabled()) {
+        LOGGER.trace(
+            String.format(
+                "TaskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks "
+                    + "Leaving handling of new tasks for System Connector %s",
+                systemConnector.getSystemUrl()));
       }
     }
   }
@@ -92,22 +148,46 @@ public class TaskanaTaskStarter {
   }
 
   private List<ReferencedTask> createAndStartTaskanaTasks(
+      SystemConnector systemConnector,
+      ClusterShard claimedShard,
+      List<ReferencedTask> tasksToStart) {
+    List<ReferencedTask> newCreatedTasksInTaskana = new ArrayList<>();
+    int pageSize = Math.max(1, creationPageSize);
+    for (int from = 0; from < tasksToStart.size(); from += pageSize) {
+      if (!isResponsibleFor(systemConnector, claimedShard)) {
+        LOGGER.warn(
+            "Stopped creating TaskanaTasks for system {}, this instance lost its lock or its shard",
+            systemConnector.getSystemUrl());
+        break;
+      }
+      newCreatedTasksInTaskana.addAll(
+          createAndStartTaskanaTasksOfPage(
+              systemConnector,
+              tasksToStart.subList(from, Math.min(from + pageSize, tasksToStart.size()))));
+    }
+    return newCreatedTasksInTaskana;
+  }
+
+  private List<ReferencedTask> createAndStartTaskanaTasksOfPage(
       SystemConnector systemConnector, List<ReferencedTask> tasksToStart) {
+    TaskanaConnector taskanaConnector = adapterManager.getTaskanaConnector();
+
+    Set<String> existingExternalIds = retrieveExistingExternalIds(taskanaConnector, tasksToStart);
+
     List<ReferencedTask> newCreatedTasksInTaskana = new ArrayList<>();
+    List<ReferencedTask> convertedTasks = new ArrayList<>();
+    List<Task> taskanaTasks = new ArrayList<>();
     for (ReferencedTask referencedTask : tasksToStart) {
-      try {
-        createTaskanaTask(referencedTask, adapterManager.getTaskanaConnector(), systemConnector);
+      referencedTask.setSystemUrl(systemConnector.getSystemUrl());
+      if (existingExternalIds.contains(referencedTask.getId())) {
+        LOGGER.debug("TaskanaTask for referencedTask {} already exists", referencedTask.getId());
         newCreatedTasksInTaskana.add(referencedTask);
-      } catch (TaskCreationFailedException e) {
-        if (e.getCause() instanceof TaskAlreadyExistException) {
-          newCreatedTasksInTaskana.add(referencedTask);
-        } else {
-          LOGGER.warn(
-              "caught Exception when attempting to start TaskanaTask for referencedTask {}",
-              referencedTask,
-              e);
-          systemConnector.taskanaTaskFailedToBeCreatedForNewReferencedTask(referencedTask, e);
-        }
+        continue;
+      }
+      try {
+        addVariablesToReferencedTask(referencedTask, systemConnector);
+        taskanaTasks.add(taskanaConnector.convertToTaskanaTask(referencedTask));
+        convertedTasks.add(referencedTask);
       } catch (Exception e) {
         LOGGER.warn(
             "caught unexpected Exception when attempting to start TaskanaTask "
@@ -117,9 +197,41 @@ public class TaskanaTaskStarter {
         systemConnector.taskanaTaskFailedToBeCreatedForNewReferencedTask(referencedTask, e);
       }
     }
+
+    if (taskanaTasks.isEmpty()) {
+      return newCreatedTasksInTaskana;
+    }
+
+    Map<String, TaskCreationFailedException> failedTasks =
+        taskanaConnector.createTaskanaTasks(taskanaTasks);
+
+    for (ReferencedTask referencedTask : convertedTasks) {
+      TaskCreationFailedException e = failedTasks.get(referencedTask.getId());
+      if (e == null || e.getCause() instanceof TaskAlreadyExistException) {
+        newCreatedTasksInTaskana.add(referencedTask);
+      } else {
+        LOGGER.warn(
+            "caught Exception when attempting to start TaskanaTask for referencedTask {}",
+            referencedTask,
+            e);
+        systemConnector.taskanaTaskFailedToBeCreatedForNewReferencedTask(referencedTask, e);
+      }
+    }
     return newCreatedTasksInTaskana;
   }
 
+  private Set<String> retrieveExistingExternalIds(
+      TaskanaConnector taskanaConnector, List<ReferencedTask> tasksToStart) {
+    // redelivered tasks are skipped before they are converted and created
+    try {
+      return taskanaConnector.retrieveExistingExternalIds(
+          tasksToStart.stream().map(ReferencedTask::getId).collect(Collectors.toList()));
+    } catch (Exception e) {
+      LOGGER.warn("caught Exception when attempting to retrieve existing TaskanaTasks", e);
+      return Collections.emptySet();
+    }
+  }
+
   private void addVariablesToReferencedTask(
       ReferencedTask referencedTask, SystemConnector connector) {
     if (referencedTask.getVariables() == null) {
@@ -137,4 +249,35 @@ public class TaskanaTaskStarter {
       return true;
     }
   }
+
+  private List<ReferencedTask> retrieveNewStartedReferencedTasks(
+      SystemConnector systemConnector, ClusterShard shard) {
+    if (!clusterLockManager.isShardingEnabled()) {
+      return systemConnector.retrieveNewStartedReferencedTasks();
+    }
+    if (shard == null) {
+      LOGGER.debug(
+          "Skipping system {}, this instance has no shard", systemConnector.getSystemUrl());
+      return Collections.emptyList();
+    }
+    return systemConnector.retrieveNewStartedReferencedTasks(shard.getShard(), shard.getShards());
+  }
+
+  private boolean isResponsibleFor(SystemConnector systemConnector, ClusterShard claimedShard) {
+    // after a rebalance the tasks of the claimed shard belong to another instance
+    return clusterLockManager.isShardingEnabled()
+        ? claimedShard != null && claimedShard.equals(clusterLockManager.getShard())
+        : clusterLockManager.isLockHeld(getLockName(systemConnector));
+  }
+
+  private static String getLockName(SystemConnector systemConnector) {
+    return LOCK_NAME_PREFIX + systemConnector.getSystemUrl();
+  }
+
+  private SystemConnectorWorkers getSystemConnectorWorkers() {
+    if (systemConnectorWorkers == null) {
+      systemConnectorWorkers = new SystemConnectorWorkers(JOB, virtualThreadsEnabled);
+    }
+    return systemConnectorWorkers;
+  }
 }
@@ -1,7 +1,8 @@
 package pro.taskana.adapter.impl;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +11,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import pro.taskana.adapter.exceptions.TaskTerminationFailedException;
 import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.manager.ClusterShard;
+import pro.taskana.adapter.metrics.AdapterMetrics;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
 import pro.taskana.adapter.systemconnector.api.SystemConnector;
 import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
@@ -19,12 +23,23 @@ import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
 public class TaskanaTaskTerminator {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TaskanaTaskTerminator.class);
+  private static final String LOCK_NAME_PREFIX = TaskanaTaskTerminator.class.getSimpleName() + ":";
+  private static final String JOB = "taskana-task-terminator";
 
   @Value("${taskana.adapter.run-as.user}")
   protected String runAsUser;
 
+  @Value("${taskana.adapter.virtual-threads.enabled:false}")
+  protected boolean virtualThreadsEnabled;
+
   @Autowired AdapterManager adapterManager;
 
+  @Autowired ClusterLockManager clusterLockManager;
+
+  @Autowired AdapterMetrics adapterMetrics;
+
+  private SystemConnectorWorkers systemConnectorWorkers;
+
   @Scheduled(
       fixedRateString =
           "${taskana.adapter.scheduler.run.interval.for.check.finished.referenced.tasks."
@@ -46,23 +61,32 @@ public class TaskanaTaskTerminator {
       LOGGER.debug(
           "--retrieveFinishedReferencedTasksAndTerminateCorrespondingTaskanaTasks started-----");
 
-      try {
-
-        for (SystemConnector systemConnector : (adapterManager.getSystemConnectors().values())) {
-          UserContext.runAsUser(
-              runAsUser,
-              () -> {
-                retrieveFinishededReferencedTasksAndTerminateCorrespondingTaskanaTasks(
-                    systemConnector);
-                return null;
+      // each system is processed by a worker of its own, so that a slow system doesn't delay
+      // the others
+      getSystemConnectorWorkers()
+          .startCycles(
+              adapterManager.getSystemConnectors().values(),
+              systemConnector -> {
+                // with sharding, the systems are processed by all instances, each for its shard
+                if (!clusterLockManager.isShardingEnabled()
+                    && !clusterLockManager.tryAcquire(getLockName(systemConnector))) {
+                  return;
+                }
+                try {
+                  UserContext.runAsUser(
+                      runAsUser,
+                      () -> {
+                        retrieveFinishededReferencedTasksAndTerminateCorrespondingTaskanaTasks(
+                            systemConnector);
+                        return null;
+                      });
+                } catch (Exception e) {
+                  LOGGER.warn(
+                      "caught exception while trying to retrieve "
+                          + "finished referenced tasks and terminate corresponding taskana tasks",
+                      e);
+                }
               });
-        }
-      } catch (Exception e) {
-        LOGGER.warn(
-            "caught exception while trying to retrieve "
-                + "finished referenced tasks and terminate corresponding taskana tasks",
-            e);
-      }
     }
   }
 
@@ -72,39 +96,100 @@ public class TaskanaTaskTerminator {
         "TaskanaTaskTerminator."
             + "retrieveFinishedReferencedTasksAndTerminateCorrespondingTaskanaTasks ENTRY ");
 
-    List<ReferencedTask> tasksSuccessfullyTerminatedInTaskana = new ArrayList<>();
-
+    String systemUrl = systemConnector.getSystemUrl();
+    String engine = systemConnector.getSystemIdentifier();
+    long cycleStart = System.nanoTime();
     try {
+      ClusterShard claimedShard = clusterLockManager.getShard();
       List<ReferencedTask> taskanaTasksToTerminate =
-          systemConnector.retrieveFinishedReferencedTasks();
-
-      for (ReferencedTask referencedTask : taskanaTasksToTerminate) {
-        try {
-          terminateTaskanaTask(referencedTask);
-          tasksSuccessfullyTerminatedInTaskana.add(referencedTask);
-        } catch (TaskTerminationFailedException ex) {
-          LOGGER.error(
-              "attempted to terminate task with external Id {} and caught exception",
-              referencedTask.getId(),
-              ex);
-        }
+          retrieveFinishedReferencedTasks(systemConnector, claimedShard);
+      adapterMetrics.recordFetchedItems(JOB, systemUrl, engine, taskanaTasksToTerminate.size());
+
+      if (!taskanaTasksToTerminate.isEmpty() && !isResponsibleFor(claimedShard)) {
+        // the events stay in the outbox for the instance that took over the shard
+        LOGGER.warn(
+            "Stopped terminating TaskanaTasks for system {}, the shard of this instance changed",
+            systemUrl);
+        return;
       }
+
+      long terminationStart = System.nanoTime();
+      Map<String, TaskTerminationFailedException> failedTasks =
+          terminateTaskanaTasks(taskanaTasksToTerminate);
+      adapterMetrics.recordProcessedItems(
+          JOB,
+          systemUrl,
+          engine,
+          taskanaTasksToTerminate.size() - failedTasks.size(),
+          failedTasks.size(),
+          terminationStart);
+      adapterMetrics.recordEventAges(
+          JOB,
+          systemUrl,
+          engine,
+          taskanaTasksToTerminate.stream()
+              .filter(referencedTask -> !failedTasks.containsKey(referencedTask.getId()))
+              .toList());
+
+      failedTasks.forEach(
+          (externalId, ex) ->
+              LOGGER.error(
+                  "attempted to terminate task with external Id {} and caught exception",
+                  externalId,
+                  ex));
+
       systemConnector.taskanaTasksHaveBeenTerminatedForFinishedReferencedTasks(
           taskanaTasksToTerminate);
 
     } finally {
+      adapterMetrics.recordCycle(JOB, systemUrl, engine, cycleStart);
       LOGGER.trace(
           "TaskanaTaskTerminator."
               + "retrieveFinishedReferencedTasksAndTerminateCorrespondingTaskanaTasks EXIT ");
     }
   }
 
-  private void terminateTaskanaTask(ReferencedTask referencedTask)
-      throws TaskTerminationFailedException {
-    LOGGER.trace("TaskanaTaskTerminator.terminateTaskanaTask ENTRY ");
+  private Map<String, TaskTerminationFailedException> terminateTaskanaTasks(
+      List<ReferencedTask> referencedTasks) {
+    LOGGER.trace("TaskanaTaskTerminator.terminateTaskanaTasks ENTRY ");
+    if (referencedTasks.isEmpty()) {
+      return Collections.emptyMap();
+    }
     TaskanaConnector taskanaConnector = adapterManager.getTaskanaConnector();
-    taskanaConnector.terminateTaskanaTask(referencedTask);
+    Map<String, TaskTerminationFailedException> failedTasks =
+        taskanaConnector.terminateTaskanaTasks(referencedTasks);
+
+    LOGGER.trace("TaskanaTaskTerminator.terminateTaskanaTasks EXIT ");
+    return failedTasks;
+  }
 
-    LOGGER.trace("TaskanaTaskTerminator.terminateTaskanaTask EXIT ");
+  private List<ReferencedTask> retrieveFinishedReferencedTasks(
+      SystemConnector systemConnector, ClusterShard shard) {
+    if (!clusterLockManager.isShardingEnabled()) {
+      return systemConnector.retrieveFinishedReferencedTasks();
+    }
+    if (shard == null) {
+      LOGGER.debug(
+          "Skipping system {}, this instance has no shard", systemConnector.getSystemUrl());
+      return Collections.emptyList();
+    }
+    return systemConnector.retrieveFinishedReferencedTasks(shard.getShard(), shard.getShards());
+  }
+
+  private boolean isResponsibleFor(ClusterShard claimedShard) {
+    // without sharding, the lock of the system is checked before each cycle
+    return !clusterLockManager.isShardingEnabled()
+        || (claimedShard != null && claimedShard.equals(clusterLockManager.getShard()));
+  }
+
+  private static String getLockName(SystemConnector systemConnector) {
+    return LOCK_NAME_PREFIX + systemConnector.getSystemUrl();
+  }
+
+  private SystemConnectorWorkers getSystemConnectorWorkers() {
+    if (systemConnectorWorkers == null) {
+      systemConnectorWorkers = new SystemConnectorWorkers(JOB, virtualThreadsEnabled);
+    }
+    return systemConnectorWorkers;
   }
 }
@@ -7,7 +7,9 @@ import java.util.Map;
 import java.util.ServiceLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pro.taskana.adapter.metrics.AdapterMetrics;
 import pro.taskana.adapter.systemconnector.api.SystemConnector;
 import pro.taskana.adapter.systemconnector.spi.SystemConnectorProvider;
 import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
@@ -23,6 +25,8 @@ public class AdapterManager {
   private static final Logger LOGGER = LoggerFactory.getLogger(AdapterManager.class);
   private boolean isInitialized = false;
 
+  @Autowired private AdapterMetrics adapterMetrics;
+
   private Map<String, SystemConnector> systemConnectors;
   private List<TaskanaConnector> taskanaConnectors;
 
@@ -58,7 +62,7 @@ public class AdapterManager {
     for (SystemConnectorProvider provider : loader) {
       List<SystemConnector> connectors = provider.create();
       for (SystemConnector conn : connectors) {
-        systemConnectors.put(conn.getSystemUrl(), conn);
+        systemConnectors.put(conn.getSystemUrl(), adapterMetrics.instrument(conn));
         if (LOGGER.isInfoEnabled()) {
           LOGGER.info(
               "initialized system connectors {} for system_url {}", conn, conn.getSystemUrl());
@@ -76,7 +80,7 @@ public class AdapterManager {
       if (LOGGER.isInfoEnabled()) {
         LOGGER.info("initialized taskana connectors {} ", connectors);
       }
-      taskanaConnectors.addAll(connectors);
+      connectors.forEach(connector -> taskanaConnectors.add(adapterMetrics.instrument(connector)));
     }
   }
 }
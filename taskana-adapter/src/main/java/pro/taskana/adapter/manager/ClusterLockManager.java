@@ -0,0 +1,332 @@
+package pro.taskana.adapter.manager;
+
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import pro.taskana.TaskanaConfiguration;
+
+/**
+ * Coordinates the adapter instances of a cluster via a lock table in the TASKANA database. A lock
+ * is owned by at most one live instance, which renews its lease with heartbeats. A lock whose lease
+ * expired, because its owner stopped or lost the connection to the database, is taken over by the
+ * next instance that tries to acquire it. Each takeover increments the generation of the lock. The
+ * heartbeats of the former owner are bound to the old generation, so that they can't extend the
+ * lease of the new owner after a long pause. The generation doesn't fence the writes to TASKANA or
+ * to the external systems: a former owner keeps working until its jobs check {@link #isLockHeld}
+ * again, at the latest before their next page or cycle.
+ *
+ * <p>With sharding enabled, each instance additionally holds a member lock of its own. The live
+ * members are ordered by their node id, and each member processes the shard of the outbox events
+ * that corresponds to its position. The shards are redistributed whenever an instance joins or
+ * leaves. The jobs compare the shard they retrieved their events for with the current shard before
+ * each page, but an instance learns about a rebalance only with its next heartbeat. Until then, the
+ * events of a shard may be processed by two instances. This is safe, because the processing is
+ * idempotent: tasks whose external id exists already aren't created again, and tasks in an end
+ * state aren't terminated again.
+ *
+ * <p>The cluster mode is enabled with taskana.adapter.cluster.enabled. Without it, every lock is
+ * held by the only instance. The leases are computed with the clocks of the instances, which
+ * therefore have to be synchronized.
+ */
+@Component
+public class ClusterLockManager {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClusterLockManager.class);
+
+  private static final String SQL_COUNT_LOCKS = "SELECT COUNT(*) FROM %s.ADAPTER_LOCK";
+  private static final String SQL_CREATE_LOCK_TABLE =
+      "CREATE TABLE %s.ADAPTER_LOCK ("
+          + "LOCK_NAME VARCHAR(255) NOT NULL, "
+          + "OWNER VARCHAR(255) NOT NULL, "
+          + "GENERATION INTEGER NOT NULL, "
+          + "EXPIRES_AT TIMESTAMP NOT NULL, "
+          + "PRIMARY KEY (LOCK_NAME))";
+  private static final String SQL_INSERT_LOCK =
+      "INSERT INTO %s.ADAPTER_LOCK (LOCK_NAME, OWNER, GENERATION, EXPIRES_AT) "
+          + "VALUES (?, ?, 1, ?)";
+  private static final String SQL_TAKE_OVER_EXPIRED_LOCK =
+      "UPDATE %s.ADAPTER_LOCK SET OWNER = ?, GENERATION = GENERATION + 1, EXPIRES_AT = ? "
+          + "WHERE LOCK_NAME = ? AND EXPIRES_AT < ?";
+  private static final String SQL_RENEW_LOCK =
+      "UPDATE %s.ADAPTER_LOCK SET EXPIRES_AT = ? "
+          + "WHERE LOCK_NAME = ? AND OWNER = ? AND GENERATION = ?";
+  private static final String SQL_GET_GENERATION =
+      "SELECT GENERATION FROM %s.ADAPTER_LOCK WHERE LOCK_NAME = ? AND OWNER = ?";
+  private static final String SQL_GET_LIVE_MEMBERS =
+      "SELECT OWNER FROM %s.ADAPTER_LOCK WHERE LOCK_NAME LIKE ? AND EXPIRES_AT >= ? ORDER BY OWNER";
+  private static final String SQL_DELETE_EXPIRED_MEMBERS =
+      "DELETE FROM %s.ADAPTER_LOCK WHERE LOCK_NAME LIKE ? AND EXPIRES_AT < ?";
+  private static final String MEMBER_LOCK_PREFIX = "member:";
+
+  private final Map<String, HeldLock> heldLocks = new ConcurrentHashMap<>();
+
+  @Value("${taskana.adapter.cluster.enabled:false}")
+  private boolean clusterEnabled;
+
+  @Value("${taskana.adapter.cluster.node-id:}")
+  private String configuredNodeId;
+
+  @Value("${taskana.adapter.cluster.lease.duration.in.milliseconds:10000}")
+  private long leaseDuration;
+
+  @Value("${taskana.adapter.cluster.sharding.enabled:false}")
+  private boolean shardingEnabled;
+
+  @Autowired private TaskanaConfiguration taskanaConfiguration;
+
+  private String nodeId;
+  private boolean lockTableInitialized = false;
+  private volatile ClusterShard shard;
+
+  public boolean isClusterEnabled() {
+    return clusterEnabled;
+  }
+
+  public boolean isShardingEnabled() {
+    return clusterEnabled && shardingEnabled;
+  }
+
+  /**
+   * Returns the shard that this instance processes according to the live members of the cluster.
+   *
+   * @return the shard of this instance, or null if it isn't a live member of the cluster
+   */
+  public ClusterShard getShard() {
+    return isLockHeld(getMemberLockName()) ? shard : null;
+  }
+
+  /**
+   * Acquires the given lock, or renews its lease if this instance holds it already.
+   *
+   * @param lockName the name of the lock, e.g. the name of a job
+   * @return true if this instance holds the lock
+   */
+  public boolean tryAcquire(String lockName) {
+
+    if (!clusterEnabled) {
+      return true;
+    }
+
+    try {
+      JdbcTemplate jdbcTemplate = getJdbcTemplate();
+      long now = System.currentTimeMillis();
+      Timestamp expiresAt = new Timestamp(now + leaseDuration);
+
+      HeldLock heldLock = heldLocks.get(lockName);
+      if (heldLock != null) {
+        if (renew(jdbcTemplate, lockName, heldLock, now)) {
+          return true;
+        }
+        loseLock(lockName);
+      }
+
+      int takenOver =
+          jdbcTemplate.update(
+              getSql(SQL_TAKE_OVER_EXPIRED_LOCK),
+              getNodeId(),
+              expiresAt,
+              lockName,
+              new Timestamp(now));
+
+      if (takenOver == 0) {
+        try {
+          jdbcTemplate.update(getSql(SQL_INSERT_LOCK), lockName, getNodeId(), expiresAt);
+        } catch (DataIntegrityViolationException e) {
+          // the lock exists and is held by another instance
+          return false;
+        }
+      }
+
+      Long generation =
+          jdbcTemplate.queryForObject(
+              getSql(SQL_GET_GENERATION), Long.class, lockName, getNodeId());
+      heldLocks.put(lockName, new HeldLock(generation, now + leaseDuration));
+      LOGGER.info("Acquired lock {} in generation {}", lockName, generation);
+      return true;
+
+    } catch (DataAccessException e) {
+      LOGGER.warn("Caught exception while trying to acquire lock {}", lockName, e);
+      return isLockHeld(lockName);
+    }
+  }
+
+  /**
+   * Checks whether this instance still holds the given lock according to its last heartbeat.
+   *
+   * @param lockName the name of the lock
+   * @return true if the lease of the lock hasn't expired yet
+   */
+  public boolean isLockHeld(String lockName) {
+    if (!clusterEnabled) {
+      return true;
+    }
+    HeldLock heldLock = heldLocks.get(lockName);
+    return heldLock != null && System.currentTimeMillis() < heldLock.expiresAt;
+  }
+
+  @Scheduled(fixedRateString = "${taskana.adapter.cluster.heartbeat.interval.in.milliseconds:3000}")
+  public void renewLocks() {
+
+    if (!clusterEnabled) {
+      return;
+    }
+
+    JdbcTemplate jdbcTemplate = getJdbcTemplate();
+    heldLocks.forEach(
+        (lockName, heldLock) -> {
+          long now = System.currentTimeMillis();
+          try {
+            if (!renew(jdbcTemplate, lockName, heldLock, now)) {
+              loseLock(lockName);
+            }
+          } catch (DataAccessException e) {
+            LOGGER.warn("Caught exception while trying to renew lock {}", lockName, e);
+            if (now >= heldLock.expiresAt) {
+              loseLock(lockName);
+            }
+          }
+        });
+
+    if (isShardingEnabled()) {
+      updateShard(jdbcTemplate);
+    }
+  }
+
+  /** Releases all locks of this instance, so that other instances can take over immediately. */
+  @PreDestroy
+  public void releaseLocks() {
+
+    if (!clusterEnabled || heldLocks.isEmpty()) {
+      return;
+    }
+
+    JdbcTemplate jdbcTemplate = getJdbcTemplate();
+    heldLocks.forEach(
+        (lockName, heldLock) -> {
+          try {
+            jdbcTemplate.update(
+                getSql(SQL_RENEW_LOCK),
+                new Timestamp(0),
+                lockName,
+                getNodeId(),
+                heldLock.generation);
+            LOGGER.info("Released lock {}", lockName);
+          } catch (DataAccessException e) {
+            LOGGER.warn("Caught exception while trying to release lock {}", lockName, e);
+          }
+        });
+    heldLocks.clear();
+  }
+
+  private boolean renew(JdbcTemplate jdbcTemplate, String lockName, HeldLock heldLock, long now) {
+    int renewed =
+        jdbcTemplate.update(
+            getSql(SQL_RENEW_LOCK),
+            new Timestamp(now + leaseDuration),
+            lockName,
+            getNodeId(),
+            heldLock.generation);
+    if (renewed == 1) {
+      heldLock.expiresAt = now + leaseDuration;
+      return true;
+    }
+    return false;
+  }
+
+  private void updateShard(JdbcTemplate jdbcTemplate) {
+
+    if (!tryAcquire(getMemberLockName())) {
+      return;
+    }
+
+    try {
+      Timestamp now = new Timestamp(System.currentTimeMillis());
+      jdbcTemplate.update(getSql(SQL_DELETE_EXPIRED_MEMBERS), MEMBER_LOCK_PREFIX + "%", now);
+      List<String> liveMembers =
+          jdbcTemplate.queryForList(
+              getSql(SQL_GET_LIVE_MEMBERS), String.class, MEMBER_LOCK_PREFIX + "%", now);
+
+      int position = liveMembers.indexOf(getNodeId());
+      ClusterShard newShard = position < 0 ? null : new ClusterShard(position, liveMembers.size());
+      if (!Objects.equals(shard, newShard)) {
+        LOGGER.info("This adapter instance processes {} from now on", newShard);
+      }
+      shard = newShard;
+
+    } catch (DataAccessException e) {
+      LOGGER.warn("Caught exception while trying to retrieve the members of the cluster", e);
+    }
+  }
+
+  private String getMemberLockName() {
+    return MEMBER_LOCK_PREFIX + getNodeId();
+  }
+
+  private void loseLock(String lockName) {
+    if (heldLocks.remove(lockName) != null) {
+      LOGGER.warn("Lost lock {}, it has been taken over by another instance", lockName);
+    }
+  }
+
+  private synchronized JdbcTemplate getJdbcTemplate() {
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(taskanaConfiguration.getDataSource());
+
+    if (!lockTableInitialized) {
+      try {
+        jdbcTemplate.queryForObject(getSql(SQL_COUNT_LOCKS), Integer.class);
+      } catch (DataAccessException e) {
+        try {
+          jdbcTemplate.execute(getSql(SQL_CREATE_LOCK_TABLE));
+          LOGGER.info("Created the lock table of the adapter cluster");
+        } catch (DataAccessException createException) {
+          // another instance may have created the table in the meantime
+          jdbcTemplate.queryForObject(getSql(SQL_COUNT_LOCKS), Integer.class);
+        }
+      }
+      lockTableInitialized = true;
+    }
+
+    return jdbcTemplate;
+  }
+
+  private String getSql(String sql) {
+    return String.format(sql, taskanaConfiguration.getSchemaName());
+  }
+
+  private synchronized String getNodeId() {
+    if (nodeId == null) {
+      nodeId =
+          configuredNodeId == null || configuredNodeId.isEmpty()
+              ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID()
+              : configuredNodeId;
+      LOGGER.info("This adapter instance joins the cluster as {}", nodeId);
+    }
+    return nodeId;
+  }
+
+  private static class HeldLock {
+
+    private final long generation;
+    private volatile long expiresAt;
+
+    private HeldLock(long generation, long expiresAt) {
+      this.generation = generation;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
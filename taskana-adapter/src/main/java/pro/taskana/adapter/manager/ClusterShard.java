@@ -0,0 +1,48 @@
+package pro.taskana.adapter.manager;
+
+import java.util.Objects;
+
+/** The shard of the outbox events that an adapter instance of a cluster processes. */
+public class ClusterShard {
+
+  private final int shard;
+  private final int shards;
+
+  public ClusterShard(int shard, int shards) {
+    this.shard = shard;
+    this.shards = shards;
+  }
+
+  public int getShard() {
+    return shard;
+  }
+
+  public int getShards() {
+    return shards;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(shard, shards);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null) {
+      return false;
+    }
+    if (getClass() != obj.getClass()) {
+      return false;
+    }
+    ClusterShard other = (ClusterShard) obj;
+    return shard == other.shard && shards == other.shards;
+  }
+
+  @Override
+  public String toString() {
+    return "ClusterShard [shard=" + shard + ", shards=" + shards + "]";
+  }
+}
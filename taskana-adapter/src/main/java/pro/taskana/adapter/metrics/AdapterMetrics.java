@@ -0,0 +1,242 @@
+package pro.taskana.adapter.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemConnector;
+import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
+
+/**
+ * Records the metrics of the adapter with Micrometer. The jobs of the adapter record the duration
+ * of their cycles, the number of fetched, succeeded and failed items and the processing time per
+ * item. The age of the processed outbox events shows how far the adapter lags behind a system. The
+ * calls of the connectors are timed per method, except for their getters. All metrics of a system
+ * are tagged with its url and engine identifier.
+ *
+ * <p>The metrics are recorded in the MeterRegistry of the application, e.g. the one of Spring Boot
+ * Actuator, or in the global registry of Micrometer if there is none.
+ */
+@Component
+public class AdapterMetrics {
+
+  public static final String CYCLE = "taskana.adapter.cycle";
+  public static final String ITEMS_FETCHED = "taskana.adapter.items.fetched";
+  public static final String ITEMS_SUCCEEDED = "taskana.adapter.items.succeeded";
+  public static final String ITEMS_FAILED = "taskana.adapter.items.failed";
+  public static final String ITEM_DURATION = "taskana.adapter.item.duration";
+  public static final String EVENT_AGE = "taskana.adapter.event.age";
+  public static final String TASKANA_CONNECTOR_CALLS = "taskana.adapter.taskana-connector.calls";
+  public static final String SYSTEM_CONNECTOR_CALLS = "taskana.adapter.system-connector.calls";
+  public static final String ALL_SYSTEMS = "all";
+
+  private static final String TAG_JOB = "job";
+  private static final String TAG_SYSTEM_URL = "system.url";
+  private static final String TAG_ENGINE = "engine";
+  private static final String TAG_METHOD = "method";
+  private static final String TAG_OUTCOME = "outcome";
+  private static final String NONE = "none";
+
+  @Autowired private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Records the duration of a cycle of a job.
+   *
+   * @param job the name of the job
+   * @param systemUrl the url of the system the cycle processed, or {@link #ALL_SYSTEMS}
+   * @param engine the engine identifier of the system, or null
+   * @param startNanos the start of the cycle as returned by {@link System#nanoTime()}
+   */
+  public void recordCycle(String job, String systemUrl, String engine, long startNanos) {
+    Timer.builder(CYCLE)
+        .tags(getTags(job, systemUrl, engine))
+        .register(getMeterRegistry())
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records the number of items a job fetched from a system.
+   *
+   * @param job the name of the job
+   * @param systemUrl the url of the system
+   * @param engine the engine identifier of the system, or null
+   * @param count the number of fetched items
+   */
+  public void recordFetchedItems(String job, String systemUrl, String engine, int count) {
+    getCounter(ITEMS_FETCHED, job, systemUrl, engine).increment(count);
+  }
+
+  /**
+   * Records the items a job processed together. Each of them is recorded with the average
+   * processing time of the items.
+   *
+   * @param job the name of the job
+   * @param systemUrl the url of the system
+   * @param engine the engine identifier of the system, or null
+   * @param succeeded the number of items that were processed successfully
+   * @param failed the number of items that failed
+   * @param startNanos the start of the processing as returned by {@link System#nanoTime()}
+   */
+  public void recordProcessedItems(
+      String job, String systemUrl, String engine, int succeeded, int failed, long startNanos) {
+
+    int processed = succeeded + failed;
+    if (processed <= 0) {
+      return;
+    }
+
+    getCounter(ITEMS_SUCCEEDED, job, systemUrl, engine).increment(succeeded);
+    getCounter(ITEMS_FAILED, job, systemUrl, engine).increment(failed);
+
+    Timer itemDuration =
+        Timer.builder(ITEM_DURATION)
+            .tags(getTags(job, systemUrl, engine))
+            .register(getMeterRegistry());
+    long averageNanos = (System.nanoTime() - startNanos) / processed;
+    for (int i = 0; i < processed; i++) {
+      itemDuration.record(averageNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Records the age of the outbox events of the given tasks, i.e. the time from the creation of
+   * each event until now. Tasks without the creation time of their event are skipped.
+   *
+   * @param job the name of the job
+   * @param systemUrl the url of the system
+   * @param engine the engine identifier of the system, or null
+   * @param referencedTasks the tasks whose events were processed
+   */
+  public void recordEventAges(
+      String job, String systemUrl, String engine, List<ReferencedTask> referencedTasks) {
+
+    if (referencedTasks.isEmpty()) {
+      return;
+    }
+
+    Timer eventAge =
+        Timer.builder(EVENT_AGE)
+            .tags(getTags(job, systemUrl, engine))
+            .publishPercentileHistogram()
+            .register(getMeterRegistry());
+    Instant now = Instant.now();
+    for (ReferencedTask referencedTask : referencedTasks) {
+      Instant created = getOutboxEventCreated(referencedTask);
+      if (created != null) {
+        eventAge.record(Duration.between(created, now));
+      }
+    }
+  }
+
+  /**
+   * Wraps the given TaskanaConnector, so that the duration of each of its calls is recorded.
+   *
+   * @param taskanaConnector the TaskanaConnector to wrap
+   * @return the wrapped TaskanaConnector
+   */
+  public TaskanaConnector instrument(TaskanaConnector taskanaConnector) {
+    return (TaskanaConnector)
+        Proxy.newProxyInstance(
+            TaskanaConnector.class.getClassLoader(),
+            new Class<?>[] {TaskanaConnector.class},
+            createTimingHandler(taskanaConnector, TASKANA_CONNECTOR_CALLS, Tags.empty()));
+  }
+
+  /**
+   * Wraps the given SystemConnector, so that the duration of each of its calls is recorded with
+   * the url and engine identifier of the system.
+   *
+   * @param systemConnector the SystemConnector to wrap
+   * @return the wrapped SystemConnector
+   */
+  public SystemConnector instrument(SystemConnector systemConnector) {
+    Tags tags =
+        Tags.of(
+            TAG_SYSTEM_URL,
+            valueOrNone(systemConnector.getSystemUrl()),
+            TAG_ENGINE,
+            valueOrNone(systemConnector.getSystemIdentifier()));
+    return (SystemConnector)
+        Proxy.newProxyInstance(
+            SystemConnector.class.getClassLoader(),
+            new Class<?>[] {SystemConnector.class},
+            createTimingHandler(systemConnector, SYSTEM_CONNECTOR_CALLS, tags));
+  }
+
+  private InvocationHandler createTimingHandler(Object target, String name, Tags tags) {
+    return (proxy, method, args) -> {
+      if (method.getDeclaringClass() == Object.class || method.getName().startsWith("get")) {
+        try {
+          return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+      }
+
+      long startNanos = System.nanoTime();
+      String outcome = "success";
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        outcome = "failure";
+        throw e.getCause();
+      } finally {
+        Timer.builder(name)
+            .tags(tags)
+            .tag(TAG_METHOD, method.getName())
+            .tag(TAG_OUTCOME, outcome)
+            .register(getMeterRegistry())
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      }
+    };
+  }
+
+  private Counter getCounter(String name, String job, String systemUrl, String engine) {
+    return Counter.builder(name).tags(getTags(job, systemUrl, engine)).register(getMeterRegistry());
+  }
+
+  private Tags getTags(String job, String systemUrl, String engine) {
+    return Tags.of(
+        TAG_JOB, job, TAG_SYSTEM_URL, valueOrNone(systemUrl), TAG_ENGINE, valueOrNone(engine));
+  }
+
+  private static Instant getOutboxEventCreated(ReferencedTask referencedTask) {
+    if (referencedTask.getOutboxEventCreated() == null) {
+      return null;
+    }
+    try {
+      return Instant.parse(referencedTask.getOutboxEventCreated());
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  private static String valueOrNone(String value) {
+    return value == null ? NONE : value;
+  }
+
+  private synchronized MeterRegistry getMeterRegistry() {
+    if (meterRegistry == null) {
+      meterRegistry =
+          meterRegistryProvider == null
+              ? Metrics.globalRegistry
+              : meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+    return meterRegistry;
+  }
+}
@@ -8,6 +8,7 @@ public class ReferencedTask {
   private String id;
   private String outboxEventId;
   private String outboxEventType;
+  private String outboxEventCreated;
   private String name;
   private String assignee;
   private String created;
@@ -68,6 +69,19 @@ public class ReferencedTask {
     this.outboxEventType = outboxEventType;
   }
 
+  /**
+   * Returns the time when the outbox event of this task was created, as ISO-8601 instant.
+   *
+   * @return the creation time of the outbox event, or null if the task wasn't read from an outbox
+   */
+  public String getOutboxEventCreated() {
+    return outboxEventCreated;
+  }
+
+  public void setOutboxEventCreated(String outboxEventCreated) {
+    this.outboxEventCreated = outboxEventCreated;
+  }
+
   public String getName() {
     return name;
   }
@@ -274,6 +288,7 @@ public class ReferencedTask {
         id,
         outboxEventId,
         outboxEventType,
+        outboxEventCreated,
         name,
         assignee,
         created,
@@ -316,6 +331,7 @@ public class ReferencedTask {
     return Objects.equals(id, other.id)
         && Objects.equals(outboxEventId, other.outboxEventId)
         && Objects.equals(outboxEventType, other.outboxEventType)
+        && Objects.equals(outboxEventCreated, other.outboxEventCreated)
         && Objects.equals(name, other.name)
         && Objects.equals(assignee, other.assignee)
         && Objects.equals(created, other.created)
@@ -351,6 +367,8 @@ public class ReferencedTask {
         + outboxEventId
         + ", outboxEventType="
         + outboxEventType
+        + ", outboxEventCreated="
+        + outboxEventCreated
         + ", name="
         + name
         + ", assignee="
@@ -1,6 +1,10 @@
 package pro.taskana.adapter.systemconnector.api;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
 
 /** This is the interface, a System Connector has to implement. */
 public interface SystemConnector {
@@ -12,6 +16,21 @@ public interface SystemConnector {
    */
   List<ReferencedTask> retrieveNewStartedReferencedTasks();
 
+  /**
+   * Retrieve the ReferencedTasks of one shard that were started within the last polling interval.
+   * The default implementation retrieves the tasks of all shards and filters them.
+   *
+   * @param shard the index of the shard, starting with 0
+   * @param shards the number of shards
+   * @return a list of created ReferencedTasks of the shard that don't have an associated TASKANA
+   *     task yet.
+   */
+  default List<ReferencedTask> retrieveNewStartedReferencedTasks(int shard, int shards) {
+    return retrieveNewStartedReferencedTasks().stream()
+        .filter(task -> getShard(task.getId(), shards) == shard)
+        .collect(Collectors.toList());
+  }
+
   /**
    * With this call the Adapter notifies the SystemConnector that a list of TASKANA tasks has been
    * created. Depending on the Implementation of the SystemConnector, it may ignore this call.
@@ -27,6 +46,20 @@ public interface SystemConnector {
    */
   List<ReferencedTask> retrieveFinishedReferencedTasks();
 
+  /**
+   * Retrieve the ReferencedTasks of one shard that were finished. The default implementation
+   * retrieves the tasks of all shards and filters them.
+   *
+   * @param shard the index of the shard, starting with 0
+   * @param shards the number of shards
+   * @return a list of ReferencedTasks of the shard that were finished
+   */
+  default List<ReferencedTask> retrieveFinishedReferencedTasks(int shard, int shards) {
+    return retrieveFinishedReferencedTasks().stream()
+        .filter(task -> getShard(task.getId(), shards) == shard)
+        .collect(Collectors.toList());
+  }
+
   /**
    * With this call the Adapter notifies the SystemConnector that a list of TASKANA tasks has been
    * terminated. The rationale for this action is that ReferencedTasks in the external system were
@@ -53,6 +86,27 @@ public interface SystemConnector {
    */
   SystemResponse completeReferencedTask(ReferencedTask task);
 
+  /**
+   * Instruct the external system to complete a list of tasks. A task that couldn't be completed
+   * doesn't prevent the completion of the other tasks. The default implementation completes the
+   * tasks one by one.
+   *
+   * @param tasks the tasks to be completed.
+   * @return the response from the external system for each task, mapped by the task id. The
+   *     response of a task that couldn't be completed contains the cause.
+   */
+  default Map<String, SystemResponse> completeReferencedTasks(List<ReferencedTask> tasks) {
+    Map<String, SystemResponse> responses = new LinkedHashMap<>();
+    for (ReferencedTask task : tasks) {
+      try {
+        responses.put(task.getId(), completeReferencedTask(task));
+      } catch (Exception e) {
+        responses.put(task.getId(), new SystemResponse(HttpStatus.INTERNAL_SERVER_ERROR, e));
+      }
+    }
+    return responses;
+  }
+
   /**
    * Instruct the external system to claim a task.
    *
@@ -91,4 +145,16 @@ public interface SystemConnector {
    * @param e exception
    */
   void taskanaTaskFailedToBeCreatedForNewReferencedTask(ReferencedTask referencedTask, Exception e);
+
+  /**
+   * Get the shard of a ReferencedTask. The shard only depends on the id of the task, so that all
+   * events of a task belong to the same shard.
+   *
+   * @param taskId the id of the ReferencedTask
+   * @param shards the number of shards
+   * @return the index of the shard, starting with 0
+   */
+  static int getShard(String taskId, int shards) {
+    return taskId == null ? 0 : (taskId.hashCode() & Integer.MAX_VALUE) % shards;
+  }
 }
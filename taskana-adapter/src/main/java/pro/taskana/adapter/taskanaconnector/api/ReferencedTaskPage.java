@@ -0,0 +1,37 @@
+package pro.taskana.adapter.taskanaconnector.api;
+
+import java.util.List;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+
+/**
+ * A page of TASKANA tasks, converted to ReferencedTasks. Tasks that can't be converted, e.g.
+ * because they lack the callback information, are left out of the ReferencedTasks but still
+ * counted as retrieved, so that the page can be told apart from the last one.
+ */
+public class ReferencedTaskPage {
+
+  private final List<ReferencedTask> referencedTasks;
+  private final int numberOfRetrievedTasks;
+
+  public ReferencedTaskPage(List<ReferencedTask> referencedTasks, int numberOfRetrievedTasks) {
+    this.referencedTasks = referencedTasks;
+    this.numberOfRetrievedTasks = numberOfRetrievedTasks;
+  }
+
+  public List<ReferencedTask> getReferencedTasks() {
+    return referencedTasks;
+  }
+
+  public int getNumberOfRetrievedTasks() {
+    return numberOfRetrievedTasks;
+  }
+
+  @Override
+  public String toString() {
+    return "ReferencedTaskPage [referencedTasks="
+        + referencedTasks
+        + ", numberOfRetrievedTasks="
+        + numberOfRetrievedTasks
+        + "]";
+  }
+}
@@ -1,6 +1,10 @@
 package pro.taskana.adapter.taskanaconnector.api;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import pro.taskana.adapter.exceptions.TaskCreationFailedException;
 import pro.taskana.adapter.exceptions.TaskTerminationFailedException;
 import pro.taskana.adapter.systemconnector.api.ReferencedTask;
@@ -17,6 +21,17 @@ public interface TaskanaConnector {
    */
   List<ReferencedTask> retrieveFinishedTaskanaTasksAsReferencedTasks();
 
+  /**
+   * retrieve a page of finished TASKANA tasks, ordered by their id.
+   *
+   * @param offset the number of finished TASKANA tasks to skip
+   * @param limit the maximum number of finished TASKANA tasks to retrieve
+   * @return the page of finished TASKANA tasks
+   */
+  default ReferencedTaskPage retrieveFinishedTaskanaTasksAsReferencedTasks(int offset, int limit) {
+    return getPage(retrieveFinishedTaskanaTasksAsReferencedTasks(), offset, limit);
+  }
+
   /**
    * retrieve claimed TASKANA tasks.
    *
@@ -24,6 +39,17 @@ public interface TaskanaConnector {
    */
   List<ReferencedTask> retrieveClaimedTaskanaTasksAsReferencedTasks();
 
+  /**
+   * retrieve a page of claimed TASKANA tasks, ordered by their id.
+   *
+   * @param offset the number of claimed TASKANA tasks to skip
+   * @param limit the maximum number of claimed TASKANA tasks to retrieve
+   * @return the page of claimed TASKANA tasks
+   */
+  default ReferencedTaskPage retrieveClaimedTaskanaTasksAsReferencedTasks(int offset, int limit) {
+    return getPage(retrieveClaimedTaskanaTasksAsReferencedTasks(), offset, limit);
+  }
+
   /**
    * retrieve cancelled claim TASKANA tasks.
    *
@@ -31,6 +57,18 @@ public interface TaskanaConnector {
    */
   List<ReferencedTask> retrieveCancelledClaimTaskanaTasksAsReferencedTasks();
 
+  /**
+   * retrieve a page of cancelled claim TASKANA tasks, ordered by their id.
+   *
+   * @param offset the number of cancelled claim TASKANA tasks to skip
+   * @param limit the maximum number of cancelled claim TASKANA tasks to retrieve
+   * @return the page of cancelled claim TASKANA tasks
+   */
+  default ReferencedTaskPage retrieveCancelledClaimTaskanaTasksAsReferencedTasks(
+      int offset, int limit) {
+    return getPage(retrieveCancelledClaimTaskanaTasksAsReferencedTasks(), offset, limit);
+  }
+
   /**
    * With this call the Adapter notifies the TaskanaConnector that the CallbackState of a list of
    * ReferencedTasks needs to be modified due to completion or claim of tasks of TASKANA Tasks.
@@ -43,6 +81,19 @@ public interface TaskanaConnector {
   void changeTaskCallbackState(
       List<ReferencedTask> referencedTasks, CallbackState desiredCallbackState);
 
+  /**
+   * retrieve which of the given external ids already belong to TASKANA tasks. This allows to skip
+   * redelivered external tasks before they are converted and created. Depending on the
+   * Implementation of the TaskanaConnector, it may not know any existing tasks, in which case their
+   * creation is rejected as before.
+   *
+   * @param externalIds the external ids to look up
+   * @return the external ids for which a TASKANA task exists
+   */
+  default Set<String> retrieveExistingExternalIds(List<String> externalIds) {
+    return Collections.emptySet();
+  }
+
   /**
    * create a task in TASKANA on behalf of an external task.
    *
@@ -51,6 +102,30 @@ public interface TaskanaConnector {
    */
   void createTaskanaTask(Task taskanaTask) throws TaskCreationFailedException;
 
+  /**
+   * create a page of tasks in TASKANA on behalf of external tasks. The failure to create one task
+   * doesn't prevent the creation of the others.
+   *
+   * @param taskanaTasks The TASKANA tasks to be created.
+   * @return the exceptions of the TASKANA tasks which couldn't be created, mapped by their external
+   *     id. All other tasks have been created.
+   */
+  default Map<String, TaskCreationFailedException> createTaskanaTasks(List<Task> taskanaTasks) {
+    Map<String, TaskCreationFailedException> failedTasks = new HashMap<>();
+    for (Task taskanaTask : taskanaTasks) {
+      try {
+        createTaskanaTask(taskanaTask);
+      } catch (TaskCreationFailedException e) {
+        failedTasks.put(taskanaTask.getExternalId(), e);
+      } catch (RuntimeException e) {
+        failedTasks.put(
+            taskanaTask.getExternalId(),
+            new TaskCreationFailedException(taskanaTask.getExternalId(), e));
+      }
+    }
+    return failedTasks;
+  }
+
   /**
    * Convert a ReferencedTask to a TASKANA task.
    *
@@ -74,4 +149,32 @@ public interface TaskanaConnector {
    * @throws TaskTerminationFailedException if the attempt to terminate a TASKANA task failed.
    */
   void terminateTaskanaTask(ReferencedTask referencedTask) throws TaskTerminationFailedException;
+
+  /**
+   * terminate TASKANA tasks that run on behalf of external tasks. The failure to terminate one
+   * task doesn't prevent the termination of the others.
+   *
+   * @param referencedTasks The external tasks on behalf of which the TASKANA tasks are running.
+   * @return the exceptions of the TASKANA tasks which couldn't be terminated, mapped by the id of
+   *     their external task. All other tasks have been terminated or didn't need to be.
+   */
+  default Map<String, TaskTerminationFailedException> terminateTaskanaTasks(
+      List<ReferencedTask> referencedTasks) {
+    Map<String, TaskTerminationFailedException> failedTasks = new HashMap<>();
+    for (ReferencedTask referencedTask : referencedTasks) {
+      try {
+        terminateTaskanaTask(referencedTask);
+      } catch (TaskTerminationFailedException e) {
+        failedTasks.put(referencedTask.getId(), e);
+      }
+    }
+    return failedTasks;
+  }
+
+  private static ReferencedTaskPage getPage(
+      List<ReferencedTask> referencedTasks, int offset, int limit) {
+    int fromIndex = Math.min(offset, referencedTasks.size());
+    int toIndex = Math.min(fromIndex + limit, referencedTasks.size());
+    return new ReferencedTaskPage(referencedTasks.subList(fromIndex, toIndex), toIndex - fromIndex);
+  }
 }
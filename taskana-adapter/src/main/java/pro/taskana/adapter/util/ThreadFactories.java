@@ -0,0 +1,86 @@
+package pro.taskana.adapter.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * utility class that creates the thread factories of the adapter. Virtual threads are available
+ * from Java 21 on. Since the adapter is compiled for Java 17, they are created via reflection and
+ * platform threads are used as fallback on older runtimes.
+ */
+public final class ThreadFactories {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ThreadFactories.class);
+
+  private static final Method OF_VIRTUAL = getMethod(Thread.class, "ofVirtual");
+  private static final Method BUILDER_NAME =
+      getMethod(getClass("java.lang.Thread$Builder"), "name", String.class, long.class);
+  private static final Method BUILDER_FACTORY =
+      getMethod(getClass("java.lang.Thread$Builder"), "factory");
+
+  private ThreadFactories() {}
+
+  public static boolean isVirtualThreadSupported() {
+    return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null;
+  }
+
+  /**
+   * Creates a factory for threads whose names start with the given prefix.
+   *
+   * @param namePrefix the prefix of the thread names
+   * @param virtualThreadsEnabled true to create virtual threads if the runtime supports them
+   * @return a factory for virtual threads, or for daemon platform threads if virtual threads are
+   *     disabled or not supported
+   */
+  public static ThreadFactory newThreadFactory(String namePrefix, boolean virtualThreadsEnabled) {
+    return newThreadFactory(namePrefix, virtualThreadsEnabled, isVirtualThreadSupported());
+  }
+
+  static ThreadFactory newThreadFactory(
+      String namePrefix, boolean virtualThreadsEnabled, boolean virtualThreadSupported) {
+    if (virtualThreadsEnabled) {
+      if (virtualThreadSupported) {
+        try {
+          Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), namePrefix, 0L);
+          return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+          LOGGER.warn("Caught exception while creating virtual threads for {}", namePrefix, e);
+        }
+      } else {
+        LOGGER.warn(
+            "Virtual threads are not supported by Java {}, {} uses platform threads",
+            Runtime.version().feature(),
+            namePrefix);
+      }
+    }
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static Class<?> getClass(String className) {
+    try {
+      return Class.forName(className);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+  }
+
+  private static Method getMethod(Class<?> declaringClass, String name, Class<?>... parameters) {
+    if (declaringClass == null) {
+      return null;
+    }
+    try {
+      return declaringClass.getMethod(name, parameters);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package pro.taskana.adapter.impl;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.metrics.AdapterMetrics;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemConnector;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
+import pro.taskana.adapter.taskanaconnector.api.ReferencedTaskPage;
+import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
+import pro.taskana.common.api.exceptions.SystemException;
+import pro.taskana.task.api.CallbackState;
+
+class ReferencedTaskCompleterTest {
+
+  private static final String SYSTEM_A = "http://system-a";
+  private static final String SYSTEM_B = "http://system-b";
+
+  private final ReferencedTaskCompleter referencedTaskCompleter = new ReferencedTaskCompleter();
+  private final TaskanaConnector taskanaConnector = mock(TaskanaConnector.class);
+  private final SystemConnector systemA = mock(SystemConnector.class);
+  private final SystemConnector systemB = mock(SystemConnector.class);
+
+  @BeforeEach
+  void setUp() {
+    AdapterManager adapterManager = mock(AdapterManager.class);
+    when(adapterManager.getTaskanaConnector()).thenReturn(taskanaConnector);
+    when(adapterManager.getSystemConnectors())
+        .thenReturn(Map.of(SYSTEM_A, systemA, SYSTEM_B, systemB));
+    ClusterLockManager clusterLockManager = mock(ClusterLockManager.class);
+    when(clusterLockManager.isLockHeld("ReferencedTaskCompleter")).thenReturn(true);
+
+    referencedTaskCompleter.adapterManager = adapterManager;
+    referencedTaskCompleter.clusterLockManager = clusterLockManager;
+    referencedTaskCompleter.adapterMetrics = mock(AdapterMetrics.class);
+    referencedTaskCompleter.callbackPageSize = 3;
+    referencedTaskCompleter.callbackMaxTasksPerRun = 100;
+  }
+
+  @Test
+  void should_CompleteTasksOfEachSystemTogether_When_PageContainsTasksOfSeveralSystems() {
+
+    ReferencedTask taskA1 = newReferencedTask("a-1", SYSTEM_A);
+    ReferencedTask taskB1 = newReferencedTask("b-1", SYSTEM_B);
+    ReferencedTask taskA2 = newReferencedTask("a-2", SYSTEM_A);
+    when(taskanaConnector.retrieveFinishedTaskanaTasksAsReferencedTasks(0, 3))
+        .thenReturn(new ReferencedTaskPage(List.of(taskA1, taskB1, taskA2), 3))
+        .thenReturn(new ReferencedTaskPage(List.of(), 0));
+    completeTasks(systemA, Set.of());
+    completeTasks(systemB, Set.of());
+
+    referencedTaskCompleter.retrieveFinishedTaskanaTasksAndCompleteCorrespondingReferencedTask();
+
+    verify(systemA).completeReferencedTasks(List.of(taskA1, taskA2));
+    verify(systemB).completeReferencedTasks(List.of(taskB1));
+    verify(systemA, never()).completeReferencedTask(taskA1);
+    verify(taskanaConnector)
+        .changeTaskCallbackState(
+            List.of(taskA1, taskA2, taskB1), CallbackState.CALLBACK_PROCESSING_COMPLETED);
+  }
+
+  @Test
+  void should_ChangeCallbackStateOfCompletedTasksOnly_When_CompletionOfOneTaskFails() {
+
+    ReferencedTask taskA1 = newReferencedTask("a-1", SYSTEM_A);
+    ReferencedTask taskA2 = newReferencedTask("a-2", SYSTEM_A);
+    ReferencedTask taskB1 = newReferencedTask("b-1", SYSTEM_B);
+    when(taskanaConnector.retrieveFinishedTaskanaTasksAsReferencedTasks(0, 3))
+        .thenReturn(new ReferencedTaskPage(List.of(taskA1, taskA2, taskB1), 3));
+    when(taskanaConnector.retrieveFinishedTaskanaTasksAsReferencedTasks(1, 3))
+        .thenReturn(new ReferencedTaskPage(List.of(), 0));
+    completeTasks(systemA, Set.of("a-1"));
+    completeTasks(systemB, Set.of());
+
+    referencedTaskCompleter.retrieveFinishedTaskanaTasksAndCompleteCorrespondingReferencedTask();
+
+    verify(taskanaConnector)
+        .changeTaskCallbackState(
+            List.of(taskA2, taskB1), CallbackState.CALLBACK_PROCESSING_COMPLETED);
+    // the failed task stays in the result of the query, so the next page starts after it
+    verify(taskanaConnector).retrieveFinishedTaskanaTasksAsReferencedTasks(1, 3);
+  }
+
+  @Test
+  void should_CompleteTasksInOneBatch_When_NumberOfTasksEqualsPageSize() {
+
+    List<ReferencedTask> tasks =
+        List.of(
+            newReferencedTask("a-1", SYSTEM_A),
+            newReferencedTask("a-2", SYSTEM_A),
+            newReferencedTask("a-3", SYSTEM_A));
+    when(taskanaConnector.retrieveFinishedTaskanaTasksAsReferencedTasks(0, 3))
+        .thenReturn(new ReferencedTaskPage(tasks, 3))
+        .thenReturn(new ReferencedTaskPage(List.of(), 0));
+    completeTasks(systemA, Set.of());
+
+    referencedTaskCompleter.retrieveFinishedTaskanaTasksAndCompleteCorrespondingReferencedTask();
+
+    verify(systemA).completeReferencedTasks(tasks);
+    verify(systemA, times(1)).completeReferencedTasks(anyList());
+    // a full page might not be the last one, so the next page is requested
+    verify(taskanaConnector, times(2)).retrieveFinishedTaskanaTasksAsReferencedTasks(0, 3);
+  }
+
+  @Test
+  void should_CompleteRemainingTaskInNextBatch_When_NumberOfTasksExceedsPageSize() {
+
+    List<ReferencedTask> firstPage =
+        List.of(
+            newReferencedTask("a-1", SYSTEM_A),
+            newReferencedTask("a-2", SYSTEM_A),
+            newReferencedTask("a-3", SYSTEM_A));
+    ReferencedTask remainingTask = newReferencedTask("a-4", SYSTEM_A);
+    when(taskanaConnector.retrieveFinishedTaskanaTasksAsReferencedTasks(0, 3))
+        .thenReturn(new ReferencedTaskPage(firstPage, 3))
+        .thenReturn(new ReferencedTaskPage(List.of(remainingTask), 1));
+    completeTasks(systemA, Set.of());
+
+    referencedTaskCompleter.retrieveFinishedTaskanaTasksAndCompleteCorrespondingReferencedTask();
+
+    verify(systemA).completeReferencedTasks(firstPage);
+    verify(systemA).completeReferencedTasks(List.of(remainingTask));
+    verify(systemA, times(2)).completeReferencedTasks(anyList());
+  }
+
+  private static void completeTasks(SystemConnector systemConnector, Set<String> failingTaskIds) {
+    when(systemConnector.getSystemIdentifier()).thenReturn("default");
+    when(systemConnector.completeReferencedTasks(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<ReferencedTask> referencedTasks = invocation.getArgument(0);
+              Map<String, SystemResponse> responses = new LinkedHashMap<>();
+              for (ReferencedTask referencedTask : referencedTasks) {
+                responses.put(
+                    referencedTask.getId(),
+                    failingTaskIds.contains(referencedTask.getId())
+                        ? new SystemResponse(
+                            HttpStatus.INTERNAL_SERVER_ERROR,
+                            new SystemException("completion failed"))
+                        : new SystemResponse(HttpStatus.NO_CONTENT, null));
+              }
+              return responses;
+            });
+  }
+
+  private static ReferencedTask newReferencedTask(String id, String systemUrl) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setSystemUrl(systemUrl);
+    return referencedTask;
+  }
+}
@@ -0,0 +1,159 @@
+package pro.taskana.adapter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.taskanaconnector.api.ReferencedTaskPage;
+
+class ReferencedTaskPagerTest {
+
+  @Test
+  void should_ProcessAllTasksAndStartOver_When_PageIsShort() {
+
+    TaskQueryStub taskQuery = new TaskQueryStub(5, Set.of(), Set.of());
+    ReferencedTaskPager pager = new ReferencedTaskPager(10, 100);
+
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+
+    assertThat(taskQuery.processedTaskIds).containsExactly("0", "1", "2", "3", "4");
+    assertThat(taskQuery.requestedOffsets).containsExactly(0, 0);
+  }
+
+  @Test
+  void should_ContinueAfterFilteredTasks_When_PageContainsTasksThatCanNotBeConverted() {
+
+    TaskQueryStub taskQuery = new TaskQueryStub(10, Set.of("0", "1", "2"), Set.of());
+    ReferencedTaskPager pager = new ReferencedTaskPager(5, 100);
+
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+
+    // the first page holds only two ReferencedTasks, but it isn't the last page
+    assertThat(taskQuery.processedTaskIds).containsExactly("3", "4", "5", "6", "7", "8", "9");
+    // the filtered tasks stay in the result and are skipped by the offset
+    assertThat(taskQuery.requestedOffsets).containsExactly(0, 3, 3);
+  }
+
+  @Test
+  void should_NotStarve_When_FullPageContainsOnlyFilteredTasks() {
+
+    TaskQueryStub taskQuery = new TaskQueryStub(8, Set.of("0", "1", "2", "3"), Set.of());
+    ReferencedTaskPager pager = new ReferencedTaskPager(4, 100);
+
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+
+    assertThat(taskQuery.processedTaskIds).containsExactly("4", "5", "6", "7");
+    assertThat(taskQuery.requestedOffsets).containsExactly(0, 4, 4);
+  }
+
+  @Test
+  void should_ResumeAtOffset_When_BudgetOfRunIsExhausted() {
+
+    Set<String> failingTaskIds = Set.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+    TaskQueryStub taskQuery = new TaskQueryStub(10, Set.of(), failingTaskIds);
+    ReferencedTaskPager pager = new ReferencedTaskPager(3, 6);
+
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+    assertThat(taskQuery.requestedOffsets).containsExactly(0, 3);
+
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+    assertThat(taskQuery.requestedOffsets).containsExactly(0, 3, 6, 9);
+    assertThat(taskQuery.requestedLimits).containsExactly(3, 3, 3, 3);
+
+    // the last page was short, so the next run starts over
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+    assertThat(taskQuery.requestedOffsets).containsExactly(0, 3, 6, 9, 0, 3);
+    assertThat(taskQuery.processedTaskIds).isEmpty();
+  }
+
+  @Test
+  void should_LimitLastPageToRemainingBudget_When_BudgetIsNoMultipleOfPageSize() {
+
+    TaskQueryStub taskQuery = new TaskQueryStub(10, Set.of(), Set.of("0", "1", "2", "3", "4"));
+    ReferencedTaskPager pager = new ReferencedTaskPager(4, 6);
+
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+
+    assertThat(taskQuery.requestedOffsets).containsExactly(0, 4);
+    assertThat(taskQuery.requestedLimits).containsExactly(4, 2);
+  }
+
+  @Test
+  void should_NotRetrieveTasks_When_ContinuationConditionFails() {
+
+    TaskQueryStub taskQuery = new TaskQueryStub(10, Set.of(), Set.of());
+    ReferencedTaskPager pager = new ReferencedTaskPager(5, 100, () -> false);
+
+    pager.processPages(taskQuery::retrievePage, taskQuery::processTasks);
+
+    assertThat(taskQuery.requestedOffsets).isEmpty();
+    assertThat(taskQuery.processedTaskIds).isEmpty();
+  }
+
+  /**
+   * Stub for the query of TASKANA tasks. Processed tasks leave the result, while the filtered tasks
+   * are retrieved but left out of the ReferencedTasks of a page, like tasks without callback
+   * information.
+   */
+  private static class TaskQueryStub {
+
+    private final List<String> taskIds;
+    private final Set<String> filteredTaskIds;
+    private final Set<String> failingTaskIds;
+    private final List<Integer> requestedOffsets = new ArrayList<>();
+    private final List<Integer> requestedLimits = new ArrayList<>();
+    private final List<String> processedTaskIds = new ArrayList<>();
+
+    private TaskQueryStub(
+        int numberOfTasks, Set<String> filteredTaskIds, Set<String> failingTaskIds) {
+      this.taskIds =
+          IntStream.range(0, numberOfTasks)
+              .mapToObj(String::valueOf)
+              .collect(Collectors.toCollection(ArrayList::new));
+      this.filteredTaskIds = filteredTaskIds;
+      this.failingTaskIds = failingTaskIds;
+    }
+
+    private ReferencedTaskPage retrievePage(int offset, int limit) {
+      requestedOffsets.add(offset);
+      requestedLimits.add(limit);
+
+      List<String> retrievedTaskIds =
+          taskIds.subList(
+              Math.min(offset, taskIds.size()), Math.min(offset + limit, taskIds.size()));
+
+      List<ReferencedTask> referencedTasks =
+          retrievedTaskIds.stream()
+              .filter(taskId -> !filteredTaskIds.contains(taskId))
+              .map(TaskQueryStub::newReferencedTask)
+              .collect(Collectors.toList());
+
+      return new ReferencedTaskPage(referencedTasks, retrievedTaskIds.size());
+    }
+
+    private List<ReferencedTask> processTasks(List<ReferencedTask> referencedTasks) {
+      List<ReferencedTask> processedTasks =
+          referencedTasks.stream()
+              .filter(referencedTask -> !failingTaskIds.contains(referencedTask.getId()))
+              .collect(Collectors.toList());
+      processedTasks.forEach(
+          processedTask -> {
+            processedTaskIds.add(processedTask.getId());
+            taskIds.remove(processedTask.getId());
+          });
+      return processedTasks;
+    }
+
+    private static ReferencedTask newReferencedTask(String taskId) {
+      ReferencedTask referencedTask = new ReferencedTask();
+      referencedTask.setId(taskId);
+      return referencedTask;
+    }
+  }
+}
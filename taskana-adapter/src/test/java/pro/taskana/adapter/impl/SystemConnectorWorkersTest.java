@@ -0,0 +1,127 @@
+package pro.taskana.adapter.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pro.taskana.adapter.systemconnector.api.SystemConnector;
+
+class SystemConnectorWorkersTest {
+
+  private static final long TIMEOUT_IN_SECONDS = 10;
+
+  private final SystemConnectorWorkers systemConnectorWorkers =
+      new SystemConnectorWorkers("test", false);
+  private final SystemConnector slowSystem = newSystemConnector("http://slow-system");
+  private final SystemConnector fastSystem = newSystemConnector("http://fast-system");
+  private final Map<String, AtomicInteger> numberOfCycles = new ConcurrentHashMap<>();
+  private final CountDownLatch slowCycleStarted = new CountDownLatch(1);
+  private final CountDownLatch slowSystemReleased = new CountDownLatch(1);
+  private final Semaphore finishedFastCycles = new Semaphore(0);
+
+  @AfterEach
+  void releaseSlowSystem() {
+    slowSystemReleased.countDown();
+  }
+
+  @Test
+  void should_ProcessOtherSystems_When_OneSystemIsSlow() throws Exception {
+
+    systemConnectorWorkers.startCycles(List.of(slowSystem, fastSystem), this::runCycle);
+
+    assertThat(slowCycleStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(finishedFastCycles.tryAcquire(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+    // the fast system keeps its rate while the cycle of the slow system is still running
+    systemConnectorWorkers.startCycles(List.of(slowSystem, fastSystem), this::runCycle);
+    systemConnectorWorkers.startCycles(List.of(slowSystem, fastSystem), this::runCycle);
+
+    assertThat(finishedFastCycles.tryAcquire(2, TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(getNumberOfCycles(fastSystem)).isEqualTo(3);
+    assertThat(getNumberOfCycles(slowSystem)).isOne();
+  }
+
+  @Test
+  void should_SkipCycle_When_PreviousCycleOfSystemIsStillRunning() throws Exception {
+
+    AtomicBoolean skippedCycleRan = new AtomicBoolean();
+    CountDownLatch nextCycleRan = new CountDownLatch(1);
+
+    systemConnectorWorkers.startCycles(List.of(slowSystem), this::runCycle);
+    assertThat(slowCycleStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+    systemConnectorWorkers.startCycles(
+        List.of(slowSystem), systemConnector -> skippedCycleRan.set(true));
+    slowSystemReleased.countDown();
+
+    // cycles are only started once the previous one has finished
+    do {
+      systemConnectorWorkers.startCycles(
+          List.of(slowSystem), systemConnector -> nextCycleRan.countDown());
+    } while (!nextCycleRan.await(100, TimeUnit.MILLISECONDS));
+
+    // a queued cycle would have run before the next one
+    assertThat(skippedCycleRan).isFalse();
+    assertThat(getNumberOfCycles(slowSystem)).isOne();
+  }
+
+  @Test
+  void should_ProcessOtherSystems_When_CycleOfOneSystemFails() throws Exception {
+
+    SystemConnector failingSystem = newSystemConnector("http://failing-system");
+    CountDownLatch failingCycleStarted = new CountDownLatch(1);
+
+    Consumer<SystemConnector> cycle =
+        systemConnector -> {
+          if (systemConnector == failingSystem) {
+            failingCycleStarted.countDown();
+            throw new IllegalStateException("system is down");
+          }
+          runCycle(systemConnector);
+        };
+
+    systemConnectorWorkers.startCycles(List.of(failingSystem, fastSystem), cycle);
+
+    assertThat(failingCycleStarted.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(finishedFastCycles.tryAcquire(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private void runCycle(SystemConnector systemConnector) {
+    numberOfCycles
+        .computeIfAbsent(systemConnector.getSystemUrl(), systemUrl -> new AtomicInteger())
+        .incrementAndGet();
+    if (systemConnector == slowSystem) {
+      slowCycleStarted.countDown();
+      try {
+        slowSystemReleased.await(TIMEOUT_IN_SECONDS, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } else {
+      finishedFastCycles.release();
+    }
+  }
+
+  private int getNumberOfCycles(SystemConnector systemConnector) {
+    AtomicInteger cycles = numberOfCycles.get(systemConnector.getSystemUrl());
+    return cycles == null ? 0 : cycles.get();
+  }
+
+  private static SystemConnector newSystemConnector(String systemUrl) {
+    // the workers only use the url of a system
+    SystemConnector systemConnector = mock(SystemConnector.class);
+    when(systemConnector.getSystemUrl()).thenReturn(systemUrl);
+    return systemConnector;
+  }
+}
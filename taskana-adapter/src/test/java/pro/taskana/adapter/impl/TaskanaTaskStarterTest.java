@@ -0,0 +1,86 @@
+package pro.taskana.adapter.impl;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pro.taskana.adapter.manager.AdapterManager;
+import pro.taskana.adapter.manager.ClusterLockManager;
+import pro.taskana.adapter.manager.ClusterShard;
+import pro.taskana.adapter.metrics.AdapterMetrics;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemConnector;
+import pro.taskana.adapter.taskanaconnector.api.TaskanaConnector;
+
+class TaskanaTaskStarterTest {
+
+  private final TaskanaTaskStarter taskanaTaskStarter = new TaskanaTaskStarter();
+  private final ClusterLockManager clusterLockManager = mock(ClusterLockManager.class);
+  private final TaskanaConnector taskanaConnector = mock(TaskanaConnector.class);
+  private final SystemConnector systemConnector = mock(SystemConnector.class);
+  private final ReferencedTask task1 = newReferencedTask("task-1");
+  private final ReferencedTask task2 = newReferencedTask("task-2");
+
+  @BeforeEach
+  void setUp() {
+    AdapterManager adapterManager = mock(AdapterManager.class);
+    when(adapterManager.getTaskanaConnector()).thenReturn(taskanaConnector);
+    when(clusterLockManager.isShardingEnabled()).thenReturn(true);
+    when(systemConnector.getSystemUrl()).thenReturn("http://system");
+    when(systemConnector.retrieveNewStartedReferencedTasks(0, 2))
+        .thenReturn(List.of(task1, task2));
+
+    taskanaTaskStarter.adapterManager = adapterManager;
+    taskanaTaskStarter.clusterLockManager = clusterLockManager;
+    taskanaTaskStarter.adapterMetrics = mock(AdapterMetrics.class);
+    taskanaTaskStarter.creationPageSize = 1;
+  }
+
+  @Test
+  void should_CreateTasksOfAllPages_When_ShardIsUnchanged() {
+
+    when(clusterLockManager.getShard()).thenReturn(new ClusterShard(0, 2));
+
+    taskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(systemConnector);
+
+    verify(taskanaConnector, times(2)).createTaskanaTasks(anyList());
+    verify(systemConnector).taskanaTasksHaveBeenCreatedForNewReferencedTasks(List.of(task1, task2));
+  }
+
+  @Test
+  void should_StopCreatingTasks_When_ShardChangesDuringCycle() {
+
+    // the shard is claimed for the retrieval and checked before each page
+    when(clusterLockManager.getShard())
+        .thenReturn(new ClusterShard(0, 2), new ClusterShard(0, 2), new ClusterShard(1, 2));
+
+    taskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(systemConnector);
+
+    verify(taskanaConnector, times(1)).createTaskanaTasks(anyList());
+    verify(systemConnector).taskanaTasksHaveBeenCreatedForNewReferencedTasks(List.of(task1));
+  }
+
+  @Test
+  void should_NotCreateTasks_When_InstanceHasNoShard() {
+
+    when(clusterLockManager.getShard()).thenReturn(null);
+
+    taskanaTaskStarter.retrieveReferencedTasksAndCreateCorrespondingTaskanaTasks(systemConnector);
+
+    verify(systemConnector, never()).retrieveNewStartedReferencedTasks(0, 2);
+    verify(taskanaConnector, never()).createTaskanaTasks(anyList());
+  }
+
+  private static ReferencedTask newReferencedTask(String id) {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setId(id);
+    referencedTask.setVariables("{}");
+    return referencedTask;
+  }
+}
@@ -0,0 +1,160 @@
+package pro.taskana.adapter.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import pro.taskana.TaskanaConfiguration;
+
+class ClusterLockManagerTest {
+
+  private static final String LOCK_NAME = "test-job";
+  private static final long LEASE_DURATION = 60000;
+
+  private TaskanaConfiguration taskanaConfiguration;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUpDatabase() {
+    // every test gets a database of its own, shared by the adapter instances of the test
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL(
+        "jdbc:h2:mem:cluster-"
+            + UUID.randomUUID()
+            + ";DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS TASKANA");
+    dataSource.setUser("sa");
+    taskanaConfiguration = new TaskanaConfiguration.Builder(dataSource, false, "TASKANA").build();
+    jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  @Test
+  void should_RefuseLock_When_AnotherInstanceHoldsIt() {
+    ClusterLockManager firstInstance = newClusterLockManager("node-a", false);
+    ClusterLockManager secondInstance = newClusterLockManager("node-b", false);
+
+    assertThat(firstInstance.tryAcquire(LOCK_NAME)).isTrue();
+    assertThat(secondInstance.tryAcquire(LOCK_NAME)).isFalse();
+
+    assertThat(firstInstance.isLockHeld(LOCK_NAME)).isTrue();
+    assertThat(secondInstance.isLockHeld(LOCK_NAME)).isFalse();
+    // acquiring a held lock again renews it
+    assertThat(firstInstance.tryAcquire(LOCK_NAME)).isTrue();
+    assertThat(getGeneration(LOCK_NAME)).isOne();
+  }
+
+  @Test
+  void should_RenewLease_When_OwnerSendsHeartbeat() {
+    ClusterLockManager firstInstance = newClusterLockManager("node-a", false);
+    ClusterLockManager secondInstance = newClusterLockManager("node-b", false);
+    firstInstance.tryAcquire(LOCK_NAME);
+
+    long now = System.currentTimeMillis();
+    setExpiresAt(LOCK_NAME, new Timestamp(now + 1000));
+    firstInstance.renewLocks();
+
+    assertThat(getExpiresAt(LOCK_NAME).getTime()).isGreaterThanOrEqualTo(now + LEASE_DURATION);
+    assertThat(firstInstance.isLockHeld(LOCK_NAME)).isTrue();
+    assertThat(secondInstance.tryAcquire(LOCK_NAME)).isFalse();
+  }
+
+  @Test
+  void should_TakeOverLock_When_LeaseOfOwnerExpired() {
+    ClusterLockManager firstInstance = newClusterLockManager("node-a", false);
+    ClusterLockManager secondInstance = newClusterLockManager("node-b", false);
+    firstInstance.tryAcquire(LOCK_NAME);
+
+    // the first instance stopped sending heartbeats
+    setExpiresAt(LOCK_NAME, new Timestamp(0));
+
+    assertThat(secondInstance.tryAcquire(LOCK_NAME)).isTrue();
+    assertThat(getOwner(LOCK_NAME)).isEqualTo("node-b");
+    assertThat(getGeneration(LOCK_NAME)).isEqualTo(2);
+
+    // the heartbeat of the former owner after its pause doesn't extend the new lease
+    Timestamp expiresAtOfNewOwner = getExpiresAt(LOCK_NAME);
+    firstInstance.renewLocks();
+
+    assertThat(firstInstance.isLockHeld(LOCK_NAME)).isFalse();
+    assertThat(getExpiresAt(LOCK_NAME)).isEqualTo(expiresAtOfNewOwner);
+    assertThat(firstInstance.tryAcquire(LOCK_NAME)).isFalse();
+    assertThat(secondInstance.isLockHeld(LOCK_NAME)).isTrue();
+  }
+
+  @Test
+  void should_ReleaseLocks_When_InstanceShutsDown() {
+    ClusterLockManager firstInstance = newClusterLockManager("node-a", false);
+    ClusterLockManager secondInstance = newClusterLockManager("node-b", false);
+    firstInstance.tryAcquire(LOCK_NAME);
+
+    firstInstance.releaseLocks();
+
+    assertThat(firstInstance.isLockHeld(LOCK_NAME)).isFalse();
+    // the other instance doesn't have to wait for the lease to expire
+    assertThat(secondInstance.tryAcquire(LOCK_NAME)).isTrue();
+    assertThat(getOwner(LOCK_NAME)).isEqualTo("node-b");
+  }
+
+  @Test
+  void should_ReassignShards_When_MemberDies() {
+    ClusterLockManager firstInstance = newClusterLockManager("node-a", true);
+    ClusterLockManager secondInstance = newClusterLockManager("node-b", true);
+    ClusterLockManager thirdInstance = newClusterLockManager("node-c", true);
+
+    // the first heartbeats join the cluster, the next ones see all members
+    for (int i = 0; i < 2; i++) {
+      firstInstance.renewLocks();
+      secondInstance.renewLocks();
+      thirdInstance.renewLocks();
+    }
+
+    assertThat(firstInstance.getShard()).isEqualTo(new ClusterShard(0, 3));
+    assertThat(secondInstance.getShard()).isEqualTo(new ClusterShard(1, 3));
+    assertThat(thirdInstance.getShard()).isEqualTo(new ClusterShard(2, 3));
+
+    // the second instance stopped sending heartbeats
+    setExpiresAt("member:node-b", new Timestamp(0));
+    firstInstance.renewLocks();
+    thirdInstance.renewLocks();
+
+    assertThat(firstInstance.getShard()).isEqualTo(new ClusterShard(0, 2));
+    assertThat(thirdInstance.getShard()).isEqualTo(new ClusterShard(1, 2));
+  }
+
+  private ClusterLockManager newClusterLockManager(String nodeId, boolean shardingEnabled) {
+    ClusterLockManager clusterLockManager = new ClusterLockManager();
+    ReflectionTestUtils.setField(clusterLockManager, "clusterEnabled", true);
+    ReflectionTestUtils.setField(clusterLockManager, "configuredNodeId", nodeId);
+    ReflectionTestUtils.setField(clusterLockManager, "leaseDuration", LEASE_DURATION);
+    ReflectionTestUtils.setField(clusterLockManager, "shardingEnabled", shardingEnabled);
+    ReflectionTestUtils.setField(
+        clusterLockManager, "taskanaConfiguration", taskanaConfiguration);
+    return clusterLockManager;
+  }
+
+  private String getOwner(String lockName) {
+    return jdbcTemplate.queryForObject(
+        "SELECT OWNER FROM TASKANA.ADAPTER_LOCK WHERE LOCK_NAME = ?", String.class, lockName);
+  }
+
+  private long getGeneration(String lockName) {
+    return jdbcTemplate.queryForObject(
+        "SELECT GENERATION FROM TASKANA.ADAPTER_LOCK WHERE LOCK_NAME = ?", Long.class, lockName);
+  }
+
+  private Timestamp getExpiresAt(String lockName) {
+    return jdbcTemplate.queryForObject(
+        "SELECT EXPIRES_AT FROM TASKANA.ADAPTER_LOCK WHERE LOCK_NAME = ?",
+        Timestamp.class,
+        lockName);
+  }
+
+  private void setExpiresAt(String lockName, Timestamp expiresAt) {
+    jdbcTemplate.update(
+        "UPDATE TASKANA.ADAPTER_LOCK SET EXPIRES_AT = ? WHERE LOCK_NAME = ?", expiresAt, lockName);
+  }
+}
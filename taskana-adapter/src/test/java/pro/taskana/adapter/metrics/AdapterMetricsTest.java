@@ -0,0 +1,158 @@
+package pro.taskana.adapter.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import pro.taskana.adapter.systemconnector.api.ReferencedTask;
+import pro.taskana.adapter.systemconnector.api.SystemConnector;
+import pro.taskana.adapter.systemconnector.api.SystemResponse;
+
+class AdapterMetricsTest {
+
+  private static final String JOB = "test-job";
+  private static final String SYSTEM_URL = "http://metrics-system";
+  private static final String ENGINE = "metrics-engine";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AdapterMetrics adapterMetrics = new AdapterMetrics();
+
+  @BeforeEach
+  void setUpMeterRegistry() {
+    ReflectionTestUtils.setField(adapterMetrics, "meterRegistry", meterRegistry);
+  }
+
+  @Test
+  void should_RecordCycleTaggedByJobAndSystem_When_CycleFinished() {
+
+    adapterMetrics.recordCycle(JOB, SYSTEM_URL, ENGINE, System.nanoTime());
+    adapterMetrics.recordCycle(JOB, AdapterMetrics.ALL_SYSTEMS, null, System.nanoTime());
+
+    assertThat(
+            meterRegistry
+                .get(AdapterMetrics.CYCLE)
+                .tags("job", JOB, "system.url", SYSTEM_URL, "engine", ENGINE)
+                .timer()
+                .count())
+        .isOne();
+    // a missing engine identifier is recorded as tag value, since Micrometer requires one
+    assertThat(
+            meterRegistry
+                .get(AdapterMetrics.CYCLE)
+                .tags("job", JOB, "system.url", AdapterMetrics.ALL_SYSTEMS, "engine", "none")
+                .timer()
+                .count())
+        .isOne();
+  }
+
+  @Test
+  void should_CountItemsAndRecordAverageDurationPerItem_When_ItemsWereProcessed() {
+
+    long startNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(500);
+    adapterMetrics.recordFetchedItems(JOB, SYSTEM_URL, ENGINE, 5);
+    adapterMetrics.recordProcessedItems(JOB, SYSTEM_URL, ENGINE, 3, 2, startNanos);
+    adapterMetrics.recordFetchedItems(JOB, SYSTEM_URL, ENGINE, 1);
+    adapterMetrics.recordProcessedItems(JOB, SYSTEM_URL, ENGINE, 1, 0, System.nanoTime());
+
+    assertThat(getCount(AdapterMetrics.ITEMS_FETCHED)).isEqualTo(6);
+    assertThat(getCount(AdapterMetrics.ITEMS_SUCCEEDED)).isEqualTo(4);
+    assertThat(getCount(AdapterMetrics.ITEMS_FAILED)).isEqualTo(2);
+
+    Timer itemDuration =
+        meterRegistry
+            .get(AdapterMetrics.ITEM_DURATION)
+            .tags("job", JOB, "system.url", SYSTEM_URL, "engine", ENGINE)
+            .timer();
+    assertThat(itemDuration.count()).isEqualTo(6);
+    // the five items of the first page took at least 100 ms each on average
+    assertThat(itemDuration.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(500);
+  }
+
+  @Test
+  void should_NotRecordItems_When_NoItemWasProcessed() {
+
+    adapterMetrics.recordProcessedItems(JOB, SYSTEM_URL, ENGINE, 0, 0, System.nanoTime());
+
+    assertThat(meterRegistry.find(AdapterMetrics.ITEMS_SUCCEEDED).counter()).isNull();
+    assertThat(meterRegistry.find(AdapterMetrics.ITEMS_FAILED).counter()).isNull();
+    assertThat(meterRegistry.find(AdapterMetrics.ITEM_DURATION).timer()).isNull();
+  }
+
+  @Test
+  void should_RecordAgeOfOutboxEvents_When_TasksCarryTheCreationOfTheirEvents() {
+
+    ReferencedTask oldTask = new ReferencedTask();
+    oldTask.setOutboxEventCreated(Instant.now().minusSeconds(60).toString());
+    ReferencedTask taskWithoutEvent = new ReferencedTask();
+    ReferencedTask taskWithInvalidCreation = new ReferencedTask();
+    taskWithInvalidCreation.setOutboxEventCreated("yesterday");
+
+    adapterMetrics.recordEventAges(
+        JOB, SYSTEM_URL, ENGINE, List.of(oldTask, taskWithoutEvent, taskWithInvalidCreation));
+
+    Timer eventAge =
+        meterRegistry
+            .get(AdapterMetrics.EVENT_AGE)
+            .tags("job", JOB, "system.url", SYSTEM_URL, "engine", ENGINE)
+            .timer();
+    // tasks without a valid creation of their event are skipped
+    assertThat(eventAge.count()).isOne();
+    assertThat(eventAge.totalTime(TimeUnit.SECONDS)).isBetween(60.0, 120.0);
+  }
+
+  @Test
+  void should_TimeCallsPerMethodAndOutcome_When_SystemConnectorIsInstrumented() {
+
+    SystemConnector connector = mock(SystemConnector.class);
+    when(connector.getSystemUrl()).thenReturn(SYSTEM_URL);
+    when(connector.getSystemIdentifier()).thenReturn(ENGINE);
+    when(connector.completeReferencedTask(any()))
+        .thenReturn(new SystemResponse(HttpStatus.NO_CONTENT, null));
+    when(connector.claimReferencedTask(any()))
+        .thenThrow(new IllegalStateException("system is down"));
+    SystemConnector systemConnector = adapterMetrics.instrument(connector);
+
+    systemConnector.completeReferencedTask(new ReferencedTask());
+    systemConnector.completeReferencedTask(new ReferencedTask());
+    assertThatThrownBy(() -> systemConnector.claimReferencedTask(new ReferencedTask()))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("system is down");
+
+    assertThat(getConnectorCalls("completeReferencedTask", "success").count()).isEqualTo(2);
+    assertThat(getConnectorCalls("claimReferencedTask", "failure").count()).isOne();
+    // the getters are called for every task and aren't timed
+    assertThat(systemConnector.getSystemUrl()).isEqualTo(SYSTEM_URL);
+    assertThat(
+            meterRegistry
+                .find(AdapterMetrics.SYSTEM_CONNECTOR_CALLS)
+                .tag("method", "getSystemUrl")
+                .timer())
+        .isNull();
+  }
+
+  private double getCount(String name) {
+    return meterRegistry
+        .get(name)
+        .tags("job", JOB, "system.url", SYSTEM_URL, "engine", ENGINE)
+        .counter()
+        .count();
+  }
+
+  private Timer getConnectorCalls(String method, String outcome) {
+    return meterRegistry
+        .get(AdapterMetrics.SYSTEM_CONNECTOR_CALLS)
+        .tags("system.url", SYSTEM_URL, "engine", ENGINE, "method", method, "outcome", outcome)
+        .timer();
+  }
+}
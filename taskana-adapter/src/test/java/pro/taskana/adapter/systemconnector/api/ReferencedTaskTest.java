@@ -64,6 +64,13 @@ class ReferencedTaskTest {
     assertThat(theValue).isEqualTo(referencedTask.getOutboxEventType());
   }
 
+  @Test
+  void should_ReturnOutboxEventCreated_When_OutboxEventCreatedWasSet() {
+    ReferencedTask referencedTask = new ReferencedTask();
+    referencedTask.setOutboxEventCreated(theValue);
+    assertThat(theValue).isEqualTo(referencedTask.getOutboxEventCreated());
+  }
+
   @Test
   void should_ReturnName_When_NameWasSet() {
     ReferencedTask referencedTask = new ReferencedTask();
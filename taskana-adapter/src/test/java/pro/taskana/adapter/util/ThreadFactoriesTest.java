@@ -0,0 +1,65 @@
+package pro.taskana.adapter.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ThreadFactoriesTest {
+
+  @Test
+  void should_SupportVirtualThreads_When_RuntimeIsJava21OrLater() {
+    assertThat(ThreadFactories.isVirtualThreadSupported())
+        .isEqualTo(Runtime.version().feature() >= 21);
+  }
+
+  @Test
+  void should_CreateDaemonPlatformThreads_When_VirtualThreadsAreDisabled() throws Exception {
+
+    ThreadFactory threadFactory = ThreadFactories.newThreadFactory("test-", false);
+
+    assertIsDaemonPlatformThread(threadFactory.newThread(() -> {}), "test-0");
+    assertIsDaemonPlatformThread(threadFactory.newThread(() -> {}), "test-1");
+  }
+
+  @Test
+  void should_FallBackToDaemonPlatformThreads_When_VirtualThreadsAreNotSupported()
+      throws Exception {
+
+    ThreadFactory threadFactory = ThreadFactories.newThreadFactory("test-", true, false);
+
+    assertIsDaemonPlatformThread(threadFactory.newThread(() -> {}), "test-0");
+  }
+
+  @Test
+  void should_CreateVirtualThreads_When_VirtualThreadsAreEnabledAndSupported() throws Exception {
+    assumeTrue(ThreadFactories.isVirtualThreadSupported(), "virtual threads require Java 21");
+
+    ThreadFactory threadFactory = ThreadFactories.newThreadFactory("test-", true);
+    CountDownLatch taskRan = new CountDownLatch(1);
+    Thread thread = threadFactory.newThread(taskRan::countDown);
+
+    assertThat(isVirtual(thread)).isTrue();
+    assertThat(thread.getName()).isEqualTo("test-0");
+    assertThat(threadFactory.newThread(() -> {}).getName()).isEqualTo("test-1");
+    thread.start();
+    assertThat(taskRan.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private static void assertIsDaemonPlatformThread(Thread thread, String name) throws Exception {
+    assertThat(thread.getName()).isEqualTo(name);
+    assertThat(thread.isDaemon()).isTrue();
+    assertThat(isVirtual(thread)).isFalse();
+  }
+
+  private static boolean isVirtual(Thread thread) throws Exception {
+    // Thread.isVirtual() doesn't exist before Java 21
+    if (!ThreadFactories.isVirtualThreadSupported()) {
+      return false;
+    }
+    return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+  }
+}